@@ -2,27 +2,89 @@ package com.cardplatform.application;
 
 import com.cardplatform.domain.model.card.Card;
 import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.card.CardIssuanceRequest;
+import com.cardplatform.domain.model.card.CardIssuanceResult;
+import com.cardplatform.domain.model.card.CardOperation;
+import com.cardplatform.domain.model.card.CardOperationResult;
+import com.cardplatform.domain.model.enums.CardOperationStatus;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
 import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.model.transaction.TransactionCursor;
 import com.cardplatform.domain.service.CardDomainService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionTimedOutException;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CardApplicationService {
 
+    /**
+     * Number of cards issued and committed together during a bulk issuance.
+     */
+    public static final int BULK_ISSUANCE_CHUNK_SIZE = 500;
+
+    /**
+     * Number of operations applied and committed together during a batch of card operations.
+     */
+    public static final int BATCH_OPERATION_CHUNK_SIZE = 500;
+
+    /**
+     * Number of attempts for a chunk of card operations that conflicts with concurrent updates.
+     */
+    private static final int BATCH_OPERATION_MAX_ATTEMPTS = 3;
+
+    /**
+     * Message of a chunk that failed on concurrent updates of its cards, even after retrying.
+     */
+    static final String CONCURRENT_UPDATE_MESSAGE = "Conflicting concurrent update, retry the operation";
+
+    /**
+     * Message of a chunk rejected by a database constraint.
+     */
+    static final String CONSTRAINT_VIOLATION_MESSAGE = "Rejected by a data constraint";
+
+    /**
+     * Message of a chunk that failed on a transient database condition, such as a lock or query timeout.
+     */
+    static final String TEMPORARILY_UNAVAILABLE_MESSAGE = "Temporarily unavailable, retry the operation";
+
+    /**
+     * Message of a chunk that failed for any other reason.
+     */
+    static final String INTERNAL_ERROR_MESSAGE = "Internal error";
+
     /**
      * Service providing business logic and operations related to cards,
      * such as creation, spending, top-ups, blocking, and activation.
      */
     private final CardDomainService cardDomainService;
 
+    /**
+     * Lanes running the commands of each card one at a time, when enabled.
+     */
+    private final CardExecutionLanes cardExecutionLanes;
+
+    /**
+     * Group commit pipeline applying concurrent spends and top-ups in shared transactions, when enabled.
+     */
+    private final CardGroupCommitter cardGroupCommitter;
+
     /**
      * Creates a new card.
      *
@@ -30,30 +92,104 @@ public class CardApplicationService {
      * @param initialBalance the initial balance
      * @return the created card
      */
-    public Card createCard(String cardholderName, BigDecimal initialBalance) {
+    public Card createCard(String cardholderName, Money initialBalance) {
         return cardDomainService.createCard(cardholderName, initialBalance);
     }
 
     /**
-     * Processes a spend transaction.
+     * Issues a large number of cards, committing them in chunks of {@code BULK_ISSUANCE_CHUNK_SIZE}.
+     * A chunk that fails is rolled back on its own and reported as failed, without affecting
+     * the chunks committed before or after it.
+     *
+     * @param requests the cards to issue
+     * @return the outcome of each request, in the same order as the requests
+     */
+    public List<CardIssuanceResult> issueCards(List<CardIssuanceRequest> requests) {
+        List<CardIssuanceResult> results = new ArrayList<>(requests.size());
+
+        for (int from = 0; from < requests.size(); from += BULK_ISSUANCE_CHUNK_SIZE) {
+            List<CardIssuanceRequest> chunk =
+                    requests.subList(from, Math.min(from + BULK_ISSUANCE_CHUNK_SIZE, requests.size()));
+            try {
+                cardDomainService.createCards(chunk).forEach(card -> results.add(CardIssuanceResult.issued(card)));
+            } catch (RuntimeException e) {
+                log.warn("Failed to issue cards {} to {}", from, from + chunk.size() - 1, e);
+                String message = failureMessage(e);
+                chunk.forEach(request -> results.add(CardIssuanceResult.failed(message)));
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Applies a batch of spend and top-up operations, committing them in chunks of
+     * {@code BATCH_OPERATION_CHUNK_SIZE}. A chunk that conflicts with concurrent updates of its cards
+     * is retried; a chunk that still fails is rolled back on its own and reported as failed.
+     *
+     * @param operations the operations to apply
+     * @return the outcome of each operation, in the same order as the operations
+     */
+    public List<CardOperationResult> applyOperations(List<CardOperation> operations) {
+        List<CardOperationResult> results = new ArrayList<>(operations.size());
+
+        for (int from = 0; from < operations.size(); from += BATCH_OPERATION_CHUNK_SIZE) {
+            List<CardOperation> chunk =
+                    operations.subList(from, Math.min(from + BATCH_OPERATION_CHUNK_SIZE, operations.size()));
+            results.addAll(applyChunk(chunk, from));
+        }
+
+        return results;
+    }
+
+    /**
+     * Processes a spend transaction. Without an idempotency key it is group committed with concurrent
+     * commands when group commit is enabled; otherwise it runs on the card's execution lane. When the
+     * idempotency key collides with a concurrent request carrying the same key, the outcome stored by
+     * that request is returned.
      *
      * @param cardId the card identifier
      * @param amount the amount to spend
+     * @param idempotencyKey the idempotency key of the request, or null if none was sent
      * @return the updated card
      */
-    public Card spendFromCard(CardId cardId, BigDecimal amount) {
-        return cardDomainService.spendFromCard(cardId, amount);
+    public Card spendFromCard(CardId cardId, Money amount, String idempotencyKey) {
+        if (idempotencyKey == null && cardGroupCommitter.isEnabled()) {
+            return cardGroupCommitter.submit(new CardOperation(cardId, TransactionType.SPEND, amount));
+        }
+
+        return cardExecutionLanes.execute(cardId, knownCard -> {
+            try {
+                return cardDomainService.spendFromCard(cardId, amount, idempotencyKey, knownCard);
+            } catch (DataIntegrityViolationException e) {
+                return replayOrThrow(idempotencyKey, cardId, TransactionType.SPEND, amount, e);
+            }
+        });
     }
 
     /**
-     * Processes a top-up transaction.
+     * Processes a top-up transaction. Without an idempotency key it is group committed with concurrent
+     * commands when group commit is enabled; otherwise it runs on the card's execution lane. When the
+     * idempotency key collides with a concurrent request carrying the same key, the outcome stored by
+     * that request is returned.
      *
      * @param cardId the card identifier
      * @param amount the amount to top up
+     * @param idempotencyKey the idempotency key of the request, or null if none was sent
      * @return the updated card
      */
-    public Card topUpCard(CardId cardId, BigDecimal amount) {
-        return cardDomainService.topUpCard(cardId, amount);
+    public Card topUpCard(CardId cardId, Money amount, String idempotencyKey) {
+        if (idempotencyKey == null && cardGroupCommitter.isEnabled()) {
+            return cardGroupCommitter.submit(new CardOperation(cardId, TransactionType.TOPUP, amount));
+        }
+
+        return cardExecutionLanes.execute(cardId, knownCard -> {
+            try {
+                return cardDomainService.topUpCard(cardId, amount, idempotencyKey, knownCard);
+            } catch (DataIntegrityViolationException e) {
+                return replayOrThrow(idempotencyKey, cardId, TransactionType.TOPUP, amount, e);
+            }
+        });
     }
 
     /**
@@ -78,13 +214,46 @@ public class CardApplicationService {
     }
 
     /**
-     * Blocks a card.
+     * Retrieves transaction history for a card after a cursor.
+     *
+     * @param cardId the card identifier
+     * @param cursor the position after which to read, or null for the first page
+     * @param size the maximum number of transactions to return
+     * @return slice of transactions
+     */
+    public Slice<Transaction> getTransactionHistory(CardId cardId, TransactionCursor cursor, int size) {
+        return cardDomainService.getTransactionHistory(cardId, cursor, size);
+    }
+
+    /**
+     * Streams the full transaction history of a card.
+     *
+     * @param cardId the card identifier
+     * @param consumer the consumer receiving each transaction
+     */
+    public void exportTransactionHistory(CardId cardId, Consumer<Transaction> consumer) {
+        cardDomainService.exportTransactionHistory(cardId, consumer);
+    }
+
+    /**
+     * Blocks a card on the card's execution lane.
      *
      * @param cardId the card identifier
      * @return the updated card
      */
     public Card blockCard(CardId cardId) {
-        return cardDomainService.blockCard(cardId);
+        return blockCard(cardId, null);
+    }
+
+    /**
+     * Blocks a card on the card's execution lane, provided its current state satisfies the precondition.
+     *
+     * @param cardId the card identifier
+     * @param precondition the condition the current state of the card must satisfy, or null for none
+     * @return the updated card
+     */
+    public Card blockCard(CardId cardId, Predicate<Card> precondition) {
+        return cardExecutionLanes.execute(cardId, knownCard -> cardDomainService.blockCard(cardId, precondition));
     }
 
     /**
@@ -94,7 +263,69 @@ public class CardApplicationService {
      * @return the updated card
      */
     public Card activateCard(CardId cardId) {
-        return cardDomainService.activateCard(cardId);
+        return activateCard(cardId, null);
+    }
+
+    /**
+     * Activates a card, provided its current state satisfies the precondition.
+     *
+     * @param cardId the card identifier
+     * @param precondition the condition the current state of the card must satisfy, or null for none
+     * @return the updated card
+     */
+    public Card activateCard(CardId cardId, Predicate<Card> precondition) {
+        return cardDomainService.activateCard(cardId, precondition);
+    }
+
+    private Card replayOrThrow(String idempotencyKey, CardId cardId, TransactionType type, Money amount,
+                               DataIntegrityViolationException e) {
+        if (idempotencyKey == null) {
+            throw e;
+        }
+        return cardDomainService.replay(idempotencyKey, cardId, type, amount).orElseThrow(() -> e);
+    }
+
+    private List<CardOperationResult> applyChunk(List<CardOperation> chunk, int from) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return cardDomainService.applyOperations(chunk);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt < BATCH_OPERATION_MAX_ATTEMPTS) {
+                    log.debug("Retrying card operations {} to {} after concurrent modification", from,
+                            from + chunk.size() - 1);
+                    continue;
+                }
+                return failedChunk(chunk, from, e);
+            } catch (RuntimeException e) {
+                return failedChunk(chunk, from, e);
+            }
+        }
+    }
+
+    private List<CardOperationResult> failedChunk(List<CardOperation> chunk, int from, RuntimeException e) {
+        log.warn("Failed to apply card operations {} to {}", from, from + chunk.size() - 1, e);
+
+        String message = failureMessage(e);
+        List<CardOperationResult> results = new ArrayList<>(chunk.size());
+        chunk.forEach(operation -> results.add(CardOperationResult.declined(CardOperationStatus.FAILED, message)));
+        return results;
+    }
+
+    /**
+     * Maps the failure of a chunk to a stable message for its results, which are returned to the client;
+     * the details of the failure are only logged.
+     */
+    static String failureMessage(RuntimeException e) {
+        if (e instanceof ConcurrencyFailureException) {
+            return CONCURRENT_UPDATE_MESSAGE;
+        }
+        if (e instanceof DataIntegrityViolationException) {
+            return CONSTRAINT_VIOLATION_MESSAGE;
+        }
+        if (e instanceof TransientDataAccessException || e instanceof TransactionTimedOutException) {
+            return TEMPORARILY_UNAVAILABLE_MESSAGE;
+        }
+        return INTERNAL_ERROR_MESSAGE;
     }
 
 }
@@ -0,0 +1,181 @@
+package com.cardplatform.application;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single-writer execution lanes for card commands. Each card is mapped to one of {@code lanes}
+ * single-threaded executors by the hash of its identifier, so the commands for a given card run one at
+ * a time, in arrival order, and never race each other on the card row within this instance.
+ * <p>
+ * Each lane keeps the last state of its recently updated cards, which the next command for the same card
+ * starts from. The state is only a hint: updates derived from it are conditioned on its version.
+ * <p>
+ * Queue depth ({@code card.lane.queue.depth}) and the time commands wait in the queue ({@code card.lane.wait})
+ * are published per lane. When disabled, commands run directly on the calling thread.
+ */
+@Component
+@Slf4j
+public class CardExecutionLanes {
+
+    /**
+     * Name of the gauge of commands waiting in each lane.
+     */
+    private static final String QUEUE_DEPTH_METRIC = "card.lane.queue.depth";
+
+    /**
+     * Name of the timer of the time commands wait before running.
+     */
+    private static final String WAIT_METRIC = "card.lane.wait";
+
+    /**
+     * Whether commands are routed to lanes at all.
+     */
+    private final boolean enabled;
+
+    /**
+     * Single-threaded executors, one per lane.
+     */
+    private final ThreadPoolExecutor[] lanes;
+
+    /**
+     * Last known card states of each lane, only accessed from the lane's own thread.
+     */
+    private final Map<CardId, Card>[] laneCards;
+
+    /**
+     * Wait time of commands, one timer per lane.
+     */
+    private final Timer[] waitTimers;
+
+    @SuppressWarnings("unchecked")
+    public CardExecutionLanes(@Value("${card-platform.execution-lanes.enabled:false}") boolean enabled,
+                              @Value("${card-platform.execution-lanes.lanes:16}") int laneCount,
+                              @Value("${card-platform.execution-lanes.queue-capacity:1000}") int queueCapacity,
+                              @Value("${card-platform.execution-lanes.cached-cards:1024}") int cachedCards,
+                              MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        int count = enabled ? laneCount : 0;
+        this.lanes = new ThreadPoolExecutor[count];
+        this.laneCards = new Map[count];
+        this.waitTimers = new Timer[count];
+
+        for (int i = 0; i < count; i++) {
+            String name = "card-lane-" + i;
+            ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), runnable -> new Thread(runnable, name));
+            lanes[i] = lane;
+            laneCards[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CardId, Card> eldest) {
+                    return size() > cachedCards;
+                }
+            };
+
+            String laneTag = String.valueOf(i);
+            Gauge.builder(QUEUE_DEPTH_METRIC, lane, executor -> executor.getQueue().size())
+                    .description("Card commands waiting in the execution lane")
+                    .tag("lane", laneTag)
+                    .register(meterRegistry);
+            waitTimers[i] = Timer.builder(WAIT_METRIC)
+                    .description("Time card commands wait in the execution lane before running")
+                    .tag("lane", laneTag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        if (enabled) {
+            log.info("Routing card commands through {} execution lanes", count);
+        }
+    }
+
+    /**
+     * Runs a command for a card on the card's lane and waits for its result. The command receives the last
+     * state of the card known to the lane, or null, and returns the new state, which the lane keeps for the
+     * next command. If the command fails, the lane forgets the card.
+     *
+     * @param cardId the card the command applies to
+     * @param command the command, from the last known card state to the new one
+     * @return the card state returned by the command
+     * @throws java.util.concurrent.RejectedExecutionException if the lane's queue is full
+     */
+    public Card execute(CardId cardId, UnaryOperator<Card> command) {
+        if (!enabled) {
+            return command.apply(null);
+        }
+
+        int index = laneOf(cardId);
+        if (Thread.currentThread().getName().equals("card-lane-" + index)) {
+            return run(index, cardId, command);
+        }
+
+        long submittedAt = System.nanoTime();
+        Future<Card> result = lanes[index].submit(() -> {
+            waitTimers[index].record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            return run(index, cardId, command);
+        });
+        return await(result);
+    }
+
+    /**
+     * Stops the lanes, letting the queued commands finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private Card run(int index, CardId cardId, UnaryOperator<Card> command) {
+        Map<CardId, Card> cards = laneCards[index];
+        try {
+            Card card = command.apply(cards.get(cardId));
+            cards.merge(cardId, card, (known, updated) -> updated.getVersion() >= known.getVersion() ? updated : known);
+            return card;
+        } catch (RuntimeException | Error e) {
+            cards.remove(cardId);
+            throw e;
+        }
+    }
+
+    private int laneOf(CardId cardId) {
+        int hash = cardId.getValue().hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+    private static Card await(Future<Card> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a card command", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+}
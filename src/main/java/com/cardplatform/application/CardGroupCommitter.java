@@ -0,0 +1,313 @@
+package com.cardplatform.application;
+
+import com.cardplatform.domain.exception.CardNotActiveException;
+import com.cardplatform.domain.exception.InsufficientBalanceException;
+import com.cardplatform.domain.exception.RateLimitExceededException;
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardOperation;
+import com.cardplatform.domain.model.card.CardOperationResult;
+import com.cardplatform.domain.port.ratelimit.SpendRateLimiter;
+import com.cardplatform.domain.service.CardDomainService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit of single spends and top-ups. Concurrent commands are queued and collected by flusher threads
+ * into micro-batches of up to {@code max-batch-size} commands, waiting at most {@code max-wait} after the first
+ * one, and each micro-batch is applied with {@link CardDomainService#applyOperations} in a single transaction
+ * with batched updates and inserts. The caller of each command is then answered individually: a command
+ * declined by a business rule fails alone, while the rest of its micro-batch still commits. When a card of the
+ * micro-batch was updated concurrently, the other commands are applied again right away and only the commands
+ * of that card are retried, in a micro-batch of their own.
+ * <p>
+ * The size of each micro-batch is published as {@code card.group-commit.batch.size}. When disabled, no
+ * flusher threads are started and commands must not be submitted.
+ */
+@Component
+@Slf4j
+public class CardGroupCommitter {
+
+    /**
+     * Number of attempts for the commands of a card that conflicts with concurrent updates.
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * How long an idle flusher waits for a command before checking whether it should stop.
+     */
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    /**
+     * Service applying each micro-batch in one transaction.
+     */
+    private final CardDomainService cardDomainService;
+
+    /**
+     * Whether commands are group committed at all.
+     */
+    private final boolean enabled;
+
+    /**
+     * Maximum number of commands applied in one transaction.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Maximum time a micro-batch waits for more commands after its first one.
+     */
+    private final Duration maxWait;
+
+    /**
+     * Maximum time a caller waits for the micro-batch of its command to be applied.
+     */
+    private final Duration submitTimeout;
+
+    /**
+     * Commands waiting for a flusher.
+     */
+    private final BlockingQueue<PendingOperation> queue;
+
+    /**
+     * Size of every applied micro-batch.
+     */
+    private final DistributionSummary batchSizes;
+
+    /**
+     * Number of threads collecting and applying micro-batches.
+     */
+    private final int flusherCount;
+
+    /**
+     * Threads collecting and applying the micro-batches.
+     */
+    private final List<Thread> flushers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public CardGroupCommitter(CardDomainService cardDomainService,
+                              @Value("${card-platform.group-commit.enabled:false}") boolean enabled,
+                              @Value("${card-platform.group-commit.max-batch-size:64}") int maxBatchSize,
+                              @Value("${card-platform.group-commit.max-wait:300us}") Duration maxWait,
+                              @Value("${card-platform.group-commit.flushers:2}") int flusherCount,
+                              @Value("${card-platform.group-commit.queue-capacity:10000}") int queueCapacity,
+                              @Value("${card-platform.group-commit.submit-timeout:5s}") Duration submitTimeout,
+                              MeterRegistry meterRegistry) {
+        this.cardDomainService = cardDomainService;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWait = maxWait;
+        this.submitTimeout = submitTimeout;
+        this.flusherCount = flusherCount;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("card.group-commit.batch.size")
+                .description("Spends and top-ups applied per group commit transaction")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the flusher threads, if group commit is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            running = true;
+            for (int i = 0; i < flusherCount; i++) {
+                Thread flusher = new Thread(this::flush, "card-group-commit-" + i);
+                flusher.setDaemon(true);
+                flusher.start();
+                flushers.add(flusher);
+            }
+            log.info("Group committing spends and top-ups in batches of up to {} within {}", maxBatchSize, maxWait);
+        }
+    }
+
+    /**
+     * @return whether spends and top-ups are group committed
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a spend or top-up for the next micro-batch and waits until the micro-batch has committed, at most
+     * {@code submit-timeout}.
+     *
+     * @param operation the operation to apply
+     * @return the card state right after the operation
+     * @throws InsufficientBalanceException if a spend exceeds the balance
+     * @throws CardNotActiveException if the card is not active
+     * @throws RateLimitExceededException if a spend exceeds the rate limit
+     * @throws IllegalStateException if the card does not exist
+     * @throws RejectedExecutionException if too many commands are already waiting
+     * @throws ObjectOptimisticLockingFailureException if the card kept conflicting with concurrent updates
+     * @throws TransactionTimedOutException if the micro-batch was not applied in time; the command may still be
+     *                                      applied afterwards
+     */
+    public Card submit(CardOperation operation) {
+        PendingOperation pending = new PendingOperation(operation);
+        if (!running || !queue.offer(pending)) {
+            throw new RejectedExecutionException("Group commit queue is full or stopped");
+        }
+
+        CardOperationResult result;
+        try {
+            result = pending.result.get(submitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new TransactionTimedOutException("Group commit did not complete within " + submitTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for group commit", e);
+        }
+
+        switch (result.getStatus()) {
+            case APPLIED:
+                return result.getCard();
+            case INSUFFICIENT_BALANCE:
+                throw new InsufficientBalanceException();
+            case CARD_NOT_ACTIVE:
+                throw new CardNotActiveException();
+            case RATE_LIMITED:
+                throw new RateLimitExceededException(SpendRateLimiter.MAX_SPENDS_PER_MINUTE);
+            default:
+                throw new IllegalStateException(result.getMessage());
+        }
+    }
+
+    /**
+     * Stops the flushers and fails the commands still waiting.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        flushers.forEach(Thread::interrupt);
+
+        List<PendingOperation> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> pending.result.completeExceptionally(
+                new RejectedExecutionException("Group commit stopped")));
+    }
+
+    /**
+     * Loop of a flusher thread: collects a micro-batch and applies it, until stopped.
+     */
+    private void flush() {
+        List<PendingOperation> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result.completeExceptionally(
+                        new RejectedExecutionException("Group commit stopped")));
+                return;
+            }
+            if (!batch.isEmpty()) {
+                batchSizes.record(batch.size());
+                apply(batch, 1);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits for a first command, then adds commands until the batch is full or {@code maxWait} has passed.
+     */
+    private void collect(List<PendingOperation> batch) throws InterruptedException {
+        PendingOperation first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            PendingOperation next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Applies a micro-batch in one transaction and answers each of its commands. When a card conflicts with
+     * concurrent updates, the commands of the other cards are applied again without it and the commands of
+     * that card are retried on their own, until {@code MAX_ATTEMPTS} attempts have failed. Any other failure,
+     * including an {@link Error}, fails every command of the micro-batch, so no caller is left waiting.
+     */
+    private void apply(List<PendingOperation> batch, int attempt) {
+        List<CardOperation> operations = new ArrayList<>(batch.size());
+        batch.forEach(pending -> operations.add(pending.operation));
+
+        try {
+            List<CardOperationResult> results = cardDomainService.applyOperations(operations);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            List<PendingOperation> conflicting = new ArrayList<>();
+            List<PendingOperation> others = new ArrayList<>();
+            // The identifier is unknown when a ledger append conflicts, which retries the whole micro-batch
+            Object conflictingCardId = e.getIdentifier();
+            batch.forEach(pending -> (conflictingCardId == null
+                    || conflictingCardId.equals(pending.operation.getCardId().getValue()) ? conflicting : others)
+                    .add(pending));
+
+            if (!others.isEmpty()) {
+                apply(others, attempt);
+            }
+            if (attempt < MAX_ATTEMPTS) {
+                log.debug("Retrying group commit of {} card operations after concurrent modification",
+                        conflicting.size());
+                apply(conflicting, attempt + 1);
+            } else {
+                conflicting.forEach(pending -> pending.result.completeExceptionally(e));
+            }
+        } catch (Throwable e) {
+            log.error("Failed to group commit {} card operations", batch.size(), e);
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * A queued command and the future its caller waits on.
+     */
+    private static final class PendingOperation {
+
+        private final CardOperation operation;
+
+        private final CompletableFuture<CardOperationResult> result = new CompletableFuture<>();
+
+        private PendingOperation(CardOperation operation) {
+            this.operation = operation;
+        }
+
+    }
+
+}
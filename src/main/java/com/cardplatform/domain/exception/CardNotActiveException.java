@@ -0,0 +1,16 @@
+package com.cardplatform.domain.exception;
+
+/**
+ * Thrown when a balance change is attempted on a card that is not active. Extends
+ * {@link IllegalStateException} so it is reported as a business rule violation.
+ */
+public class CardNotActiveException extends IllegalStateException {
+
+    /**
+     * Constructs a new CardNotActiveException.
+     */
+    public CardNotActiveException() {
+        super("Card is not active");
+    }
+
+}
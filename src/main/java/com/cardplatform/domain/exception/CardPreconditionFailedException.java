@@ -0,0 +1,18 @@
+package com.cardplatform.domain.exception;
+
+/**
+ * Thrown when a card update is conditioned on a state of the card, such as a version the client has
+ * seen, and the card is no longer in that state.
+ */
+public class CardPreconditionFailedException extends DomainException {
+
+    /**
+     * Constructs a new CardPreconditionFailedException.
+     *
+     * @param cardId the identifier of the card that was modified
+     */
+    public CardPreconditionFailedException(String cardId) {
+        super("Card has been modified: " + cardId);
+    }
+
+}
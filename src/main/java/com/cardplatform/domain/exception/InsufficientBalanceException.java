@@ -0,0 +1,16 @@
+package com.cardplatform.domain.exception;
+
+/**
+ * Thrown when a spend exceeds the balance of the card. Extends {@link IllegalStateException}
+ * so it is reported as a business rule violation like the other card state checks.
+ */
+public class InsufficientBalanceException extends IllegalStateException {
+
+    /**
+     * Constructs a new InsufficientBalanceException.
+     */
+    public InsufficientBalanceException() {
+        super("Insufficient balance");
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.cardplatform.domain.exception;
+
+/**
+ * Thrown when a card has reached its maximum number of spends within the rate limit window.
+ * Extends {@link IllegalArgumentException} so it is reported as an invalid request.
+ */
+public class RateLimitExceededException extends IllegalArgumentException {
+
+    /**
+     * Constructs a new RateLimitExceededException.
+     *
+     * @param maxSpendsPerMinute the maximum number of spends allowed per minute
+     */
+    public RateLimitExceededException(int maxSpendsPerMinute) {
+        super(String.format("Rate limit exceeded. Maximum %d spends per minute allowed.", maxSpendsPerMinute));
+    }
+
+}
@@ -1,13 +1,15 @@
 package com.cardplatform.domain.model.card;
 
+import com.cardplatform.domain.exception.CardNotActiveException;
+import com.cardplatform.domain.exception.InsufficientBalanceException;
 import com.cardplatform.domain.model.enums.CardStatus;
+import com.cardplatform.domain.model.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 @Data
@@ -30,7 +32,7 @@ public class Card {
     /**
      * This field represents the current balance of the card.
      */
-    private BigDecimal balance;
+    private Money balance;
 
     /**
      * This field represents the timestamp when the card was created.
@@ -54,7 +56,7 @@ public class Card {
      * @param initialBalance the initial balance of the card
      * @return a new Card instance
      */
-    public static Card create(String cardholderName, BigDecimal initialBalance) {
+    public static Card create(String cardholderName, Money initialBalance) {
         Card card = new Card();
         card.setId(CardId.generate());
         card.setCardholderName(cardholderName);
@@ -69,14 +71,15 @@ public class Card {
      * Spends the specified amount from the card balance.
      *
      * @param amount the amount to spend
-     * @throws IllegalStateException if card is not active or insufficient balance
+     * @throws CardNotActiveException if card is not active
+     * @throws InsufficientBalanceException if the balance is insufficient
      */
-    public void spend(BigDecimal amount) {
+    public void spend(Money amount) {
         if (status != CardStatus.ACTIVE) {
-            throw new IllegalStateException("Card is not active");
+            throw new CardNotActiveException();
         }
-        if (balance.compareTo(amount) < 0) {
-            throw new IllegalStateException("Insufficient balance");
+        if (balance.isLessThan(amount)) {
+            throw new InsufficientBalanceException();
         }
         this.balance = this.balance.subtract(amount);
     }
@@ -85,11 +88,11 @@ public class Card {
      * Adds the specified amount to the card balance.
      *
      * @param amount the amount to add
-     * @throws IllegalStateException if card is not active
+     * @throws CardNotActiveException if card is not active
      */
-    public void topUp(BigDecimal amount) {
+    public void topUp(Money amount) {
         if (status != CardStatus.ACTIVE) {
-            throw new IllegalStateException("Card is not active");
+            throw new CardNotActiveException();
         }
         this.balance = this.balance.add(amount);
     }
@@ -1,9 +1,12 @@
 package com.cardplatform.domain.model.card;
 
+import com.cardplatform.domain.model.support.TimeOrderedUuidGenerator;
 import lombok.*;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 @Data
@@ -19,12 +22,38 @@ public class CardId implements Serializable {
     private UUID value;
 
     /**
-     * Generates a new random CardId.
+     * Length of the hyphenated form: xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx.
+     */
+    private static final int HYPHENATED_LENGTH = 36;
+
+    /**
+     * Length of the compact form without hyphens.
+     */
+    private static final int COMPACT_LENGTH = 32;
+
+    /**
+     * Value of each ASCII hexadecimal digit, or -1 for any other character.
+     */
+    private static final byte[] HEX_DIGITS = new byte[128];
+
+    static {
+        Arrays.fill(HEX_DIGITS, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_DIGITS['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_DIGITS['a' + i] = (byte) (10 + i);
+            HEX_DIGITS['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    /**
+     * Generates a new time-ordered CardId.
      *
-     * @return a new CardId instance with a random UUID
+     * @return a new CardId instance with a version 7 UUID
      */
     public static CardId generate() {
-        return new CardId(UUID.randomUUID());
+        return new CardId(TimeOrderedUuidGenerator.generate());
     }
 
     /**
@@ -48,30 +77,81 @@ public class CardId implements Serializable {
      */
     public static CardId of(String value) {
         Objects.requireNonNull(value, "CardId value cannot be null");
-        try {
-            String normalizedValue = value.trim().toLowerCase();
-            if (normalizedValue.length() == 32 && !normalizedValue.contains("-")) {
-                normalizedValue = addHyphensToUuid(normalizedValue);
+        return parse(value).orElseThrow(() -> new IllegalArgumentException("Invalid card ID format: " + value));
+    }
+
+    /**
+     * Parses a CardId from its hyphenated (36 characters) or compact (32 characters) hexadecimal form,
+     * ignoring surrounding whitespace and letter case. The digits are decoded in place, without building
+     * intermediate strings or throwing on malformed input.
+     *
+     * @param value the String representation of UUID, may be null
+     * @return an optional containing the CardId, or empty if the value is not a valid UUID
+     */
+    public static Optional<CardId> parse(CharSequence value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+
+        int start = 0;
+        int end = value.length();
+        while (start < end && Character.isWhitespace(value.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(value.charAt(end - 1))) {
+            end--;
+        }
+
+        long mostSigBits;
+        long leastSigBits;
+        if (end - start == HYPHENATED_LENGTH) {
+            if (value.charAt(start + 8) != '-' || value.charAt(start + 13) != '-'
+                    || value.charAt(start + 18) != '-' || value.charAt(start + 23) != '-') {
+                return Optional.empty();
+            }
+            long timeLow = parseHex(value, start, start + 8);
+            long timeMid = parseHex(value, start + 9, start + 13);
+            long timeHigh = parseHex(value, start + 14, start + 18);
+            long clockSeq = parseHex(value, start + 19, start + 23);
+            long node = parseHex(value, start + 24, end);
+            if ((timeLow | timeMid | timeHigh | clockSeq | node) < 0) {
+                return Optional.empty();
+            }
+            mostSigBits = timeLow << 32 | timeMid << 16 | timeHigh;
+            leastSigBits = clockSeq << 48 | node;
+        } else if (end - start == COMPACT_LENGTH) {
+            long high = parseHex(value, start, start + 8);
+            long midHigh = parseHex(value, start + 8, start + 16);
+            long midLow = parseHex(value, start + 16, start + 24);
+            long low = parseHex(value, start + 24, end);
+            if ((high | midHigh | midLow | low) < 0) {
+                return Optional.empty();
             }
-            return new CardId(UUID.fromString(normalizedValue));
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Invalid card ID format: " + value, e);
+            mostSigBits = high << 32 | midHigh;
+            leastSigBits = midLow << 32 | low;
+        } else {
+            return Optional.empty();
         }
+
+        return Optional.of(new CardId(new UUID(mostSigBits, leastSigBits)));
     }
 
     /**
-     * Adds hyphens to a 32-character UUID string to make it valid.
-     * Format: xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx
+     * Decodes a run of at most 12 hexadecimal digits.
+     *
+     * @return the decoded value, or -1 if the run contains a character that is not a hexadecimal digit
      */
-    private static String addHyphensToUuid(String uuid32) {
-        if (uuid32.length() != 32) {
-            throw new IllegalArgumentException("UUID without hyphens must be exactly 32 characters");
+    private static long parseHex(CharSequence value, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            int digit = c < HEX_DIGITS.length ? HEX_DIGITS[c] : -1;
+            if (digit < 0) {
+                return -1;
+            }
+            result = result << 4 | digit;
         }
-        return uuid32.substring(0, 8) + "-" +
-                uuid32.substring(8, 12) + "-" +
-                uuid32.substring(12, 16) + "-" +
-                uuid32.substring(16, 20) + "-" +
-                uuid32.substring(20);
+        return result;
     }
 
 }
@@ -0,0 +1,26 @@
+package com.cardplatform.domain.model.card;
+
+import com.cardplatform.domain.model.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request to issue a single card as part of a bulk issuance.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardIssuanceRequest {
+
+    /**
+     * This field represents the name of the cardholder.
+     */
+    private String cardholderName;
+
+    /**
+     * This field represents the initial balance of the card.
+     */
+    private Money initialBalance;
+
+}
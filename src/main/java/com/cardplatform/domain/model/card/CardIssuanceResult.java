@@ -0,0 +1,55 @@
+package com.cardplatform.domain.model.card;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single card issuance within a bulk issuance: either the issued card
+ * or the reason it could not be issued.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardIssuanceResult {
+
+    /**
+     * This field represents the issued card, or null if the issuance failed.
+     */
+    private Card card;
+
+    /**
+     * This field represents the reason the issuance failed, or null if the card was issued.
+     */
+    private String error;
+
+    /**
+     * Creates the result of a successfully issued card.
+     *
+     * @param card the issued card
+     * @return a new CardIssuanceResult instance
+     */
+    public static CardIssuanceResult issued(Card card) {
+        return new CardIssuanceResult(card, null);
+    }
+
+    /**
+     * Creates the result of a failed issuance.
+     *
+     * @param error the reason the issuance failed
+     * @return a new CardIssuanceResult instance
+     */
+    public static CardIssuanceResult failed(String error) {
+        return new CardIssuanceResult(null, error);
+    }
+
+    /**
+     * Checks whether the card was issued.
+     *
+     * @return true if the card was issued, false otherwise
+     */
+    public boolean isIssued() {
+        return card != null;
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.cardplatform.domain.model.card;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of a card as folded from its ledger: the card with its ledger balance, and the position of the
+ * ledger the balance was folded up to.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardLedgerState {
+
+    /**
+     * This field represents the card, carrying the balance folded from its ledger.
+     */
+    private Card card;
+
+    /**
+     * This field represents the sequence number of the last transaction of the card, or null if it has none.
+     */
+    private Long head;
+
+    /**
+     * This field represents the sequence number of the latest balance snapshot of the card, or null if it has none.
+     */
+    private Long snapshotSeq;
+
+    /**
+     * @return the sequence number the next transaction of the card is numbered with
+     */
+    public long nextSeq() {
+        return head == null ? 0 : head + 1;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.cardplatform.domain.model.card;
+
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single spend or top-up to apply to a card as part of a batch.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardOperation {
+
+    /**
+     * This field represents the identifier of the card to apply the operation to.
+     */
+    private CardId cardId;
+
+    /**
+     * This field represents the type of operation (SPEND, TOPUP).
+     */
+    private TransactionType type;
+
+    /**
+     * This field represents the amount of the operation.
+     */
+    private Money amount;
+
+}
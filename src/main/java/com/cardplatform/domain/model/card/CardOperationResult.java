@@ -0,0 +1,66 @@
+package com.cardplatform.domain.model.card;
+
+import com.cardplatform.domain.model.enums.CardOperationStatus;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.model.transaction.TransactionId;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single operation of a batch.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardOperationResult {
+
+    /**
+     * This field represents the outcome of the operation.
+     */
+    private CardOperationStatus status;
+
+    /**
+     * This field represents the transaction recorded for the operation, or null if it was not applied.
+     */
+    private TransactionId transactionId;
+
+    /**
+     * This field represents the card balance right after the operation, or null if it was not applied.
+     */
+    private Money balance;
+
+    /**
+     * This field represents the reason the operation was not applied, or null if it was applied.
+     */
+    private String message;
+
+    /**
+     * This field represents the card state right after the operation, at the version the operation brought
+     * the card to, or null if it was not applied.
+     */
+    private Card card;
+
+    /**
+     * Creates the result of an applied operation.
+     *
+     * @param transactionId the transaction recorded for the operation
+     * @param card the card state right after the operation
+     * @return a new CardOperationResult instance
+     */
+    public static CardOperationResult applied(TransactionId transactionId, Card card) {
+        return new CardOperationResult(CardOperationStatus.APPLIED, transactionId, card.getBalance(), null, card);
+    }
+
+    /**
+     * Creates the result of an operation that was not applied.
+     *
+     * @param status the reason category
+     * @param message the reason the operation was not applied
+     * @return a new CardOperationResult instance
+     */
+    public static CardOperationResult declined(CardOperationStatus status, String message) {
+        return new CardOperationResult(status, null, null, message, null);
+    }
+
+}
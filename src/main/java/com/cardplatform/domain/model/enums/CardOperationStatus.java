@@ -0,0 +1,38 @@
+package com.cardplatform.domain.model.enums;
+
+public enum CardOperationStatus {
+    /**
+     * Operation was applied and its transaction recorded.
+     */
+    APPLIED,
+
+    /**
+     * Operation failed request validation and was not attempted.
+     */
+    REJECTED,
+
+    /**
+     * Spend was declined because it exceeds the card balance.
+     */
+    INSUFFICIENT_BALANCE,
+
+    /**
+     * Operation was declined because the card is not active.
+     */
+    CARD_NOT_ACTIVE,
+
+    /**
+     * Operation was declined because the card does not exist.
+     */
+    CARD_NOT_FOUND,
+
+    /**
+     * Spend was declined because the card reached its spend rate limit.
+     */
+    RATE_LIMITED,
+
+    /**
+     * Operation could not be committed because of an unexpected error.
+     */
+    FAILED
+}
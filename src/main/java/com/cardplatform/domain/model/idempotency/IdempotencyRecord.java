@@ -0,0 +1,64 @@
+package com.cardplatform.domain.model.idempotency;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Stored outcome of a spend or top-up command sent with an idempotency key, used to answer
+ * retries of the same command without applying it again.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    /**
+     * This field represents the idempotency key supplied by the client.
+     */
+    private String key;
+
+    /**
+     * This field represents the card identifier the command was applied to.
+     */
+    private CardId cardId;
+
+    /**
+     * This field represents the type of the command (SPEND, TOPUP).
+     */
+    private TransactionType type;
+
+    /**
+     * This field represents the amount of the command.
+     */
+    private Money amount;
+
+    /**
+     * This field represents the state of the card right after the command was applied.
+     */
+    private Card card;
+
+    /**
+     * This field represents the timestamp when the command was applied.
+     */
+    private Instant createdAt;
+
+    /**
+     * Checks whether this record was created by the same command, i.e. the same type and amount on the same card.
+     *
+     * @param cardId the card identifier of the command
+     * @param type the type of the command
+     * @param amount the amount of the command
+     * @return true if the command matches this record
+     */
+    public boolean matches(CardId cardId, TransactionType type, Money amount) {
+        return this.cardId.equals(cardId) && this.type == type && this.amount.equals(amount);
+    }
+
+}
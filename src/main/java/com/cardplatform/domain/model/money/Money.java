@@ -0,0 +1,187 @@
+package com.cardplatform.domain.model.money;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * An amount of money as a whole number of minor units (cents) of a currency. Comparisons and arithmetic work on
+ * the {@code long} directly, so they neither allocate nor round; only the result of an addition or subtraction
+ * is a new instance. Amounts are converted to and from {@link BigDecimal} with two decimal places at the edges,
+ * where they are stored in the {@code DECIMAL(19,2)} columns and exchanged as JSON numbers.
+ * <p>
+ * Cards and transactions carry no currency of their own: every amount of the platform is in
+ * {@link #DEFAULT_CURRENCY}, and amounts of different currencies are never combined.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+
+    /**
+     * ISO 4217 code of the platform currency.
+     */
+    public static final String DEFAULT_CURRENCY = "EUR";
+
+    /**
+     * Number of decimal places of a major unit, that of the {@code DECIMAL(19,2)} amount columns.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * No money in the platform currency.
+     */
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+    /**
+     * This field represents the amount in minor units of the currency.
+     */
+    private final long minorUnits;
+
+    /**
+     * This field represents the ISO 4217 code of the currency.
+     */
+    private final String currency;
+
+    private Money(long minorUnits, String currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    /**
+     * Creates an amount in the platform currency from its minor units.
+     *
+     * @param minorUnits the amount in minor units
+     * @return a new Money instance
+     */
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Creates an amount in the given currency from its minor units.
+     *
+     * @param minorUnits the amount in minor units
+     * @param currency the ISO 4217 code of the currency
+     * @return a new Money instance
+     */
+    public static Money ofMinor(long minorUnits, String currency) {
+        return new Money(minorUnits, Objects.requireNonNull(currency, "currency"));
+    }
+
+    /**
+     * Creates an amount in the platform currency from a decimal amount of major units, rounded half up to
+     * {@value #SCALE} decimal places like the amount columns.
+     *
+     * @param amount the decimal amount
+     * @return a new Money instance, or null if the amount is null
+     * @throws ArithmeticException if the amount does not fit in a {@code long} of minor units
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        return ofMinor(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * @return the amount in minor units of the currency
+     */
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * @return the ISO 4217 code of the currency
+     */
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * @return the amount as a decimal of major units with {@value #SCALE} decimal places
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Adds an amount of the same currency.
+     *
+     * @param other the amount to add
+     * @return the sum
+     * @throws ArithmeticException if the sum overflows
+     * @throws IllegalArgumentException if the currencies differ
+     */
+    public Money add(Money other) {
+        checkCurrency(other);
+        return other.minorUnits == 0 ? this : new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    /**
+     * Subtracts an amount of the same currency.
+     *
+     * @param other the amount to subtract
+     * @return the difference
+     * @throws ArithmeticException if the difference overflows
+     * @throws IllegalArgumentException if the currencies differ
+     */
+    public Money subtract(Money other) {
+        checkCurrency(other);
+        return other.minorUnits == 0 ? this : new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    /**
+     * @param other an amount of the same currency
+     * @return true if this amount is strictly less than the other
+     * @throws IllegalArgumentException if the currencies differ
+     */
+    public boolean isLessThan(Money other) {
+        return compareTo(other) < 0;
+    }
+
+    /**
+     * @return true if this amount is strictly greater than zero
+     */
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    /**
+     * Compares amounts of the same currency.
+     *
+     * @throws IllegalArgumentException if the currencies differ
+     */
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Money)) {
+            return false;
+        }
+        Money money = (Money) other;
+        return minorUnits == money.minorUnits && currency.equals(money.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+}
@@ -2,13 +2,13 @@ package com.cardplatform.domain.model.transaction;
 
 import com.cardplatform.domain.model.card.CardId;
 import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 
 @Data
@@ -28,6 +28,13 @@ public class Transaction {
      */
     private CardId cardId;
 
+    /**
+     * This field represents the position of the transaction in its card's history: the card version the
+     * transaction brought the card to, or its position in the card's ledger when the ledger is event-sourced,
+     * increasing with every transaction of the card.
+     */
+    private Long seq;
+
     /**
      * This field represents the type of transaction (SPEND, TOPUP).
      */
@@ -36,7 +43,7 @@ public class Transaction {
     /**
      * This field represents the amount of the transaction.
      */
-    private BigDecimal amount;
+    private Money amount;
 
     /**
      * This field represents the timestamp when the transaction was created.
@@ -47,14 +54,16 @@ public class Transaction {
      * Creates a new transaction with the specified parameters.
      *
      * @param cardId the card identifier
+     * @param seq the position of the transaction in its card's history
      * @param type the transaction type
      * @param amount the transaction amount
      * @return a new Transaction instance
      */
-    public static Transaction create(CardId cardId, TransactionType type, BigDecimal amount) {
+    public static Transaction create(CardId cardId, long seq, TransactionType type, Money amount) {
         Transaction transaction = new Transaction();
         transaction.setId(TransactionId.generate());
         transaction.setCardId(cardId);
+        transaction.setSeq(seq);
         transaction.setType(type);
         transaction.setAmount(amount);
         transaction.setCreatedAt(Instant.now());
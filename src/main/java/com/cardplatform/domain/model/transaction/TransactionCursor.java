@@ -0,0 +1,31 @@
+package com.cardplatform.domain.model.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class TransactionCursor {
+
+    /**
+     * This field represents the position in its card's history of the last transaction already returned.
+     */
+    private Long seq;
+
+    /**
+     * Creates a cursor positioned right after the given transaction in history order.
+     *
+     * @param transaction the last transaction already returned
+     * @return a new TransactionCursor instance
+     */
+    public static TransactionCursor after(Transaction transaction) {
+        return new TransactionCursor(transaction.getSeq());
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.cardplatform.domain.model.transaction;
 
+import com.cardplatform.domain.model.support.TimeOrderedUuidGenerator;
 import lombok.*;
 
 import java.io.Serializable;
@@ -19,12 +20,12 @@ public class TransactionId implements Serializable {
     private UUID value;
 
     /**
-     * Generates a new random TransactionId.
+     * Generates a new time-ordered TransactionId.
      *
-     * @return a new TransactionId instance with a random UUID
+     * @return a new TransactionId instance with a version 7 UUID
      */
     public static TransactionId generate() {
-        return new TransactionId(UUID.randomUUID());
+        return new TransactionId(TimeOrderedUuidGenerator.generate());
     }
 
     /**
@@ -0,0 +1,27 @@
+package com.cardplatform.domain.port.card;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+public interface CardCache {
+
+    /**
+     * Returns the cached card, loading and caching it on a miss. Cards that do not exist are not cached.
+     *
+     * @param cardId the card identifier
+     * @param loader the function reading the card on a miss
+     * @return an optional containing the card if found
+     */
+    Optional<Card> get(CardId cardId, Function<CardId, Optional<Card>> loader);
+
+    /**
+     * Removes the card from the cache, so the next read loads it again.
+     *
+     * @param cardId the card identifier
+     */
+    void evict(CardId cardId);
+
+}
@@ -0,0 +1,23 @@
+package com.cardplatform.domain.port.card;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+
+import java.util.function.Consumer;
+
+public interface CardConcurrencyControl {
+
+    /**
+     * Reads a card, applies the mutation to it and saves it, guarding the read-modify-write against
+     * concurrent modifications of the same card. Must be called within a transaction.
+     *
+     * @param cardId the card identifier
+     * @param mutation the change to apply to the card; may throw to reject the change
+     * @return the saved card
+     * @throws IllegalStateException if the card does not exist
+     * @throws org.springframework.dao.ConcurrencyFailureException if the card could not be updated
+     *                                                             because of concurrent modifications
+     */
+    Card update(CardId cardId, Consumer<Card> mutation);
+
+}
@@ -0,0 +1,69 @@
+package com.cardplatform.domain.port.card;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.card.CardLedgerState;
+import com.cardplatform.domain.model.transaction.Transaction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CardLedger {
+
+    /**
+     * @return whether the ledger is the source of truth for card balances, rather than the balance column
+     */
+    boolean isEnabled();
+
+    /**
+     * Reads a card with the balance folded from its ledger.
+     *
+     * @param cardId the card identifier
+     * @return an optional containing the card if found
+     */
+    Optional<Card> findById(CardId cardId);
+
+    /**
+     * Replaces the balance of a card read from the cards table with the balance folded from its ledger.
+     *
+     * @param card the card as read from the cards table
+     * @return the card carrying its ledger balance
+     */
+    Card withBalance(Card card);
+
+    /**
+     * Reads the ledger states of the cards with the given identifiers. Identifiers without a card are skipped.
+     *
+     * @param cardIds the card identifiers
+     * @return the ledger states found, in no particular order
+     */
+    List<CardLedgerState> findAllById(Collection<CardId> cardIds);
+
+    /**
+     * Appends the transaction of a single spend or top-up, numbered right after the head of the given state, and
+     * snapshots the card when due. The state must carry the card as left by the transaction. Must be called
+     * within a transaction.
+     *
+     * @param state the ledger state the transaction was numbered from
+     * @param transaction the transaction to append
+     * @param attempt the number of this attempt, starting at 1
+     * @return true if the transaction was appended, false if a concurrent append took its number first, in
+     *         which case the card must be folded again and the transaction numbered anew
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the append still conflicted
+     *                                                                         on the last attempt
+     */
+    boolean tryAppend(CardLedgerState state, Transaction transaction, int attempt);
+
+    /**
+     * Appends the transactions of a batch, numbered from the heads of the given states, in JDBC batches.
+     * Each state must carry the card as left by its transactions. Must be called within a transaction.
+     *
+     * @param states the ledger states the transactions were numbered from, one per card with transactions
+     * @param transactions the transactions to append
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if a card's ledger was appended to
+     *                                                                         concurrently
+     */
+    void appendAll(List<CardLedgerState> states, List<Transaction> transactions);
+
+}
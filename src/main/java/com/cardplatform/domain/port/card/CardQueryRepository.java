@@ -0,0 +1,18 @@
+package com.cardplatform.domain.port.card;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+
+import java.util.Optional;
+
+public interface CardQueryRepository {
+
+    /**
+     * Reads the details of a card, without its transactions.
+     *
+     * @param cardId the card identifier
+     * @return an optional containing the card if found
+     */
+    Optional<Card> findDetailsById(CardId cardId);
+
+}
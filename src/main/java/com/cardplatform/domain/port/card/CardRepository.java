@@ -2,19 +2,48 @@ package com.cardplatform.domain.port.card;
 
 import com.cardplatform.domain.model.card.Card;
 import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.money.Money;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CardRepository {
 
     /**
-     * Saves a card entity.
+     * Inserts a new card.
+     *
+     * @param card the card to create
+     * @return the created card
+     */
+    Card create(Card card);
+
+    /**
+     * Inserts new cards in JDBC batches.
+     *
+     * @param cards the cards to create
+     * @return the created cards, in the same order
+     */
+    List<Card> createAll(List<Card> cards);
+
+    /**
+     * Saves the state of an existing card, checking its version for concurrent modifications.
      *
      * @param card the card to save
      * @return the saved card
      */
     Card save(Card card);
 
+    /**
+     * Saves the state of existing cards in JDBC batches, including the versions they were advanced to,
+     * checking that each card is still at the version it was read at.
+     *
+     * @param cards the cards to save
+     * @param readVersions the version each card was read at, in the same order as the cards
+     */
+    void saveAll(List<Card> cards, List<Long> readVersions);
+
     /**
      * Finds a card by its identifier.
      *
@@ -23,6 +52,24 @@ public interface CardRepository {
      */
     Optional<Card> findById(CardId cardId);
 
+    /**
+     * Finds a card by its identifier and locks its row until the end of the current transaction.
+     *
+     * @param cardId the card identifier
+     * @param lockTimeout the maximum time to wait for a lock held by another transaction
+     * @return an optional containing the card if found
+     * @throws org.springframework.dao.PessimisticLockingFailureException if the lock could not be acquired in time
+     */
+    Optional<Card> findByIdForUpdate(CardId cardId, Duration lockTimeout);
+
+    /**
+     * Finds the cards with the given identifiers in a single query. Identifiers without a card are skipped.
+     *
+     * @param cardIds the card identifiers
+     * @return the cards found, in no particular order
+     */
+    List<Card> findAllById(Collection<CardId> cardIds);
+
     /**
      * Checks if a card exists by its identifier.
      *
@@ -31,4 +78,47 @@ public interface CardRepository {
      */
     boolean existsById(CardId cardId);
 
-}
\ No newline at end of file
+    /**
+     * Atomically deducts the amount from the balance of an active card with sufficient funds,
+     * without reading the card first.
+     *
+     * @param cardId the card identifier
+     * @param amount the amount to deduct
+     * @return an optional containing the updated card, or empty if the card does not exist,
+     * is not active, or has insufficient balance
+     */
+    Optional<Card> debit(CardId cardId, Money amount);
+
+    /**
+     * Atomically adds the amount to the balance of an active card, without reading the card first.
+     *
+     * @param cardId the card identifier
+     * @param amount the amount to add
+     * @return an optional containing the updated card, or empty if the card does not exist or is not active
+     */
+    Optional<Card> credit(CardId cardId, Money amount);
+
+    /**
+     * Atomically deducts the amount from the balance of an active card with sufficient funds, provided the
+     * card is still at the version of the given state. The new state is derived from the given one, so the
+     * card is neither read before nor after the update.
+     *
+     * @param card the last known state of the card
+     * @param amount the amount to deduct
+     * @return an optional containing the updated card, or empty if the card was modified since,
+     * is not active, or has insufficient balance
+     */
+    Optional<Card> debitIfUnchanged(Card card, Money amount);
+
+    /**
+     * Atomically adds the amount to the balance of an active card, provided the card is still at the version
+     * of the given state. The new state is derived from the given one, so the card is neither read before nor
+     * after the update.
+     *
+     * @param card the last known state of the card
+     * @param amount the amount to add
+     * @return an optional containing the updated card, or empty if the card was modified since or is not active
+     */
+    Optional<Card> creditIfUnchanged(Card card, Money amount);
+
+}
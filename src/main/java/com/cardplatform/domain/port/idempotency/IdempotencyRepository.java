@@ -0,0 +1,42 @@
+package com.cardplatform.domain.port.idempotency;
+
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.idempotency.IdempotencyRecord;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyRepository {
+
+    /**
+     * Maximum length of an idempotency key.
+     */
+    int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Finds the stored outcome of the command sent for a card with the given idempotency key. Keys are scoped
+     * to their card: the same key sent for two cards identifies two different commands.
+     *
+     * @param cardId the card identifier of the command
+     * @param key the idempotency key
+     * @return an optional containing the record if the key was already used for the card
+     */
+    Optional<IdempotencyRecord> findByKey(CardId cardId, String key);
+
+    /**
+     * Stores the outcome of a command as part of the current transaction.
+     *
+     * @param record the record to store
+     * @throws org.springframework.dao.DataIntegrityViolationException if the key was already used for the card
+     */
+    void save(IdempotencyRecord record);
+
+    /**
+     * Deletes the records created before the cutoff; retries of their commands are applied again.
+     *
+     * @param cutoff the creation time before which records are deleted
+     * @return the number of records deleted
+     */
+    int deleteCreatedBefore(Instant cutoff);
+
+}
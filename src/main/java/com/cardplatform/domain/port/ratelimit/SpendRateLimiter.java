@@ -0,0 +1,35 @@
+package com.cardplatform.domain.port.ratelimit;
+
+import com.cardplatform.domain.model.card.CardId;
+
+public interface SpendRateLimiter {
+
+    /**
+     * Time window in minutes for rate limiting spend transactions.
+     */
+    int RATE_LIMIT_WINDOW_MINUTES = 1;
+
+    /**
+     * Maximum number of spend transactions allowed per rate limit window.
+     */
+    int MAX_SPENDS_PER_MINUTE = 5;
+
+    /**
+     * Attempts to reserve a spend slot for the card within the current rate limit window.
+     *
+     * @param cardId the card identifier
+     * @param timestamp the spend timestamp, in milliseconds since epoch
+     * @return true if the spend is allowed, false if the rate limit has been reached
+     */
+    boolean tryAcquire(CardId cardId, long timestamp);
+
+    /**
+     * Releases a spend slot previously reserved with {@link #tryAcquire(CardId, long)},
+     * used when the spend does not commit.
+     *
+     * @param cardId the card identifier
+     * @param timestamp the timestamp passed to the matching acquire call
+     */
+    void release(CardId cardId, long timestamp);
+
+}
@@ -1,13 +1,17 @@
 package com.cardplatform.domain.port.transaction;
 
 import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.model.transaction.TransactionCursor;
 import com.cardplatform.domain.model.transaction.TransactionId;
 import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.TransactionType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TransactionRepository {
 
@@ -19,6 +23,13 @@ public interface TransactionRepository {
      */
     Transaction save(Transaction transaction);
 
+    /**
+     * Saves new transactions in JDBC batches.
+     *
+     * @param transactions the transactions to save
+     */
+    void saveAll(List<Transaction> transactions);
+
     /**
      * Finds a transaction by its identifier.
      *
@@ -36,6 +47,18 @@ public interface TransactionRepository {
      */
     Page<Transaction> findByCardId(CardId cardId, Pageable pageable);
 
+    /**
+     * Finds the transactions of a specific card that come after a cursor in history order
+     * (newest first), seeking on the card and creation date instead of skipping rows and
+     * without counting the total.
+     *
+     * @param cardId the card identifier
+     * @param cursor the position after which to read, or null to start from the newest transaction
+     * @param size the maximum number of transactions to return
+     * @return a slice of transactions
+     */
+    Slice<Transaction> findByCardIdAfter(CardId cardId, TransactionCursor cursor, int size);
+
     /**
      * Finds all transactions for a specific card.
      *
@@ -44,6 +67,15 @@ public interface TransactionRepository {
      */
     List<Transaction> findByCardId(CardId cardId);
 
+    /**
+     * Streams all transactions for a specific card, newest first, handing each one to the consumer
+     * as it is read instead of collecting them, so memory use does not grow with the history.
+     *
+     * @param cardId the card identifier
+     * @param consumer the consumer receiving each transaction
+     */
+    void streamByCardId(CardId cardId, Consumer<Transaction> consumer);
+
     /**
      * Counts transactions by card ID within a time window (for rate limiting).
      *
@@ -54,4 +86,13 @@ public interface TransactionRepository {
      */
     long countByCardIdAndCreatedAtBetween(CardId cardId, long fromTimestamp, long toTimestamp);
 
+    /**
+     * Finds all transactions of the given type created at or after a timestamp, oldest first.
+     *
+     * @param type the transaction type
+     * @param fromTimestamp the start timestamp, in milliseconds since epoch
+     * @return list of transactions
+     */
+    List<Transaction> findByTypeAndCreatedAtAfter(TransactionType type, long fromTimestamp);
+
 }
@@ -1,25 +1,59 @@
 package com.cardplatform.domain.service;
 
+import com.cardplatform.domain.exception.CardNotActiveException;
 import com.cardplatform.domain.exception.CardNotFoundException;
+import com.cardplatform.domain.exception.CardPreconditionFailedException;
+import com.cardplatform.domain.exception.InsufficientBalanceException;
+import com.cardplatform.domain.exception.RateLimitExceededException;
 import com.cardplatform.domain.model.card.Card;
 import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.card.CardIssuanceRequest;
+import com.cardplatform.domain.model.card.CardLedgerState;
+import com.cardplatform.domain.model.card.CardOperation;
+import com.cardplatform.domain.model.card.CardOperationResult;
+import com.cardplatform.domain.model.money.Money;
 import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.model.transaction.TransactionCursor;
+import com.cardplatform.domain.model.enums.CardOperationStatus;
+import com.cardplatform.domain.model.idempotency.IdempotencyRecord;
 import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.port.card.CardCache;
+import com.cardplatform.domain.port.card.CardConcurrencyControl;
+import com.cardplatform.domain.port.card.CardLedger;
+import com.cardplatform.domain.port.card.CardQueryRepository;
 import com.cardplatform.domain.port.card.CardRepository;
+import com.cardplatform.domain.port.idempotency.IdempotencyRepository;
+import com.cardplatform.domain.port.ratelimit.SpendRateLimiter;
 import com.cardplatform.domain.port.transaction.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "card.domain.operation", description = "Card domain operations", histogram = true,
+        percentiles = {0.5, 0.95, 0.99})
 public class CardDomainService {
 
     /**
@@ -27,20 +61,40 @@ public class CardDomainService {
      */
     private final CardRepository cardRepository;
 
+    /**
+     * Repository for read-only projections of {@link Card} entities.
+     */
+    private final CardQueryRepository cardQueryRepository;
+
+    /**
+     * Concurrency control guarding the read-modify-write updates of a single card.
+     */
+    private final CardConcurrencyControl cardConcurrencyControl;
+
+    /**
+     * Event-sourced ledger deriving card balances from their transactions, when enabled.
+     */
+    private final CardLedger cardLedger;
+
+    /**
+     * Cache of card details serving the card, balance and status reads.
+     */
+    private final CardCache cardCache;
+
     /**
      * Repository for CRUD operations on {@link Transaction} entities.
      */
     private final TransactionRepository transactionRepository;
 
     /**
-     * Time window in minutes for rate limiting spend transactions.
+     * Rate limiter tracking the spend transactions of each card.
      */
-    private static final int RATE_LIMIT_WINDOW_MINUTES = 1;
+    private final SpendRateLimiter spendRateLimiter;
 
     /**
-     * Maximum number of spend transactions allowed per rate limit window.
+     * Repository for the stored outcomes of commands sent with an idempotency key.
      */
-    private static final int MAX_SPENDS_PER_MINUTE = 5;
+    private final IdempotencyRepository idempotencyRepository;
 
     /**
      * Creates a new card with the specified cardholder name and initial balance.
@@ -51,16 +105,17 @@ public class CardDomainService {
      * @return the created and persisted {@link Card}
      */
     @Transactional
-    public Card createCard(String cardholderName, BigDecimal initialBalance) {
+    public Card createCard(String cardholderName, Money initialBalance) {
         log.info("Creating new card for cardholder: {}", cardholderName);
 
         Card card = Card.create(cardholderName, initialBalance);
-        Card savedCard = cardRepository.save(card);
+        Card savedCard = cardRepository.create(card);
 
         // Create initial top-up transaction if there's an initial balance
-        if (initialBalance.compareTo(BigDecimal.ZERO) > 0) {
+        if (initialBalance.isPositive()) {
             Transaction initialTransaction = Transaction.create(
                     savedCard.getId(),
+                    savedCard.getVersion(),
                     TransactionType.TOPUP,
                     initialBalance
             );
@@ -72,9 +127,43 @@ public class CardDomainService {
         return savedCard;
     }
 
+    /**
+     * Creates a batch of new cards, with an initial top-up transaction for each card with
+     * an initial balance greater than zero. All cards and transactions are inserted in JDBC
+     * batches within a single transaction.
+     *
+     * @param requests the cards to issue
+     * @return the created cards, in the same order as the requests
+     */
+    @Transactional
+    public List<Card> createCards(List<CardIssuanceRequest> requests) {
+        log.info("Creating {} new cards", requests.size());
+
+        List<Card> cards = new ArrayList<>(requests.size());
+        List<Transaction> initialTransactions = new ArrayList<>(requests.size());
+        for (CardIssuanceRequest request : requests) {
+            Card card = Card.create(request.getCardholderName(), request.getInitialBalance());
+            cards.add(card);
+
+            if (request.getInitialBalance().isPositive()) {
+                initialTransactions.add(Transaction.create(card.getId(), card.getVersion(), TransactionType.TOPUP,
+                        request.getInitialBalance()));
+            }
+        }
+
+        List<Card> savedCards = cardRepository.createAll(cards);
+        transactionRepository.saveAll(initialTransactions);
+
+        log.info("Successfully created {} cards with {} initial top-up transactions",
+                savedCards.size(), initialTransactions.size());
+        return savedCards;
+    }
+
     /**
      * Processes a spend transaction by deducting the specified amount from the card balance.
      * Enforces rate limiting to prevent excessive spends within a short time window.
+     * The balance is debited with a single conditional update, so concurrent spends on the
+     * same card never overdraw it and never conflict with each other.
      *
      * @param cardId the identifier of the card to spend from
      * @param amount the amount to spend
@@ -83,31 +172,178 @@ public class CardDomainService {
      * @throws IllegalArgumentException if the rate limit for spends is exceeded
      */
     @Transactional
-    public Card spendFromCard(CardId cardId, BigDecimal amount) {
+    public Card spendFromCard(CardId cardId, Money amount) {
+        return spendFromCard(cardId, amount, null);
+    }
+
+    /**
+     * Processes a spend transaction sent with an optional idempotency key. If the key was already used
+     * for the same spend, the stored card state is returned without applying the spend again.
+     *
+     * @param cardId the identifier of the card to spend from
+     * @param amount the amount to spend
+     * @param idempotencyKey the idempotency key of the request, or null if none was sent
+     * @return the updated {@link Card} after the spend
+     * @throws IllegalStateException    if the card does not exist, is not active, or insufficient funds
+     * @throws IllegalArgumentException if the rate limit for spends is exceeded, or the key was used for
+     *                                  a different request
+     */
+    @Transactional
+    public Card spendFromCard(CardId cardId, Money amount, String idempotencyKey) {
+        return spendFromCard(cardId, amount, idempotencyKey, null);
+    }
+
+    /**
+     * Processes a spend transaction starting from the last known state of the card. While the card is still
+     * at that state's version, it is debited without being re-read; otherwise the spend proceeds as usual.
+     * With the event-sourced ledger, the spend is appended to the card's ledger and the known state is unused.
+     *
+     * @param cardId the identifier of the card to spend from
+     * @param amount the amount to spend
+     * @param idempotencyKey the idempotency key of the request, or null if none was sent
+     * @param knownCard the last known state of the card, or null if none is known
+     * @return the updated {@link Card} after the spend
+     * @throws IllegalStateException    if the card does not exist, is not active, or insufficient funds
+     * @throws IllegalArgumentException if the rate limit for spends is exceeded, or the key was used for
+     *                                  a different request
+     */
+    @Transactional
+    public Card spendFromCard(CardId cardId, Money amount, String idempotencyKey, Card knownCard) {
         log.info("Processing spend transaction for card: {}, amount: {}", cardId, amount);
 
+        Optional<Card> replayedCard = replay(idempotencyKey, cardId, TransactionType.SPEND, amount);
+        if (replayedCard.isPresent()) {
+            return replayedCard.get();
+        }
+
         // Check rate limiting
         checkRateLimit(cardId);
 
-        Card card = cardRepository.findById(cardId)
-                .orElseThrow(() -> new IllegalStateException("Card not found: " + cardId));
+        Card updatedCard;
+        if (cardLedger.isEnabled()) {
+            // Check the spend against the card folded from its ledger and append it
+            updatedCard = appendToLedger(cardId, TransactionType.SPEND, amount);
+        } else {
+            // Debit the card; if no row matched, re-read it to report the violated rule, or retry if it changed
+            updatedCard = knownCard == null ? null : cardRepository.debitIfUnchanged(knownCard, amount).orElse(null);
+            while (updatedCard == null && (updatedCard = cardRepository.debit(cardId, amount).orElse(null)) == null) {
+                Card card = cardRepository.findById(cardId)
+                        .orElseThrow(() -> new IllegalStateException("Card not found: " + cardId));
+                card.spend(amount);
+            }
+
+            // Create spend transaction record
+            Transaction spendTransaction = Transaction.create(cardId, updatedCard.getVersion(),
+                    TransactionType.SPEND, amount);
+            transactionRepository.save(spendTransaction);
+        }
+        recordIdempotencyKey(idempotencyKey, cardId, TransactionType.SPEND, amount, updatedCard);
+        evictCardAfterCommit(cardId);
 
-        // Process the spend
-        card.spend(amount);
+        log.info("Successfully processed spend transaction for card: {}", cardId);
+        return updatedCard;
+    }
 
-        // Save the updated card
-        Card updatedCard = cardRepository.save(card);
+    /**
+     * Applies a batch of spend and top-up operations across many cards within a single transaction.
+     * All cards are read with one query and the operations are grouped per card. Cards are processed
+     * in identifier order, and each card's operations in request order, so that concurrent batches
+     * touch rows in the same order. Every operation runs through the same rules as a single spend or
+     * top-up. A declined operation is reported and skipped without affecting the others. Like a single
+     * spend or top-up, every applied operation advances its card's version by one, which numbers its
+     * transaction. The new balances and the transaction rows are then written with batched statements.
+     * With the event-sourced ledger, the cards are folded from their ledgers instead, every applied operation
+     * is numbered after its card's last transaction, and only the transactions and due snapshots are written.
+     *
+     * @param operations the operations to apply
+     * @return the outcome of each operation, in the same order as the operations
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if a card was modified concurrently
+     */
+    @Transactional
+    public List<CardOperationResult> applyOperations(List<CardOperation> operations) {
+        log.info("Applying batch of {} card operations", operations.size());
 
-        // Create spend transaction record
-        Transaction spendTransaction = Transaction.create(cardId, TransactionType.SPEND, amount);
-        transactionRepository.save(spendTransaction);
+        Map<CardId, List<Integer>> operationsByCard = new TreeMap<>(Comparator.comparing(CardId::getValue));
+        for (int index = 0; index < operations.size(); index++) {
+            operationsByCard.computeIfAbsent(operations.get(index).getCardId(), id -> new ArrayList<>()).add(index);
+        }
 
-        log.info("Successfully processed spend transaction for card: {}", cardId);
-        return updatedCard;
+        Map<CardId, Card> cards = new HashMap<>();
+        Map<CardId, CardLedgerState> ledgerStates = new HashMap<>();
+        if (cardLedger.isEnabled()) {
+            cardLedger.findAllById(operationsByCard.keySet()).forEach(state -> {
+                cards.put(state.getCard().getId(), state.getCard());
+                ledgerStates.put(state.getCard().getId(), state);
+            });
+        } else {
+            cardRepository.findAllById(operationsByCard.keySet()).forEach(card -> cards.put(card.getId(), card));
+        }
+
+        CardOperationResult[] results = new CardOperationResult[operations.size()];
+        List<Card> updatedCards = new ArrayList<>(operationsByCard.size());
+        List<Long> readVersions = new ArrayList<>(operationsByCard.size());
+        List<CardLedgerState> appendedStates = new ArrayList<>(operationsByCard.size());
+        List<Transaction> transactions = new ArrayList<>(operations.size());
+
+        operationsByCard.forEach((cardId, indexes) -> {
+            Card card = cards.get(cardId);
+            if (card == null) {
+                indexes.forEach(index -> results[index] = CardOperationResult.declined(
+                        CardOperationStatus.CARD_NOT_FOUND, "Card not found: " + cardId));
+                return;
+            }
+
+            CardLedgerState ledgerState = ledgerStates.get(cardId);
+            long readVersion = card.getVersion();
+            long firstSeq = ledgerState == null ? readVersion + 1 : ledgerState.nextSeq();
+            int applied = 0;
+            for (int index : indexes) {
+                CardOperation operation = operations.get(index);
+                try {
+                    long seq = firstSeq + applied;
+                    Transaction transaction = applyOperation(card, operation, seq);
+                    transactions.add(transaction);
+                    results[index] = CardOperationResult.applied(transaction.getId(), new Card(card.getId(),
+                            card.getCardholderName(), card.getBalance(), card.getCreatedAt(), card.getStatus(),
+                            ledgerState == null ? seq : readVersion));
+                    applied++;
+                } catch (InsufficientBalanceException e) {
+                    results[index] = CardOperationResult.declined(CardOperationStatus.INSUFFICIENT_BALANCE,
+                            e.getMessage());
+                } catch (CardNotActiveException e) {
+                    results[index] = CardOperationResult.declined(CardOperationStatus.CARD_NOT_ACTIVE,
+                            e.getMessage());
+                } catch (RateLimitExceededException e) {
+                    results[index] = CardOperationResult.declined(CardOperationStatus.RATE_LIMITED,
+                            e.getMessage());
+                }
+            }
+            if (applied > 0 && ledgerState != null) {
+                appendedStates.add(ledgerState);
+            } else if (applied > 0) {
+                card.setVersion(readVersion + applied);
+                updatedCards.add(card);
+                readVersions.add(readVersion);
+            }
+        });
+
+        if (cardLedger.isEnabled()) {
+            cardLedger.appendAll(appendedStates, transactions);
+            appendedStates.forEach(state -> evictCardAfterCommit(state.getCard().getId()));
+        } else {
+            cardRepository.saveAll(updatedCards, readVersions);
+            transactionRepository.saveAll(transactions);
+            updatedCards.forEach(card -> evictCardAfterCommit(card.getId()));
+        }
+
+        log.info("Applied {} of {} card operations across {} cards",
+                transactions.size(), operations.size(), updatedCards.size() + appendedStates.size());
+        return Arrays.asList(results);
     }
 
     /**
      * Processes a top-up transaction by adding the specified amount to the card balance.
+     * The balance is credited with a single conditional update.
      *
      * @param cardId the identifier of the card to top up
      * @param amount the amount to add to the card balance
@@ -115,28 +351,104 @@ public class CardDomainService {
      * @throws IllegalStateException if the card does not exist or is not active
      */
     @Transactional
-    public Card topUpCard(CardId cardId, BigDecimal amount) {
-        log.info("Processing top-up transaction for card: {}, amount: {}", cardId, amount);
+    public Card topUpCard(CardId cardId, Money amount) {
+        return topUpCard(cardId, amount, null);
+    }
 
-        Card card = cardRepository.findById(cardId)
-                .orElseThrow(() -> new IllegalStateException("Card not found: " + cardId));
+    /**
+     * Processes a top-up transaction sent with an optional idempotency key. If the key was already used
+     * for the same top-up, the stored card state is returned without applying the top-up again.
+     *
+     * @param cardId the identifier of the card to top up
+     * @param amount the amount to add to the card balance
+     * @param idempotencyKey the idempotency key of the request, or null if none was sent
+     * @return the updated {@link Card} after the top-up
+     * @throws IllegalStateException    if the card does not exist or is not active
+     * @throws IllegalArgumentException if the key was used for a different request
+     */
+    @Transactional
+    public Card topUpCard(CardId cardId, Money amount, String idempotencyKey) {
+        return topUpCard(cardId, amount, idempotencyKey, null);
+    }
 
-        // Process the top-up
-        card.topUp(amount);
+    /**
+     * Processes a top-up transaction starting from the last known state of the card. While the card is still
+     * at that state's version, it is credited without being re-read; otherwise the top-up proceeds as usual.
+     * With the event-sourced ledger, the top-up is appended to the card's ledger and the known state is unused.
+     *
+     * @param cardId the identifier of the card to top up
+     * @param amount the amount to add to the card balance
+     * @param idempotencyKey the idempotency key of the request, or null if none was sent
+     * @param knownCard the last known state of the card, or null if none is known
+     * @return the updated {@link Card} after the top-up
+     * @throws IllegalStateException    if the card does not exist or is not active
+     * @throws IllegalArgumentException if the key was used for a different request
+     */
+    @Transactional
+    public Card topUpCard(CardId cardId, Money amount, String idempotencyKey, Card knownCard) {
+        log.info("Processing top-up transaction for card: {}, amount: {}", cardId, amount);
 
-        // Save the updated card
-        Card updatedCard = cardRepository.save(card);
+        Optional<Card> replayedCard = replay(idempotencyKey, cardId, TransactionType.TOPUP, amount);
+        if (replayedCard.isPresent()) {
+            return replayedCard.get();
+        }
 
-        // Create top-up transaction record
-        Transaction topUpTransaction = Transaction.create(cardId, TransactionType.TOPUP, amount);
-        transactionRepository.save(topUpTransaction);
+        Card updatedCard;
+        if (cardLedger.isEnabled()) {
+            // Check the top-up against the card folded from its ledger and append it
+            updatedCard = appendToLedger(cardId, TransactionType.TOPUP, amount);
+        } else {
+            // Credit the card; if no row matched, re-read it to report the violated rule, or retry if it changed
+            updatedCard = knownCard == null ? null : cardRepository.creditIfUnchanged(knownCard, amount).orElse(null);
+            while (updatedCard == null && (updatedCard = cardRepository.credit(cardId, amount).orElse(null)) == null) {
+                Card card = cardRepository.findById(cardId)
+                        .orElseThrow(() -> new IllegalStateException("Card not found: " + cardId));
+                card.topUp(amount);
+            }
+
+            // Create top-up transaction record
+            Transaction topUpTransaction = Transaction.create(cardId, updatedCard.getVersion(),
+                    TransactionType.TOPUP, amount);
+            transactionRepository.save(topUpTransaction);
+        }
+        recordIdempotencyKey(idempotencyKey, cardId, TransactionType.TOPUP, amount, updatedCard);
+        evictCardAfterCommit(cardId);
 
         log.info("Successfully processed top-up transaction for card: {}", cardId);
         return updatedCard;
     }
 
     /**
-     * Retrieves the card by its unique identifier.
+     * Looks up the outcome of a command previously sent for the same card with the same idempotency key.
+     *
+     * @param idempotencyKey the idempotency key of the request, or null if none was sent
+     * @param cardId the identifier of the card of the request
+     * @param type the type of the request
+     * @param amount the amount of the request
+     * @return the card state stored for the key, or empty if the key is null or was not used yet
+     * @throws IllegalArgumentException if the key was used for the card with a different type or amount
+     */
+    public Optional<Card> replay(String idempotencyKey, CardId cardId, TransactionType type, Money amount) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+
+        Optional<IdempotencyRecord> record = idempotencyRepository.findByKey(cardId, idempotencyKey);
+        if (record.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!record.get().matches(cardId, type, amount)) {
+            throw new IllegalArgumentException("Idempotency key already used for a different request: "
+                    + idempotencyKey);
+        }
+
+        log.info("Replaying {} transaction for card: {} with idempotency key: {}", type, cardId, idempotencyKey);
+        return Optional.of(record.get().getCard());
+    }
+
+    /**
+     * Retrieves the card by its unique identifier, from the card cache when present. With the event-sourced
+     * ledger, a card missing from the cache is folded from its ledger.
      *
      * @param cardId the identifier of the card
      * @return the {@link Card} entity
@@ -144,7 +456,9 @@ public class CardDomainService {
      */
     public Card getCard(CardId cardId) {
         log.debug("Retrieving card: {}", cardId);
-        return cardRepository.findById(cardId)
+        Function<CardId, Optional<Card>> loader = cardLedger.isEnabled()
+                ? cardLedger::findById : cardQueryRepository::findDetailsById;
+        return cardCache.get(cardId, loader)
                 .orElseThrow(() -> new CardNotFoundException(cardId.toString()));
     }
 
@@ -168,7 +482,49 @@ public class CardDomainService {
     }
 
     /**
-     * Blocks the card to prevent further transactions.
+     * Retrieves the transaction history for a given card page by page using a cursor,
+     * so that every page costs the same regardless of its depth.
+     *
+     * @param cardId the identifier of the card
+     * @param cursor the position after which to read, or null for the first page
+     * @param size the maximum number of transactions to return
+     * @return a {@link Slice} of {@link Transaction} objects
+     * @throws IllegalStateException if the card does not exist
+     */
+    public Slice<Transaction> getTransactionHistory(CardId cardId, TransactionCursor cursor, int size) {
+        log.debug("Retrieving transaction history for card: {} after cursor: {}", cardId, cursor);
+
+        // Verify card exists
+        if (!cardRepository.existsById(cardId)) {
+            throw new IllegalStateException("Card not found: " + cardId);
+        }
+
+        return transactionRepository.findByCardIdAfter(cardId, cursor, size);
+    }
+
+    /**
+     * Streams the full transaction history of a given card, newest first, to the consumer.
+     * Transactions are handed over one by one as they are read, so the history is never held in memory.
+     *
+     * @param cardId   the identifier of the card
+     * @param consumer the consumer receiving each transaction
+     * @throws IllegalStateException if the card does not exist
+     */
+    @Transactional(readOnly = true)
+    public void exportTransactionHistory(CardId cardId, Consumer<Transaction> consumer) {
+        log.debug("Exporting transaction history for card: {}", cardId);
+
+        // Verify card exists
+        if (!cardRepository.existsById(cardId)) {
+            throw new IllegalStateException("Card not found: " + cardId);
+        }
+
+        transactionRepository.streamByCardId(cardId, consumer);
+    }
+
+    /**
+     * Blocks the card to prevent further transactions. Concurrent updates of the card are resolved
+     * by the configured {@link CardConcurrencyControl}.
      *
      * @param cardId the identifier of the card to block
      * @return the updated {@link Card} after blocking
@@ -176,21 +532,37 @@ public class CardDomainService {
      */
     @Transactional
     public Card blockCard(CardId cardId) {
-        log.info("Blocking card: {}", cardId);
+        return blockCard(cardId, null);
+    }
 
-        // Verify card exists
-        Card card = cardRepository.findById(cardId)
-                .orElseThrow(() -> new IllegalStateException("Card not found: " + cardId));
+    /**
+     * Blocks the card to prevent further transactions, provided its current state satisfies the precondition.
+     * The precondition is checked on the state read by the configured {@link CardConcurrencyControl}, so no
+     * concurrent update can slip in between the check and the block.
+     *
+     * @param cardId the identifier of the card to block
+     * @param precondition the condition the current state of the card must satisfy, or null for none
+     * @return the updated {@link Card} after blocking
+     * @throws IllegalStateException if the card does not exist
+     * @throws CardPreconditionFailedException if the card does not satisfy the precondition
+     */
+    @Transactional
+    public Card blockCard(CardId cardId, Predicate<Card> precondition) {
+        log.info("Blocking card: {}", cardId);
 
-        card.block();
-        Card updatedCard = cardRepository.save(card);
+        Card updatedCard = withLedgerBalance(cardConcurrencyControl.update(cardId, card -> {
+            checkPrecondition(card, precondition);
+            card.block();
+        }));
+        evictCardAfterCommit(cardId);
 
         log.info("Successfully blocked card: {}", cardId);
         return updatedCard;
     }
 
     /**
-     * Activates the card, allowing transactions to be processed.
+     * Activates the card, allowing transactions to be processed. Concurrent updates of the card are
+     * resolved by the configured {@link CardConcurrencyControl}.
      *
      * @param cardId the identifier of the card to activate
      * @return the updated {@link Card} after activation
@@ -198,36 +570,162 @@ public class CardDomainService {
      */
     @Transactional
     public Card activateCard(CardId cardId) {
-        log.info("Activating card: {}", cardId);
+        return activateCard(cardId, null);
+    }
 
-        // Verify card exists
-        Card card = cardRepository.findById(cardId)
-                .orElseThrow(() -> new IllegalStateException("Card not found: " + cardId));
+    /**
+     * Activates the card, allowing transactions to be processed, provided its current state satisfies the
+     * precondition. The precondition is checked on the state read by the configured
+     * {@link CardConcurrencyControl}, so no concurrent update can slip in between the check and the activation.
+     *
+     * @param cardId the identifier of the card to activate
+     * @param precondition the condition the current state of the card must satisfy, or null for none
+     * @return the updated {@link Card} after activation
+     * @throws IllegalStateException if the card does not exist
+     * @throws CardPreconditionFailedException if the card does not satisfy the precondition
+     */
+    @Transactional
+    public Card activateCard(CardId cardId, Predicate<Card> precondition) {
+        log.info("Activating card: {}", cardId);
 
-        card.activate();
-        Card updatedCard = cardRepository.save(card);
+        Card updatedCard = withLedgerBalance(cardConcurrencyControl.update(cardId, card -> {
+            checkPrecondition(card, precondition);
+            card.activate();
+        }));
+        evictCardAfterCommit(cardId);
 
         log.info("Successfully activated card: {}", cardId);
         return updatedCard;
     }
 
+    /**
+     * Replaces the balance column of a card saved after a status change with its ledger balance, when the
+     * ledger is event-sourced and the column is no longer maintained.
+     */
+    private Card withLedgerBalance(Card card) {
+        return cardLedger.isEnabled() ? cardLedger.withBalance(card) : card;
+    }
+
+    /**
+     * Checks a precondition of a status change on the card as clients see it, that is with its ledger balance
+     * when the ledger is event-sourced.
+     */
+    private void checkPrecondition(Card card, Predicate<Card> precondition) {
+        if (precondition != null && !precondition.test(withLedgerBalance(card))) {
+            throw new CardPreconditionFailedException(card.getId().toString());
+        }
+    }
+
+    /**
+     * Stores the outcome of a command under its idempotency key, if one was sent.
+     */
+    private void recordIdempotencyKey(String idempotencyKey, CardId cardId, TransactionType type, Money amount,
+                                      Card updatedCard) {
+        if (idempotencyKey != null) {
+            idempotencyRepository.save(new IdempotencyRecord(idempotencyKey, cardId, type, amount, updatedCard,
+                    Instant.now()));
+        }
+    }
+
+    /**
+     * Evicts the card from the card cache once the surrounding transaction has committed, so reads
+     * keep being served from the cache until the new state is visible in the database.
+     *
+     * @param cardId the identifier of the updated card
+     */
+    private void evictCardAfterCommit(CardId cardId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cardCache.evict(cardId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cardCache.evict(cardId);
+            }
+        });
+    }
+
+    /**
+     * Applies a single operation of a batch to the in-memory card. A spend is checked against the
+     * card state before a rate limit slot is reserved, so a declined spend never consumes a slot.
+     *
+     * @param card the card to apply the operation to
+     * @param operation the operation to apply
+     * @param seq the sequence number of the operation's transaction
+     * @return the transaction recording the operation
+     * @throws CardNotActiveException if the card is not active
+     * @throws InsufficientBalanceException if a spend exceeds the balance
+     * @throws RateLimitExceededException if a spend exceeds the rate limit
+     */
+    private Transaction applyOperation(Card card, CardOperation operation, long seq) {
+        if (operation.getType() == TransactionType.SPEND) {
+            Money balanceBefore = card.getBalance();
+            card.spend(operation.getAmount());
+            try {
+                checkRateLimit(card.getId());
+            } catch (RateLimitExceededException e) {
+                card.setBalance(balanceBefore);
+                throw e;
+            }
+        } else {
+            card.topUp(operation.getAmount());
+        }
+        return Transaction.create(card.getId(), seq, operation.getType(), operation.getAmount());
+    }
+
+    /**
+     * Folds the card from its ledger, applies the spend or top-up to it and appends its transaction, folding the
+     * card again and retrying while a concurrent append takes the transaction's number first.
+     *
+     * @param cardId the identifier of the card
+     * @param type the transaction type
+     * @param amount the amount of the transaction
+     * @return the card state right after the transaction
+     * @throws IllegalStateException if the card does not exist, is not active, or insufficient funds
+     */
+    private Card appendToLedger(CardId cardId, TransactionType type, Money amount) {
+        for (int attempt = 1; ; attempt++) {
+            CardLedgerState state = cardLedger.findAllById(List.of(cardId)).stream()
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Card not found: " + cardId));
+            Card card = state.getCard();
+            if (type == TransactionType.SPEND) {
+                card.spend(amount);
+            } else {
+                card.topUp(amount);
+            }
+            if (cardLedger.tryAppend(state, Transaction.create(cardId, state.nextSeq(), type, amount), attempt)) {
+                return card;
+            }
+        }
+    }
+
     /**
      * Checks whether the number of spend transactions within the rate limit window
-     * has exceeded the maximum allowed threshold.
+     * has exceeded the maximum allowed threshold, reserving a slot for this spend if not.
+     * The slot is released again if the surrounding transaction does not commit.
      *
      * @param cardId the identifier of the card
-     * @throws IllegalArgumentException if the rate limit has been exceeded
+     * @throws RateLimitExceededException if the rate limit has been exceeded
      */
     private void checkRateLimit(CardId cardId) {
         long currentTime = Instant.now().toEpochMilli();
-        long windowStart = currentTime - (RATE_LIMIT_WINDOW_MINUTES * 60 * 1000);
 
-        long spendCount = transactionRepository.countByCardIdAndCreatedAtBetween(cardId, windowStart, currentTime);
+        if (!spendRateLimiter.tryAcquire(cardId, currentTime)) {
+            throw new RateLimitExceededException(SpendRateLimiter.MAX_SPENDS_PER_MINUTE);
+        }
 
-        if (spendCount >= MAX_SPENDS_PER_MINUTE) {
-            throw new IllegalArgumentException(
-                    String.format("Rate limit exceeded. Maximum %d spends per minute allowed.", MAX_SPENDS_PER_MINUTE)
-            );
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        spendRateLimiter.release(cardId, currentTime);
+                    }
+                }
+            });
         }
     }
 
@@ -0,0 +1,72 @@
+package com.cardplatform.infrastructure.cache;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.port.card.CardCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process card cache, evicting entries by size and by time since they were loaded.
+ * A load and an eviction of the same card never interleave, so evicting a card after its update
+ * has committed guarantees that no older state is served afterwards.
+ * <p>
+ * Hit, miss, eviction and size metrics are published under the {@code cache.*} meters with the tag
+ * {@code cache=cards}. Entries are per application instance.
+ */
+@Component
+public class CaffeineCardCache implements CardCache {
+
+    /**
+     * Name of the cache in the published metrics.
+     */
+    private static final String CACHE_NAME = "cards";
+
+    /**
+     * Cached cards keyed by card identifier.
+     */
+    private final Cache<UUID, Card> cache;
+
+    public CaffeineCardCache(@Value("${card-platform.card-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${card-platform.card-cache.ttl:30s}") Duration ttl,
+                             MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached card, loading it on a miss. Concurrent misses for the same card share one load.
+     *
+     * @param cardId the card identifier
+     * @param loader the function reading the card on a miss
+     * @return an optional containing the card if found
+     */
+    @Override
+    public Optional<Card> get(CardId cardId, Function<CardId, Optional<Card>> loader) {
+        return Optional.ofNullable(cache.get(cardId.getValue(), id -> loader.apply(cardId).orElse(null)));
+    }
+
+    /**
+     * Removes the card from the cache.
+     *
+     * @param cardId the card identifier
+     */
+    @Override
+    public void evict(CardId cardId) {
+        cache.invalidate(cardId.getValue());
+    }
+
+}
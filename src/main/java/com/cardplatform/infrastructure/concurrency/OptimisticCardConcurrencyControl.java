@@ -0,0 +1,98 @@
+package com.cardplatform.infrastructure.concurrency;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.port.card.CardConcurrencyControl;
+import com.cardplatform.domain.port.card.CardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Optimistic concurrency control: the card is read without a lock and saved with a versioned update.
+ * When the version no longer matches, the card is read again and the mutation reapplied, up to
+ * {@code max-attempts} times, after a randomly jittered exponential backoff so that colliding writers
+ * spread out instead of colliding again.
+ * <p>
+ * Retries happen within the caller's transaction, which sees the competing commit on the next read
+ * under read-committed isolation.
+ */
+@Component
+@ConditionalOnProperty(name = "card-platform.concurrency-control.mode", havingValue = "optimistic",
+        matchIfMissing = true)
+@Slf4j
+public class OptimisticCardConcurrencyControl implements CardConcurrencyControl {
+
+    /**
+     * Repository reading and saving the cards.
+     */
+    private final CardRepository cardRepository;
+
+    /**
+     * Maximum number of attempts, including the first, before a conflict is reported.
+     */
+    private final int maxAttempts;
+
+    /**
+     * Upper bound of the backoff before the first retry, doubled on every further retry.
+     */
+    private final Duration backoff;
+
+    public OptimisticCardConcurrencyControl(CardRepository cardRepository,
+                                            @Value("${card-platform.concurrency-control.max-attempts:3}")
+                                            int maxAttempts,
+                                            @Value("${card-platform.concurrency-control.backoff:5ms}")
+                                            Duration backoff) {
+        this.cardRepository = cardRepository;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    /**
+     * Reads the card, applies the mutation and saves it with a versioned update, retrying on conflicts.
+     *
+     * @param cardId the card identifier
+     * @param mutation the change to apply to the card
+     * @return the saved card
+     * @throws IllegalStateException if the card does not exist
+     * @throws ObjectOptimisticLockingFailureException if the card was modified concurrently on every attempt
+     */
+    @Override
+    public Card update(CardId cardId, Consumer<Card> mutation) {
+        for (int attempt = 1; ; attempt++) {
+            Card card = cardRepository.findById(cardId)
+                    .orElseThrow(() -> new IllegalStateException("Card not found: " + cardId));
+            mutation.accept(card);
+
+            try {
+                return cardRepository.save(card);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Retrying update of card: {} after concurrent modification, attempt {}", cardId, attempt);
+                pause(attempt);
+            }
+        }
+    }
+
+    /**
+     * Waits a random time between zero and {@code backoff * 2^(attempt - 1)}.
+     *
+     * @param attempt the number of the attempt that failed
+     */
+    private void pause(int attempt) {
+        long maxNanos = backoff.toNanos() << Math.min(attempt - 1, 16);
+        if (maxNanos > 0) {
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(maxNanos + 1));
+        }
+    }
+
+}
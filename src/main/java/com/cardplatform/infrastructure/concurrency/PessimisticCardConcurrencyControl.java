@@ -0,0 +1,58 @@
+package com.cardplatform.infrastructure.concurrency;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.port.card.CardConcurrencyControl;
+import com.cardplatform.domain.port.card.CardRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Pessimistic concurrency control: the card row is read with {@code SELECT ... FOR UPDATE}, so concurrent
+ * writers queue on the database lock instead of failing their versioned update. A writer that waits longer
+ * than {@code lock-timeout} gives up with a conflict.
+ */
+@Component
+@ConditionalOnProperty(name = "card-platform.concurrency-control.mode", havingValue = "pessimistic")
+public class PessimisticCardConcurrencyControl implements CardConcurrencyControl {
+
+    /**
+     * Repository locking and saving the cards.
+     */
+    private final CardRepository cardRepository;
+
+    /**
+     * Maximum time to wait for the row lock.
+     */
+    private final Duration lockTimeout;
+
+    public PessimisticCardConcurrencyControl(CardRepository cardRepository,
+                                             @Value("${card-platform.concurrency-control.lock-timeout:2s}")
+                                             Duration lockTimeout) {
+        this.cardRepository = cardRepository;
+        this.lockTimeout = lockTimeout;
+    }
+
+    /**
+     * Locks the card row, applies the mutation and saves the card. The lock is held until the
+     * surrounding transaction ends.
+     *
+     * @param cardId the card identifier
+     * @param mutation the change to apply to the card
+     * @return the saved card
+     * @throws IllegalStateException if the card does not exist
+     * @throws org.springframework.dao.PessimisticLockingFailureException if the lock was not acquired in time
+     */
+    @Override
+    public Card update(CardId cardId, Consumer<Card> mutation) {
+        Card card = cardRepository.findByIdForUpdate(cardId, lockTimeout)
+                .orElseThrow(() -> new IllegalStateException("Card not found: " + cardId));
+        mutation.accept(card);
+        return cardRepository.save(card);
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.cardplatform.infrastructure.concurrency;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.port.card.CardConcurrencyControl;
+import com.cardplatform.domain.port.card.CardRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process lock striping in front of optimistic concurrency control. Each card maps to one of
+ * {@code stripes} locks by the hash of its identifier; an update holds the card's lock until its
+ * transaction completes, so updates of the same card within this instance run one after the other
+ * and never fail each other's versioned update. Conflicts with other instances, or with spends and
+ * top-ups, are still retried as in optimistic mode.
+ */
+@Component
+@ConditionalOnProperty(name = "card-platform.concurrency-control.mode", havingValue = "striped")
+public class StripedLockCardConcurrencyControl implements CardConcurrencyControl {
+
+    /**
+     * Locks guarding the cards, indexed by the spread hash of the card identifier.
+     */
+    private final ReentrantLock[] stripes;
+
+    /**
+     * Maximum time to wait for a stripe lock.
+     */
+    private final Duration lockTimeout;
+
+    /**
+     * Optimistic control applying the update once the stripe lock is held.
+     */
+    private final OptimisticCardConcurrencyControl optimisticConcurrencyControl;
+
+    public StripedLockCardConcurrencyControl(CardRepository cardRepository,
+                                             @Value("${card-platform.concurrency-control.stripes:1024}") int stripes,
+                                             @Value("${card-platform.concurrency-control.lock-timeout:2s}")
+                                             Duration lockTimeout,
+                                             @Value("${card-platform.concurrency-control.max-attempts:3}")
+                                             int maxAttempts,
+                                             @Value("${card-platform.concurrency-control.backoff:5ms}")
+                                             Duration backoff) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.lockTimeout = lockTimeout;
+        this.optimisticConcurrencyControl = new OptimisticCardConcurrencyControl(cardRepository, maxAttempts,
+                backoff);
+    }
+
+    /**
+     * Acquires the card's stripe lock, then applies the update optimistically. The lock is released
+     * once the surrounding transaction completes, or right away outside a transaction.
+     *
+     * @param cardId the card identifier
+     * @param mutation the change to apply to the card
+     * @return the saved card
+     * @throws IllegalStateException if the card does not exist
+     * @throws CannotAcquireLockException if the stripe lock was not acquired in time
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the card was modified
+     *                                                                         concurrently on every attempt
+     */
+    @Override
+    public Card update(CardId cardId, Consumer<Card> mutation) {
+        ReentrantLock lock = stripeOf(cardId);
+        acquire(lock, cardId);
+
+        boolean releaseAfterCompletion = false;
+        try {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        lock.unlock();
+                    }
+                });
+                releaseAfterCompletion = true;
+            }
+            return optimisticConcurrencyControl.update(cardId, mutation);
+        } finally {
+            if (!releaseAfterCompletion) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private ReentrantLock stripeOf(CardId cardId) {
+        int hash = cardId.getValue().hashCode();
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+
+    private void acquire(ReentrantLock lock, CardId cardId) {
+        try {
+            if (!lock.tryLock(lockTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new CannotAcquireLockException("Timed out waiting for the update lock of card: " + cardId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted waiting for the update lock of card: " + cardId, e);
+        }
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.cardplatform.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class for background maintenance tasks.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
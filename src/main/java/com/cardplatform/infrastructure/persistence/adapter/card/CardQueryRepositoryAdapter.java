@@ -0,0 +1,94 @@
+package com.cardplatform.infrastructure.persistence.adapter.card;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.CardStatus;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.port.card.CardQueryRepository;
+import com.cardplatform.infrastructure.persistence.support.UuidBinaryConverter;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Optional;
+
+/**
+ * Read adapter selecting only the columns the card details need with jOOQ, straight into the domain card.
+ * Nothing is loaded into the persistence context.
+ */
+@Repository
+@ConditionalOnProperty(name = "card-platform.card-store.mode", havingValue = "database", matchIfMissing = true)
+@Timed(value = "card.repository.call", description = "Repository calls", histogram = true,
+        percentiles = {0.5, 0.95, 0.99})
+@RequiredArgsConstructor
+@Slf4j
+public class CardQueryRepositoryAdapter implements CardQueryRepository {
+
+    /**
+     * This field represents the cards table, resolved against the default schema of the connection.
+     */
+    private static final Table<?> CARDS = DSL.table(DSL.unquotedName("cards"));
+
+    /**
+     * This field represents the binary identifier column of the card.
+     */
+    private static final Field<byte[]> ID = DSL.field(DSL.unquotedName("id"), SQLDataType.VARBINARY);
+
+    /**
+     * This field represents the cardholder name column.
+     */
+    private static final Field<String> CARDHOLDER_NAME =
+            DSL.field(DSL.unquotedName("cardholder_name"), SQLDataType.VARCHAR);
+
+    /**
+     * This field represents the balance column.
+     */
+    private static final Field<BigDecimal> BALANCE = DSL.field(DSL.unquotedName("balance"), SQLDataType.DECIMAL);
+
+    /**
+     * This field represents the creation timestamp column.
+     */
+    private static final Field<Timestamp> CREATED_AT = DSL.field(DSL.unquotedName("created_at"), SQLDataType.TIMESTAMP);
+
+    /**
+     * This field represents the status column (ACTIVE, BLOCKED).
+     */
+    private static final Field<String> STATUS = DSL.field(DSL.unquotedName("status"), SQLDataType.VARCHAR);
+
+    /**
+     * This field represents the optimistic locking version column.
+     */
+    private static final Field<Long> VERSION = DSL.field(DSL.unquotedName("version"), SQLDataType.BIGINT);
+
+    /**
+     * jOOQ context bound to the application data source and its Spring-managed transactions.
+     */
+    private final DSLContext dsl;
+
+    /**
+     * Reads the details of a card, without touching its transactions.
+     *
+     * @param cardId the card identifier
+     * @return an Optional containing the card if found, otherwise empty
+     */
+    @Override
+    public Optional<Card> findDetailsById(CardId cardId) {
+        log.debug("Reading card details by ID: {}", cardId);
+
+        return dsl.select(CARDHOLDER_NAME, BALANCE, CREATED_AT, STATUS, VERSION)
+                .from(CARDS)
+                .where(ID.eq(UuidBinaryConverter.toBytes(cardId.getValue())))
+                .fetchOptional(row -> new Card(cardId, row.value1(), Money.of(row.value2()), row.value3().toInstant(),
+                        CardStatus.valueOf(row.value4()), row.value5()));
+    }
+
+}
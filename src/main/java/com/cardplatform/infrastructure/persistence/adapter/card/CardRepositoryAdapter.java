@@ -2,21 +2,53 @@ package com.cardplatform.infrastructure.persistence.adapter.card;
 
 import com.cardplatform.domain.model.card.Card;
 import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.money.Money;
 import com.cardplatform.domain.port.card.CardRepository;
 import com.cardplatform.infrastructure.persistence.entity.card.CardEntity;
 import com.cardplatform.infrastructure.persistence.repository.card.CardJpaRepository;
+import com.cardplatform.infrastructure.persistence.support.UuidBinaryConverter;
 import com.cardplatform.infrastructure.web.mapper.card.CardEntityMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Repository
+@ConditionalOnProperty(name = "card-platform.card-store.mode", havingValue = "database", matchIfMissing = true)
+@Timed(value = "card.repository.call", description = "Repository calls", histogram = true,
+        percentiles = {0.5, 0.95, 0.99})
 @RequiredArgsConstructor
 @Slf4j
 public class CardRepositoryAdapter implements CardRepository {
 
+    /**
+     * Versioned update applied to each card of a batch.
+     */
+    private static final String UPDATE_IF_VERSION_MATCHES_SQL = "UPDATE cards "
+            + "SET cardholder_name = ?, balance = ?, status = ?, version = ? WHERE id = ? AND version = ?";
+
+    /**
+     * JPA hint limiting how long a pessimistic lock request waits, in milliseconds.
+     */
+    private static final String LOCK_TIMEOUT_HINT = "javax.persistence.lock.timeout";
+
     /**
      * JPA repository interface for performing CRUD operations on Card entities.
      */
@@ -28,24 +60,127 @@ public class CardRepositoryAdapter implements CardRepository {
     private final CardEntityMapper cardEntityMapper;
 
     /**
-     * Saves the given {@link Card} to the database.
-     * Converts the domain {@code Card} to an entity, saves it, then maps it back.
+     * Entity manager used to insert new cards without a merge.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * JDBC template used to send batched updates.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the given {@link Card} into the database.
+     * The entity is persisted directly, so no SELECT is issued to check whether it already exists.
+     *
+     * @param card the card to create
+     * @return the created card
+     */
+    @Override
+    public Card create(Card card) {
+        log.debug("Creating card with ID: {}", card.getId());
+
+        CardEntity cardEntity = cardEntityMapper.mapToEntity(card);
+        entityManager.persist(cardEntity);
+        Card createdCard = cardEntityMapper.mapToDomain(cardEntity);
+
+        log.debug("Successfully created card with ID: {}", createdCard.getId());
+        return createdCard;
+    }
+
+    /**
+     * Inserts the given {@link Card}s in JDBC batches of {@code hibernate.jdbc.batch_size}.
+     * The entities are persisted directly, flushed together and then detached, so the persistence
+     * context does not grow with the number of cards.
+     *
+     * @param cards the cards to create
+     * @return the created cards, in the same order
+     */
+    @Override
+    public List<Card> createAll(List<Card> cards) {
+        log.debug("Creating {} cards", cards.size());
+
+        List<Card> createdCards = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            CardEntity cardEntity = cardEntityMapper.mapToEntity(card);
+            entityManager.persist(cardEntity);
+            createdCards.add(cardEntityMapper.mapToDomain(cardEntity));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        log.debug("Successfully created {} cards", createdCards.size());
+        return createdCards;
+    }
+
+    /**
+     * Saves the state of the given existing {@link Card} with a single versioned update,
+     * without merging or re-reading the entity.
      *
      * @param card the card to save
-     * @return the saved card with any updated state (e.g., generated IDs)
+     * @return the saved card with its incremented version
+     * @throws ObjectOptimisticLockingFailureException if the card was modified concurrently
      */
     @Override
     public Card save(Card card) {
         log.debug("Saving card with ID: {}", card.getId());
 
-        CardEntity cardEntity = cardEntityMapper.mapToEntity(card);
-        CardEntity savedEntity = cardJpaRepository.save(cardEntity);
-        Card savedCard = cardEntityMapper.mapToDomain(savedEntity);
+        int updated = cardJpaRepository.updateIfVersionMatches(card.getId().getValue(), card.getCardholderName(),
+                card.getBalance().toBigDecimal(), card.getStatus(), card.getVersion());
+        if (updated == 0) {
+            throw new ObjectOptimisticLockingFailureException(CardEntity.class, card.getId().getValue());
+        }
+
+        Card savedCard = new Card(card.getId(), card.getCardholderName(), card.getBalance(), card.getCreatedAt(),
+                card.getStatus(), card.getVersion() + 1);
 
         log.debug("Successfully saved card with ID: {}", savedCard.getId());
         return savedCard;
     }
 
+    /**
+     * Saves the state of the given existing {@link Card}s, at the versions they were advanced to, with a
+     * single JDBC batch of updates conditioned on the versions they were read at. The card objects are left
+     * unchanged.
+     *
+     * @param cards the cards to save
+     * @param readVersions the version each card was read at, in the same order as the cards
+     * @throws ObjectOptimisticLockingFailureException if any card was modified concurrently
+     */
+    @Override
+    public void saveAll(List<Card> cards, List<Long> readVersions) {
+        log.debug("Saving {} cards", cards.size());
+
+        int[] updateCounts = jdbcTemplate.batchUpdate(UPDATE_IF_VERSION_MATCHES_SQL,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int index) throws SQLException {
+                        Card card = cards.get(index);
+                        statement.setString(1, card.getCardholderName());
+                        statement.setBigDecimal(2, card.getBalance().toBigDecimal());
+                        statement.setString(3, card.getStatus().name());
+                        statement.setLong(4, card.getVersion());
+                        statement.setBytes(5, UuidBinaryConverter.toBytes(card.getId().getValue()));
+                        statement.setLong(6, readVersions.get(index));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return cards.size();
+                    }
+                });
+
+        for (int index = 0; index < updateCounts.length; index++) {
+            // Drivers may report success without a row count
+            if (updateCounts[index] == 0) {
+                throw new ObjectOptimisticLockingFailureException(CardEntity.class,
+                        cards.get(index).getId().getValue());
+            }
+        }
+
+        log.debug("Successfully saved {} cards", cards.size());
+    }
+
     /**
      * Finds a card by its {@link CardId}.
      *
@@ -60,6 +195,39 @@ public class CardRepositoryAdapter implements CardRepository {
                 .map(cardEntityMapper::mapToDomain);
     }
 
+    /**
+     * Finds a card by its {@link CardId} with a {@code SELECT ... FOR UPDATE}, waiting at most
+     * {@code lockTimeout} for a lock held by another transaction.
+     *
+     * @param cardId the unique identifier of the card
+     * @param lockTimeout the maximum time to wait for the row lock
+     * @return an {@link Optional} containing the locked {@code Card} or empty if not found
+     */
+    @Override
+    public Optional<Card> findByIdForUpdate(CardId cardId, Duration lockTimeout) {
+        log.debug("Finding and locking card by ID: {}", cardId);
+
+        CardEntity cardEntity = entityManager.find(CardEntity.class, cardId.getValue(),
+                LockModeType.PESSIMISTIC_WRITE, Map.of(LOCK_TIMEOUT_HINT, lockTimeout.toMillis()));
+        return Optional.ofNullable(cardEntity).map(cardEntityMapper::mapToDomain);
+    }
+
+    /**
+     * Finds the cards with the given identifiers with a single query.
+     *
+     * @param cardIds the unique identifiers of the cards
+     * @return the {@code Card}s found, in no particular order
+     */
+    @Override
+    public List<Card> findAllById(Collection<CardId> cardIds) {
+        log.debug("Finding {} cards by ID", cardIds.size());
+
+        List<UUID> ids = cardIds.stream().map(CardId::getValue).collect(Collectors.toList());
+        return cardJpaRepository.findAllById(ids).stream()
+                .map(cardEntityMapper::mapToDomain)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Checks if a card exists in the database by its {@link CardId}.
      *
@@ -73,4 +241,80 @@ public class CardRepositoryAdapter implements CardRepository {
         return cardJpaRepository.existsById(cardId.getValue());
     }
 
-}
\ No newline at end of file
+    /**
+     * Deducts the amount from an active card with sufficient funds using a single conditional
+     * update, then re-reads the card to return its new state.
+     *
+     * @param cardId the unique identifier of the card
+     * @param amount the amount to deduct
+     * @return an {@link Optional} containing the updated {@code Card}, or empty if no row matched
+     */
+    @Override
+    public Optional<Card> debit(CardId cardId, Money amount) {
+        log.debug("Debiting {} from card with ID: {}", amount, cardId);
+
+        if (cardJpaRepository.debit(cardId.getValue(), amount.toBigDecimal()) == 0) {
+            return Optional.empty();
+        }
+        return findById(cardId);
+    }
+
+    /**
+     * Adds the amount to an active card using a single conditional update,
+     * then re-reads the card to return its new state.
+     *
+     * @param cardId the unique identifier of the card
+     * @param amount the amount to add
+     * @return an {@link Optional} containing the updated {@code Card}, or empty if no row matched
+     */
+    @Override
+    public Optional<Card> credit(CardId cardId, Money amount) {
+        log.debug("Crediting {} to card with ID: {}", amount, cardId);
+
+        if (cardJpaRepository.credit(cardId.getValue(), amount.toBigDecimal()) == 0) {
+            return Optional.empty();
+        }
+        return findById(cardId);
+    }
+
+    /**
+     * Deducts the amount from an active card with sufficient funds using a single conditional update on
+     * the version of the given state, and derives the new state from it without re-reading the card.
+     *
+     * @param card the last known state of the card
+     * @param amount the amount to deduct
+     * @return an {@link Optional} containing the updated {@code Card}, or empty if no row matched
+     */
+    @Override
+    public Optional<Card> debitIfUnchanged(Card card, Money amount) {
+        log.debug("Debiting {} from card with ID: {} at version: {}", amount, card.getId(), card.getVersion());
+
+        if (cardJpaRepository.debitIfVersionMatches(card.getId().getValue(), amount.toBigDecimal(),
+                card.getVersion()) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new Card(card.getId(), card.getCardholderName(), card.getBalance().subtract(amount),
+                card.getCreatedAt(), card.getStatus(), card.getVersion() + 1));
+    }
+
+    /**
+     * Adds the amount to an active card using a single conditional update on the version of the given
+     * state, and derives the new state from it without re-reading the card.
+     *
+     * @param card the last known state of the card
+     * @param amount the amount to add
+     * @return an {@link Optional} containing the updated {@code Card}, or empty if no row matched
+     */
+    @Override
+    public Optional<Card> creditIfUnchanged(Card card, Money amount) {
+        log.debug("Crediting {} to card with ID: {} at version: {}", amount, card.getId(), card.getVersion());
+
+        if (cardJpaRepository.creditIfVersionMatches(card.getId().getValue(), amount.toBigDecimal(),
+                card.getVersion()) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new Card(card.getId(), card.getCardholderName(), card.getBalance().add(amount),
+                card.getCreatedAt(), card.getStatus(), card.getVersion() + 1));
+    }
+
+}
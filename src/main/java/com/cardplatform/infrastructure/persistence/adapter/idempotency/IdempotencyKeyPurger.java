@@ -0,0 +1,77 @@
+package com.cardplatform.infrastructure.persistence.adapter.idempotency;
+
+import com.cardplatform.domain.port.idempotency.IdempotencyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Background job deleting the idempotency records older than {@code card-platform.idempotency.ttl}, after which
+ * a retry with the same key is applied as a new command. Every instance runs the job; the delete is idempotent,
+ * so instances purging at the same time only repeat each other's work. The number of purged records is
+ * published as {@code card.idempotency.keys.purged}.
+ */
+@Component
+@Slf4j
+public class IdempotencyKeyPurger {
+
+    /**
+     * Repository the records are deleted from.
+     */
+    private final IdempotencyRepository idempotencyRepository;
+
+    /**
+     * Template running each purge in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Age after which a record is deleted.
+     */
+    private final Duration ttl;
+
+    /**
+     * Number of records deleted.
+     */
+    private final Counter purged;
+
+    public IdempotencyKeyPurger(IdempotencyRepository idempotencyRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${card-platform.idempotency.ttl:24h}") Duration ttl,
+                                MeterRegistry meterRegistry) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.purged = Counter.builder("card.idempotency.keys.purged")
+                .description("Idempotency records deleted after their TTL")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Deletes the records created before the TTL. The interval is an ISO-8601 duration.
+     *
+     * @return the number of records deleted
+     */
+    @Scheduled(fixedDelayString = "${card-platform.idempotency.purge-interval:PT1H}",
+            initialDelayString = "${card-platform.idempotency.purge-interval:PT1H}")
+    public int purgeExpired() {
+        Instant cutoff = Instant.now().minus(ttl);
+        Integer deleted = transactionTemplate.execute(status -> idempotencyRepository.deleteCreatedBefore(cutoff));
+        int count = deleted == null ? 0 : deleted;
+        purged.increment(count);
+
+        if (count > 0) {
+            log.info("Purged {} idempotency records created before {}", count, cutoff);
+        }
+        return count;
+    }
+
+}
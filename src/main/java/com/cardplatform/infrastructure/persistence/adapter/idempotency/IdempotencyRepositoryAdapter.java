@@ -0,0 +1,131 @@
+package com.cardplatform.infrastructure.persistence.adapter.idempotency;
+
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.idempotency.IdempotencyRecord;
+import com.cardplatform.domain.port.idempotency.IdempotencyRepository;
+import com.cardplatform.infrastructure.persistence.entity.idempotency.IdempotencyKeyEntity;
+import com.cardplatform.infrastructure.persistence.repository.idempotency.IdempotencyKeyJpaRepository;
+import com.cardplatform.infrastructure.web.mapper.idempotency.IdempotencyKeyEntityMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Stores idempotency records in the {@code idempotency_keys} table, whose primary key on the card and the key
+ * guarantees that a key is used once per card. A bounded in-memory cache in front of the table answers retries
+ * of recently applied commands without a query. Records only enter the cache once their transaction has
+ * committed.
+ */
+@Repository
+@Timed(value = "card.repository.call", description = "Repository calls", histogram = true,
+        percentiles = {0.5, 0.95, 0.99})
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyRepositoryAdapter implements IdempotencyRepository {
+
+    /**
+     * Maximum number of records held in the front cache.
+     */
+    private static final int MAX_CACHED_RECORDS = 10_000;
+
+    /**
+     * Time after which a cached record is evicted; retries arriving later are answered from the table.
+     */
+    private static final Duration CACHE_TTL = Duration.ofMinutes(10);
+
+    /**
+     * JPA repository for idempotency key entities.
+     */
+    private final IdempotencyKeyJpaRepository idempotencyKeyJpaRepository;
+
+    /**
+     * Mapper to convert between idempotency records and entities.
+     */
+    private final IdempotencyKeyEntityMapper idempotencyKeyEntityMapper;
+
+    /**
+     * Entity manager used to insert records without a merge.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Front cache of committed records keyed by card and idempotency key.
+     */
+    private final Cache<IdempotencyKeyEntity.Key, IdempotencyRecord> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_RECORDS)
+            .expireAfterWrite(CACHE_TTL)
+            .build();
+
+    /**
+     * Finds the record for a card's idempotency key, from the cache if present and from the table otherwise.
+     *
+     * @param cardId the card identifier
+     * @param key the idempotency key
+     * @return an Optional containing the record if the key was already used for the card, otherwise empty
+     */
+    @Override
+    public Optional<IdempotencyRecord> findByKey(CardId cardId, String key) {
+        IdempotencyKeyEntity.Key id = new IdempotencyKeyEntity.Key(cardId.getValue(), key);
+        IdempotencyRecord cachedRecord = cache.getIfPresent(id);
+        if (cachedRecord != null) {
+            return Optional.of(cachedRecord);
+        }
+
+        log.debug("Finding idempotency record of card {} by key: {}", cardId, key);
+        Optional<IdempotencyRecord> record = idempotencyKeyJpaRepository.findById(id)
+                .map(idempotencyKeyEntityMapper::mapToDomain);
+        record.ifPresent(found -> cache.put(id, found));
+        return record;
+    }
+
+    /**
+     * Inserts the record and flushes immediately, so a key that was already used for the card fails here
+     * on the primary key rather than at commit. The record is cached once the transaction commits.
+     *
+     * @param record the record to store
+     */
+    @Override
+    public void save(IdempotencyRecord record) {
+        log.debug("Saving idempotency record with key: {}", record.getKey());
+
+        IdempotencyKeyEntity entity = idempotencyKeyEntityMapper.mapToEntity(record);
+        entityManager.persist(entity);
+        entityManager.flush();
+
+        IdempotencyKeyEntity.Key id = new IdempotencyKeyEntity.Key(entity.getCardId(), entity.getKey());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.put(id, record);
+                }
+            });
+        } else {
+            cache.put(id, record);
+        }
+    }
+
+    /**
+     * Deletes the records created before the cutoff. Cached records of deleted keys expire with the cache TTL,
+     * well within the retention of the keys.
+     *
+     * @param cutoff the creation time before which records are deleted
+     * @return the number of records deleted
+     */
+    @Override
+    public int deleteCreatedBefore(Instant cutoff) {
+        log.debug("Deleting idempotency records created before: {}", cutoff);
+        return idempotencyKeyJpaRepository.deleteCreatedBefore(cutoff);
+    }
+
+}
@@ -1,30 +1,65 @@
 package com.cardplatform.infrastructure.persistence.adapter.transaction;
 
 import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.money.Money;
 import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.model.transaction.TransactionCursor;
 import com.cardplatform.domain.model.transaction.TransactionId;
 import com.cardplatform.domain.model.enums.TransactionType;
 import com.cardplatform.domain.port.transaction.TransactionRepository;
+import com.cardplatform.infrastructure.persistence.archive.TransactionArchiveRepository;
 import com.cardplatform.infrastructure.persistence.entity.card.CardEntity;
 import com.cardplatform.infrastructure.persistence.entity.transaction.TransactionEntity;
 import com.cardplatform.infrastructure.persistence.repository.card.CardJpaRepository;
 import com.cardplatform.infrastructure.persistence.repository.transaction.TransactionJpaRepository;
+import com.cardplatform.infrastructure.persistence.support.UuidBinaryConverter;
 import com.cardplatform.infrastructure.web.mapper.transaction.TransactionEntityMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+/**
+ * Stores transactions in the hot {@code transactions} table. Transactions older than the hot window are moved
+ * to {@code transactions_archive} in the background; reads fall through to the archive only when they reach
+ * past the hot transactions and the archive may hold matching ones.
+ */
 @Repository
+@ConditionalOnProperty(name = "card-platform.transaction-store.mode", havingValue = "database", matchIfMissing = true)
+@Timed(value = "card.repository.call", description = "Repository calls", histogram = true,
+        percentiles = {0.5, 0.95, 0.99})
 @RequiredArgsConstructor
 @Slf4j
 public class TransactionRepositoryAdapter implements TransactionRepository {
 
+    /**
+     * Number of rows fetched per round trip when streaming a card's transactions.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Query streaming a card's transactions in history order.
+     */
+    private static final String STREAM_BY_CARD_ID_SQL = "SELECT id, seq, type, amount, created_at "
+            + "FROM transactions WHERE card_id = ? ORDER BY seq DESC";
+
     /**
      * JPA repository for Transaction entities.
      */
@@ -41,32 +76,69 @@ public class TransactionRepositoryAdapter implements TransactionRepository {
     private final TransactionEntityMapper transactionEntityMapper;
 
     /**
-     * Saves a transaction, establishing its association with a card.
+     * Entity manager used to insert transactions without a merge.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * JDBC template used to stream transactions without loading them into the persistence context.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Archive of the transactions older than the hot window.
+     */
+    private final TransactionArchiveRepository transactionArchiveRepository;
+
+    /**
+     * Saves a new transaction, establishing its association with a card by foreign key only.
+     * The card is attached as an uninitialized reference and the transaction is persisted directly,
+     * so neither the card nor the transaction is read back before the INSERT.
      *
      * @param transaction the transaction to save
      * @return the saved transaction domain object
-     * @throws IllegalStateException if the associated card is not found
      */
     @Override
     public Transaction save(Transaction transaction) {
         log.debug("Saving transaction with ID: {}", transaction.getId());
 
-        // Get the card entity to establish the relationship
-        CardEntity cardEntity = cardJpaRepository.findById(transaction.getCardId().getValue())
-                .orElseThrow(() -> new IllegalStateException("Card not found: " + transaction.getCardId()));
+        // Reference the card by its identifier to establish the relationship
+        CardEntity cardReference = cardJpaRepository.getReferenceById(transaction.getCardId().getValue());
 
         TransactionEntity transactionEntity = transactionEntityMapper.mapToEntity(transaction);
-        transactionEntity.setCard(cardEntity);
+        transactionEntity.setCard(cardReference);
 
-        TransactionEntity savedEntity = transactionJpaRepository.save(transactionEntity);
-        Transaction savedTransaction = transactionEntityMapper.mapToDomain(savedEntity);
+        entityManager.persist(transactionEntity);
+        Transaction savedTransaction = transactionEntityMapper.mapToDomain(transactionEntity);
 
         log.debug("Successfully saved transaction with ID: {}", savedTransaction.getId());
         return savedTransaction;
     }
 
     /**
-     * Finds a transaction by its identifier.
+     * Saves new transactions in JDBC batches of {@code hibernate.jdbc.batch_size}, referencing their
+     * cards by foreign key only. The entities are flushed together and then detached, so the
+     * persistence context does not grow with the number of transactions.
+     *
+     * @param transactions the transactions to save
+     */
+    @Override
+    public void saveAll(List<Transaction> transactions) {
+        log.debug("Saving {} transactions", transactions.size());
+
+        for (Transaction transaction : transactions) {
+            TransactionEntity transactionEntity = transactionEntityMapper.mapToEntity(transaction);
+            transactionEntity.setCard(cardJpaRepository.getReferenceById(transaction.getCardId().getValue()));
+            entityManager.persist(transactionEntity);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        log.debug("Successfully saved {} transactions", transactions.size());
+    }
+
+    /**
+     * Finds a transaction by its identifier, in the archive if it is not a hot transaction.
      *
      * @param transactionId the transaction identifier
      * @return an Optional containing the transaction if found, otherwise empty
@@ -75,12 +147,18 @@ public class TransactionRepositoryAdapter implements TransactionRepository {
     public Optional<Transaction> findById(TransactionId transactionId) {
         log.debug("Finding transaction by ID: {}", transactionId);
 
-        return transactionJpaRepository.findById(transactionId.getValue())
+        Optional<Transaction> transaction = transactionJpaRepository.findById(transactionId.getValue())
                 .map(transactionEntityMapper::mapToDomain);
+        if (transaction.isPresent() || !transactionArchiveRepository.hasHistory()) {
+            return transaction;
+        }
+        return transactionArchiveRepository.findById(transactionId);
     }
 
     /**
-     * Finds transactions for a specific card, paginated and sorted by creation date descending.
+     * Finds transactions for a specific card, paginated and sorted newest first.
+     * While the archive holds any transaction, the total includes the card's archived transactions, and a page
+     * extending past the card's hot transactions is completed from the archive.
      *
      * @param cardId the card identifier
      * @param pageable pagination information
@@ -90,14 +168,65 @@ public class TransactionRepositoryAdapter implements TransactionRepository {
     public Page<Transaction> findByCardId(CardId cardId, Pageable pageable) {
         log.debug("Finding transactions by card ID: {} with pagination", cardId);
 
-        Page<TransactionEntity> entityPage = transactionJpaRepository
-                .findByCardIdOrderByCreatedAtDesc(cardId.getValue(), pageable);
+        Page<Transaction> hotPage = transactionJpaRepository
+                .findByCardIdOrderBySeqDesc(cardId.getValue(), pageable)
+                .map(transactionEntityMapper::mapToDomain);
+        if (!transactionArchiveRepository.hasHistory()) {
+            return hotPage;
+        }
+
+        long archivedCount = transactionArchiveRepository.countByCardId(cardId);
+        int missing = pageable.getPageSize() - hotPage.getNumberOfElements();
+        if (archivedCount == 0 || missing == 0) {
+            return new PageImpl<>(hotPage.getContent(), pageable, hotPage.getTotalElements() + archivedCount);
+        }
+
+        // Archived transactions all come after the hot ones in history order
+        List<Transaction> content = new ArrayList<>(hotPage.getContent());
+        long archiveOffset = Math.max(0, pageable.getOffset() - hotPage.getTotalElements());
+        content.addAll(transactionArchiveRepository.findByCardId(cardId, archiveOffset, missing));
+        return new PageImpl<>(content, pageable, hotPage.getTotalElements() + archivedCount);
+    }
+
+    /**
+     * Finds the transactions of a card after the given cursor, sorted newest first.
+     * Seeks on the (card_id, seq) key instead of skipping rows and issues no count query.
+     * Only when the card's hot transactions run out before the slice is full is it completed from the archive.
+     *
+     * @param cardId the card identifier
+     * @param cursor the position after which to read, or null to start from the newest transaction
+     * @param size the maximum number of transactions to return
+     * @return a slice of transactions for the card
+     */
+    @Override
+    public Slice<Transaction> findByCardIdAfter(CardId cardId, TransactionCursor cursor, int size) {
+        log.debug("Finding transactions by card ID: {} after cursor: {}", cardId, cursor);
+
+        Pageable limit = PageRequest.of(0, size);
+        Slice<TransactionEntity> entitySlice = cursor == null
+                ? transactionJpaRepository.findSliceByCardIdOrderBySeqDesc(cardId.getValue(), limit)
+                : transactionJpaRepository.findByCardIdAndSeqLessThanOrderBySeqDesc(cardId.getValue(),
+                        cursor.getSeq(), limit);
 
-        return entityPage.map(transactionEntityMapper::mapToDomain);
+        Slice<Transaction> hotSlice = entitySlice.map(transactionEntityMapper::mapToDomain);
+        if (hotSlice.hasNext() || !transactionArchiveRepository.hasHistory()) {
+            return hotSlice;
+        }
+
+        // Archived transactions all come after the hot ones, so the cursor only matters while no hot one was read
+        List<Transaction> content = new ArrayList<>(hotSlice.getContent());
+        TransactionCursor archiveCursor = content.isEmpty() ? cursor : null;
+        int missing = size - content.size();
+        List<Transaction> archived = transactionArchiveRepository.findByCardIdAfter(cardId, archiveCursor,
+                missing + 1);
+        boolean hasNext = archived.size() > missing;
+        content.addAll(hasNext ? archived.subList(0, missing) : archived);
+        return new SliceImpl<>(content, limit, hasNext);
     }
 
     /**
-     * Finds all transactions for a specific card, sorted by creation date descending.
+     * Finds all transactions for a specific card, sorted newest first, the hot ones followed
+     * by the archived ones.
      *
      * @param cardId the card identifier
      * @return list of all transactions for the card
@@ -107,13 +236,49 @@ public class TransactionRepositoryAdapter implements TransactionRepository {
         log.debug("Finding all transactions by card ID: {}", cardId);
 
         List<TransactionEntity> entities = transactionJpaRepository
-                .findByCardIdOrderByCreatedAtDesc(cardId.getValue());
+                .findByCardIdOrderBySeqDesc(cardId.getValue());
 
-        return transactionEntityMapper.mapToDomain(entities);
+        List<Transaction> transactions = new ArrayList<>(transactionEntityMapper.mapToDomain(entities));
+        if (transactionArchiveRepository.hasHistory()) {
+            transactionArchiveRepository.streamByCardId(cardId, transactions::add);
+        }
+        return transactions;
     }
 
     /**
-     * Counts the number of SPEND transactions for a card between two timestamps.
+     * Streams all transactions for a specific card, sorted newest first.
+     * Rows are read from a forward-only, read-only cursor in batches of {@code STREAM_FETCH_SIZE}
+     * and mapped one by one, bypassing the persistence context. The archived transactions follow the hot ones.
+     *
+     * @param cardId the card identifier
+     * @param consumer the consumer receiving each transaction
+     */
+    @Override
+    public void streamByCardId(CardId cardId, Consumer<Transaction> consumer) {
+        log.debug("Streaming all transactions by card ID: {}", cardId);
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(STREAM_BY_CARD_ID_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            statement.setBytes(1, UuidBinaryConverter.toBytes(cardId.getValue()));
+            return statement;
+        }, (ResultSet resultSet) -> consumer.accept(new Transaction(
+                TransactionId.of(UuidBinaryConverter.toUuid(resultSet.getBytes("id"))),
+                cardId,
+                resultSet.getLong("seq"),
+                TransactionType.valueOf(resultSet.getString("type")),
+                Money.of(resultSet.getBigDecimal("amount")),
+                resultSet.getTimestamp("created_at").toInstant())));
+
+        if (transactionArchiveRepository.hasHistory()) {
+            transactionArchiveRepository.streamByCardId(cardId, consumer);
+        }
+    }
+
+    /**
+     * Counts the number of SPEND transactions for a card between two timestamps, including the archived ones
+     * only when the time window starts before the newest archived transaction.
      *
      * @param cardId the card identifier
      * @param fromTimestamp the start of the time window (inclusive), in milliseconds since epoch
@@ -125,8 +290,40 @@ public class TransactionRepositoryAdapter implements TransactionRepository {
         log.debug("Counting SPEND transactions for card ID: {} between {} and {}",
                 cardId, fromTimestamp, toTimestamp);
 
-        return transactionJpaRepository.countByCardIdAndTypeAndCreatedAtBetween(cardId.getValue(),
-                TransactionType.SPEND, Instant.ofEpochMilli(fromTimestamp), Instant.ofEpochMilli(toTimestamp));
+        Instant from = Instant.ofEpochMilli(fromTimestamp);
+        Instant to = Instant.ofEpochMilli(toTimestamp);
+        long count = transactionJpaRepository.countByCardIdAndTypeAndCreatedAtBetween(cardId.getValue(),
+                TransactionType.SPEND, from, to);
+        if (transactionArchiveRepository.reaches(from)) {
+            count += transactionArchiveRepository.countByCardIdAndTypeAndCreatedAtBetween(cardId,
+                    TransactionType.SPEND, from, to);
+        }
+        return count;
+    }
+
+    /**
+     * Finds all transactions of the given type created at or after a timestamp, oldest first, starting with
+     * the archived ones when the time window starts before the newest archived transaction.
+     *
+     * @param type the transaction type
+     * @param fromTimestamp the start of the time window (inclusive), in milliseconds since epoch
+     * @return list of matching transactions
+     */
+    @Override
+    public List<Transaction> findByTypeAndCreatedAtAfter(TransactionType type, long fromTimestamp) {
+        log.debug("Finding {} transactions created after {}", type, fromTimestamp);
+
+        Instant from = Instant.ofEpochMilli(fromTimestamp);
+        List<TransactionEntity> entities = transactionJpaRepository
+                .findByTypeAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(type, from);
+
+        if (!transactionArchiveRepository.reaches(from)) {
+            return transactionEntityMapper.mapToDomain(entities);
+        }
+        List<Transaction> transactions = new ArrayList<>(transactionArchiveRepository
+                .findByTypeAndCreatedAtAfter(type, from));
+        transactions.addAll(transactionEntityMapper.mapToDomain(entities));
+        return transactions;
     }
 
 }
@@ -0,0 +1,120 @@
+package com.cardplatform.infrastructure.persistence.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Background job moving the transactions older than the hot window from {@code transactions} to
+ * {@code transactions_archive}. Each run moves at most {@code max-chunks-per-run} chunks of {@code chunk-size}
+ * transactions, oldest first, each chunk in its own short transaction, so archiving never holds locks or undo
+ * for long and a backlog is worked off over several runs.
+ * <p>
+ * The chunks seek on the {@code created_at} index, oldest first. Every instance runs the job, but each chunk
+ * locks the archive's row of {@code job_locks}, so movers on different instances take turns instead of
+ * copying the same transactions. On Oracle, the interval partitions emptied by a run are dropped afterwards.
+ * The number of archived transactions is published as {@code card.transactions.archived}.
+ */
+@Component
+@ConditionalOnProperty(name = "card-platform.transaction-archive.enabled", havingValue = "true",
+        matchIfMissing = true)
+@Slf4j
+public class TransactionArchiveMover {
+
+    /**
+     * Archive the chunks are moved to.
+     */
+    private final TransactionArchiveRepository transactionArchiveRepository;
+
+    /**
+     * Template running each chunk in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Age after which a transaction is archived.
+     */
+    private final Duration hotWindow;
+
+    /**
+     * Maximum number of transactions moved per chunk.
+     */
+    private final int chunkSize;
+
+    /**
+     * Maximum number of chunks moved per run.
+     */
+    private final int maxChunksPerRun;
+
+    /**
+     * Number of transactions archived.
+     */
+    private final Counter archived;
+
+    public TransactionArchiveMover(TransactionArchiveRepository transactionArchiveRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${card-platform.transaction-archive.hot-window:90d}") Duration hotWindow,
+                                   @Value("${card-platform.transaction-archive.chunk-size:1000}") int chunkSize,
+                                   @Value("${card-platform.transaction-archive.max-chunks-per-run:100}")
+                                   int maxChunksPerRun,
+                                   MeterRegistry meterRegistry) {
+        this.transactionArchiveRepository = transactionArchiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hotWindow = hotWindow;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.archived = Counter.builder("card.transactions.archived")
+                .description("Transactions moved to the archive table")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Moves the transactions created before the hot window to the archive, chunk by chunk, until none is left
+     * or the run has moved {@code max-chunks-per-run} chunks. The interval is an ISO-8601 duration.
+     *
+     * @return the number of transactions moved
+     */
+    @Scheduled(fixedDelayString = "${card-platform.transaction-archive.interval:PT1H}",
+            initialDelayString = "${card-platform.transaction-archive.interval:PT1H}")
+    public int moveExpired() {
+        Instant cutoff = Instant.now().minus(hotWindow);
+        int moved = 0;
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer chunkMoved = transactionTemplate.execute(
+                    status -> transactionArchiveRepository.moveChunk(cutoff, chunkSize));
+            int count = chunkMoved == null ? 0 : chunkMoved;
+            moved += count;
+            archived.increment(count);
+            if (count < chunkSize) {
+                break;
+            }
+        }
+
+        if (moved > 0) {
+            log.info("Archived {} transactions created before {}", moved, cutoff);
+        }
+        dropExpiredPartitions(cutoff);
+        return moved;
+    }
+
+    private void dropExpiredPartitions(Instant cutoff) {
+        try {
+            transactionArchiveRepository.dropExpiredPartitions(cutoff);
+        } catch (DataAccessException e) {
+            // Another instance may have dropped the same partition; the next run tries again
+            log.warn("Could not drop expired transaction partitions: {}", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,349 @@
+package com.cardplatform.infrastructure.persistence.archive;
+
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.model.transaction.TransactionCursor;
+import com.cardplatform.domain.model.transaction.TransactionId;
+import com.cardplatform.infrastructure.persistence.support.UuidBinaryConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads and fills the {@code transactions_archive} table, which holds the transactions moved out of the hot
+ * {@code transactions} table once they are older than the hot window.
+ * <p>
+ * Transactions are moved oldest first, so every archived transaction precedes every hot one in history order.
+ * Readers look up the newest creation date the archive holds, one probe of its {@code created_at} index, to
+ * skip the archive entirely when it is empty or when a time window starts after it. They look it up after
+ * reading the hot table, so transactions another instance moves in between are found in the archive.
+ * <p>
+ * Moves are serialised across instances by locking the archive's row of {@code job_locks}, and on Oracle the
+ * interval partitions of {@code transactions} left empty by the moves are dropped.
+ */
+@Repository
+@Slf4j
+public class TransactionArchiveRepository {
+
+    /**
+     * Number of rows fetched per round trip when streaming a card's archived transactions.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private static final String COLUMNS = "id, card_id, seq, type, amount, created_at";
+
+    private static final String SELECT_EXPIRED_SQL = "SELECT id FROM transactions "
+            + "WHERE created_at < ? ORDER BY created_at, id FETCH FIRST ? ROWS ONLY";
+
+    private static final String COPY_SQL = "INSERT INTO transactions_archive (" + COLUMNS + ") "
+            + "SELECT " + COLUMNS + " FROM transactions WHERE id = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM transactions WHERE id = ?";
+
+    private static final String LOCK_SQL = "SELECT name FROM job_locks WHERE name = ? FOR UPDATE";
+
+    private static final String NEWEST_SQL = "SELECT MAX(created_at) FROM transactions_archive";
+
+    private static final String FIND_BY_ID_SQL = "SELECT " + COLUMNS
+            + " FROM transactions_archive WHERE id = ?";
+
+    private static final String FIND_BY_CARD_ID_SQL = "SELECT " + COLUMNS
+            + " FROM transactions_archive WHERE card_id = ? ORDER BY seq DESC";
+
+    private static final String FIND_PAGE_BY_CARD_ID_SQL = FIND_BY_CARD_ID_SQL
+            + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+
+    private static final String FIND_FIRST_BY_CARD_ID_SQL = FIND_BY_CARD_ID_SQL + " FETCH FIRST ? ROWS ONLY";
+
+    private static final String FIND_BY_CARD_ID_BEFORE_SQL = "SELECT " + COLUMNS
+            + " FROM transactions_archive WHERE card_id = ? AND seq < ? "
+            + "ORDER BY seq DESC FETCH FIRST ? ROWS ONLY";
+
+    private static final String FIND_BY_CARD_ID_BETWEEN_SQL = "SELECT " + COLUMNS
+            + " FROM transactions_archive WHERE card_id = ? AND seq > ? AND seq < ? ORDER BY seq";
+
+    private static final String COUNT_BY_CARD_ID_SQL =
+            "SELECT COUNT(*) FROM transactions_archive WHERE card_id = ?";
+
+    private static final String COUNT_BY_CARD_ID_AND_TYPE_BETWEEN_SQL = "SELECT COUNT(*) "
+            + "FROM transactions_archive WHERE card_id = ? AND type = ? AND created_at BETWEEN ? AND ?";
+
+    private static final String FIND_BY_TYPE_AFTER_SQL = "SELECT " + COLUMNS
+            + " FROM transactions_archive WHERE type = ? AND created_at >= ? ORDER BY created_at ASC";
+
+    private static final String FIND_EXPIRED_PARTITIONS_SQL = "SELECT partition_name, high_value "
+            + "FROM user_tab_partitions WHERE table_name = 'TRANSACTIONS' AND interval = 'YES' "
+            + "ORDER BY partition_position";
+
+    private static final String PARTITION_HAS_ROWS_SQL = "SELECT COUNT(*) FROM transactions PARTITION (%s) "
+            + "WHERE ROWNUM = 1";
+
+    private static final String DROP_PARTITION_SQL = "ALTER TABLE transactions DROP PARTITION %s UPDATE INDEXES";
+
+    /**
+     * Name of the archive's row in {@code job_locks}.
+     */
+    private static final String LOCK_NAME = "transaction-archive";
+
+    /**
+     * Upper bound of an interval partition as rendered by Oracle, e.g. {@code TIMESTAMP' 2024-02-01 00:00:00'}.
+     */
+    private static final Pattern PARTITION_BOUND = Pattern.compile("TIMESTAMP'\\s*([0-9-]+ [0-9:]+)'");
+
+    private static final DateTimeFormatter PARTITION_BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final RowMapper<Transaction> TRANSACTION_ROW_MAPPER = (resultSet, rowNum) -> new Transaction(
+            TransactionId.of(UuidBinaryConverter.toUuid(resultSet.getBytes("id"))),
+            CardId.of(UuidBinaryConverter.toUuid(resultSet.getBytes("card_id"))),
+            resultSet.getLong("seq"),
+            TransactionType.valueOf(resultSet.getString("type")),
+            Money.of(resultSet.getBigDecimal("amount")),
+            resultSet.getTimestamp("created_at").toInstant());
+
+    /**
+     * JDBC template used for the set-based moves and the archive queries.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Whether {@code transactions} is partitioned by creation date, which only the Oracle schema is.
+     */
+    private final boolean partitioned;
+
+    public TransactionArchiveRepository(JdbcTemplate jdbcTemplate) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitioned = "Oracle".equals(JdbcUtils.commonDatabaseName(JdbcUtils.extractDatabaseMetaData(
+                Objects.requireNonNull(jdbcTemplate.getDataSource()), DatabaseMetaData::getDatabaseProductName)));
+    }
+
+    /**
+     * Reads the creation date of the newest archived transaction.
+     *
+     * @return the creation date, or null while the archive is empty
+     */
+    public Instant findNewestCreatedAt() {
+        Timestamp newest = jdbcTemplate.queryForObject(NEWEST_SQL, Timestamp.class);
+        return newest == null ? null : newest.toInstant();
+    }
+
+    /**
+     * @return whether any transaction has been archived
+     */
+    public boolean hasHistory() {
+        return findNewestCreatedAt() != null;
+    }
+
+    /**
+     * Tells whether a time window starting at the given instant may contain archived transactions.
+     *
+     * @param from the start of the time window
+     * @return whether the archive holds a transaction created at or after {@code from}
+     */
+    public boolean reaches(Instant from) {
+        return reaches(findNewestCreatedAt(), from);
+    }
+
+    /**
+     * Tells whether a time window starting at the given instant may contain archived transactions.
+     *
+     * @param newest the creation date of the newest archived transaction, or null if the archive is empty
+     * @param from the start of the time window
+     * @return whether the archive holds a transaction created at or after {@code from}
+     */
+    public static boolean reaches(Instant newest, Instant from) {
+        return newest != null && !from.isAfter(newest);
+    }
+
+    /**
+     * Moves up to {@code chunkSize} of the oldest hot transactions created before the cutoff to the archive.
+     * Must run in a transaction, so that the copy and the delete commit together. The archive's row of
+     * {@code job_locks} is locked first and held until then, so a mover running on another instance waits and
+     * then selects past the transactions moved here instead of copying them again.
+     *
+     * @param cutoff the creation date before which transactions are archived
+     * @param chunkSize the maximum number of transactions to move
+     * @return the number of transactions moved
+     */
+    public int moveChunk(Instant cutoff, int chunkSize) {
+        jdbcTemplate.queryForList(LOCK_SQL, String.class, LOCK_NAME);
+
+        List<byte[]> ids = new ArrayList<>(chunkSize);
+        jdbcTemplate.query(SELECT_EXPIRED_SQL, statement -> {
+            statement.setTimestamp(1, Timestamp.from(cutoff));
+            statement.setInt(2, chunkSize);
+        }, (ResultSet resultSet) -> {
+            ids.add(resultSet.getBytes("id"));
+        });
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(COPY_SQL, ids, ids.size(), (statement, id) -> statement.setBytes(1, id));
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids, ids.size(), (statement, id) -> statement.setBytes(1, id));
+        return ids.size();
+    }
+
+    /**
+     * Drops the interval partitions of {@code transactions} that lie entirely before the cutoff and hold no row
+     * any more, once their transactions have been moved to the archive. Does nothing unless the table is
+     * partitioned, as on Oracle, where the initial range partition is kept as Oracle requires.
+     *
+     * @param cutoff the creation date before which transactions are archived
+     * @return the number of partitions dropped
+     */
+    public int dropExpiredPartitions(Instant cutoff) {
+        if (!partitioned) {
+            return 0;
+        }
+        List<String> expired = new ArrayList<>();
+        jdbcTemplate.query(FIND_EXPIRED_PARTITIONS_SQL, (ResultSet resultSet) -> {
+            String name = resultSet.getString("partition_name");
+            Matcher bound = PARTITION_BOUND.matcher(resultSet.getString("high_value"));
+            if (bound.find() && !LocalDateTime.parse(bound.group(1), PARTITION_BOUND_FORMAT)
+                    .toInstant(ZoneOffset.UTC).isAfter(cutoff)) {
+                expired.add(name);
+            }
+        });
+
+        int dropped = 0;
+        for (String name : expired) {
+            Integer rows = jdbcTemplate.queryForObject(String.format(PARTITION_HAS_ROWS_SQL, name), Integer.class);
+            if (rows != null && rows == 0) {
+                jdbcTemplate.execute(String.format(DROP_PARTITION_SQL, name));
+                log.info("Dropped emptied transactions partition {}", name);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Finds an archived transaction by its identifier.
+     *
+     * @param transactionId the transaction identifier
+     * @return an Optional containing the transaction if archived, otherwise empty
+     */
+    public Optional<Transaction> findById(TransactionId transactionId) {
+        return jdbcTemplate.query(FIND_BY_ID_SQL, TRANSACTION_ROW_MAPPER,
+                (Object) UuidBinaryConverter.toBytes(transactionId.getValue())).stream().findFirst();
+    }
+
+    /**
+     * Finds a page of the archived transactions of a card, newest first.
+     *
+     * @param cardId the card identifier
+     * @param offset the number of archived transactions to skip
+     * @param limit the maximum number of transactions to return
+     * @return the archived transactions
+     */
+    public List<Transaction> findByCardId(CardId cardId, long offset, int limit) {
+        return jdbcTemplate.query(FIND_PAGE_BY_CARD_ID_SQL, TRANSACTION_ROW_MAPPER,
+                UuidBinaryConverter.toBytes(cardId.getValue()), offset, limit);
+    }
+
+    /**
+     * Finds the archived transactions of a card that come after a cursor in history order, newest first.
+     *
+     * @param cardId the card identifier
+     * @param cursor the position after which to read, or null to start from the newest archived transaction
+     * @param limit the maximum number of transactions to return
+     * @return the archived transactions
+     */
+    public List<Transaction> findByCardIdAfter(CardId cardId, TransactionCursor cursor, int limit) {
+        byte[] card = UuidBinaryConverter.toBytes(cardId.getValue());
+        if (cursor == null) {
+            return jdbcTemplate.query(FIND_FIRST_BY_CARD_ID_SQL, TRANSACTION_ROW_MAPPER, card, limit);
+        }
+        return jdbcTemplate.query(FIND_BY_CARD_ID_BEFORE_SQL, TRANSACTION_ROW_MAPPER, card, cursor.getSeq(), limit);
+    }
+
+    /**
+     * Finds the archived transactions of a card numbered strictly between two sequence numbers, oldest first.
+     *
+     * @param cardId the card identifier
+     * @param afterSeq the sequence number after which to read
+     * @param beforeSeq the sequence number before which to stop
+     * @return the archived transactions
+     */
+    public List<Transaction> findByCardIdBetween(CardId cardId, long afterSeq, long beforeSeq) {
+        return jdbcTemplate.query(FIND_BY_CARD_ID_BETWEEN_SQL, TRANSACTION_ROW_MAPPER,
+                UuidBinaryConverter.toBytes(cardId.getValue()), afterSeq, beforeSeq);
+    }
+
+    /**
+     * Counts the archived transactions of a card.
+     *
+     * @param cardId the card identifier
+     * @return the number of archived transactions
+     */
+    public long countByCardId(CardId cardId) {
+        Long count = jdbcTemplate.queryForObject(COUNT_BY_CARD_ID_SQL, Long.class,
+                (Object) UuidBinaryConverter.toBytes(cardId.getValue()));
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Streams the archived transactions of a card, newest first, from a forward-only cursor.
+     *
+     * @param cardId the card identifier
+     * @param consumer the consumer receiving each transaction
+     */
+    public void streamByCardId(CardId cardId, Consumer<Transaction> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_BY_CARD_ID_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            statement.setBytes(1, UuidBinaryConverter.toBytes(cardId.getValue()));
+            return statement;
+        }, (ResultSet resultSet) -> consumer.accept(TRANSACTION_ROW_MAPPER.mapRow(resultSet, 0)));
+    }
+
+    /**
+     * Counts the archived transactions of a card and type between two instants.
+     *
+     * @param cardId the card identifier
+     * @param type the transaction type
+     * @param from the start of the time window (inclusive)
+     * @param to the end of the time window (inclusive)
+     * @return the number of archived transactions
+     */
+    public long countByCardIdAndTypeAndCreatedAtBetween(CardId cardId, TransactionType type, Instant from,
+                                                        Instant to) {
+        Long count = jdbcTemplate.queryForObject(COUNT_BY_CARD_ID_AND_TYPE_BETWEEN_SQL, Long.class,
+                UuidBinaryConverter.toBytes(cardId.getValue()), type.name(), Timestamp.from(from), Timestamp.from(to));
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Finds the archived transactions of a type created at or after an instant, oldest first.
+     *
+     * @param type the transaction type
+     * @param from the start of the time window (inclusive)
+     * @return the archived transactions
+     */
+    public List<Transaction> findByTypeAndCreatedAtAfter(TransactionType type, Instant from) {
+        return jdbcTemplate.query(FIND_BY_TYPE_AFTER_SQL, TRANSACTION_ROW_MAPPER, type.name(), Timestamp.from(from));
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.cardplatform.infrastructure.persistence.entity.idempotency;
+
+import com.cardplatform.domain.model.enums.CardStatus;
+import com.cardplatform.domain.model.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "idempotency_keys", schema = "CARD_PLATFORM")
+@IdClass(IdempotencyKeyEntity.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "card_id", updatable = false, nullable = false)
+    private UUID cardId;
+
+    @Id
+    @Column(name = "idempotency_key", updatable = false, nullable = false)
+    private String key;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", updatable = false, nullable = false)
+    private TransactionType type;
+
+    @Column(name = "amount", updatable = false, nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "cardholder_name", updatable = false, nullable = false)
+    private String cardholderName;
+
+    @Column(name = "balance", updatable = false, nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", updatable = false, nullable = false)
+    private CardStatus status;
+
+    @Column(name = "card_created_at", updatable = false, nullable = false)
+    private Instant cardCreatedAt;
+
+    @Column(name = "version", updatable = false, nullable = false)
+    private Long version;
+
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Primary key of an idempotency record: keys are scoped to the card the command was sent for.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private UUID cardId;
+
+        private String key;
+
+    }
+
+}
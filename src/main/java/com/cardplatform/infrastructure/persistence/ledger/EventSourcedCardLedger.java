@@ -0,0 +1,377 @@
+package com.cardplatform.infrastructure.persistence.ledger;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.card.CardLedgerState;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.port.card.CardLedger;
+import com.cardplatform.domain.port.card.CardRepository;
+import com.cardplatform.infrastructure.persistence.archive.TransactionArchiveRepository;
+import com.cardplatform.infrastructure.persistence.entity.card.CardEntity;
+import com.cardplatform.infrastructure.persistence.support.UuidBinaryConverter;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Event-sourced ledger: the {@code transactions} of a card, numbered by {@code seq}, are the source of truth
+ * for its balance, and the balance column of {@code cards} is no longer maintained. A card's balance is folded
+ * from its latest row in {@code card_balance_snapshots} plus the transactions numbered after it, and a new
+ * snapshot is written once {@code snapshot-interval} transactions have been appended since the last one, so a
+ * load only ever reads a short tail of transactions.
+ * <p>
+ * A transaction is appended with a plain insert numbered right after the card's last transaction. The
+ * {@code (card_id, seq)} key rejects a concurrent append of the same number, in which case the card is folded
+ * again and the append retried, up to {@code max-attempts} times. The card row is only read, never locked or
+ * updated, so appends to a hot card do not queue on it; a spend therefore checks the card status as last
+ * committed, without waiting for a concurrent block.
+ * <p>
+ * The first append to a card without a snapshot, such as one created before the mode was enabled, folds its
+ * whole history, archived transactions included, and snapshots it. The switch is one way: before going back
+ * to the balance column, it must be rebuilt from the ledger.
+ */
+@Repository
+@Timed(value = "card.repository.call", description = "Repository calls", histogram = true,
+        percentiles = {0.5, 0.95, 0.99})
+@Slf4j
+public class EventSourcedCardLedger implements CardLedger {
+
+    private static final String FIND_SNAPSHOTS_SQL = "SELECT card_id, seq, balance, created_at "
+            + "FROM card_balance_snapshots WHERE card_id IN (%s)";
+
+    private static final String FIND_TAILS_SQL = "SELECT card_id, seq, type, amount "
+            + "FROM transactions WHERE %s";
+
+    private static final String TAIL_PREDICATE = "(card_id = ? AND seq > ?)";
+
+    private static final String INSERT_TRANSACTION_SQL = "INSERT INTO transactions "
+            + "(id, card_id, seq, type, amount, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SNAPSHOT_SQL = "INSERT INTO card_balance_snapshots "
+            + "(card_id, seq, balance, created_at) VALUES (?, ?, ?, ?)";
+
+    private static final String DELETE_SNAPSHOTS_BEFORE_SQL =
+            "DELETE FROM card_balance_snapshots WHERE card_id = ? AND seq < ?";
+
+    /**
+     * Repository reading the card rows, for everything but the balance.
+     */
+    private final CardRepository cardRepository;
+
+    /**
+     * Archive holding the transactions moved out of the hot table.
+     */
+    private final TransactionArchiveRepository transactionArchiveRepository;
+
+    /**
+     * JDBC template used for the snapshot and tail reads and the appends.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Whether the ledger is the source of truth for card balances.
+     */
+    private final boolean enabled;
+
+    /**
+     * Number of transactions appended to a card after which its balance is snapshotted again.
+     */
+    private final int snapshotInterval;
+
+    /**
+     * Number of attempts for an append that conflicts with concurrent appends to the same card.
+     */
+    private final int maxAttempts;
+
+    public EventSourcedCardLedger(CardRepository cardRepository,
+                                  TransactionArchiveRepository transactionArchiveRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  @Value("${card-platform.ledger.event-sourced:false}") boolean enabled,
+                                  @Value("${card-platform.ledger.snapshot-interval:100}") int snapshotInterval,
+                                  @Value("${card-platform.ledger.max-attempts:10}") int maxAttempts) {
+        this.cardRepository = cardRepository;
+        this.transactionArchiveRepository = transactionArchiveRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.snapshotInterval = snapshotInterval;
+        this.maxAttempts = maxAttempts;
+        if (enabled) {
+            log.info("Card balances are folded from the ledger, snapshotted every {} transactions", snapshotInterval);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reads the card row and folds its balance from the latest snapshot and the transactions after it.
+     *
+     * @param cardId the card identifier
+     * @return an Optional containing the card if found, otherwise empty
+     */
+    @Override
+    public Optional<Card> findById(CardId cardId) {
+        log.debug("Folding card by ID: {}", cardId);
+
+        return cardRepository.findById(cardId).map(this::withBalance);
+    }
+
+    /**
+     * Folds the balance of the card from the latest snapshot and the transactions after it.
+     *
+     * @param card the card as read from the cards table
+     * @return a copy of the card carrying its ledger balance
+     */
+    @Override
+    public Card withBalance(Card card) {
+        return fold(List.of(card)).get(0).getCard();
+    }
+
+    /**
+     * Reads the card rows with one query, then the snapshots and the tails of all of them with one query each.
+     *
+     * @param cardIds the card identifiers
+     * @return the ledger states found, in no particular order
+     */
+    @Override
+    public List<CardLedgerState> findAllById(Collection<CardId> cardIds) {
+        log.debug("Folding {} cards by ID", cardIds.size());
+
+        return fold(cardRepository.findAllById(cardIds));
+    }
+
+    /**
+     * Inserts the transaction numbered right after the card's last one, reporting a concurrent append that took
+     * that number first. Snapshots the new balance when due.
+     *
+     * @param state the ledger state the transaction was numbered from
+     * @param transaction the transaction to append
+     * @param attempt the number of this attempt, starting at 1
+     * @return true if the transaction was appended, false if it should be numbered anew and retried
+     */
+    @Override
+    public boolean tryAppend(CardLedgerState state, Transaction transaction, int attempt) {
+        CardId cardId = transaction.getCardId();
+        log.debug("Appending {} of {} to the ledger of card: {}", transaction.getType(), transaction.getAmount(),
+                cardId);
+
+        try {
+            insertTransactions(List.of(transaction));
+        } catch (DuplicateKeyException e) {
+            if (attempt < maxAttempts) {
+                log.debug("Retrying append to the ledger of card: {} after concurrent append", cardId);
+                return false;
+            }
+            throw new ObjectOptimisticLockingFailureException(CardEntity.class, cardId.getValue());
+        }
+
+        if (isSnapshotDue(state, transaction.getSeq())) {
+            writeSnapshots(List.of(state.getCard()), List.of(transaction.getSeq()));
+        }
+        return true;
+    }
+
+    /**
+     * Inserts the transactions with one JDBC batch, then snapshots the cards that are due in one more.
+     *
+     * @param states the ledger states the transactions were numbered from, one per card with transactions
+     * @param transactions the transactions to append
+     */
+    @Override
+    public void appendAll(List<CardLedgerState> states, List<Transaction> transactions) {
+        log.debug("Appending {} transactions to the ledgers of {} cards", transactions.size(), states.size());
+
+        try {
+            insertTransactions(transactions);
+        } catch (DuplicateKeyException e) {
+            throw new ObjectOptimisticLockingFailureException("Ledger of a card was appended to concurrently", e);
+        }
+
+        Map<CardId, Long> lastSeqs = new HashMap<>();
+        transactions.forEach(transaction -> lastSeqs.merge(transaction.getCardId(), transaction.getSeq(), Math::max));
+
+        List<Card> dueCards = new ArrayList<>();
+        List<Long> dueSeqs = new ArrayList<>();
+        for (CardLedgerState state : states) {
+            Long lastSeq = lastSeqs.get(state.getCard().getId());
+            if (lastSeq != null && isSnapshotDue(state, lastSeq)) {
+                dueCards.add(state.getCard());
+                dueSeqs.add(lastSeq);
+            }
+        }
+        if (!dueCards.isEmpty()) {
+            writeSnapshots(dueCards, dueSeqs);
+        }
+    }
+
+    /**
+     * Folds the ledger states of the given card rows: reads the latest snapshot of every card with one query,
+     * then the hot transactions after each snapshot with one more. Only a card whose snapshot is older than the
+     * newest archived transaction, or that has no snapshot, has its tail completed from the archive, below the
+     * oldest hot transaction read, so a transaction archived between the two reads is counted exactly once.
+     */
+    private List<CardLedgerState> fold(List<Card> cardRows) {
+        if (cardRows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, CardLedgerState> states = new LinkedHashMap<>();
+        Map<UUID, Instant> snapshotTimes = new HashMap<>();
+        for (Card row : cardRows) {
+            Card card = new Card(row.getId(), row.getCardholderName(), Money.ZERO, row.getCreatedAt(),
+                    row.getStatus(), row.getVersion());
+            states.put(row.getId().getValue(), new CardLedgerState(card, null, null));
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(states.size(), "?"));
+        Object[] cardParameters = states.keySet().stream().map(UuidBinaryConverter::toBytes).toArray();
+        jdbcTemplate.query(String.format(FIND_SNAPSHOTS_SQL, placeholders), (ResultSet resultSet) -> {
+            CardLedgerState state = states.get(UuidBinaryConverter.toUuid(resultSet.getBytes("card_id")));
+            long seq = resultSet.getLong("seq");
+            if (state.getSnapshotSeq() == null || seq > state.getSnapshotSeq()) {
+                state.setSnapshotSeq(seq);
+                state.setHead(seq);
+                state.getCard().setBalance(Money.of(resultSet.getBigDecimal("balance")));
+                snapshotTimes.put(state.getCard().getId().getValue(),
+                        resultSet.getTimestamp("created_at").toInstant());
+            }
+        }, cardParameters);
+
+        List<Object> tailParameters = new ArrayList<>(states.size() * 2);
+        states.values().forEach(state -> {
+            tailParameters.add(UuidBinaryConverter.toBytes(state.getCard().getId().getValue()));
+            tailParameters.add(snapshotSeq(state));
+        });
+        Map<UUID, Long> oldestHotSeqs = new HashMap<>();
+        String predicates = String.join(" OR ", Collections.nCopies(states.size(), TAIL_PREDICATE));
+        jdbcTemplate.query(String.format(FIND_TAILS_SQL, predicates), (ResultSet resultSet) -> {
+            UUID cardId = UuidBinaryConverter.toUuid(resultSet.getBytes("card_id"));
+            long seq = resultSet.getLong("seq");
+            apply(states.get(cardId), seq, TransactionType.valueOf(resultSet.getString("type")),
+                    Money.of(resultSet.getBigDecimal("amount")));
+            oldestHotSeqs.merge(cardId, seq, Math::min);
+        }, tailParameters.toArray());
+
+        // The archive is only consulted for cards whose hot tail does not start right after their snapshot
+        Map<UUID, CardLedgerState> gapped = new LinkedHashMap<>();
+        states.forEach((cardId, state) -> {
+            Long oldestHotSeq = oldestHotSeqs.get(cardId);
+            if (state.getSnapshotSeq() == null || oldestHotSeq == null || oldestHotSeq != state.getSnapshotSeq() + 1) {
+                gapped.put(cardId, state);
+            }
+        });
+        Instant newestArchived = gapped.isEmpty() ? null : transactionArchiveRepository.findNewestCreatedAt();
+        gapped.forEach((cardId, state) -> {
+            Instant snapshotTime = snapshotTimes.get(cardId);
+            boolean archived = snapshotTime == null
+                    ? newestArchived != null
+                    : TransactionArchiveRepository.reaches(newestArchived, snapshotTime);
+            if (archived) {
+                transactionArchiveRepository.findByCardIdBetween(state.getCard().getId(), snapshotSeq(state),
+                                oldestHotSeqs.getOrDefault(cardId, Long.MAX_VALUE))
+                        .forEach(transaction -> apply(state, transaction.getSeq(), transaction.getType(),
+                                transaction.getAmount()));
+            }
+        });
+
+        return new ArrayList<>(states.values());
+    }
+
+    /**
+     * Adds a transaction to the folded balance and head of a card.
+     */
+    private static void apply(CardLedgerState state, long seq, TransactionType type, Money amount) {
+        Card card = state.getCard();
+        card.setBalance(type == TransactionType.SPEND ? card.getBalance().subtract(amount)
+                : card.getBalance().add(amount));
+        if (state.getHead() == null || seq > state.getHead()) {
+            state.setHead(seq);
+        }
+    }
+
+    /**
+     * @return the sequence number after which the card's tail starts
+     */
+    private static long snapshotSeq(CardLedgerState state) {
+        return state.getSnapshotSeq() == null ? Long.MIN_VALUE : state.getSnapshotSeq();
+    }
+
+    /**
+     * Tells whether a card without a snapshot, or with {@code snapshot-interval} transactions appended since its
+     * last one, is snapshotted at the given sequence number.
+     */
+    private boolean isSnapshotDue(CardLedgerState state, long seq) {
+        return state.getSnapshotSeq() == null || seq - state.getSnapshotSeq() >= snapshotInterval;
+    }
+
+    private void insertTransactions(List<Transaction> transactions) {
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, transactions, transactions.size(),
+                (statement, transaction) -> {
+                    statement.setBytes(1, UuidBinaryConverter.toBytes(transaction.getId().getValue()));
+                    statement.setBytes(2, UuidBinaryConverter.toBytes(transaction.getCardId().getValue()));
+                    statement.setLong(3, transaction.getSeq());
+                    statement.setString(4, transaction.getType().name());
+                    statement.setBigDecimal(5, transaction.getAmount().toBigDecimal());
+                    statement.setTimestamp(6, Timestamp.from(transaction.getCreatedAt()));
+                });
+    }
+
+    /**
+     * Snapshots the balances of the cards at the given sequence numbers and drops their older snapshots.
+     */
+    private void writeSnapshots(List<Card> cards, List<Long> seqs) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SNAPSHOT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                statement.setBytes(1, UuidBinaryConverter.toBytes(cards.get(index).getId().getValue()));
+                statement.setLong(2, seqs.get(index));
+                statement.setBigDecimal(3, cards.get(index).getBalance().toBigDecimal());
+                statement.setTimestamp(4, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return cards.size();
+            }
+        });
+        jdbcTemplate.batchUpdate(DELETE_SNAPSHOTS_BEFORE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                statement.setBytes(1, UuidBinaryConverter.toBytes(cards.get(index).getId().getValue()));
+                statement.setLong(2, seqs.get(index));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return cards.size();
+            }
+        });
+        log.debug("Snapshotted the balances of {} cards", cards.size());
+    }
+
+}
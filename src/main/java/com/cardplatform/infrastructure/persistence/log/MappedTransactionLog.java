@@ -0,0 +1,731 @@
+package com.cardplatform.infrastructure.persistence.log;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.model.transaction.TransactionCursor;
+import com.cardplatform.domain.model.transaction.TransactionId;
+import com.cardplatform.domain.port.card.CardRepository;
+import com.cardplatform.domain.port.transaction.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Stores transactions in an append-only log of memory-mapped segment files instead of the database, for
+ * deployments without a relational database on the write path. Every transaction is one fixed-width record of
+ * {@value #RECORD_SIZE} bytes, so the n-th record of the log sits at a computed offset of a computed segment.
+ * <p>
+ * An in-memory index lists the record numbers of each card in append order, which is also sequence number
+ * order, since the transactions of a card are serialised by the card update they record. History pages are
+ * read backwards straight from that list, cursors are located by a binary search on the sequence numbers, and
+ * time-bounded counts stop at the first record of the card older than the window.
+ * <p>
+ * Records are appended just before the surrounding transaction commits, by a single writer, and forced to disk
+ * unless {@code force-on-append} is off; they are indexed, and so become visible to readers, once the database
+ * commit succeeded. The records of a transaction whose commit failed stay in the log but are discarded. Each
+ * record ends with a CRC-32 of its contents. At startup the log is replayed to rebuild the index, and the first
+ * record failing its checksum marks the torn tail of an interrupted append, which is zeroed.
+ * <p>
+ * The replay also discards the records of commits that failed before a restart. A record is discarded when a
+ * later record of its card has the same or a lower sequence number, as the card was updated again after the
+ * failed commit, or, with the database card store, when its sequence number is past the version of its card,
+ * which every committed transaction reaches. With the in-memory card store, whose snapshot may lag the log,
+ * only the first rule applies.
+ * <p>
+ * Lookups by transaction identifier or by type scan the whole log and are meant for maintenance and startup;
+ * they may see the records of a commit still in progress.
+ */
+@Repository
+@ConditionalOnProperty(name = "card-platform.transaction-store.mode", havingValue = "mapped-log")
+@Timed(value = "card.repository.call", description = "Repository calls", histogram = true,
+        percentiles = {0.5, 0.95, 0.99})
+@Slf4j
+public class MappedTransactionLog implements TransactionRepository {
+
+    /**
+     * Size of a record: transaction id, card id, seq, creation time in microseconds, amount in cents, type,
+     * padding and checksum.
+     */
+    static final int RECORD_SIZE = 64;
+
+    private static final int ID_OFFSET = 0;
+
+    private static final int CARD_ID_OFFSET = 16;
+
+    private static final int SEQ_OFFSET = 32;
+
+    private static final int CREATED_AT_OFFSET = 40;
+
+    private static final int AMOUNT_OFFSET = 48;
+
+    private static final int TYPE_OFFSET = 56;
+
+    private static final int CHECKSUM_OFFSET = 60;
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private static final String SEGMENT_PREFIX = "transactions-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    /**
+     * Number of cards whose versions are read together when reconciling the log at startup.
+     */
+    private static final int RECONCILE_BATCH_SIZE = 1000;
+
+    /**
+     * Directory holding the segment files.
+     */
+    private final Path directory;
+
+    /**
+     * Number of records per segment file.
+     */
+    private final int recordsPerSegment;
+
+    /**
+     * Whether appended records are forced to disk before they become visible.
+     */
+    private final boolean forceOnAppend;
+
+    /**
+     * Mapped segments, in log order.
+     */
+    private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+
+    /**
+     * Record numbers of each card, in append order.
+     */
+    private final ConcurrentHashMap<UUID, CardRecords> cardIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Records of transactions whose commit failed. They stay in the log but are neither indexed nor scanned.
+     */
+    private final Set<Long> discarded = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Repository the card versions are read from at startup, or null if they cannot be trusted to be ahead of
+     * the log.
+     */
+    private final CardRepository cardRepository;
+
+    /**
+     * Number of records in the log, which is also the number of the next record. Only the writer changes it.
+     */
+    private volatile long recordCount;
+
+    public MappedTransactionLog(@Value("${card-platform.transaction-log.directory:data/transaction-log}")
+                                String directory,
+                                @Value("${card-platform.transaction-log.segment-size:64MB}") DataSize segmentSize,
+                                @Value("${card-platform.transaction-log.force-on-append:true}")
+                                boolean forceOnAppend,
+                                CardRepository cardRepository,
+                                @Value("${card-platform.card-store.mode:database}") String cardStoreMode) {
+        if (segmentSize.toBytes() < RECORD_SIZE) {
+            throw new IllegalArgumentException("card-platform.transaction-log.segment-size must hold at least one "
+                    + RECORD_SIZE + "-byte record, got " + segmentSize);
+        }
+        this.directory = Paths.get(directory);
+        this.recordsPerSegment = (int) Math.min(Integer.MAX_VALUE / RECORD_SIZE,
+                segmentSize.toBytes() / RECORD_SIZE);
+        this.forceOnAppend = forceOnAppend;
+        this.cardRepository = "database".equals(cardStoreMode) ? cardRepository : null;
+    }
+
+    /**
+     * Maps the existing segments and replays them to rebuild the card index, zeroing the torn tail of an
+     * interrupted append if any and discarding the records of failed commits.
+     */
+    @PostConstruct
+    public void recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                segments.add(map(file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open the transaction log in " + directory, e);
+        }
+
+        long record = 0;
+        long capacity = (long) segments.size() * recordsPerSegment;
+        while (record < capacity && isValid(record)) {
+            MappedByteBuffer segment = segment(record);
+            int offset = offset(record);
+            CardRecords records = cardIndex.computeIfAbsent(new UUID(segment.getLong(offset + CARD_ID_OFFSET),
+                    segment.getLong(offset + CARD_ID_OFFSET + 8)), id -> new CardRecords());
+            long seq = segment.getLong(offset + SEQ_OFFSET);
+            while (records.size > 0 && seq(records.last()) >= seq) {
+                discarded.add(records.removeLast());
+            }
+            records.add(record);
+            record++;
+        }
+        recordCount = record;
+
+        if (record < capacity) {
+            truncate(record);
+        }
+        if (cardRepository != null) {
+            reconcileWithCards();
+        }
+        if (!discarded.isEmpty()) {
+            log.warn("Discarded {} transaction log records whose database commit failed", discarded.size());
+        }
+        log.info("Recovered {} transactions of {} cards from {} log segments in {}",
+                recordCount - discarded.size(), cardIndex.size(), segments.size(), directory);
+    }
+
+    /**
+     * Discards, for every card, the newest records whose sequence number is past the version of the card, and
+     * all records of a card that does not exist.
+     */
+    private void reconcileWithCards() {
+        List<CardId> batch = new ArrayList<>(RECONCILE_BATCH_SIZE);
+        for (UUID cardId : cardIndex.keySet()) {
+            batch.add(CardId.of(cardId));
+            if (batch.size() == RECONCILE_BATCH_SIZE) {
+                reconcileWithCards(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            reconcileWithCards(batch);
+        }
+    }
+
+    private void reconcileWithCards(List<CardId> cardIds) {
+        Map<UUID, Long> versions = new HashMap<>();
+        for (Card card : cardRepository.findAllById(cardIds)) {
+            versions.put(card.getId().getValue(), card.getVersion());
+        }
+        for (CardId cardId : cardIds) {
+            CardRecords records = cardIndex.get(cardId.getValue());
+            long version = versions.getOrDefault(cardId.getValue(), -1L);
+            while (records.size > 0 && seq(records.last()) > version) {
+                discarded.add(records.removeLast());
+            }
+            if (records.size == 0) {
+                cardIndex.remove(cardId.getValue());
+            }
+        }
+    }
+
+    /**
+     * Forces the mapped segments to disk.
+     */
+    @PreDestroy
+    public void close() {
+        segments.forEach(MappedByteBuffer::force);
+    }
+
+    /**
+     * Appends the transaction when the surrounding transaction commits, or right away outside of one.
+     *
+     * @param transaction the transaction to save
+     * @return the transaction as saved
+     */
+    @Override
+    public Transaction save(Transaction transaction) {
+        log.debug("Saving transaction with ID: {}", transaction.getId());
+
+        appendOnCommit(List.of(transaction));
+        return transaction;
+    }
+
+    /**
+     * Appends the transactions when the surrounding transaction commits, or right away outside of one, forcing
+     * them to disk together.
+     *
+     * @param transactions the transactions to save
+     */
+    @Override
+    public void saveAll(List<Transaction> transactions) {
+        log.debug("Saving {} transactions", transactions.size());
+
+        if (!transactions.isEmpty()) {
+            appendOnCommit(new ArrayList<>(transactions));
+        }
+    }
+
+    /**
+     * Finds a transaction by its identifier, scanning the log from the newest record.
+     *
+     * @param transactionId the transaction identifier
+     * @return an Optional containing the transaction if found, otherwise empty
+     */
+    @Override
+    public Optional<Transaction> findById(TransactionId transactionId) {
+        log.debug("Finding transaction by ID: {}", transactionId);
+
+        UUID id = transactionId.getValue();
+        for (long record = recordCount - 1; record >= 0; record--) {
+            MappedByteBuffer segment = segment(record);
+            int offset = offset(record);
+            if (!isDiscarded(record) && segment.getLong(offset + ID_OFFSET) == id.getMostSignificantBits()
+                    && segment.getLong(offset + ID_OFFSET + 8) == id.getLeastSignificantBits()) {
+                return Optional.of(read(record));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds a page of the transactions of a card, newest first, reading only the records of the page.
+     *
+     * @param cardId the card identifier
+     * @param pageable pagination information
+     * @return a page of transactions for the card
+     */
+    @Override
+    public Page<Transaction> findByCardId(CardId cardId, Pageable pageable) {
+        log.debug("Finding transactions by card ID: {} with pagination", cardId);
+
+        long[] records = records(cardId);
+        List<Transaction> content = new ArrayList<>(pageable.getPageSize());
+        long first = records.length - 1 - pageable.getOffset();
+        for (long index = first; index >= 0 && index > first - pageable.getPageSize(); index--) {
+            content.add(read(records[(int) index]));
+        }
+        return new PageImpl<>(content, pageable, records.length);
+    }
+
+    /**
+     * Finds the transactions of a card after the given cursor, newest first, locating the cursor with a binary
+     * search on the sequence numbers of the card's records.
+     *
+     * @param cardId the card identifier
+     * @param cursor the position after which to read, or null to start from the newest transaction
+     * @param size the maximum number of transactions to return
+     * @return a slice of transactions for the card
+     */
+    @Override
+    public Slice<Transaction> findByCardIdAfter(CardId cardId, TransactionCursor cursor, int size) {
+        log.debug("Finding transactions by card ID: {} after cursor: {}", cardId, cursor);
+
+        long[] records = records(cardId);
+        int first = cursor == null ? records.length - 1 : firstBefore(records, cursor.getSeq());
+        List<Transaction> content = new ArrayList<>(size);
+        for (int index = first; index >= 0 && content.size() < size; index--) {
+            content.add(read(records[index]));
+        }
+        boolean hasNext = first - content.size() >= 0;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    /**
+     * Finds all transactions of a card, newest first.
+     *
+     * @param cardId the card identifier
+     * @return list of all transactions for the card
+     */
+    @Override
+    public List<Transaction> findByCardId(CardId cardId) {
+        log.debug("Finding all transactions by card ID: {}", cardId);
+
+        List<Transaction> transactions = new ArrayList<>();
+        streamByCardId(cardId, transactions::add);
+        return transactions;
+    }
+
+    /**
+     * Streams all transactions of a card, newest first, reading each record as it is handed over.
+     *
+     * @param cardId the card identifier
+     * @param consumer the consumer receiving each transaction
+     */
+    @Override
+    public void streamByCardId(CardId cardId, Consumer<Transaction> consumer) {
+        log.debug("Streaming all transactions by card ID: {}", cardId);
+
+        long[] records = records(cardId);
+        for (int index = records.length - 1; index >= 0; index--) {
+            consumer.accept(read(records[index]));
+        }
+    }
+
+    /**
+     * Counts the SPEND transactions of a card between two timestamps, walking the card's records backwards
+     * until the first one created before the window.
+     *
+     * @param cardId the card identifier
+     * @param fromTimestamp the start of the time window (inclusive), in milliseconds since epoch
+     * @param toTimestamp the end of the time window (inclusive), in milliseconds since epoch
+     * @return the count of SPEND transactions within the time window
+     */
+    @Override
+    public long countByCardIdAndCreatedAtBetween(CardId cardId, long fromTimestamp, long toTimestamp) {
+        log.debug("Counting SPEND transactions for card ID: {} between {} and {}",
+                cardId, fromTimestamp, toTimestamp);
+
+        long fromMicros = fromTimestamp * 1000;
+        long toMicros = toTimestamp * 1000 + 999;
+        long[] records = records(cardId);
+        long count = 0;
+        for (int index = records.length - 1; index >= 0; index--) {
+            MappedByteBuffer segment = segment(records[index]);
+            int offset = offset(records[index]);
+            long createdAt = segment.getLong(offset + CREATED_AT_OFFSET);
+            if (createdAt < fromMicros) {
+                break;
+            }
+            if (createdAt <= toMicros && TYPES[segment.get(offset + TYPE_OFFSET)] == TransactionType.SPEND) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds all transactions of the given type created at or after a timestamp, oldest first, scanning the
+     * whole log.
+     *
+     * @param type the transaction type
+     * @param fromTimestamp the start of the time window (inclusive), in milliseconds since epoch
+     * @return list of matching transactions
+     */
+    @Override
+    public List<Transaction> findByTypeAndCreatedAtAfter(TransactionType type, long fromTimestamp) {
+        log.debug("Finding {} transactions created after {}", type, fromTimestamp);
+
+        long fromMicros = fromTimestamp * 1000;
+        List<Transaction> transactions = new ArrayList<>();
+        for (long record = 0; record < recordCount; record++) {
+            MappedByteBuffer segment = segment(record);
+            int offset = offset(record);
+            if (TYPES[segment.get(offset + TYPE_OFFSET)] == type
+                    && segment.getLong(offset + CREATED_AT_OFFSET) >= fromMicros && !isDiscarded(record)) {
+                transactions.add(read(record));
+            }
+        }
+        transactions.sort((left, right) -> left.getCreatedAt().compareTo(right.getCreatedAt()));
+        return transactions;
+    }
+
+    /**
+     * Defers the append to the commit of the surrounding transaction, so a rolled back transaction leaves
+     * no record. The records are written and forced before the database commit and only indexed after it
+     * succeeded; the log does not take part in the commit itself, so a commit failing after the append leaves
+     * records behind, which are discarded.
+     */
+    private void appendOnCommit(List<Transaction> transactions) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(transactions, append(transactions));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private long first = -1;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                first = append(transactions);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (first < 0) {
+                    return;
+                }
+                if (status == STATUS_COMMITTED) {
+                    index(transactions, first);
+                } else {
+                    log.warn("Discarding {} transaction log records whose database commit failed",
+                            transactions.size());
+                    for (int i = 0; i < transactions.size(); i++) {
+                        discarded.add(first + i);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes the records and forces them to disk, so that a record is never lost once its transaction
+     * committed.
+     *
+     * @return the number of the first record written
+     */
+    private synchronized long append(List<Transaction> transactions) {
+        long first = recordCount;
+        for (int i = 0; i < transactions.size(); i++) {
+            write(first + i, transactions.get(i));
+        }
+        if (forceOnAppend) {
+            for (long segmentNumber = first / recordsPerSegment;
+                 segmentNumber <= (first + transactions.size() - 1) / recordsPerSegment; segmentNumber++) {
+                segments.get((int) segmentNumber).force();
+            }
+        }
+        recordCount = first + transactions.size();
+        return first;
+    }
+
+    private void index(List<Transaction> transactions, long first) {
+        for (int i = 0; i < transactions.size(); i++) {
+            index(transactions.get(i).getCardId().getValue(), first + i);
+        }
+    }
+
+    private void write(long record, Transaction transaction) {
+        if (record / recordsPerSegment >= segments.size()) {
+            segments.add(createSegment(segments.size()));
+        }
+        MappedByteBuffer segment = segment(record);
+        int offset = offset(record);
+
+        UUID id = transaction.getId().getValue();
+        UUID cardId = transaction.getCardId().getValue();
+        Instant createdAt = transaction.getCreatedAt();
+        segment.putLong(offset + ID_OFFSET, id.getMostSignificantBits());
+        segment.putLong(offset + ID_OFFSET + 8, id.getLeastSignificantBits());
+        segment.putLong(offset + CARD_ID_OFFSET, cardId.getMostSignificantBits());
+        segment.putLong(offset + CARD_ID_OFFSET + 8, cardId.getLeastSignificantBits());
+        segment.putLong(offset + SEQ_OFFSET, transaction.getSeq());
+        segment.putLong(offset + CREATED_AT_OFFSET,
+                createdAt.getEpochSecond() * MICROS_PER_SECOND + createdAt.getNano() / 1000);
+        segment.putLong(offset + AMOUNT_OFFSET, transaction.getAmount().getMinorUnits());
+        segment.put(offset + TYPE_OFFSET, (byte) transaction.getType().ordinal());
+        segment.putInt(offset + CHECKSUM_OFFSET, checksum(segment, offset));
+    }
+
+    private Transaction read(long record) {
+        MappedByteBuffer segment = segment(record);
+        int offset = offset(record);
+        long createdAt = segment.getLong(offset + CREATED_AT_OFFSET);
+        return new Transaction(
+                TransactionId.of(new UUID(segment.getLong(offset + ID_OFFSET),
+                        segment.getLong(offset + ID_OFFSET + 8))),
+                CardId.of(new UUID(segment.getLong(offset + CARD_ID_OFFSET),
+                        segment.getLong(offset + CARD_ID_OFFSET + 8))),
+                segment.getLong(offset + SEQ_OFFSET),
+                TYPES[segment.get(offset + TYPE_OFFSET)],
+                Money.ofMinor(segment.getLong(offset + AMOUNT_OFFSET)),
+                Instant.ofEpochSecond(Math.floorDiv(createdAt, MICROS_PER_SECOND),
+                        Math.floorMod(createdAt, MICROS_PER_SECOND) * 1000));
+    }
+
+    /**
+     * Tells whether a record was completely written: an unwritten or torn record fails its checksum.
+     */
+    private boolean isValid(long record) {
+        MappedByteBuffer segment = segment(record);
+        int offset = offset(record);
+        int type = segment.get(offset + TYPE_OFFSET);
+        return type >= 0 && type < TYPES.length
+                && segment.getInt(offset + CHECKSUM_OFFSET) == checksum(segment, offset);
+    }
+
+    private static int checksum(MappedByteBuffer segment, int offset) {
+        ByteBuffer contents = segment.duplicate();
+        contents.position(offset).limit(offset + CHECKSUM_OFFSET);
+        CRC32 crc = new CRC32();
+        crc.update(contents);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Zeroes the log from the given record to the end of its segment and drops any later segment.
+     */
+    private void truncate(long record) {
+        MappedByteBuffer segment = segment(record);
+        int from = offset(record);
+        for (int position = from; position < from + RECORD_SIZE; position++) {
+            if (segment.get(position) != 0) {
+                log.warn("Discarding the torn record {} at the tail of the transaction log", record);
+                break;
+            }
+        }
+
+        ByteBuffer tail = segment.duplicate();
+        tail.position(from);
+        byte[] zeroes = new byte[RECORD_SIZE];
+        while (tail.hasRemaining()) {
+            tail.put(zeroes, 0, Math.min(zeroes.length, tail.remaining()));
+        }
+        segment.force();
+
+        int lastSegment = (int) (record / recordsPerSegment);
+        while (segments.size() > lastSegment + 1) {
+            segments.remove(segments.size() - 1);
+            try {
+                Files.deleteIfExists(segmentFile(segments.size()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to drop a transaction log segment", e);
+            }
+        }
+    }
+
+    private void index(UUID cardId, long record) {
+        cardIndex.computeIfAbsent(cardId, id -> new CardRecords()).add(record);
+    }
+
+    private boolean isDiscarded(long record) {
+        return !discarded.isEmpty() && discarded.contains(record);
+    }
+
+    private long seq(long record) {
+        return segment(record).getLong(offset(record) + SEQ_OFFSET);
+    }
+
+    private long[] records(CardId cardId) {
+        CardRecords records = cardIndex.get(cardId.getValue());
+        return records == null ? new long[0] : records.toArray();
+    }
+
+    /**
+     * @return the index of the last record numbered before the given sequence number, or -1 if none is
+     */
+    private int firstBefore(long[] records, long seq) {
+        int low = 0;
+        int high = records.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            MappedByteBuffer segment = segment(records[middle]);
+            if (segment.getLong(offset(records[middle]) + SEQ_OFFSET) < seq) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low - 1;
+    }
+
+    private MappedByteBuffer segment(long record) {
+        return segments.get((int) (record / recordsPerSegment));
+    }
+
+    private int offset(long record) {
+        return (int) (record % recordsPerSegment) * RECORD_SIZE;
+    }
+
+    private MappedByteBuffer createSegment(int number) {
+        try {
+            return map(segmentFile(number));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create a transaction log segment", e);
+        }
+    }
+
+    private Path segmentFile(int number) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Maps a segment file, creating it zero-filled at the full segment size if it does not exist yet.
+     * The mapping stays valid after its channel is closed.
+     */
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE);
+        }
+    }
+
+    /**
+     * Record numbers of one card, in append order. Writers add to it one at a time and readers take a copy. A
+     * record committed after a later record of the same card is inserted in order into a new copy of the array;
+     * otherwise the array is only ever replaced by a larger copy, so a reader always sees an ordered run of the
+     * records it counted.
+     */
+    private static final class CardRecords {
+
+        private volatile long[] records = new long[8];
+
+        private volatile int size;
+
+        private synchronized void add(long record) {
+            long[] current = records;
+            int count = size;
+            if (count > 0 && current[count - 1] > record) {
+                int at = count;
+                while (at > 0 && current[at - 1] > record) {
+                    at--;
+                }
+                long[] copy = new long[Math.max(current.length, count + 1)];
+                System.arraycopy(current, 0, copy, 0, at);
+                copy[at] = record;
+                System.arraycopy(current, at, copy, at + 1, count - at);
+                records = copy;
+                size = count + 1;
+                return;
+            }
+            if (count == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                records = current;
+            }
+            current[count] = record;
+            size = count + 1;
+        }
+
+        private long last() {
+            return records[size - 1];
+        }
+
+        /**
+         * Removes the newest record, while the log is replayed and before any reader.
+         */
+        private long removeLast() {
+            long record = last();
+            size = size - 1;
+            return record;
+        }
+
+        private long[] toArray() {
+            int count = size;
+            return Arrays.copyOf(records, count);
+        }
+
+    }
+
+}
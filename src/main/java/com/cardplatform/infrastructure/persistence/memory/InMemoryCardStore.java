@@ -0,0 +1,800 @@
+package com.cardplatform.infrastructure.persistence.memory;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.CardStatus;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.port.card.CardQueryRepository;
+import com.cardplatform.domain.port.card.CardRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the cards in memory instead of the database, for single-node deployments, load-test rigs and as a
+ * reference upper bound of the card operations. The state of each card lives in one slot of parallel primitive
+ * arrays: balance in cents, status ordinal, version and creation time, next to its cardholder name. Slots are
+ * allocated in fixed-size chunks that never move, and found through an open-addressing index from card
+ * identifiers to slots.
+ * <p>
+ * Reads do not lock: each slot carries a stamp that is odd while the slot is being written, and a read is
+ * retried until it saw the same even stamp before and after. Writes take the card's stripe lock which, within a
+ * transaction, is held until the transaction completes, like the row lock of a database update. The new state
+ * of each card a transaction writes is kept with the transaction, read back by the transaction itself, and only
+ * published to the slots once it commits, before any other after-commit callback such as the card cache
+ * eviction runs. Other readers, the read queries and the snapshots therefore never see uncommitted state, and a
+ * rolled back transaction leaves nothing to undo. A card whose creation rolled back keeps its free slot, which a
+ * later creation with the same identifier reuses.
+ * <p>
+ * Every {@code snapshot-interval} and on shutdown, the cards are written to {@code snapshot-file}, from which
+ * they are restored at startup. A snapshot is consistent per card, not across cards.
+ */
+@Repository
+@ConditionalOnProperty(name = "card-platform.card-store.mode", havingValue = "in-memory")
+@Timed(value = "card.repository.call", description = "Repository calls", histogram = true,
+        percentiles = {0.5, 0.95, 0.99})
+@Slf4j
+public class InMemoryCardStore implements CardRepository, CardQueryRepository {
+
+    private static final int CHUNK_BITS = 14;
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final VarHandle STAMPS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * Status of a free slot, or of a card whose creation was rolled back or is not committed yet.
+     */
+    private static final byte ABSENT = -1;
+
+    private static final byte ACTIVE = (byte) CardStatus.ACTIVE.ordinal();
+
+    private static final CardStatus[] STATUSES = CardStatus.values();
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    /**
+     * Index from card identifiers to slots.
+     */
+    private final UuidSlotIndex index = new UuidSlotIndex(CHUNK_SIZE);
+
+    /**
+     * Chunks of slots, replaced by a longer copy when a chunk is added.
+     */
+    private volatile Chunk[] chunks = new Chunk[0];
+
+    /**
+     * Number of allocated slots, guarded by this store.
+     */
+    private int slotCount;
+
+    /**
+     * Locks guarding the writes of the slots, indexed by slot number.
+     */
+    private final ReentrantLock[] stripes;
+
+    /**
+     * Maximum time a write waits for the lock of its card.
+     */
+    private final Duration lockTimeout;
+
+    /**
+     * File the cards are snapshotted to, or null if snapshots are disabled.
+     */
+    private final Path snapshotFile;
+
+    /**
+     * Lock serialising the snapshots.
+     */
+    private final Object snapshotLock = new Object();
+
+    public InMemoryCardStore(@Value("${card-platform.card-store.stripes:1024}") int stripes,
+                             @Value("${card-platform.card-store.lock-timeout:2s}") Duration lockTimeout,
+                             @Value("${card-platform.card-store.snapshot-file:data/cards.snapshot}")
+                             String snapshotFile) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.lockTimeout = lockTimeout;
+        this.snapshotFile = snapshotFile.isBlank() ? null : Paths.get(snapshotFile);
+    }
+
+    /**
+     * Restores the cards from the last snapshot, if any.
+     */
+    @PostConstruct
+    public void restore() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            while (input.readBoolean()) {
+                UUID id = new UUID(input.readLong(), input.readLong());
+                long balance = input.readLong();
+                long version = input.readLong();
+                long createdAt = input.readLong();
+                byte status = input.readByte();
+                String cardholderName = input.readUTF();
+
+                int slot = allocate(id);
+                write(chunkOf(slot), slot & CHUNK_MASK, new SlotState(cardholderName, balance, status, version,
+                        createdAt));
+                index.putIfAbsent(id, slot);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to restore the cards from " + snapshotFile, e);
+        }
+        log.info("Restored {} cards from {}", index.size(), snapshotFile);
+    }
+
+    /**
+     * Writes every card to the snapshot file, replacing the previous snapshot once complete. The interval is
+     * an ISO-8601 duration.
+     *
+     * @return the number of cards written, or -1 if snapshots are disabled
+     */
+    @Scheduled(fixedDelayString = "${card-platform.card-store.snapshot-interval:PT1M}",
+            initialDelayString = "${card-platform.card-store.snapshot-interval:PT1M}")
+    public int snapshot() {
+        if (snapshotFile == null) {
+            return -1;
+        }
+
+        synchronized (snapshotLock) {
+            return writeSnapshot();
+        }
+    }
+
+    /**
+     * Takes a last snapshot on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        snapshot();
+    }
+
+    private int writeSnapshot() {
+        int written = 0;
+        Path partialFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".partial");
+        try {
+            Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(partialFile)))) {
+                Chunk[] current = chunks;
+                for (Chunk chunk : current) {
+                    for (int i = 0; i < CHUNK_SIZE; i++) {
+                        Card card = read(chunk, i);
+                        if (card != null) {
+                            output.writeBoolean(true);
+                            output.writeLong(chunk.msb[i]);
+                            output.writeLong(chunk.lsb[i]);
+                            output.writeLong(card.getBalance().getMinorUnits());
+                            output.writeLong(card.getVersion());
+                            output.writeLong(toMicros(card.getCreatedAt()));
+                            output.writeByte(card.getStatus().ordinal());
+                            output.writeUTF(card.getCardholderName());
+                            written++;
+                        }
+                    }
+                }
+                output.writeBoolean(false);
+            }
+            Files.move(partialFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to snapshot the cards to " + snapshotFile, e);
+        }
+
+        log.debug("Snapshotted {} cards to {}", written, snapshotFile);
+        return written;
+    }
+
+    /**
+     * Allocates a slot for the card and indexes it.
+     *
+     * @param card the card to create
+     * @return the created card
+     * @throws DuplicateKeyException if a card with the same identifier exists
+     */
+    @Override
+    public Card create(Card card) {
+        log.debug("Creating card with ID: {}", card.getId());
+
+        return insert(card);
+    }
+
+    /**
+     * Allocates a slot for each card and indexes it.
+     *
+     * @param cards the cards to create
+     * @return the created cards, in the same order
+     * @throws DuplicateKeyException if a card with the same identifier as one of them exists
+     */
+    @Override
+    public List<Card> createAll(List<Card> cards) {
+        log.debug("Creating {} cards", cards.size());
+
+        List<Card> createdCards = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            createdCards.add(insert(card));
+        }
+        return createdCards;
+    }
+
+    /**
+     * Saves the state of the card if it is still at the card's version, advancing the version.
+     *
+     * @param card the card to save
+     * @return the saved card with its incremented version
+     * @throws ObjectOptimisticLockingFailureException if the card was modified concurrently
+     */
+    @Override
+    public Card save(Card card) {
+        log.debug("Saving card with ID: {}", card.getId());
+
+        int slot = slotOf(card);
+        lock(slot, card.getId(), lockTimeout);
+        try {
+            SlotState current = current(slot);
+            if (current.status == ABSENT || current.version != card.getVersion()) {
+                throw new ObjectOptimisticLockingFailureException(Card.class, card.getId().getValue());
+            }
+            return stage(slot, new SlotState(card.getCardholderName(), card.getBalance().getMinorUnits(),
+                    (byte) card.getStatus().ordinal(), card.getVersion() + 1, current.createdAt));
+        } finally {
+            unlockOutsideTransaction(slot);
+        }
+    }
+
+    /**
+     * Saves the state of the cards, at the versions they were advanced to, once all of them are locked and
+     * found at the version they were read at. The card objects are left unchanged.
+     *
+     * @param cards the cards to save
+     * @param readVersions the version each card was read at, in the same order as the cards
+     * @throws ObjectOptimisticLockingFailureException if any card was modified concurrently
+     */
+    @Override
+    public void saveAll(List<Card> cards, List<Long> readVersions) {
+        log.debug("Saving {} cards", cards.size());
+
+        int[] slots = new int[cards.size()];
+        int locked = 0;
+        try {
+            for (; locked < slots.length; locked++) {
+                Card card = cards.get(locked);
+                slots[locked] = slotOf(card);
+                lock(slots[locked], card.getId(), lockTimeout);
+            }
+            SlotState[] current = new SlotState[slots.length];
+            for (int index = 0; index < slots.length; index++) {
+                current[index] = current(slots[index]);
+                if (current[index].status == ABSENT || current[index].version != readVersions.get(index)) {
+                    throw new ObjectOptimisticLockingFailureException(Card.class, cards.get(index).getId().getValue());
+                }
+            }
+            for (int index = 0; index < slots.length; index++) {
+                Card card = cards.get(index);
+                stage(slots[index], new SlotState(card.getCardholderName(), card.getBalance().getMinorUnits(),
+                        (byte) card.getStatus().ordinal(), card.getVersion(), current[index].createdAt));
+            }
+        } finally {
+            for (int index = locked - 1; index >= 0; index--) {
+                unlockOutsideTransaction(slots[index]);
+            }
+        }
+    }
+
+    /**
+     * Reads the card from its slot, or the state the current transaction wrote to it.
+     *
+     * @param cardId the card identifier
+     * @return an optional containing the card if found
+     */
+    @Override
+    public Optional<Card> findById(CardId cardId) {
+        log.debug("Finding card by ID: {}", cardId);
+
+        int slot = index.get(cardId.getValue());
+        if (slot < 0) {
+            return Optional.empty();
+        }
+        SlotState written = written(slot);
+        if (written != null) {
+            return written.status == ABSENT ? Optional.empty() : Optional.of(card(slot, written));
+        }
+        return Optional.ofNullable(read(chunkOf(slot), slot & CHUNK_MASK));
+    }
+
+    /**
+     * Reads the card after acquiring its lock, waiting at most {@code lockTimeout}. Within a transaction the
+     * lock is held until the transaction completes.
+     *
+     * @param cardId the card identifier
+     * @param lockTimeout the maximum time to wait for the lock
+     * @return an optional containing the card if found
+     * @throws CannotAcquireLockException if the lock could not be acquired in time
+     */
+    @Override
+    public Optional<Card> findByIdForUpdate(CardId cardId, Duration lockTimeout) {
+        log.debug("Finding and locking card by ID: {}", cardId);
+
+        int slot = index.get(cardId.getValue());
+        if (slot < 0) {
+            return Optional.empty();
+        }
+        lock(slot, cardId, lockTimeout);
+        try {
+            SlotState current = current(slot);
+            return current.status == ABSENT ? Optional.empty() : Optional.of(card(slot, current));
+        } finally {
+            unlockOutsideTransaction(slot);
+        }
+    }
+
+    /**
+     * Reads the cards from their slots.
+     *
+     * @param cardIds the card identifiers
+     * @return the cards found, in no particular order
+     */
+    @Override
+    public List<Card> findAllById(Collection<CardId> cardIds) {
+        log.debug("Finding {} cards by ID", cardIds.size());
+
+        List<Card> cards = new ArrayList<>(cardIds.size());
+        for (CardId cardId : cardIds) {
+            findById(cardId).ifPresent(cards::add);
+        }
+        return cards;
+    }
+
+    /**
+     * Checks whether the card has a slot holding a card.
+     *
+     * @param cardId the card identifier
+     * @return true if the card exists, false otherwise
+     */
+    @Override
+    public boolean existsById(CardId cardId) {
+        log.debug("Checking if card exists by ID: {}", cardId);
+
+        return findById(cardId).isPresent();
+    }
+
+    /**
+     * Deducts the amount from an active card with sufficient funds under the card's lock.
+     *
+     * @param cardId the card identifier
+     * @param amount the amount to deduct
+     * @return an optional containing the updated card, or empty if the card does not exist, is not active, or
+     * has insufficient balance
+     */
+    @Override
+    public Optional<Card> debit(CardId cardId, Money amount) {
+        log.debug("Debiting {} from card with ID: {}", amount, cardId);
+
+        return add(cardId, null, -amount.getMinorUnits());
+    }
+
+    /**
+     * Adds the amount to an active card under the card's lock.
+     *
+     * @param cardId the card identifier
+     * @param amount the amount to add
+     * @return an optional containing the updated card, or empty if the card does not exist or is not active
+     */
+    @Override
+    public Optional<Card> credit(CardId cardId, Money amount) {
+        log.debug("Crediting {} to card with ID: {}", amount, cardId);
+
+        return add(cardId, null, amount.getMinorUnits());
+    }
+
+    /**
+     * Deducts the amount from an active card with sufficient funds under the card's lock, provided the card is
+     * still at the version of the given state.
+     *
+     * @param card the last known state of the card
+     * @param amount the amount to deduct
+     * @return an optional containing the updated card, or empty if the card was modified since, is not active,
+     * or has insufficient balance
+     */
+    @Override
+    public Optional<Card> debitIfUnchanged(Card card, Money amount) {
+        log.debug("Debiting {} from card with ID: {} at version: {}", amount, card.getId(), card.getVersion());
+
+        return add(card.getId(), card.getVersion(), -amount.getMinorUnits());
+    }
+
+    /**
+     * Adds the amount to an active card under the card's lock, provided the card is still at the version of
+     * the given state.
+     *
+     * @param card the last known state of the card
+     * @param amount the amount to add
+     * @return an optional containing the updated card, or empty if the card was modified since or is not active
+     */
+    @Override
+    public Optional<Card> creditIfUnchanged(Card card, Money amount) {
+        log.debug("Crediting {} to card with ID: {} at version: {}", amount, card.getId(), card.getVersion());
+
+        return add(card.getId(), card.getVersion(), amount.getMinorUnits());
+    }
+
+    /**
+     * Reads the committed state of the card from its slot.
+     *
+     * @param cardId the card identifier
+     * @return an optional containing the card if found
+     */
+    @Override
+    public Optional<Card> findDetailsById(CardId cardId) {
+        int slot = index.get(cardId.getValue());
+        return slot < 0 ? Optional.empty() : Optional.ofNullable(read(chunkOf(slot), slot & CHUNK_MASK));
+    }
+
+    /**
+     * Adds a number of cents to the balance of an active card, provided the balance stays non-negative and,
+     * if an expected version is given, the card is still at that version.
+     */
+    private Optional<Card> add(CardId cardId, Long expectedVersion, long cents) {
+        int slot = index.get(cardId.getValue());
+        if (slot < 0) {
+            return Optional.empty();
+        }
+
+        lock(slot, cardId, lockTimeout);
+        try {
+            SlotState current = current(slot);
+            long balance = current.balance + cents;
+            if (current.status != ACTIVE || balance < 0
+                    || expectedVersion != null && current.version != expectedVersion) {
+                return Optional.empty();
+            }
+            return Optional.of(stage(slot, new SlotState(current.cardholderName, balance, ACTIVE,
+                    current.version + 1, current.createdAt)));
+        } finally {
+            unlockOutsideTransaction(slot);
+        }
+    }
+
+    /**
+     * Creates the card in the slot of its identifier, allocating and indexing a free slot if it has none yet. A
+     * slot left free by a creation that rolled back is reused; a creation still in progress holds the slot's lock
+     * until it completes.
+     */
+    private Card insert(Card card) {
+        UUID id = card.getId().getValue();
+        int slot = index.get(id);
+        if (slot < 0) {
+            int allocated = allocate(id);
+            int existing = index.putIfAbsent(id, allocated);
+            slot = existing < 0 ? allocated : existing;
+        }
+
+        lock(slot, card.getId(), lockTimeout);
+        try {
+            if (current(slot).status != ABSENT) {
+                throw new DuplicateKeyException("Card already exists: " + card.getId());
+            }
+            return stage(slot, new SlotState(card.getCardholderName(), card.getBalance().getMinorUnits(),
+                    (byte) card.getStatus().ordinal(), card.getVersion(), toMicros(card.getCreatedAt())));
+        } finally {
+            unlockOutsideTransaction(slot);
+        }
+    }
+
+    /**
+     * Allocates the next slot, adding a chunk if needed, and sets its identifier.
+     */
+    private synchronized int allocate(UUID id) {
+        int slot = slotCount;
+        Chunk[] current = chunks;
+        if (slot >>> CHUNK_BITS == current.length) {
+            current = Arrays.copyOf(current, current.length + 1);
+            current[current.length - 1] = new Chunk();
+            chunks = current;
+        }
+        Chunk chunk = current[slot >>> CHUNK_BITS];
+        int i = slot & CHUNK_MASK;
+        chunk.msb[i] = id.getMostSignificantBits();
+        chunk.lsb[i] = id.getLeastSignificantBits();
+        slotCount = slot + 1;
+        return slot;
+    }
+
+    private int slotOf(Card card) {
+        int slot = index.get(card.getId().getValue());
+        if (slot < 0) {
+            throw new ObjectOptimisticLockingFailureException(Card.class, card.getId().getValue());
+        }
+        return slot;
+    }
+
+    private Chunk chunkOf(int slot) {
+        return chunks[slot >>> CHUNK_BITS];
+    }
+
+    /**
+     * Writes the mutable fields of a slot between an odd and the next even stamp. Writers of a slot hold its
+     * lock, or own the slot before it is indexed.
+     */
+    private static void write(Chunk chunk, int i, SlotState state) {
+        long stamp = chunk.stamps[i];
+        STAMPS.setOpaque(chunk.stamps, i, stamp + 1);
+        VarHandle.releaseFence();
+        chunk.names[i] = state.cardholderName;
+        chunk.balances[i] = state.balance;
+        chunk.statuses[i] = state.status;
+        chunk.versions[i] = state.version;
+        chunk.createdAt[i] = state.createdAt;
+        STAMPS.setRelease(chunk.stamps, i, stamp + 2);
+    }
+
+    /**
+     * Reads a slot without locking, retrying while it is written.
+     *
+     * @return the card in the slot, or null if the slot holds none
+     */
+    private static Card read(Chunk chunk, int i) {
+        while (true) {
+            long stamp = (long) STAMPS.getAcquire(chunk.stamps, i);
+            if ((stamp & 1) == 0) {
+                String cardholderName = chunk.names[i];
+                long balance = chunk.balances[i];
+                byte status = chunk.statuses[i];
+                long version = chunk.versions[i];
+                long createdAt = chunk.createdAt[i];
+                VarHandle.acquireFence();
+                if ((long) STAMPS.getOpaque(chunk.stamps, i) == stamp) {
+                    return status == ABSENT ? null : new Card(CardId.of(new UUID(chunk.msb[i], chunk.lsb[i])),
+                            cardholderName, Money.ofMinor(balance), toInstant(createdAt), STATUSES[status], version);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Builds the card of a slot in the given state.
+     */
+    private Card card(int slot, SlotState state) {
+        Chunk chunk = chunkOf(slot);
+        int i = slot & CHUNK_MASK;
+        return new Card(CardId.of(new UUID(chunk.msb[i], chunk.lsb[i])), state.cardholderName,
+                Money.ofMinor(state.balance), toInstant(state.createdAt), STATUSES[state.status], state.version);
+    }
+
+    /**
+     * Returns the state of a slot whose lock is held by the caller: the state the current transaction wrote to
+     * it, or else its committed state.
+     */
+    private SlotState current(int slot) {
+        SlotState written = written(slot);
+        if (written != null) {
+            return written;
+        }
+        Chunk chunk = chunkOf(slot);
+        int i = slot & CHUNK_MASK;
+        return new SlotState(chunk.names[i], chunk.balances[i], chunk.statuses[i], chunk.versions[i],
+                chunk.createdAt[i]);
+    }
+
+    /**
+     * @return the state the current transaction wrote to the slot, or null if it wrote none
+     */
+    private SlotState written(int slot) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        TransactionWrites writes = (TransactionWrites) TransactionSynchronizationManager.getResource(this);
+        return writes == null ? null : writes.states.get(slot);
+    }
+
+    /**
+     * Writes the new state of a slot whose lock is held by the caller. Within a transaction, the state is kept
+     * with the transaction and published to the slot when it commits.
+     *
+     * @return the card in its new state
+     */
+    private Card stage(int slot, SlotState state) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            currentWrites().states.put(slot, state);
+        } else {
+            write(chunkOf(slot), slot & CHUNK_MASK, state);
+        }
+        return card(slot, state);
+    }
+
+    /**
+     * Acquires the lock of a slot. Within a transaction, the lock is released when the transaction completes.
+     */
+    private void lock(int slot, CardId cardId, Duration timeout) {
+        ReentrantLock lock = stripes[slot % stripes.length];
+        try {
+            if (!lock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new CannotAcquireLockException("Timed out waiting for the lock of card: " + cardId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted waiting for the lock of card: " + cardId, e);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            currentWrites().locks.add(lock);
+        }
+    }
+
+    private void unlockOutsideTransaction(int slot) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stripes[slot % stripes.length].unlock();
+        }
+    }
+
+    private TransactionWrites currentWrites() {
+        TransactionWrites writes = (TransactionWrites) TransactionSynchronizationManager.getResource(this);
+        if (writes == null) {
+            writes = new TransactionWrites();
+            TransactionSynchronizationManager.bindResource(this, writes);
+            TransactionSynchronizationManager.registerSynchronization(writes);
+        }
+        return writes;
+    }
+
+    private static long toMicros(Instant instant) {
+        return instant.getEpochSecond() * MICROS_PER_SECOND + instant.getNano() / 1000;
+    }
+
+    private static Instant toInstant(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                Math.floorMod(micros, MICROS_PER_SECOND) * 1000);
+    }
+
+    /**
+     * Slots of one chunk, in parallel arrays. Identifiers are set once, before the slot is indexed; the other
+     * fields are written under the slot's lock and stamp.
+     */
+    private static final class Chunk {
+
+        private final long[] msb = new long[CHUNK_SIZE];
+
+        private final long[] lsb = new long[CHUNK_SIZE];
+
+        private final long[] createdAt = new long[CHUNK_SIZE];
+
+        private final String[] names = new String[CHUNK_SIZE];
+
+        private final long[] balances = new long[CHUNK_SIZE];
+
+        private final byte[] statuses = new byte[CHUNK_SIZE];
+
+        private final long[] versions = new long[CHUNK_SIZE];
+
+        private final long[] stamps = new long[CHUNK_SIZE];
+
+        private Chunk() {
+            Arrays.fill(statuses, ABSENT);
+        }
+
+    }
+
+    /**
+     * State of a slot written by a transaction, or read by the holder of its lock.
+     */
+    private static final class SlotState {
+
+        private final String cardholderName;
+
+        private final long balance;
+
+        private final byte status;
+
+        private final long version;
+
+        private final long createdAt;
+
+        private SlotState(String cardholderName, long balance, byte status, long version, long createdAt) {
+            this.cardholderName = cardholderName;
+            this.balance = balance;
+            this.status = status;
+            this.version = version;
+            this.createdAt = createdAt;
+        }
+
+    }
+
+    /**
+     * Locks taken and slot states written by the current transaction. The states are published to the slots
+     * after it commits, ahead of the other after-commit callbacks, or dropped if it rolls back; the locks are
+     * released once it completes. The writes are bound to the transaction as a resource, unbound while it is
+     * suspended.
+     */
+    private final class TransactionWrites implements TransactionSynchronization {
+
+        private final List<ReentrantLock> locks = new ArrayList<>();
+
+        private final Map<Integer, SlotState> states = new LinkedHashMap<>();
+
+        private boolean published;
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(InMemoryCardStore.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(InMemoryCardStore.this, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            publish();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InMemoryCardStore.this);
+            if (status == STATUS_COMMITTED) {
+                publish();
+            }
+            for (int index = locks.size() - 1; index >= 0; index--) {
+                locks.get(index).unlock();
+            }
+        }
+
+        private void publish() {
+            if (!published) {
+                states.forEach((slot, state) -> write(chunkOf(slot), slot & CHUNK_MASK, state));
+                published = true;
+            }
+        }
+
+    }
+
+}
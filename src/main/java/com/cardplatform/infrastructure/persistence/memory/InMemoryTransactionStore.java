@@ -0,0 +1,575 @@
+package com.cardplatform.infrastructure.persistence.memory;
+
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.model.transaction.TransactionCursor;
+import com.cardplatform.domain.model.transaction.TransactionId;
+import com.cardplatform.domain.port.transaction.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the transactions in memory instead of the database, next to the {@link InMemoryCardStore}. Every
+ * transaction is one record of parallel primitive arrays, allocated in fixed-size chunks that never move. An
+ * open-addressing index maps transaction identifiers to records, and another maps each card to the list of its
+ * record numbers in append order, which is also sequence number order, since the transactions of a card are
+ * serialised by the card update they record.
+ * <p>
+ * Records are appended by a single writer when the surrounding transaction commits, so a rolled back
+ * transaction leaves none, and become visible once indexed. Every {@code snapshot-interval} and on shutdown,
+ * the records appended since the previous snapshot are added to {@code snapshot-file}, which is replayed at
+ * startup.
+ * <p>
+ * Lookups by type scan all records and are meant for maintenance.
+ */
+@Repository
+@ConditionalOnProperty(name = "card-platform.transaction-store.mode", havingValue = "in-memory")
+@Timed(value = "card.repository.call", description = "Repository calls", histogram = true,
+        percentiles = {0.5, 0.95, 0.99})
+@Slf4j
+public class InMemoryTransactionStore implements TransactionRepository {
+
+    private static final int CHUNK_BITS = 16;
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * Size of a record in the snapshot file: transaction id, card id, seq, creation time in microseconds,
+     * amount in cents and type.
+     */
+    private static final int SNAPSHOT_RECORD_SIZE = 7 * Long.BYTES + 1;
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    /**
+     * Index from transaction identifiers to record numbers.
+     */
+    private final UuidSlotIndex transactionIndex = new UuidSlotIndex(CHUNK_SIZE);
+
+    /**
+     * Index from card identifiers to their position in {@link #cardRecords}.
+     */
+    private final UuidSlotIndex cardIndex = new UuidSlotIndex(CHUNK_SIZE);
+
+    /**
+     * Record numbers of each indexed card, replaced by a longer copy when full. Only the writer changes it.
+     */
+    private volatile CardRecords[] cardRecords = new CardRecords[CHUNK_SIZE];
+
+    /**
+     * Number of indexed cards. Only the writer changes it.
+     */
+    private int cardCount;
+
+    /**
+     * Chunks of records, replaced by a longer copy when a chunk is added.
+     */
+    private volatile Chunk[] chunks = new Chunk[0];
+
+    /**
+     * Number of records, which is also the number of the next record. Only the writer changes it.
+     */
+    private volatile int recordCount;
+
+    /**
+     * File the records are snapshotted to, or null if snapshots are disabled.
+     */
+    private final Path snapshotFile;
+
+    /**
+     * Number of records already in the snapshot file, guarded by {@link #snapshotLock}.
+     */
+    private int snapshotCount;
+
+    /**
+     * Lock serialising the snapshots.
+     */
+    private final Object snapshotLock = new Object();
+
+    public InMemoryTransactionStore(@Value("${card-platform.transaction-store.snapshot-file:"
+            + "data/transactions.snapshot}") String snapshotFile) {
+        this.snapshotFile = snapshotFile.isBlank() ? null : Paths.get(snapshotFile);
+    }
+
+    /**
+     * Replays the snapshot file, if any, dropping a partly written record at its end.
+     */
+    @PostConstruct
+    public void restore() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long complete = channel.size() - channel.size() % SNAPSHOT_RECORD_SIZE;
+            ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_RECORD_SIZE * 1024);
+            List<Transaction> batch = new ArrayList<>(1024);
+            for (long position = 0; position < complete; ) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), complete - position));
+                while (buffer.hasRemaining()) {
+                    position += channel.read(buffer, position);
+                }
+                buffer.flip();
+                batch.clear();
+                while (buffer.hasRemaining()) {
+                    batch.add(readSnapshotRecord(buffer));
+                }
+                append(batch);
+            }
+            channel.truncate(complete);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to restore the transactions from " + snapshotFile, e);
+        }
+        snapshotCount = recordCount;
+        log.info("Restored {} transactions from {}", recordCount, snapshotFile);
+    }
+
+    /**
+     * Adds the records appended since the previous snapshot to the snapshot file. The interval is an ISO-8601
+     * duration.
+     *
+     * @return the number of records added, or -1 if snapshots are disabled
+     */
+    @Scheduled(fixedDelayString = "${card-platform.transaction-store.snapshot-interval:PT1M}",
+            initialDelayString = "${card-platform.transaction-store.snapshot-interval:PT1M}")
+    public int snapshot() {
+        if (snapshotFile == null) {
+            return -1;
+        }
+
+        synchronized (snapshotLock) {
+            int from = snapshotCount;
+            int to = recordCount;
+            try {
+                Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+                try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_RECORD_SIZE * 1024);
+                    for (int record = from; record < to; record++) {
+                        writeSnapshotRecord(buffer, record);
+                        if (!buffer.hasRemaining() || record == to - 1) {
+                            buffer.flip();
+                            while (buffer.hasRemaining()) {
+                                channel.write(buffer);
+                            }
+                            buffer.clear();
+                        }
+                    }
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to snapshot the transactions to " + snapshotFile, e);
+            }
+            snapshotCount = to;
+
+            log.debug("Snapshotted {} transactions to {}", to - from, snapshotFile);
+            return to - from;
+        }
+    }
+
+    /**
+     * Takes a last snapshot on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        snapshot();
+    }
+
+    /**
+     * Appends the transaction when the surrounding transaction commits, or right away outside of one.
+     *
+     * @param transaction the transaction to save
+     * @return the transaction as saved
+     */
+    @Override
+    public Transaction save(Transaction transaction) {
+        log.debug("Saving transaction with ID: {}", transaction.getId());
+
+        appendOnCommit(List.of(transaction));
+        return transaction;
+    }
+
+    /**
+     * Appends the transactions when the surrounding transaction commits, or right away outside of one.
+     *
+     * @param transactions the transactions to save
+     */
+    @Override
+    public void saveAll(List<Transaction> transactions) {
+        log.debug("Saving {} transactions", transactions.size());
+
+        if (!transactions.isEmpty()) {
+            appendOnCommit(new ArrayList<>(transactions));
+        }
+    }
+
+    /**
+     * Finds a transaction by its identifier through the transaction index.
+     *
+     * @param transactionId the transaction identifier
+     * @return an Optional containing the transaction if found, otherwise empty
+     */
+    @Override
+    public Optional<Transaction> findById(TransactionId transactionId) {
+        log.debug("Finding transaction by ID: {}", transactionId);
+
+        int record = transactionIndex.get(transactionId.getValue());
+        return record < 0 ? Optional.empty() : Optional.of(read(record));
+    }
+
+    /**
+     * Finds a page of the transactions of a card, newest first, reading only the records of the page.
+     *
+     * @param cardId the card identifier
+     * @param pageable pagination information
+     * @return a page of transactions for the card
+     */
+    @Override
+    public Page<Transaction> findByCardId(CardId cardId, Pageable pageable) {
+        log.debug("Finding transactions by card ID: {} with pagination", cardId);
+
+        int[] records = records(cardId);
+        List<Transaction> content = new ArrayList<>(pageable.getPageSize());
+        long first = records.length - 1 - pageable.getOffset();
+        for (long index = first; index >= 0 && index > first - pageable.getPageSize(); index--) {
+            content.add(read(records[(int) index]));
+        }
+        return new PageImpl<>(content, pageable, records.length);
+    }
+
+    /**
+     * Finds the transactions of a card after the given cursor, newest first, locating the cursor with a binary
+     * search on the sequence numbers of the card's records.
+     *
+     * @param cardId the card identifier
+     * @param cursor the position after which to read, or null to start from the newest transaction
+     * @param size the maximum number of transactions to return
+     * @return a slice of transactions for the card
+     */
+    @Override
+    public Slice<Transaction> findByCardIdAfter(CardId cardId, TransactionCursor cursor, int size) {
+        log.debug("Finding transactions by card ID: {} after cursor: {}", cardId, cursor);
+
+        int[] records = records(cardId);
+        int first = cursor == null ? records.length - 1 : firstBefore(records, cursor.getSeq());
+        List<Transaction> content = new ArrayList<>(size);
+        for (int index = first; index >= 0 && content.size() < size; index--) {
+            content.add(read(records[index]));
+        }
+        boolean hasNext = first - content.size() >= 0;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    /**
+     * Finds all transactions of a card, newest first.
+     *
+     * @param cardId the card identifier
+     * @return list of all transactions for the card
+     */
+    @Override
+    public List<Transaction> findByCardId(CardId cardId) {
+        log.debug("Finding all transactions by card ID: {}", cardId);
+
+        List<Transaction> transactions = new ArrayList<>();
+        streamByCardId(cardId, transactions::add);
+        return transactions;
+    }
+
+    /**
+     * Streams all transactions of a card, newest first, reading each record as it is handed over.
+     *
+     * @param cardId the card identifier
+     * @param consumer the consumer receiving each transaction
+     */
+    @Override
+    public void streamByCardId(CardId cardId, Consumer<Transaction> consumer) {
+        log.debug("Streaming all transactions by card ID: {}", cardId);
+
+        int[] records = records(cardId);
+        for (int index = records.length - 1; index >= 0; index--) {
+            consumer.accept(read(records[index]));
+        }
+    }
+
+    /**
+     * Counts the SPEND transactions of a card between two timestamps, walking the card's records backwards
+     * until the first one created before the window.
+     *
+     * @param cardId the card identifier
+     * @param fromTimestamp the start of the time window (inclusive), in milliseconds since epoch
+     * @param toTimestamp the end of the time window (inclusive), in milliseconds since epoch
+     * @return the count of SPEND transactions within the time window
+     */
+    @Override
+    public long countByCardIdAndCreatedAtBetween(CardId cardId, long fromTimestamp, long toTimestamp) {
+        log.debug("Counting SPEND transactions for card ID: {} between {} and {}",
+                cardId, fromTimestamp, toTimestamp);
+
+        long fromMicros = fromTimestamp * 1000;
+        long toMicros = toTimestamp * 1000 + 999;
+        int[] records = records(cardId);
+        long count = 0;
+        for (int index = records.length - 1; index >= 0; index--) {
+            Chunk chunk = chunkOf(records[index]);
+            int i = records[index] & CHUNK_MASK;
+            if (chunk.createdAt[i] < fromMicros) {
+                break;
+            }
+            if (chunk.createdAt[i] <= toMicros && TYPES[chunk.types[i]] == TransactionType.SPEND) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds all transactions of the given type created at or after a timestamp, oldest first, scanning all
+     * records.
+     *
+     * @param type the transaction type
+     * @param fromTimestamp the start of the time window (inclusive), in milliseconds since epoch
+     * @return list of matching transactions
+     */
+    @Override
+    public List<Transaction> findByTypeAndCreatedAtAfter(TransactionType type, long fromTimestamp) {
+        log.debug("Finding {} transactions created after {}", type, fromTimestamp);
+
+        long fromMicros = fromTimestamp * 1000;
+        int count = recordCount;
+        List<Transaction> transactions = new ArrayList<>();
+        for (int record = 0; record < count; record++) {
+            Chunk chunk = chunkOf(record);
+            int i = record & CHUNK_MASK;
+            if (TYPES[chunk.types[i]] == type && chunk.createdAt[i] >= fromMicros) {
+                transactions.add(read(record));
+            }
+        }
+        transactions.sort((left, right) -> left.getCreatedAt().compareTo(right.getCreatedAt()));
+        return transactions;
+    }
+
+    /**
+     * Defers the append to the commit of the surrounding transaction, while the card updates it records are
+     * still locked, so a rolled back transaction leaves no record.
+     */
+    private void appendOnCommit(List<Transaction> transactions) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(transactions);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                append(transactions);
+            }
+        });
+    }
+
+    /**
+     * Writes the records, then indexes them, so readers only ever see complete records.
+     */
+    private synchronized void append(List<Transaction> transactions) {
+        int first = recordCount;
+        for (int offset = 0; offset < transactions.size(); offset++) {
+            write(first + offset, transactions.get(offset));
+        }
+        for (int offset = 0; offset < transactions.size(); offset++) {
+            Transaction transaction = transactions.get(offset);
+            transactionIndex.putIfAbsent(transaction.getId().getValue(), first + offset);
+            cardRecordsOf(transaction.getCardId().getValue()).add(first + offset);
+        }
+        recordCount = first + transactions.size();
+    }
+
+    private void write(int record, Transaction transaction) {
+        Chunk[] current = chunks;
+        if (record >>> CHUNK_BITS == current.length) {
+            current = Arrays.copyOf(current, current.length + 1);
+            current[current.length - 1] = new Chunk();
+            chunks = current;
+        }
+        Chunk chunk = current[record >>> CHUNK_BITS];
+        int i = record & CHUNK_MASK;
+
+        UUID id = transaction.getId().getValue();
+        UUID cardId = transaction.getCardId().getValue();
+        Instant createdAt = transaction.getCreatedAt();
+        chunk.idMsb[i] = id.getMostSignificantBits();
+        chunk.idLsb[i] = id.getLeastSignificantBits();
+        chunk.cardMsb[i] = cardId.getMostSignificantBits();
+        chunk.cardLsb[i] = cardId.getLeastSignificantBits();
+        chunk.seqs[i] = transaction.getSeq();
+        chunk.createdAt[i] = createdAt.getEpochSecond() * MICROS_PER_SECOND + createdAt.getNano() / 1000;
+        chunk.amounts[i] = transaction.getAmount().getMinorUnits();
+        chunk.types[i] = (byte) transaction.getType().ordinal();
+    }
+
+    private Transaction read(int record) {
+        Chunk chunk = chunkOf(record);
+        int i = record & CHUNK_MASK;
+        long createdAt = chunk.createdAt[i];
+        return new Transaction(
+                TransactionId.of(new UUID(chunk.idMsb[i], chunk.idLsb[i])),
+                CardId.of(new UUID(chunk.cardMsb[i], chunk.cardLsb[i])),
+                chunk.seqs[i],
+                TYPES[chunk.types[i]],
+                Money.ofMinor(chunk.amounts[i]),
+                Instant.ofEpochSecond(Math.floorDiv(createdAt, MICROS_PER_SECOND),
+                        Math.floorMod(createdAt, MICROS_PER_SECOND) * 1000));
+    }
+
+    private void writeSnapshotRecord(ByteBuffer buffer, int record) {
+        Chunk chunk = chunkOf(record);
+        int i = record & CHUNK_MASK;
+        buffer.putLong(chunk.idMsb[i]).putLong(chunk.idLsb[i])
+                .putLong(chunk.cardMsb[i]).putLong(chunk.cardLsb[i])
+                .putLong(chunk.seqs[i]).putLong(chunk.createdAt[i]).putLong(chunk.amounts[i])
+                .put(chunk.types[i]);
+    }
+
+    private static Transaction readSnapshotRecord(ByteBuffer buffer) {
+        TransactionId id = TransactionId.of(new UUID(buffer.getLong(), buffer.getLong()));
+        CardId cardId = CardId.of(new UUID(buffer.getLong(), buffer.getLong()));
+        long seq = buffer.getLong();
+        long createdAt = buffer.getLong();
+        Money amount = Money.ofMinor(buffer.getLong());
+        return new Transaction(id, cardId, seq, TYPES[buffer.get()], amount,
+                Instant.ofEpochSecond(Math.floorDiv(createdAt, MICROS_PER_SECOND),
+                        Math.floorMod(createdAt, MICROS_PER_SECOND) * 1000));
+    }
+
+    /**
+     * @return the record list of the card, indexing the card if needed; only called by the writer
+     */
+    private CardRecords cardRecordsOf(UUID cardId) {
+        int position = cardIndex.get(cardId);
+        if (position >= 0) {
+            return cardRecords[position];
+        }
+
+        CardRecords[] current = cardRecords;
+        if (cardCount == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        CardRecords records = new CardRecords();
+        current[cardCount] = records;
+        cardRecords = current;
+        cardIndex.putIfAbsent(cardId, cardCount++);
+        return records;
+    }
+
+    private int[] records(CardId cardId) {
+        int position = cardIndex.get(cardId.getValue());
+        return position < 0 ? new int[0] : cardRecords[position].toArray();
+    }
+
+    /**
+     * @return the index of the last record numbered before the given sequence number, or -1 if none is
+     */
+    private int firstBefore(int[] records, long seq) {
+        int low = 0;
+        int high = records.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (chunkOf(records[middle]).seqs[records[middle] & CHUNK_MASK] < seq) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low - 1;
+    }
+
+    private Chunk chunkOf(int record) {
+        return chunks[record >>> CHUNK_BITS];
+    }
+
+    /**
+     * Records of one chunk, in parallel arrays, written once before they are indexed.
+     */
+    private static final class Chunk {
+
+        private final long[] idMsb = new long[CHUNK_SIZE];
+
+        private final long[] idLsb = new long[CHUNK_SIZE];
+
+        private final long[] cardMsb = new long[CHUNK_SIZE];
+
+        private final long[] cardLsb = new long[CHUNK_SIZE];
+
+        private final long[] seqs = new long[CHUNK_SIZE];
+
+        private final long[] createdAt = new long[CHUNK_SIZE];
+
+        private final long[] amounts = new long[CHUNK_SIZE];
+
+        private final byte[] types = new byte[CHUNK_SIZE];
+
+    }
+
+    /**
+     * Record numbers of one card, in append order. The single writer adds to it, readers take a copy, and the
+     * array is only ever replaced by a larger copy, so a reader always sees every record it counted.
+     */
+    private static final class CardRecords {
+
+        private volatile int[] records = new int[8];
+
+        private volatile int size;
+
+        private void add(int record) {
+            int[] current = records;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                records = current;
+            }
+            current[size] = record;
+            size = size + 1;
+        }
+
+        private int[] toArray() {
+            int count = size;
+            return Arrays.copyOf(records, count);
+        }
+
+    }
+
+}
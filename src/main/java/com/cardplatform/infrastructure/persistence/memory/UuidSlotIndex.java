@@ -0,0 +1,127 @@
+package com.cardplatform.infrastructure.persistence.memory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.UUID;
+
+/**
+ * Open-addressing hash table from UUIDs to slot numbers, keeping the two halves of each key and its slot in
+ * parallel primitive arrays, so neither keys nor slots are boxed. Slots are never removed.
+ * <p>
+ * Lookups do not lock: an entry is published by a release write of its slot, after its key, and the table is
+ * replaced as a whole when it grows. Inserts are serialised.
+ */
+final class UuidSlotIndex {
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * Share of the table that may be used before it is doubled.
+     */
+    private static final double MAX_LOAD = 0.5;
+
+    private volatile Table table;
+
+    private int size;
+
+    UuidSlotIndex(int expectedSize) {
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return the slot of the key, or -1 if it has none
+     */
+    int get(UUID key) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        Table current = table;
+        for (int index = hash(msb, lsb) & current.mask; ; index = (index + 1) & current.mask) {
+            int slot = (int) SLOTS.getAcquire(current.slots, index);
+            if (slot == 0) {
+                return -1;
+            }
+            if (current.msb[index] == msb && current.lsb[index] == lsb) {
+                return slot - 1;
+            }
+        }
+    }
+
+    /**
+     * Maps the key to the slot, unless it already has one.
+     *
+     * @return the slot the key already had, or -1 if it was mapped to the given slot
+     */
+    synchronized int putIfAbsent(UUID key, int slot) {
+        int existing = get(key);
+        if (existing >= 0) {
+            return existing;
+        }
+        if (size + 1 > table.slots.length * MAX_LOAD) {
+            table = grow(table);
+        }
+        insert(table, key.getMostSignificantBits(), key.getLeastSignificantBits(), slot);
+        size++;
+        return -1;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private static Table grow(Table current) {
+        Table grown = new Table(current.slots.length * 2);
+        for (int index = 0; index < current.slots.length; index++) {
+            if (current.slots[index] != 0) {
+                insert(grown, current.msb[index], current.lsb[index], current.slots[index] - 1);
+            }
+        }
+        return grown;
+    }
+
+    private static void insert(Table target, long msb, long lsb, int slot) {
+        int index = hash(msb, lsb) & target.mask;
+        while (target.slots[index] != 0) {
+            index = (index + 1) & target.mask;
+        }
+        target.msb[index] = msb;
+        target.lsb[index] = lsb;
+        SLOTS.setRelease(target.slots, index, slot + 1);
+    }
+
+    private static int hash(long msb, long lsb) {
+        long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity * MAX_LOAD < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Keys and slots of one generation of the table. Slots are stored plus one, so that zero marks a free
+     * entry.
+     */
+    private static final class Table {
+
+        private final long[] msb;
+
+        private final long[] lsb;
+
+        private final int[] slots;
+
+        private final int mask;
+
+        private Table(int capacity) {
+            this.msb = new long[capacity];
+            this.lsb = new long[capacity];
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+        }
+
+    }
+
+}
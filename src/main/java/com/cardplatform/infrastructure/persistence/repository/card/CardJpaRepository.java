@@ -1,8 +1,88 @@
 package com.cardplatform.infrastructure.persistence.repository.card;
 
+import com.cardplatform.domain.model.enums.CardStatus;
 import com.cardplatform.infrastructure.persistence.entity.card.CardEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
 import java.util.UUID;
 
 public interface CardJpaRepository extends JpaRepository<CardEntity, UUID> {
+
+    /**
+     * Deduct an amount from an active card in a single conditional update.
+     *
+     * @param id The card identifier.
+     * @param amount The amount to deduct.
+     * @return The number of updated rows, 0 if the card is missing, not active or has insufficient balance.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CardEntity c set c.balance = c.balance - :amount, c.version = c.version + 1 "
+            + "where c.id = :id and c.status = com.cardplatform.domain.model.enums.CardStatus.ACTIVE "
+            + "and c.balance >= :amount")
+    int debit(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Add an amount to an active card in a single conditional update.
+     *
+     * @param id The card identifier.
+     * @param amount The amount to add.
+     * @return The number of updated rows, 0 if the card is missing or not active.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CardEntity c set c.balance = c.balance + :amount, c.version = c.version + 1 "
+            + "where c.id = :id and c.status = com.cardplatform.domain.model.enums.CardStatus.ACTIVE")
+    int credit(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Deduct an amount from an active card in a single conditional update, if the card is still at the given version.
+     *
+     * @param id The card identifier.
+     * @param amount The amount to deduct.
+     * @param version The expected current version.
+     * @return The number of updated rows, 0 if the card is missing, was modified since, is not active
+     * or has insufficient balance.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CardEntity c set c.balance = c.balance - :amount, c.version = c.version + 1 "
+            + "where c.id = :id and c.version = :version "
+            + "and c.status = com.cardplatform.domain.model.enums.CardStatus.ACTIVE and c.balance >= :amount")
+    int debitIfVersionMatches(@Param("id") UUID id, @Param("amount") BigDecimal amount,
+                              @Param("version") Long version);
+
+    /**
+     * Add an amount to an active card in a single conditional update, if the card is still at the given version.
+     *
+     * @param id The card identifier.
+     * @param amount The amount to add.
+     * @param version The expected current version.
+     * @return The number of updated rows, 0 if the card is missing, was modified since or is not active.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CardEntity c set c.balance = c.balance + :amount, c.version = c.version + 1 "
+            + "where c.id = :id and c.version = :version "
+            + "and c.status = com.cardplatform.domain.model.enums.CardStatus.ACTIVE")
+    int creditIfVersionMatches(@Param("id") UUID id, @Param("amount") BigDecimal amount,
+                               @Param("version") Long version);
+
+    /**
+     * Overwrite the mutable state of a card if its version still matches.
+     *
+     * @param id The card identifier.
+     * @param cardholderName The cardholder name.
+     * @param balance The balance.
+     * @param status The status.
+     * @param version The expected current version.
+     * @return The number of updated rows, 0 if the card is missing or was modified concurrently.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CardEntity c set c.cardholderName = :cardholderName, c.balance = :balance, "
+            + "c.status = :status, c.version = c.version + 1 where c.id = :id and c.version = :version")
+    int updateIfVersionMatches(@Param("id") UUID id, @Param("cardholderName") String cardholderName,
+                               @Param("balance") BigDecimal balance, @Param("status") CardStatus status,
+                               @Param("version") Long version);
+
 }
@@ -0,0 +1,23 @@
+package com.cardplatform.infrastructure.persistence.repository.idempotency;
+
+import com.cardplatform.infrastructure.persistence.entity.idempotency.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface IdempotencyKeyJpaRepository extends JpaRepository<IdempotencyKeyEntity, IdempotencyKeyEntity.Key> {
+
+    /**
+     * Deletes the records created before the cutoff, in one statement on the {@code created_at} index.
+     *
+     * @param cutoff the creation time before which records are deleted
+     * @return the number of records deleted
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+
+}
@@ -4,6 +4,7 @@ import com.cardplatform.infrastructure.persistence.entity.transaction.Transactio
 import com.cardplatform.domain.model.enums.TransactionType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.Instant;
@@ -13,21 +14,43 @@ import java.util.UUID;
 public interface TransactionJpaRepository extends JpaRepository<TransactionEntity, UUID> {
 
     /**
-     * Find all transactions for a specific card with pagination, ordered by creation date descending.
+     * Find all transactions for a specific card with pagination, newest first. Reads a range of the
+     * (card_id, seq) primary key backwards.
      *
      * @param cardId The card identifier.
      * @param pageable The pagination information.
      * @return A page of transactions.
      */
-    Page<TransactionEntity> findByCardIdOrderByCreatedAtDesc(UUID cardId, Pageable pageable);
+    Page<TransactionEntity> findByCardIdOrderBySeqDesc(UUID cardId, Pageable pageable);
 
     /**
-     * Find all transactions for a specific card, ordered by creation date descending.
+     * Find the newest transactions for a specific card without counting the total. Reads a range of the
+     * (card_id, seq) primary key backwards.
+     *
+     * @param cardId The card identifier.
+     * @param pageable The pagination information, only its size is used.
+     * @return A slice of transactions.
+     */
+    Slice<TransactionEntity> findSliceByCardIdOrderBySeqDesc(UUID cardId, Pageable pageable);
+
+    /**
+     * Find the transactions for a specific card that are older than the given position, without counting
+     * the total, newest first. Seeks into the (card_id, seq) primary key and reads the range that follows.
+     *
+     * @param cardId The card identifier.
+     * @param seq The sequence number of the last transaction already read.
+     * @param pageable The pagination information, only its size is used.
+     * @return A slice of transactions.
+     */
+    Slice<TransactionEntity> findByCardIdAndSeqLessThanOrderBySeqDesc(UUID cardId, long seq, Pageable pageable);
+
+    /**
+     * Find all transactions for a specific card, newest first.
      *
      * @param cardId The card identifier.
      * @return A list of transactions.
      */
-    List<TransactionEntity> findByCardIdOrderByCreatedAtDesc(UUID cardId);
+    List<TransactionEntity> findByCardIdOrderBySeqDesc(UUID cardId);
 
     /**
      * Count transactions by card ID and type within a time window (for rate limiting).
@@ -41,4 +64,14 @@ public interface TransactionJpaRepository extends JpaRepository<TransactionEntit
     long countByCardIdAndTypeAndCreatedAtBetween(UUID cardId, TransactionType type, Instant fromTimestamp,
                                                  Instant toTimestamp);
 
+    /**
+     * Find all transactions of a type created at or after a timestamp, ordered by creation date ascending.
+     *
+     * @param type The transaction type.
+     * @param fromTimestamp The start timestamp.
+     * @return A list of transactions.
+     */
+    List<TransactionEntity> findByTypeAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(TransactionType type,
+                                                                                     Instant fromTimestamp);
+
 }
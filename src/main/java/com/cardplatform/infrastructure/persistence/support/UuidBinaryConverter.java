@@ -0,0 +1,39 @@
+package com.cardplatform.infrastructure.persistence.support;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Converts UUIDs to and from the 16-byte form Hibernate binds them in, for queries issued
+ * outside of JPA. Binding bytes works both for the RAW(16) columns on Oracle and the UUID columns on H2.
+ */
+public final class UuidBinaryConverter {
+
+    private UuidBinaryConverter() {
+    }
+
+    /**
+     * Converts a UUID to its 16-byte form.
+     *
+     * @param uuid the UUID to convert
+     * @return the most significant bits followed by the least significant bits, big-endian
+     */
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * Converts the 16-byte form of a UUID back to a UUID.
+     *
+     * @param bytes the bytes to convert
+     * @return the UUID
+     */
+    public static UUID toUuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.cardplatform.infrastructure.ratelimit;
+
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.port.ratelimit.SpendRateLimiter;
+import com.cardplatform.domain.port.transaction.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process spend rate limiter that keeps, per card, a fixed-size buffer of the timestamps of the
+ * most recent spends. Acquiring a slot is a compare-and-set on the buffer, so the check never touches
+ * the database and never blocks. State is rebuilt from the last window of SPEND transactions at startup.
+ * <p>
+ * Limits are enforced per application instance.
+ */
+@Component
+@ConditionalOnProperty(name = "card-platform.rate-limit.mode", havingValue = "in-memory", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class InMemorySpendRateLimiter implements SpendRateLimiter {
+
+    /**
+     * Length of the rate limit window in milliseconds.
+     */
+    private static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(RATE_LIMIT_WINDOW_MINUTES);
+
+    /**
+     * Marker for a slot that does not hold a spend timestamp.
+     */
+    private static final long EMPTY_SLOT = Long.MIN_VALUE;
+
+    /**
+     * Repository used to rebuild the spend windows at startup.
+     */
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Spend windows keyed by card identifier.
+     */
+    private final ConcurrentHashMap<UUID, SpendWindow> windows = new ConcurrentHashMap<>(1024, 0.75f, 64);
+
+    /**
+     * Rebuilds the spend windows from the SPEND transactions of the last rate limit window.
+     */
+    @PostConstruct
+    public void rebuild() {
+        long windowStart = Instant.now().toEpochMilli() - WINDOW_MILLIS;
+
+        List<Transaction> recentSpends = transactionRepository
+                .findByTypeAndCreatedAtAfter(TransactionType.SPEND, windowStart);
+        recentSpends.forEach(spend -> tryAcquire(spend.getCardId(), spend.getCreatedAt().toEpochMilli()));
+
+        log.info("Rebuilt spend rate limiter state from {} recent spends across {} cards",
+                recentSpends.size(), windows.size());
+    }
+
+    /**
+     * Reserves a slot in the card's spend window if fewer than {@code MAX_SPENDS_PER_MINUTE} spends
+     * fall within the window ending at the given timestamp.
+     *
+     * @param cardId the card identifier
+     * @param timestamp the spend timestamp, in milliseconds since epoch
+     * @return true if the spend is allowed, false if the rate limit has been reached
+     */
+    @Override
+    public boolean tryAcquire(CardId cardId, long timestamp) {
+        UUID key = cardId.getValue();
+        while (true) {
+            SpendWindow window = windows.get(key);
+            if (window == null) {
+                window = windows.computeIfAbsent(key, id -> new SpendWindow());
+            }
+            if (!window.tryAcquire(timestamp)) {
+                return false;
+            }
+            if (!window.retired) {
+                return true;
+            }
+            // The window was evicted concurrently; undo and retry against the live window
+            window.release(timestamp);
+        }
+    }
+
+    /**
+     * Frees the slot holding the given timestamp in the card's spend window.
+     *
+     * @param cardId the card identifier
+     * @param timestamp the timestamp passed to the matching acquire call
+     */
+    @Override
+    public void release(CardId cardId, long timestamp) {
+        SpendWindow window = windows.get(cardId.getValue());
+        if (window != null) {
+            window.release(timestamp);
+        }
+    }
+
+    /**
+     * Evicts the windows of cards without any spend inside the current rate limit window.
+     */
+    @Scheduled(fixedDelay = 60_000L, initialDelay = 60_000L)
+    public void evictIdleWindows() {
+        long now = Instant.now().toEpochMilli();
+        int evicted = 0;
+
+        for (UUID key : windows.keySet()) {
+            SpendWindow window = windows.get(key);
+            if (window == null || !window.isIdle(now)) {
+                continue;
+            }
+            window.retired = true;
+            if (window.isIdle(now) && windows.remove(key, window)) {
+                evicted++;
+            } else {
+                window.retired = false;
+            }
+        }
+
+        if (evicted > 0) {
+            log.debug("Evicted {} idle spend rate limiter windows, {} remaining", evicted, windows.size());
+        }
+    }
+
+    /**
+     * Fixed-size buffer of spend timestamps for a single card.
+     */
+    private static final class SpendWindow {
+
+        private final AtomicLongArray slots = new AtomicLongArray(MAX_SPENDS_PER_MINUTE);
+
+        private volatile boolean retired;
+
+        private SpendWindow() {
+            for (int i = 0; i < slots.length(); i++) {
+                slots.set(i, EMPTY_SLOT);
+            }
+        }
+
+        private boolean tryAcquire(long timestamp) {
+            long windowStart = timestamp - WINDOW_MILLIS;
+            boolean contended;
+            do {
+                contended = false;
+                for (int i = 0; i < slots.length(); i++) {
+                    long current = slots.get(i);
+                    if (current < windowStart) {
+                        if (slots.compareAndSet(i, current, timestamp)) {
+                            return true;
+                        }
+                        contended = true;
+                    }
+                }
+            } while (contended);
+            return false;
+        }
+
+        private void release(long timestamp) {
+            for (int i = 0; i < slots.length(); i++) {
+                if (slots.compareAndSet(i, timestamp, EMPTY_SLOT)) {
+                    return;
+                }
+            }
+        }
+
+        private boolean isIdle(long now) {
+            long windowStart = now - WINDOW_MILLIS;
+            for (int i = 0; i < slots.length(); i++) {
+                if (slots.get(i) >= windowStart) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.cardplatform.infrastructure.ratelimit;
+
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.port.ratelimit.SpendRateLimiter;
+import com.cardplatform.domain.port.transaction.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spend rate limiter that counts the committed SPEND transactions of the window in the database.
+ * Shares its limits across all application instances at the cost of a range query per spend.
+ */
+@Component
+@ConditionalOnProperty(name = "card-platform.rate-limit.mode", havingValue = "database")
+@RequiredArgsConstructor
+public class TransactionCountSpendRateLimiter implements SpendRateLimiter {
+
+    /**
+     * Repository for counting the spend transactions of a card.
+     */
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Allows the spend if fewer than {@code MAX_SPENDS_PER_MINUTE} spend transactions
+     * were recorded for the card within the window ending at the given timestamp.
+     *
+     * @param cardId the card identifier
+     * @param timestamp the spend timestamp, in milliseconds since epoch
+     * @return true if the spend is allowed, false if the rate limit has been reached
+     */
+    @Override
+    public boolean tryAcquire(CardId cardId, long timestamp) {
+        long windowStart = timestamp - TimeUnit.MINUTES.toMillis(RATE_LIMIT_WINDOW_MINUTES);
+
+        long spendCount = transactionRepository.countByCardIdAndCreatedAtBetween(cardId, windowStart, timestamp);
+
+        return spendCount < MAX_SPENDS_PER_MINUTE;
+    }
+
+    /**
+     * Nothing to release: uncommitted spends are never counted.
+     *
+     * @param cardId the card identifier
+     * @param timestamp the timestamp passed to the matching acquire call
+     */
+    @Override
+    public void release(CardId cardId, long timestamp) {
+        // no-op
+    }
+
+}
@@ -1,21 +1,43 @@
 package com.cardplatform.infrastructure.web.controller;
 
 import com.cardplatform.application.CardApplicationService;
+import com.cardplatform.domain.exception.InvalidCardIdException;
 import com.cardplatform.domain.model.card.Card;
 import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.card.CardIssuanceRequest;
+import com.cardplatform.domain.model.card.CardIssuanceResult;
+import com.cardplatform.domain.model.card.CardOperation;
+import com.cardplatform.domain.model.card.CardOperationResult;
+import com.cardplatform.domain.model.enums.CardOperationStatus;
+import com.cardplatform.domain.port.idempotency.IdempotencyRepository;
+import com.cardplatform.infrastructure.web.dto.card.BulkCardIssuanceResponseDTO;
+import com.cardplatform.infrastructure.web.dto.card.BulkCardIssuanceResultDTO;
 import com.cardplatform.infrastructure.web.dto.card.CardDTO;
 import com.cardplatform.infrastructure.web.dto.card.CreateCardRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.BatchCardOperationResponseDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.CardOperationRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.CardOperationResultDTO;
 import com.cardplatform.infrastructure.web.dto.transaction.TransactionRequestDTO;
 import com.cardplatform.infrastructure.web.mapper.card.CardDTOMapper;
+import com.cardplatform.infrastructure.web.mapper.money.MoneyMapper;
+import com.cardplatform.infrastructure.web.support.CardETags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
-import java.util.UUID;
+import javax.validation.Validator;
+import javax.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/cards")
@@ -34,6 +56,32 @@ public class CardCommandController {
      */
     private final CardDTOMapper cardDTOMapper;
 
+    /**
+     * Validator applied to each item of a bulk issuance, so that invalid items are reported
+     * individually instead of failing the whole request.
+     */
+    private final Validator validator;
+
+    /**
+     * Header carrying the client-chosen key that makes spend and top-up requests safe to retry.
+     */
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Maximum number of cards accepted in a single bulk issuance request.
+     */
+    private static final int MAX_BULK_ISSUANCE_SIZE = 50_000;
+
+    /**
+     * Maximum number of operations accepted in a single batch request.
+     */
+    private static final int MAX_BATCH_OPERATION_SIZE = 50_000;
+
+    /**
+     * Error message for invalid card ID format.
+     */
+    private static final String INVALID_CARD_ID_FORMAT = "Invalid card ID format: {}";
+
     /**
      * Creates a new virtual card.
      *
@@ -46,7 +94,7 @@ public class CardCommandController {
 
         Card createdCard = cardApplicationService.createCard(
                 createCardRequest.getCardholderName(),
-                createCardRequest.getInitialBalance()
+                MoneyMapper.toMoney(createCardRequest.getInitialBalance())
         );
 
         CardDTO cardDTO = cardDTOMapper.mapTo(createdCard);
@@ -55,22 +103,158 @@ public class CardCommandController {
         return ResponseEntity.status(HttpStatus.CREATED).body(cardDTO);
     }
 
+    /**
+     * Issues many virtual cards in one request. Valid items are inserted with JDBC batching and
+     * committed in chunks; the response reports the outcome of every item in request order.
+     *
+     * @param createCardRequests the card creation requests
+     * @return the per-item issuance report
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCardIssuanceResponseDTO> issueCards(
+            @RequestBody @Size(max = MAX_BULK_ISSUANCE_SIZE) List<CreateCardRequestDTO> createCardRequests) {
+        log.info("Command: Issuing {} cards in bulk", createCardRequests.size());
+
+        BulkCardIssuanceResultDTO[] results = new BulkCardIssuanceResultDTO[createCardRequests.size()];
+        List<CardIssuanceRequest> issuanceRequests = new ArrayList<>(createCardRequests.size());
+        List<Integer> issuanceIndexes = new ArrayList<>(createCardRequests.size());
+
+        for (int index = 0; index < createCardRequests.size(); index++) {
+            CreateCardRequestDTO createCardRequest = createCardRequests.get(index);
+            String violations = validate(createCardRequest);
+
+            if (violations != null) {
+                results[index] = BulkCardIssuanceResultDTO.builder()
+                        .index(index)
+                        .status(BulkCardIssuanceResultDTO.Status.REJECTED)
+                        .message(violations)
+                        .build();
+                continue;
+            }
+            issuanceRequests.add(new CardIssuanceRequest(createCardRequest.getCardholderName(),
+                    MoneyMapper.toMoney(createCardRequest.getInitialBalance())));
+            issuanceIndexes.add(index);
+        }
+
+        List<CardIssuanceResult> issuanceResults = cardApplicationService.issueCards(issuanceRequests);
+        for (int i = 0; i < issuanceResults.size(); i++) {
+            CardIssuanceResult issuanceResult = issuanceResults.get(i);
+            int index = issuanceIndexes.get(i);
+            results[index] = issuanceResult.isIssued()
+                    ? BulkCardIssuanceResultDTO.builder()
+                            .index(index)
+                            .status(BulkCardIssuanceResultDTO.Status.ISSUED)
+                            .cardId(issuanceResult.getCard().getId().getValue())
+                            .build()
+                    : BulkCardIssuanceResultDTO.builder()
+                            .index(index)
+                            .status(BulkCardIssuanceResultDTO.Status.FAILED)
+                            .message(issuanceResult.getError())
+                            .build();
+        }
+
+        BulkCardIssuanceResponseDTO response = BulkCardIssuanceResponseDTO.builder()
+                .requested(results.length)
+                .issued(countByStatus(results, BulkCardIssuanceResultDTO.Status.ISSUED))
+                .rejected(countByStatus(results, BulkCardIssuanceResultDTO.Status.REJECTED))
+                .failed(countByStatus(results, BulkCardIssuanceResultDTO.Status.FAILED))
+                .results(Arrays.asList(results))
+                .build();
+
+        log.info("Command: Bulk issuance completed, {} issued, {} rejected, {} failed",
+                response.getIssued(), response.getRejected(), response.getFailed());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Applies a batch of spend and top-up operations across many cards in one request. Operations
+     * are grouped per card and applied in request order, with balance updates and transaction rows
+     * written in batched statements; the response reports the outcome of every operation in request order.
+     *
+     * @param operationRequests the operations to apply
+     * @return the per-operation outcome report
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCardOperationResponseDTO> applyOperations(
+            @RequestBody @Size(max = MAX_BATCH_OPERATION_SIZE) List<CardOperationRequestDTO> operationRequests) {
+        log.info("Command: Applying batch of {} card operations", operationRequests.size());
+
+        CardOperationResultDTO[] results = new CardOperationResultDTO[operationRequests.size()];
+        List<CardOperation> operations = new ArrayList<>(operationRequests.size());
+        List<Integer> operationIndexes = new ArrayList<>(operationRequests.size());
+
+        for (int index = 0; index < operationRequests.size(); index++) {
+            CardOperationRequestDTO operationRequest = operationRequests.get(index);
+            String violations = validate(operationRequest);
+
+            if (violations != null) {
+                results[index] = CardOperationResultDTO.builder()
+                        .index(index)
+                        .cardId(operationRequest == null ? null : operationRequest.getCardId())
+                        .type(operationRequest == null ? null : operationRequest.getType())
+                        .status(CardOperationStatus.REJECTED)
+                        .message(violations)
+                        .build();
+                continue;
+            }
+            operations.add(new CardOperation(CardId.of(operationRequest.getCardId()), operationRequest.getType(),
+                    MoneyMapper.toMoney(operationRequest.getAmount())));
+            operationIndexes.add(index);
+        }
+
+        List<CardOperationResult> operationResults = cardApplicationService.applyOperations(operations);
+        for (int i = 0; i < operationResults.size(); i++) {
+            CardOperationResult operationResult = operationResults.get(i);
+            CardOperation operation = operations.get(i);
+            int index = operationIndexes.get(i);
+            results[index] = CardOperationResultDTO.builder()
+                    .index(index)
+                    .cardId(operation.getCardId().getValue())
+                    .type(operation.getType())
+                    .status(operationResult.getStatus())
+                    .transactionId(operationResult.getTransactionId() == null
+                            ? null : operationResult.getTransactionId().getValue())
+                    .balance(MoneyMapper.toAmount(operationResult.getBalance()))
+                    .message(operationResult.getMessage())
+                    .build();
+        }
+
+        int applied = (int) Arrays.stream(results)
+                .filter(result -> result.getStatus() == CardOperationStatus.APPLIED)
+                .count();
+        BatchCardOperationResponseDTO response = BatchCardOperationResponseDTO.builder()
+                .requested(results.length)
+                .applied(applied)
+                .notApplied(results.length - applied)
+                .results(Arrays.asList(results))
+                .build();
+
+        log.info("Command: Batch completed, {} of {} card operations applied", applied, results.length);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Processes a spend transaction on a card.
      *
      * @param cardId the card identifier
      * @param spendRequest the spend request
+     * @param idempotencyKey optional key identifying the request; a retry with the same key returns
+     *                       the original outcome instead of spending again
      * @return the updated card
      */
     @PostMapping("/{cardId}/spend")
-    public ResponseEntity<CardDTO> spendFromCard(@PathVariable UUID cardId,
-                                                 @Valid @RequestBody TransactionRequestDTO spendRequest) {
+    public ResponseEntity<CardDTO> spendFromCard(@PathVariable String cardId,
+                                                 @Valid @RequestBody TransactionRequestDTO spendRequest,
+                                                 @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                                 @Size(min = 1, max = IdempotencyRepository.MAX_KEY_LENGTH)
+                                                 String idempotencyKey) {
 
         log.info("Command: Processing spend transaction for card: {}, amount: {}", cardId, spendRequest.getAmount());
 
         Card updatedCard = cardApplicationService.spendFromCard(
-                CardId.of(cardId),
-                spendRequest.getAmount()
+                parseCardId(cardId),
+                MoneyMapper.toMoney(spendRequest.getAmount()),
+                idempotencyKey
         );
 
         CardDTO cardDTO = cardDTOMapper.mapTo(updatedCard);
@@ -84,17 +268,23 @@ public class CardCommandController {
      *
      * @param cardId the card identifier
      * @param topUpRequest the top-up request
+     * @param idempotencyKey optional key identifying the request; a retry with the same key returns
+     *                       the original outcome instead of topping up again
      * @return the updated card
      */
     @PostMapping("/{cardId}/topup")
-    public ResponseEntity<CardDTO> topUpCard(@PathVariable UUID cardId,
-                                             @Valid @RequestBody TransactionRequestDTO topUpRequest) {
+    public ResponseEntity<CardDTO> topUpCard(@PathVariable String cardId,
+                                             @Valid @RequestBody TransactionRequestDTO topUpRequest,
+                                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                             @Size(min = 1, max = IdempotencyRepository.MAX_KEY_LENGTH)
+                                             String idempotencyKey) {
 
         log.info("Command: Processing top-up transaction for card: {}, amount: {}", cardId, topUpRequest.getAmount());
 
         Card updatedCard = cardApplicationService.topUpCard(
-                CardId.of(cardId),
-                topUpRequest.getAmount()
+                parseCardId(cardId),
+                MoneyMapper.toMoney(topUpRequest.getAmount()),
+                idempotencyKey
         );
 
         CardDTO cardDTO = cardDTOMapper.mapTo(updatedCard);
@@ -107,34 +297,80 @@ public class CardCommandController {
      * Updates card status to BLOCKED.
      *
      * @param cardId the card identifier
+     * @param ifMatch optional entity tags of the card states the client expects; if the card has none of
+     *                them, it is left unchanged and 412 Precondition Failed is returned
      * @return the updated card
      */
     @PutMapping("/{cardId}/block")
-    public ResponseEntity<CardDTO> blockCard(@PathVariable UUID cardId) {
+    public ResponseEntity<CardDTO> blockCard(@PathVariable String cardId,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                             String ifMatch) {
         log.info("Command: Blocking card: {}", cardId);
 
-        Card updatedCard = cardApplicationService.blockCard(CardId.of(cardId));
+        Card updatedCard = cardApplicationService.blockCard(parseCardId(cardId), CardETags.ifMatch(ifMatch));
         CardDTO cardDTO = cardDTOMapper.mapTo(updatedCard);
 
         log.info("Command: Successfully blocked card: {}", cardId);
-        return ResponseEntity.ok(cardDTO);
+        return ResponseEntity.ok().eTag(CardETags.of(updatedCard)).body(cardDTO);
     }
 
     /**
      * Updates card status to ACTIVE.
      *
      * @param cardId the card identifier
+     * @param ifMatch optional entity tags of the card states the client expects; if the card has none of
+     *                them, it is left unchanged and 412 Precondition Failed is returned
      * @return the updated card
      */
     @PutMapping("/{cardId}/activate")
-    public ResponseEntity<CardDTO> activateCard(@PathVariable UUID cardId) {
+    public ResponseEntity<CardDTO> activateCard(@PathVariable String cardId,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                String ifMatch) {
         log.info("Command: Activating card: {}", cardId);
 
-        Card updatedCard = cardApplicationService.activateCard(CardId.of(cardId));
+        Card updatedCard = cardApplicationService.activateCard(parseCardId(cardId), CardETags.ifMatch(ifMatch));
         CardDTO cardDTO = cardDTOMapper.mapTo(updatedCard);
 
         log.info("Command: Successfully activated card: {}", cardId);
-        return ResponseEntity.ok(cardDTO);
+        return ResponseEntity.ok().eTag(CardETags.of(updatedCard)).body(cardDTO);
+    }
+
+    /**
+     * Validates a single item of a bulk request.
+     *
+     * @param item the item to validate
+     * @return the violation messages joined in a stable order, or null if the item is valid
+     */
+    private String validate(Object item) {
+        if (item == null) {
+            return "Item cannot be null";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static int countByStatus(BulkCardIssuanceResultDTO[] results, BulkCardIssuanceResultDTO.Status status) {
+        return (int) Arrays.stream(results).filter(result -> result.getStatus() == status).count();
+    }
+
+    /**
+     * Parses the card ID of a request path.
+     *
+     * @param cardId the card ID as sent by the client
+     * @return the parsed card ID
+     * @throws InvalidCardIdException if the card ID is not a valid UUID
+     */
+    private CardId parseCardId(String cardId) {
+        return CardId.parse(cardId).orElseThrow(() -> {
+            log.warn(INVALID_CARD_ID_FORMAT, cardId);
+            return new InvalidCardIdException(cardId);
+        });
     }
 
 }
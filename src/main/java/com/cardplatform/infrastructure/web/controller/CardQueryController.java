@@ -5,22 +5,33 @@ import com.cardplatform.domain.exception.InvalidCardIdException;
 import com.cardplatform.domain.model.card.Card;
 import com.cardplatform.domain.model.card.CardId;
 import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.model.transaction.TransactionCursor;
 import com.cardplatform.infrastructure.web.dto.card.CardBalanceDTO;
 import com.cardplatform.infrastructure.web.dto.card.CardDTO;
 import com.cardplatform.infrastructure.web.dto.card.CardStatusDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionCursorPageResponseDTO;
 import com.cardplatform.infrastructure.web.dto.transaction.TransactionHistoryResponseDTO;
 import com.cardplatform.infrastructure.web.mapper.card.CardDTOMapper;
+import com.cardplatform.infrastructure.web.mapper.transaction.TransactionCursorMapper;
 import com.cardplatform.infrastructure.web.mapper.transaction.TransactionHistoryDTOMapper;
+import com.cardplatform.infrastructure.web.mapper.transaction.TransactionNdjsonWriter;
+import com.cardplatform.infrastructure.web.support.CardETags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/cards")
@@ -45,30 +56,34 @@ public class CardQueryController {
      */
     private final TransactionHistoryDTOMapper transactionHistoryDTOMapper;
 
+    /**
+     * Mapper to decode the opaque cursors of the cursor-based transaction history.
+     */
+    private final TransactionCursorMapper transactionCursorMapper;
+
     /**
      * Error message for invalid card ID format.
      */
     private static final String INVALID_CARD_ID_FORMAT = "Invalid card ID format: {}";
 
     /**
-     * Retrieves the details of a specific card by its ID.
+     * Retrieves the details of a specific card by its ID, or 304 Not Modified if the card still has the
+     * entity tag sent in {@code If-None-Match}.
      *
      * @param cardId the unique identifier of the card
+     * @param ifNoneMatch the entity tags of the copies the client holds, if any
      * @return ResponseEntity containing CardDTO with card details
      */
     @GetMapping("/{cardId}")
-    public ResponseEntity<CardDTO> getCard(@PathVariable String cardId) {
+    public ResponseEntity<CardDTO> getCard(@PathVariable String cardId,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                           String ifNoneMatch) {
         log.info("Query: Retrieving card details for ID: {}", cardId);
-        try {
-            Card card = cardApplicationService.getCard(CardId.of(cardId));
-            CardDTO cardDTO = cardDTOMapper.mapTo(card);
+        Card card = cardApplicationService.getCard(parseCardId(cardId));
+        ResponseEntity<CardDTO> response = conditionalResponse(card, ifNoneMatch, cardDTOMapper::mapTo);
 
-            log.info("Query: Successfully retrieved card details for ID: {}", cardId);
-            return ResponseEntity.ok(cardDTO);
-        } catch (IllegalArgumentException e) {
-            log.warn(INVALID_CARD_ID_FORMAT, cardId);
-            throw new InvalidCardIdException(cardId, e);
-        }
+        log.info("Query: Successfully retrieved card details for ID: {}", cardId);
+        return response;
     }
 
     /**
@@ -86,73 +101,137 @@ public class CardQueryController {
             @RequestParam(defaultValue = "20") @Min(1) int size) {
         log.info("Query: Retrieving transaction history for card: {}, page: {}, size: {}", cardId, page, size);
 
-        try {
+        Pageable pageable = PageRequest.of(page, size);
+        Page<Transaction> transactionPage = cardApplicationService
+                .getTransactionHistory(parseCardId(cardId), pageable);
 
-            Pageable pageable = PageRequest.of(page, size);
-            Page<Transaction> transactionPage = cardApplicationService
-                    .getTransactionHistory(CardId.of(cardId), pageable);
+        TransactionHistoryResponseDTO response = transactionHistoryDTOMapper.mapTo(transactionPage);
 
-            TransactionHistoryResponseDTO response = transactionHistoryDTOMapper.mapTo(transactionPage);
+        log.info("Query: Successfully retrieved {} transactions for card: {}",
+                response.getTransactions().size(), cardId);
+        return ResponseEntity.ok(response);
+    }
 
-            log.info("Query: Successfully retrieved {} transactions for card: {}",
-                    response.getTransactions().size(), cardId);
-            return ResponseEntity.ok(response);
-        } catch (IllegalArgumentException e) {
-            log.warn("Invalid card ID format: {}", cardId);
-            throw new InvalidCardIdException(cardId, e);
-        }
+    /**
+     * Retrieves the transaction history for a specific card page by page using an opaque cursor.
+     * Selected when the {@code cursor} parameter is present; pass it empty for the first page and then
+     * the {@code nextCursor} of the previous response. No total count is computed, so deep pages cost
+     * the same as the first one.
+     *
+     * @param cardId the unique identifier of the card
+     * @param cursor the cursor returned with the previous page, empty for the first page
+     * @param size the number of transactions per page (default is 20)
+     * @return ResponseEntity containing TransactionCursorPageResponseDTO with transaction history
+     */
+    @GetMapping(value = "/{cardId}/transactions", params = "cursor")
+    public ResponseEntity<TransactionCursorPageResponseDTO> getTransactionHistoryByCursor(
+            @PathVariable String cardId,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) int size) {
+        log.info("Query: Retrieving transaction history for card: {}, cursor: {}, size: {}", cardId, cursor, size);
+
+        TransactionCursor transactionCursor = transactionCursorMapper.decode(cursor);
+        Slice<Transaction> transactionSlice = cardApplicationService
+                .getTransactionHistory(parseCardId(cardId), transactionCursor, size);
+
+        TransactionCursorPageResponseDTO response = transactionHistoryDTOMapper.mapToCursorPage(transactionSlice);
+
+        log.info("Query: Successfully retrieved {} transactions for card: {}",
+                response.getTransactions().size(), cardId);
+        return ResponseEntity.ok(response);
     }
 
     /**
-     * Retrieves the balance of a specific card.
+     * Exports the full transaction history of a specific card as newline-delimited JSON.
+     * Transactions are streamed from the database straight to the response, one per line,
+     * so memory use stays constant however long the history is.
      *
      * @param cardId the unique identifier of the card
+     * @param response the response the transactions are written to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/{cardId}/transactions/export")
+    public void exportTransactionHistory(@PathVariable String cardId, HttpServletResponse response)
+            throws IOException {
+        log.info("Query: Exporting transaction history for card: {}", cardId);
+        TransactionNdjsonWriter writer = transactionHistoryDTOMapper.mapToNdjson(response);
+        cardApplicationService.exportTransactionHistory(parseCardId(cardId), writer);
+        long exported = writer.finish();
+
+        log.info("Query: Successfully exported {} transactions for card: {}", exported, cardId);
+    }
+
+    /**
+     * Retrieves the balance of a specific card, or 304 Not Modified if the card still has the entity tag
+     * sent in {@code If-None-Match}.
+     *
+     * @param cardId the unique identifier of the card
+     * @param ifNoneMatch the entity tags of the copies the client holds, if any
      * @return ResponseEntity containing CardBalanceDTO with card balance and status
      */
     @GetMapping("/{cardId}/balance")
-    public ResponseEntity<CardBalanceDTO> getCardBalance(@PathVariable String cardId) {
+    public ResponseEntity<CardBalanceDTO> getCardBalance(@PathVariable String cardId,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH,
+                                                                 required = false) String ifNoneMatch) {
         log.info("Query: Retrieving balance for card: {}", cardId);
-        try {
-            Card card = cardApplicationService.getCard(CardId.of(cardId));
-
-            CardBalanceDTO balanceDTO = CardBalanceDTO.builder()
-                    .cardId(card.getId().getValue())
-                    .balance(card.getBalance())
-                    .status(card.getStatus())
-                    .build();
-
-            log.info("Query: Successfully retrieved balance for card: {}", cardId);
-            return ResponseEntity.ok(balanceDTO);
-        } catch (IllegalArgumentException e) {
-            log.warn("Invalid card ID format: {}", cardId);
-            throw new InvalidCardIdException(cardId, e);
-        }
+        Card card = cardApplicationService.getCard(parseCardId(cardId));
+        ResponseEntity<CardBalanceDTO> response = conditionalResponse(card, ifNoneMatch, cardDTOMapper::mapToBalance);
+
+        log.info("Query: Successfully retrieved balance for card: {}", cardId);
+        return response;
     }
 
     /**
-     * Retrieves the status of a specific card.
+     * Retrieves the status of a specific card, or 304 Not Modified if the card still has the entity tag
+     * sent in {@code If-None-Match}.
      *
      * @param cardId the unique identifier of the card
+     * @param ifNoneMatch the entity tags of the copies the client holds, if any
      * @return ResponseEntity containing CardStatusDTO with card status and cardholder name
      */
     @GetMapping("/{cardId}/status")
-    public ResponseEntity<CardStatusDTO> getCardStatus(@PathVariable String cardId) {
+    public ResponseEntity<CardStatusDTO> getCardStatus(@PathVariable String cardId,
+                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH,
+                                                               required = false) String ifNoneMatch) {
         log.info("Query: Retrieving status for card: {}", cardId);
-        try {
-            Card card = cardApplicationService.getCard(CardId.of(cardId));
-
-            CardStatusDTO statusDTO = CardStatusDTO.builder()
-                    .cardId(card.getId().getValue())
-                    .status(card.getStatus())
-                    .cardholderName(card.getCardholderName())
-                    .build();
-
-            log.info("Query: Successfully retrieved status for card: {}", cardId);
-            return ResponseEntity.ok(statusDTO);
-        } catch (IllegalArgumentException e) {
-            log.warn("Invalid card ID format: {}", cardId);
-            throw new InvalidCardIdException(cardId, e);
+        Card card = cardApplicationService.getCard(parseCardId(cardId));
+        ResponseEntity<CardStatusDTO> response = conditionalResponse(card, ifNoneMatch, cardDTOMapper::mapToStatus);
+
+        log.info("Query: Successfully retrieved status for card: {}", cardId);
+        return response;
+    }
+
+    /**
+     * Answers a conditional read of a card. The entity tag is compared before the card is mapped, so a client
+     * whose copy is current costs neither a mapping nor a serialization; the card itself comes from the card
+     * cache when present.
+     *
+     * @param card the current state of the card
+     * @param ifNoneMatch the entity tags of the copies the client holds, if any
+     * @param mapper the mapping of the card to the requested representation
+     * @return a 304 Not Modified response, or a 200 OK response with the representation, both with the entity tag
+     */
+    private <T> ResponseEntity<T> conditionalResponse(Card card, String ifNoneMatch, Function<Card, T> mapper) {
+        String eTag = CardETags.of(card);
+        if (CardETags.isNotModified(ifNoneMatch, eTag)) {
+            log.debug("Query: Card {} not modified since entity tag {}", card.getId(), eTag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
         }
+        return ResponseEntity.ok().eTag(eTag).body(mapper.apply(card));
+    }
+
+    /**
+     * Parses the card ID of a request path.
+     *
+     * @param cardId the card ID as sent by the client
+     * @return the parsed card ID
+     * @throws InvalidCardIdException if the card ID is not a valid UUID
+     */
+    private CardId parseCardId(String cardId) {
+        return CardId.parse(cardId).orElseThrow(() -> {
+            log.warn(INVALID_CARD_ID_FORMAT, cardId);
+            return new InvalidCardIdException(cardId);
+        });
     }
 
-}
\ No newline at end of file
+}
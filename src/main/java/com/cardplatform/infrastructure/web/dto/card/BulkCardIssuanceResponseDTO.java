@@ -0,0 +1,45 @@
+package com.cardplatform.infrastructure.web.dto.card;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkCardIssuanceResponseDTO {
+
+    /**
+     * This field represents the number of items in the request.
+     */
+    private int requested;
+
+    /**
+     * This field represents the number of cards issued.
+     */
+    private int issued;
+
+    /**
+     * This field represents the number of items rejected by validation.
+     */
+    private int rejected;
+
+    /**
+     * This field represents the number of valid items that could not be committed.
+     */
+    private int failed;
+
+    /**
+     * This field represents the outcome of each item, in request order.
+     */
+    private List<BulkCardIssuanceResultDTO> results;
+
+}
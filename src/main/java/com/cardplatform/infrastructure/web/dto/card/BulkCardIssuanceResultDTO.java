@@ -0,0 +1,62 @@
+package com.cardplatform.infrastructure.web.dto.card;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkCardIssuanceResultDTO {
+
+    /**
+     * This field represents the position of the item in the bulk issuance request (0-based).
+     */
+    private int index;
+
+    /**
+     * This field represents the outcome of the item.
+     */
+    private Status status;
+
+    /**
+     * This field represents the identifier of the issued card, present only when issued.
+     */
+    private UUID cardId;
+
+    /**
+     * This field represents the reason the card was not issued, present only when not issued.
+     */
+    private String message;
+
+    /**
+     * Outcome of a single item of a bulk issuance.
+     */
+    public enum Status {
+
+        /**
+         * The card was issued and committed.
+         */
+        ISSUED,
+
+        /**
+         * The item failed validation and was not attempted.
+         */
+        REJECTED,
+
+        /**
+         * The item was valid but the chunk it belonged to could not be committed.
+         */
+        FAILED
+
+    }
+
+}
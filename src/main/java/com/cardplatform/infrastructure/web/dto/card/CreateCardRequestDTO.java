@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import javax.validation.constraints.Digits;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.PositiveOrZero;
@@ -31,6 +32,7 @@ public class CreateCardRequestDTO {
      */
     @NotNull(message = "Initial balance cannot be null")
     @PositiveOrZero(message = "Initial balance must be positive or zero")
+    @Digits(integer = 16, fraction = 2, message = "Initial balance must have at most 16 integer and 2 fraction digits")
     private BigDecimal initialBalance;
 
 }
@@ -0,0 +1,40 @@
+package com.cardplatform.infrastructure.web.dto.transaction;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchCardOperationResponseDTO {
+
+    /**
+     * This field represents the number of operations in the request.
+     */
+    private int requested;
+
+    /**
+     * This field represents the number of operations applied.
+     */
+    private int applied;
+
+    /**
+     * This field represents the number of operations not applied, for any reason.
+     */
+    private int notApplied;
+
+    /**
+     * This field represents the outcome of each operation, in request order.
+     */
+    private List<CardOperationResultDTO> results;
+
+}
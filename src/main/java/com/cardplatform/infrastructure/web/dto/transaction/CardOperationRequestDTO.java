@@ -0,0 +1,45 @@
+package com.cardplatform.infrastructure.web.dto.transaction;
+
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Digits;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CardOperationRequestDTO {
+
+    /**
+     * This field represents the identifier of the card to apply the operation to.
+     */
+    @NotNull(message = "Card ID cannot be null")
+    private UUID cardId;
+
+    /**
+     * This field represents the type of operation (SPEND, TOPUP).
+     */
+    @NotNull(message = "Type cannot be null")
+    private TransactionType type;
+
+    /**
+     * This field represents the amount of the operation.
+     */
+    @NotNull(message = "Amount cannot be null")
+    @Positive(message = "Amount must be positive")
+    @Digits(integer = 16, fraction = 2, message = "Amount must have at most 16 integer and 2 fraction digits")
+    private BigDecimal amount;
+
+}
@@ -0,0 +1,58 @@
+package com.cardplatform.infrastructure.web.dto.transaction;
+
+import com.cardplatform.domain.model.enums.CardOperationStatus;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CardOperationResultDTO {
+
+    /**
+     * This field represents the position of the operation in the batch request (0-based).
+     */
+    private int index;
+
+    /**
+     * This field represents the identifier of the card the operation was applied to.
+     */
+    private UUID cardId;
+
+    /**
+     * This field represents the type of operation.
+     */
+    private TransactionType type;
+
+    /**
+     * This field represents the outcome of the operation.
+     */
+    private CardOperationStatus status;
+
+    /**
+     * This field represents the identifier of the recorded transaction, present only when applied.
+     */
+    private UUID transactionId;
+
+    /**
+     * This field represents the card balance right after the operation, present only when applied.
+     */
+    private BigDecimal balance;
+
+    /**
+     * This field represents the reason the operation was not applied, present only when not applied.
+     */
+    private String message;
+
+}
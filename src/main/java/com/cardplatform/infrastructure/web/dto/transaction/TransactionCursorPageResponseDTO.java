@@ -0,0 +1,40 @@
+package com.cardplatform.infrastructure.web.dto.transaction;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TransactionCursorPageResponseDTO {
+
+    /**
+     * This field represents the list of transactions.
+     */
+    private List<TransactionDTO> transactions;
+
+    /**
+     * This field represents the requested size of the page.
+     */
+    private int size;
+
+    /**
+     * This field represents the opaque cursor to pass to fetch the next page, absent on the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * This field represents whether this is the last page.
+     */
+    private boolean last;
+
+}
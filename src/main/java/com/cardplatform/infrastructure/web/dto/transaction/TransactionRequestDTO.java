@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import javax.validation.constraints.Digits;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import java.math.BigDecimal;
@@ -24,6 +25,7 @@ public class TransactionRequestDTO {
      */
     @NotNull(message = "Amount cannot be null")
     @Positive(message = "Amount must be positive")
+    @Digits(integer = 16, fraction = 2, message = "Amount must have at most 16 integer and 2 fraction digits")
     private BigDecimal amount;
 
 }
\ No newline at end of file
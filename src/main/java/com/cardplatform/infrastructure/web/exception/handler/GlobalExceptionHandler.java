@@ -1,12 +1,20 @@
 package com.cardplatform.infrastructure.web.exception.handler;
 
+import com.cardplatform.domain.exception.CardNotActiveException;
 import com.cardplatform.domain.exception.CardNotFoundException;
+import com.cardplatform.domain.exception.CardPreconditionFailedException;
+import com.cardplatform.domain.exception.InsufficientBalanceException;
 import com.cardplatform.domain.exception.InvalidCardIdException;
+import com.cardplatform.domain.exception.RateLimitExceededException;
 import com.cardplatform.infrastructure.web.exception.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -17,12 +25,24 @@ import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
 
+    /**
+     * Name of the counter of rejected card operations, tagged with the rejection reason.
+     */
+    private static final String FAILURES_METRIC = "card.operation.failures";
+
+    /**
+     * Registry the failure counters are recorded in.
+     */
+    private final MeterRegistry meterRegistry;
+
     /**
      * Handles optimistic locking failures that occur when two or more concurrent requests
      * attempt to update the same resource (e.g., Card entity) simultaneously.
@@ -38,6 +58,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex,
                                                                         WebRequest request) {
         log.warn("Optimistic locking failure: {}", ex.getMessage());
+        recordFailure("optimistic_lock_conflict");
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(Instant.now())
                 .status(HttpStatus.CONFLICT.value())
@@ -48,6 +69,82 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    /**
+     * Handles lock acquisition failures that occur when a request waits too long for another request
+     * updating the same card, under the pessimistic or striped concurrency control modes.
+     * <p>
+     * Returns a 409 Conflict response, indicating to the client that the request should be retried.
+     *
+     * @param ex      the PessimisticLockingFailureException thrown when the lock wait timed out
+     * @param request the current web request
+     * @return ResponseEntity containing an ErrorResponse with conflict details
+     */
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handlePessimisticLockingFailure(PessimisticLockingFailureException ex,
+                                                                         WebRequest request) {
+        log.warn("Lock acquisition failure: {}", ex.getMessage());
+        recordFailure("lock_timeout");
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message("Card is busy with a concurrent update. Please retry your request.")
+                .path(getPath(request))
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles commands rejected because the execution lane of their card is full, when card commands
+     * are routed through execution lanes.
+     * <p>
+     * Returns a 503 Service Unavailable response, indicating to the client that the request should be retried later.
+     *
+     * @param ex      the RejectedExecutionException thrown when the lane queue is full
+     * @param request the current web request
+     * @return ResponseEntity containing an ErrorResponse with the rejection details
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(RejectedExecutionException ex, WebRequest request) {
+        log.warn("Card command rejected: {}", ex.getMessage());
+        recordFailure("lane_full");
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message("Too many pending operations for this card. Please retry later.")
+                .path(getPath(request))
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
+    /**
+     * Handles spends and top-ups whose group commit did not complete within the submit timeout. The operation
+     * may still be applied afterwards.
+     * <p>
+     * Returns a 503 Service Unavailable response, indicating to the client that it should check the card before
+     * retrying.
+     *
+     * @param ex      the TransactionTimedOutException thrown when the wait timed out
+     * @param request the current web request
+     * @return ResponseEntity containing an ErrorResponse with the timeout details
+     */
+    @ExceptionHandler(TransactionTimedOutException.class)
+    public ResponseEntity<ErrorResponse> handleTransactionTimedOut(TransactionTimedOutException ex,
+                                                                   WebRequest request) {
+        log.warn("Card command timed out: {}", ex.getMessage());
+        recordFailure("group_commit_timeout");
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message("The operation did not complete in time and may still be applied. "
+                        + "Check the card before retrying.")
+                .path(getPath(request))
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     /**
      * Handles exceptions thrown when a requested card resource is not found in the system.
      * <p>
@@ -73,6 +170,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * Handles exceptions thrown when a conditional card update finds the card in another state than the
+     * client's {@code If-Match} header expects.
+     * Returns a 412 Precondition Failed response with an error message.
+     *
+     * @param ex the exception thrown
+     * @param request the web request
+     * @return ResponseEntity containing ErrorResponse with details of the error
+     */
+    @ExceptionHandler(CardPreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handleCardPreconditionFailedException(CardPreconditionFailedException ex,
+                                                                               WebRequest request) {
+
+        log.warn("Card precondition failed: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .error("Precondition Failed")
+                .message(ex.getMessage())
+                .path(getPath(request))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
     /**
      * Handles exceptions related to invalid card IDs.
      * Returns a 400 Bad Request response with an error message.
@@ -109,6 +232,11 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleIllegalStateException(IllegalStateException ex, WebRequest request) {
 
         log.error("Business rule violation: {}", ex.getMessage());
+        if (ex instanceof InsufficientBalanceException) {
+            recordFailure("insufficient_balance");
+        } else if (ex instanceof CardNotActiveException) {
+            recordFailure("card_not_active");
+        }
 
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(Instant.now())
@@ -134,6 +262,9 @@ public class GlobalExceptionHandler {
                                                                         WebRequest request) {
 
         log.error("Invalid argument: {}", ex.getMessage());
+        if (ex instanceof RateLimitExceededException) {
+            recordFailure("rate_limited");
+        }
 
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(Instant.now())
@@ -146,6 +277,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handles amounts that overflow the range of a balance, such as a top-up that would take the balance past
+     * the largest number of cents a card can hold.
+     * Returns a 400 Bad Request response with an error message.
+     *
+     * @param ex the exception thrown
+     * @param request the web request
+     * @return ResponseEntity containing ErrorResponse with details of the error
+     */
+    @ExceptionHandler(ArithmeticException.class)
+    public ResponseEntity<ErrorResponse> handleArithmeticException(ArithmeticException ex, WebRequest request) {
+
+        log.warn("Amount out of range: {}", ex.getMessage());
+        recordFailure("amount_out_of_range");
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Amount Out Of Range")
+                .message("The amount or the resulting balance is out of the supported range")
+                .path(getPath(request))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Handles validation exceptions for method arguments.
      * Returns a 400 Bad Request response with validation error details.
@@ -249,6 +406,10 @@ public class GlobalExceptionHandler {
                 .build();
     }
 
+    private void recordFailure(String reason) {
+        meterRegistry.counter(FAILURES_METRIC, "reason", reason).increment();
+    }
+
     private String getPath(WebRequest request) {
         return request.getDescription(false).replace("uri=", "");
     }
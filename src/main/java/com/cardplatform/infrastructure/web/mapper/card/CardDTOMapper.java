@@ -1,13 +1,16 @@
 package com.cardplatform.infrastructure.web.mapper.card;
 
 import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.infrastructure.web.dto.card.CardBalanceDTO;
 import com.cardplatform.infrastructure.web.dto.card.CardDTO;
+import com.cardplatform.infrastructure.web.dto.card.CardStatusDTO;
 import com.cardplatform.infrastructure.web.dto.card.CreateCardRequestDTO;
+import com.cardplatform.infrastructure.web.mapper.money.MoneyMapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
 public interface CardDTOMapper {
 
     /**
@@ -24,6 +27,24 @@ public interface CardDTOMapper {
     @Mapping(target = "id", source = "id.value")
     CardDTO mapTo(Card card);
 
+    /**
+     * This method maps the balance and status of a Card domain object to a CardBalanceDTO object.
+     *
+     * @param card The card domain object.
+     * @return A CardBalanceDTO object.
+     */
+    @Mapping(target = "cardId", source = "id.value")
+    CardBalanceDTO mapToBalance(Card card);
+
+    /**
+     * This method maps the status and cardholder of a Card domain object to a CardStatusDTO object.
+     *
+     * @param card The card domain object.
+     * @return A CardStatusDTO object.
+     */
+    @Mapping(target = "cardId", source = "id.value")
+    CardStatusDTO mapToStatus(Card card);
+
     /**
      * This method maps a CardDTO object to a Card domain object.
      *
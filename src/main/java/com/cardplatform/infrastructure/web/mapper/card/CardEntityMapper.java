@@ -2,11 +2,12 @@ package com.cardplatform.infrastructure.web.mapper.card;
 
 import com.cardplatform.domain.model.card.Card;
 import com.cardplatform.infrastructure.persistence.entity.card.CardEntity;
+import com.cardplatform.infrastructure.web.mapper.money.MoneyMapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
 public interface CardEntityMapper {
 
     /**
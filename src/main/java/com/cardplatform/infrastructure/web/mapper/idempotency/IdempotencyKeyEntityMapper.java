@@ -0,0 +1,47 @@
+package com.cardplatform.infrastructure.web.mapper.idempotency;
+
+import com.cardplatform.domain.model.idempotency.IdempotencyRecord;
+import com.cardplatform.infrastructure.persistence.entity.idempotency.IdempotencyKeyEntity;
+import com.cardplatform.infrastructure.web.mapper.money.MoneyMapper;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
+public interface IdempotencyKeyEntityMapper {
+
+    /**
+     * This field represents an instance of the entity mapper associated with the idempotency key.
+     */
+    IdempotencyKeyEntityMapper INSTANCE = Mappers.getMapper(IdempotencyKeyEntityMapper.class);
+
+    /**
+     * This method maps an IdempotencyRecord domain object to an IdempotencyKeyEntity.
+     *
+     * @param idempotencyRecord The idempotency record domain object.
+     * @return An IdempotencyKeyEntity object.
+     */
+    @Mapping(target = "cardId", source = "cardId.value")
+    @Mapping(target = "cardholderName", source = "card.cardholderName")
+    @Mapping(target = "balance", source = "card.balance")
+    @Mapping(target = "status", source = "card.status")
+    @Mapping(target = "cardCreatedAt", source = "card.createdAt")
+    @Mapping(target = "version", source = "card.version")
+    IdempotencyKeyEntity mapToEntity(IdempotencyRecord idempotencyRecord);
+
+    /**
+     * This method maps an IdempotencyKeyEntity to an IdempotencyRecord domain object.
+     *
+     * @param idempotencyKeyEntity The IdempotencyKeyEntity object.
+     * @return An IdempotencyRecord domain object.
+     */
+    @Mapping(target = "cardId.value", source = "cardId")
+    @Mapping(target = "card.id.value", source = "cardId")
+    @Mapping(target = "card.cardholderName", source = "cardholderName")
+    @Mapping(target = "card.balance", source = "balance")
+    @Mapping(target = "card.status", source = "status")
+    @Mapping(target = "card.createdAt", source = "cardCreatedAt")
+    @Mapping(target = "card.version", source = "version")
+    IdempotencyRecord mapToDomain(IdempotencyKeyEntity idempotencyKeyEntity);
+
+}
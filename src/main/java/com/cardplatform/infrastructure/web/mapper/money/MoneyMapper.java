@@ -0,0 +1,36 @@
+package com.cardplatform.infrastructure.web.mapper.money;
+
+import com.cardplatform.domain.model.money.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Converts between {@link Money} and the decimal amounts of entities and data transfer objects. Referenced
+ * by the generated mappers through {@code uses}, and called directly where amounts are mapped by hand.
+ */
+public final class MoneyMapper {
+
+    private MoneyMapper() {
+    }
+
+    /**
+     * This method maps a Money value to a decimal amount with two decimal places.
+     *
+     * @param money The money value.
+     * @return A decimal amount, or null if the money value is null.
+     */
+    public static BigDecimal toAmount(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    /**
+     * This method maps a decimal amount to a Money value.
+     *
+     * @param amount The decimal amount.
+     * @return A Money value, or null if the amount is null.
+     */
+    public static Money toMoney(BigDecimal amount) {
+        return Money.of(amount);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.cardplatform.infrastructure.web.mapper.transaction;
+
+import com.cardplatform.domain.model.transaction.TransactionCursor;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+@Component
+public class TransactionCursorMapper {
+
+    /**
+     * Size of an encoded cursor: the sequence number of the transaction in its card's history.
+     */
+    private static final int CURSOR_BYTES = Long.BYTES;
+
+    /**
+     * This method encodes a cursor into an opaque, URL-safe token.
+     *
+     * @param cursor The transaction cursor.
+     * @return The encoded cursor.
+     */
+    public String encode(final TransactionCursor cursor) {
+        ByteBuffer buffer = ByteBuffer.allocate(CURSOR_BYTES)
+                .putLong(cursor.getSeq());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * This method decodes a token produced by {@link #encode(TransactionCursor)}.
+     *
+     * @param token The encoded cursor, blank for the first page.
+     * @return The transaction cursor, or null if the token is blank.
+     * @throws IllegalArgumentException if the token is not a valid cursor.
+     */
+    public TransactionCursor decode(final String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+        if (bytes.length != CURSOR_BYTES) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+
+        return new TransactionCursor(ByteBuffer.wrap(bytes).getLong());
+    }
+
+}
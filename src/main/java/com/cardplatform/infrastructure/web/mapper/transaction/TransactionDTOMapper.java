@@ -2,13 +2,14 @@ package com.cardplatform.infrastructure.web.mapper.transaction;
 
 import com.cardplatform.domain.model.transaction.Transaction;
 import com.cardplatform.infrastructure.web.dto.transaction.TransactionDTO;
+import com.cardplatform.infrastructure.web.mapper.money.MoneyMapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
 public interface TransactionDTOMapper {
 
     /**
@@ -34,6 +35,7 @@ public interface TransactionDTOMapper {
      */
     @Mapping(target = "id.value", source = "id")
     @Mapping(target = "cardId.value", source = "cardId")
+    @Mapping(target = "seq", ignore = true)
     Transaction mapFrom(TransactionDTO transactionDTO);
 
     /**
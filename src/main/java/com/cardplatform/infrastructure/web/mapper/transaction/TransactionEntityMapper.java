@@ -2,13 +2,14 @@ package com.cardplatform.infrastructure.web.mapper.transaction;
 
 import com.cardplatform.domain.model.transaction.Transaction;
 import com.cardplatform.infrastructure.persistence.entity.transaction.TransactionEntity;
+import com.cardplatform.infrastructure.web.mapper.money.MoneyMapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
 public interface TransactionEntityMapper {
 
     /**
@@ -1,11 +1,19 @@
 package com.cardplatform.infrastructure.web.mapper.transaction;
 
 import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.model.transaction.TransactionCursor;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionCursorPageResponseDTO;
 import com.cardplatform.infrastructure.web.dto.transaction.TransactionHistoryResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class TransactionHistoryDTOMapper {
@@ -15,6 +23,16 @@ public class TransactionHistoryDTOMapper {
      */
     private final TransactionDTOMapper transactionDTOMapper;
 
+    /**
+     * Mapper to encode the position of the next page.
+     */
+    private final TransactionCursorMapper transactionCursorMapper;
+
+    /**
+     * Object mapper configured for API responses.
+     */
+    private final ObjectMapper objectMapper;
+
     /**
      * This method maps a Page of Transaction domain objects to a TransactionHistoryResponseDTO.
      *
@@ -33,4 +51,37 @@ public class TransactionHistoryDTOMapper {
                 .build();
     }
 
+    /**
+     * This method maps a Slice of Transaction domain objects to a TransactionCursorPageResponseDTO,
+     * with a cursor pointing after its last transaction when more transactions follow.
+     *
+     * @param transactionSlice The slice of transaction domain objects.
+     * @return A TransactionCursorPageResponseDTO object.
+     */
+    public TransactionCursorPageResponseDTO mapToCursorPage(final Slice<Transaction> transactionSlice) {
+        List<Transaction> transactions = transactionSlice.getContent();
+        String nextCursor = transactionSlice.hasNext()
+                ? transactionCursorMapper.encode(TransactionCursor.after(transactions.get(transactions.size() - 1)))
+                : null;
+
+        return TransactionCursorPageResponseDTO.builder()
+                .transactions(transactionDTOMapper.mapTo(transactions))
+                .size(transactionSlice.getSize())
+                .nextCursor(nextCursor)
+                .last(!transactionSlice.hasNext())
+                .build();
+    }
+
+    /**
+     * This method creates a writer mapping Transaction domain objects to newline-delimited JSON lines
+     * of TransactionDTO objects written straight to the response.
+     *
+     * @param response The response to write to.
+     * @return A TransactionNdjsonWriter for the response.
+     */
+    public TransactionNdjsonWriter mapToNdjson(final HttpServletResponse response) {
+        return new TransactionNdjsonWriter(transactionDTOMapper,
+                objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE), response);
+    }
+
 }
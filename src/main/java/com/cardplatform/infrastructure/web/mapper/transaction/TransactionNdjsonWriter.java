@@ -0,0 +1,88 @@
+package com.cardplatform.infrastructure.web.mapper.transaction;
+
+import com.cardplatform.domain.model.transaction.Transaction;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes transactions to an HTTP response as newline-delimited JSON, one transaction per line.
+ * The response is only touched on the first transaction or on {@link #finish()}, so an error raised
+ * before any transaction is written can still be rendered as a regular error response.
+ */
+@RequiredArgsConstructor
+public class TransactionNdjsonWriter implements Consumer<Transaction> {
+
+    /**
+     * Content type of the newline-delimited JSON responses.
+     */
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+
+    /**
+     * Mapper to convert domain object to DTO for API responses.
+     */
+    private final TransactionDTOMapper transactionDTOMapper;
+
+    /**
+     * Writer serializing each transaction DTO.
+     */
+    private final ObjectWriter objectWriter;
+
+    /**
+     * Response the transactions are written to.
+     */
+    private final HttpServletResponse response;
+
+    /**
+     * Generator bound to the response body, opened on first use.
+     */
+    private JsonGenerator generator;
+
+    /**
+     * Number of transactions written so far.
+     */
+    private long count;
+
+    /**
+     * Writes a transaction as a single line.
+     *
+     * @param transaction the transaction to write
+     */
+    @Override
+    public void accept(Transaction transaction) {
+        try {
+            objectWriter.writeValue(open(), transactionDTOMapper.mapTo(transaction));
+            generator.writeRaw('\n');
+            count++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes the remaining buffered lines to the response.
+     *
+     * @return the number of transactions written
+     * @throws IOException if the response cannot be written
+     */
+    public long finish() throws IOException {
+        open().close();
+        return count;
+    }
+
+    private JsonGenerator open() throws IOException {
+        if (generator == null) {
+            response.setContentType(CONTENT_TYPE);
+            response.setCharacterEncoding("UTF-8");
+            generator = objectWriter.getFactory().createGenerator(response.getOutputStream());
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+        return generator;
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.cardplatform.infrastructure.web.support;
+
+import com.cardplatform.domain.model.card.Card;
+
+import java.util.function.Predicate;
+
+/**
+ * Builds the entity tags of card representations and evaluates the {@code If-None-Match} and {@code If-Match}
+ * request headers against them.
+ * <p>
+ * The tag of a card is strong and made of its version and its balance in minor units. The version advances
+ * with every saved change of the card; the balance is added because with the event-sourced ledger, spends and
+ * top-ups change the balance without saving the card. The same tag is used for all representations of a
+ * card, which changes it whenever any of them changes.
+ */
+public final class CardETags {
+
+    private static final String ANY = "*";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private CardETags() {
+    }
+
+    /**
+     * @param card the card
+     * @return the quoted entity tag of the card
+     */
+    public static String of(Card card) {
+        return "\"" + card.getVersion() + "-" + card.getBalance().getMinorUnits() + "\"";
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header with the weak comparison of RFC 7232.
+     *
+     * @param ifNoneMatch the header value, or null if absent
+     * @param eTag the current entity tag
+     * @return true if the header lists the entity tag or {@code *}, so the client's copy is current
+     */
+    public static boolean isNotModified(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals(ANY) || stripWeakPrefix(tag).equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Turns an {@code If-Match} header into a precondition on the current state of a card, with the strong
+     * comparison of RFC 7232: weak tags never match.
+     *
+     * @param ifMatch the header value, or null if absent
+     * @return the precondition, or null if the header is absent
+     */
+    public static Predicate<Card> ifMatch(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        return card -> {
+            String eTag = of(card);
+            for (String candidate : ifMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals(ANY) || tag.equals(eTag)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static String stripWeakPrefix(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.cardplatform.application;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.card.CardOperation;
+import com.cardplatform.domain.model.card.CardOperationResult;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.model.transaction.TransactionId;
+import com.cardplatform.domain.service.CardDomainService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CardGroupCommitterTests {
+
+    @Mock
+    private CardDomainService cardDomainService;
+
+    private CardGroupCommitter cardGroupCommitter;
+
+    @BeforeEach
+    void setUp() {
+        cardGroupCommitter = new CardGroupCommitter(cardDomainService, true, 2, Duration.ofMillis(200), 1, 100,
+                Duration.ofSeconds(2), new SimpleMeterRegistry());
+        cardGroupCommitter.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardGroupCommitter.shutdown();
+    }
+
+    @Test
+    void shouldRetryOnlyTheCommandsOfTheConflictingCard() {
+        CardId conflicting = CardId.generate();
+        CardId other = CardId.generate();
+        AtomicBoolean conflicted = new AtomicBoolean();
+        List<List<CardOperation>> calls = new ArrayList<>();
+        when(cardDomainService.applyOperations(anyList())).thenAnswer(invocation -> {
+            List<CardOperation> operations = new ArrayList<>(invocation.getArgument(0));
+            calls.add(operations);
+            if (operations.size() == 2 && conflicted.compareAndSet(false, true)) {
+                throw new ObjectOptimisticLockingFailureException(Card.class, conflicting.getValue());
+            }
+            return applied(operations);
+        });
+
+        CompletableFuture<Card> first = CompletableFuture.supplyAsync(() -> cardGroupCommitter.submit(topUp(other)));
+        CompletableFuture<Card> second = CompletableFuture.supplyAsync(
+                () -> cardGroupCommitter.submit(topUp(conflicting)));
+
+        assertEquals(other, first.join().getId());
+        assertEquals(conflicting, second.join().getId());
+        assertTrue(conflicted.get());
+        assertEquals(3, calls.size());
+        assertEquals(List.of(other), cardIds(calls.get(1)));
+        assertEquals(List.of(conflicting), cardIds(calls.get(2)));
+    }
+
+    @Test
+    void shouldFailWaitingCommandsWhenApplyingThrowsAnError() {
+        when(cardDomainService.applyOperations(anyList()))
+                .thenThrow(new AssertionError("flush failed"))
+                .thenAnswer(invocation -> applied(invocation.getArgument(0)));
+
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> cardGroupCommitter.submit(topUp(CardId.generate())));
+        assertInstanceOf(AssertionError.class, failure.getCause());
+
+        CardId cardId = CardId.generate();
+        assertEquals(cardId, cardGroupCommitter.submit(topUp(cardId)).getId());
+    }
+
+    @Test
+    void shouldStopWaitingAfterSubmitTimeout() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(cardDomainService.applyOperations(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return applied(invocation.getArgument(0));
+        });
+
+        try {
+            assertThrows(TransactionTimedOutException.class,
+                    () -> cardGroupCommitter.submit(topUp(CardId.generate())));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static CardOperation topUp(CardId cardId) {
+        return new CardOperation(cardId, TransactionType.TOPUP, Money.ofMinor(100));
+    }
+
+    private static List<CardOperationResult> applied(List<CardOperation> operations) {
+        List<CardOperationResult> results = new ArrayList<>(operations.size());
+        for (CardOperation operation : operations) {
+            Card card = Card.create("Group Commit User", operation.getAmount());
+            card.setId(operation.getCardId());
+            results.add(CardOperationResult.applied(TransactionId.generate(), card));
+        }
+        return results;
+    }
+
+    private static List<CardId> cardIds(List<CardOperation> operations) {
+        List<CardId> cardIds = new ArrayList<>(operations.size());
+        operations.forEach(operation -> cardIds.add(operation.getCardId()));
+        return cardIds;
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.cardplatform.benchmark;
+
+import com.cardplatform.CardPlatformApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * Starts the application for a benchmark: without a web server, against the in-memory H2 database of the
+ * {@code qa} profile, and with the logging settings of {@code benchmark.properties}, which the load tests
+ * share.
+ */
+final class BenchmarkContext {
+
+    private static final String PROPERTIES = "benchmark.properties";
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param args additional command line arguments, such as {@code --card-platform.card-store.mode=in-memory}
+     * @return the started application context, to be closed by the benchmark's tear down
+     */
+    static ConfigurableApplicationContext start(String... args) {
+        Properties properties;
+        try {
+            properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource(PROPERTIES));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load " + PROPERTIES, e);
+        }
+
+        String[] arguments = new String[args.length + 1];
+        arguments[0] = "--spring.profiles.active=qa";
+        System.arraycopy(args, 0, arguments, 1, args.length);
+        return new SpringApplicationBuilder(CardPlatformApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run(arguments);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.cardplatform.benchmark;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.money.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the in-memory card operations, including their {@link Money} arithmetic.
+ * The card starts with a balance large enough never to run out during a run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CardBenchmark {
+
+    private static final Money AMOUNT = Money.ofMinor(1234);
+
+    private Card card;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        card = Card.create("Benchmark User", Money.ofMinor(100_000_000_000_000L));
+    }
+
+    @Benchmark
+    public Money spend() {
+        card.spend(AMOUNT);
+        return card.getBalance();
+    }
+
+    @Benchmark
+    public Money topUp() {
+        card.topUp(AMOUNT);
+        return card.getBalance();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CardBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.cardplatform.benchmark;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.service.CardDomainService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the card concurrency control modes under contention: eight threads block and activate
+ * random cards out of {@code cards}, so a single card means every update contends and a thousand
+ * cards means almost none do.
+ *
+ * <p>Reports throughput of updates, together with the {@code conflicts} counter of updates that
+ * gave up with a concurrency failure. Runs against the in-memory H2 database of the {@code qa}
+ * profile.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CardConcurrencyControlBenchmark {
+
+    @Param({"optimistic", "pessimistic", "striped"})
+    private String mode;
+
+    @Param({"1", "16", "1024"})
+    private int cards;
+
+    private ConfigurableApplicationContext context;
+
+    private CardDomainService cardDomainService;
+
+    private CardId[] cardIds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start("--card-platform.concurrency-control.mode=" + mode);
+        cardDomainService = context.getBean(CardDomainService.class);
+
+        cardIds = new CardId[cards];
+        for (int i = 0; i < cards; i++) {
+            cardIds[i] = cardDomainService.createCard("Benchmark User " + i, Money.ZERO).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Card blockOrActivate(Outcomes outcomes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        CardId cardId = cardIds[random.nextInt(cardIds.length)];
+        try {
+            return random.nextBoolean() ? cardDomainService.blockCard(cardId) : cardDomainService.activateCard(cardId);
+        } catch (ConcurrencyFailureException e) {
+            outcomes.conflicts++;
+            return null;
+        }
+    }
+
+    /**
+     * Per-thread count of updates that failed with a concurrency conflict, reported next to the throughput.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+        }
+
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CardConcurrencyControlBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
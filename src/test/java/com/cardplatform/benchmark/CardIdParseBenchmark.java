@@ -0,0 +1,84 @@
+package com.cardplatform.benchmark;
+
+import com.cardplatform.domain.model.card.CardId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures card ID parsing for hyphenated, compact and malformed input, through {@link CardId#parse}
+ * and the throwing {@link CardId#of(String)}, against
+ * {@link UUID#fromString(String)} with exception-based rejection as the baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CardIdParseBenchmark {
+
+    private String hyphenated;
+
+    private String compact;
+
+    private String malformed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        hyphenated = UUID.randomUUID().toString();
+        compact = hyphenated.replace("-", "").toUpperCase();
+        malformed = hyphenated.substring(0, 35) + "z";
+    }
+
+    @Benchmark
+    public Optional<CardId> parseHyphenated() {
+        return CardId.parse(hyphenated);
+    }
+
+    @Benchmark
+    public Optional<CardId> parseCompact() {
+        return CardId.parse(compact);
+    }
+
+    @Benchmark
+    public Optional<CardId> parseMalformed() {
+        return CardId.parse(malformed);
+    }
+
+    @Benchmark
+    public CardId ofHyphenated() {
+        return CardId.of(hyphenated);
+    }
+
+    @Benchmark
+    public CardId ofCompact() {
+        return CardId.of(compact);
+    }
+
+    @Benchmark
+    public UUID uuidFromStringHyphenated() {
+        return UUID.fromString(hyphenated);
+    }
+
+    @Benchmark
+    public UUID uuidFromStringMalformed() {
+        try {
+            return UUID.fromString(malformed);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CardIdParseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.cardplatform.benchmark;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.model.support.TimeOrderedUuidGenerator;
+import com.cardplatform.domain.port.card.CardRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the card insert throughput with random (version 4) and time-ordered (version 7)
+ * identifiers. Random identifiers spread the inserts over the whole primary key index, while
+ * time-ordered ones append to its right edge.
+ *
+ * <p>Runs against the in-memory H2 database of the {@code qa} profile, with {@code existingCards}
+ * cards inserted beforehand so that the index is already large.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CardInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"random", "time-ordered"})
+    private String identifiers;
+
+    @Param({"100000"})
+    private int existingCards;
+
+    private ConfigurableApplicationContext context;
+
+    private CardRepository cardRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        cardRepository = context.getBean(CardRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        for (int i = 0; i < existingCards; i += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<Card> insertCards() {
+        return insertBatch();
+    }
+
+    private List<Card> insertBatch() {
+        List<Card> cards = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Card card = Card.create("Benchmark User", Money.ofMinor(1000));
+            card.setId(CardId.of(nextId()));
+            cards.add(card);
+        }
+        return transactionTemplate.execute(status -> cardRepository.createAll(cards));
+    }
+
+    private UUID nextId() {
+        return "random".equals(identifiers) ? UUID.randomUUID() : TimeOrderedUuidGenerator.generate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CardInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.cardplatform.benchmark;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.port.card.CardQueryRepository;
+import com.cardplatform.domain.port.card.CardRepository;
+import com.cardplatform.domain.service.CardDomainService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the card details read through JPA, which loads the full card entity into the persistence
+ * context, with the jOOQ query selecting only the needed columns straight into the domain card.
+ *
+ * <p>Runs against the in-memory H2 database of the {@code qa} profile, with one card topped up
+ * {@code transactions} times so the card has a realistic history behind it.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CardQueryBenchmark {
+
+    @Param({"10", "1000"})
+    private int transactions;
+
+    private ConfigurableApplicationContext context;
+
+    private CardRepository cardRepository;
+
+    private CardQueryRepository cardQueryRepository;
+
+    private CardId cardId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        cardRepository = context.getBean(CardRepository.class);
+        cardQueryRepository = context.getBean(CardQueryRepository.class);
+
+        CardDomainService cardDomainService = context.getBean(CardDomainService.class);
+        cardId = cardDomainService.createCard("Benchmark User", Money.ZERO).getId();
+        for (int i = 0; i < transactions; i++) {
+            cardDomainService.topUpCard(cardId, Money.ofMinor(100));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Card detailsJpa() {
+        return cardRepository.findById(cardId).orElseThrow();
+    }
+
+    @Benchmark
+    public Card detailsJooq() {
+        return cardQueryRepository.findDetailsById(cardId).orElseThrow();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CardQueryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
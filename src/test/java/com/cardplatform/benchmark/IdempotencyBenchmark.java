@@ -0,0 +1,84 @@
+package com.cardplatform.benchmark;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.service.CardDomainService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the idempotency check on the top-up path: a top-up without a key, a top-up
+ * with a fresh key (lookup miss plus key insert), a replayed top-up answered from the front cache,
+ * and the bare lookup of an unknown key.
+ *
+ * <p>Runs against the in-memory H2 database of the {@code qa} profile.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IdempotencyBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private CardDomainService cardDomainService;
+
+    private CardId cardId;
+
+    private String replayedKey;
+
+    private long keySequence;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        cardDomainService = context.getBean(CardDomainService.class);
+
+        cardId = cardDomainService.createCard("Benchmark User", Money.ZERO).getId();
+        replayedKey = UUID.randomUUID().toString();
+        cardDomainService.topUpCard(cardId, Money.ofMinor(100), replayedKey);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Card topUpWithoutKey() {
+        return cardDomainService.topUpCard(cardId, Money.ofMinor(100));
+    }
+
+    @Benchmark
+    public Card topUpWithFreshKey() {
+        return cardDomainService.topUpCard(cardId, Money.ofMinor(100), "benchmark-" + keySequence++);
+    }
+
+    @Benchmark
+    public Card topUpReplay() {
+        return cardDomainService.topUpCard(cardId, Money.ofMinor(100), replayedKey);
+    }
+
+    @Benchmark
+    public Optional<Card> lookupUnknownKey() {
+        return cardDomainService.replay("unknown-key", cardId, TransactionType.TOPUP, Money.ofMinor(100));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IdempotencyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
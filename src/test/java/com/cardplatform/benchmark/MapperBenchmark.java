@@ -0,0 +1,104 @@
+package com.cardplatform.benchmark;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionCursorPageResponseDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionHistoryResponseDTO;
+import com.cardplatform.infrastructure.web.mapper.card.CardEntityMapper;
+import com.cardplatform.infrastructure.web.mapper.transaction.TransactionCursorMapper;
+import com.cardplatform.infrastructure.web.mapper.transaction.TransactionDTOMapper;
+import com.cardplatform.infrastructure.web.mapper.transaction.TransactionEntityMapper;
+import com.cardplatform.infrastructure.web.mapper.transaction.TransactionHistoryDTOMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the MapStruct round trips between domain objects and entities, and the mapping of
+ * a page of {@code pageSize} transactions to the offset and cursor history responses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    private CardEntityMapper cardEntityMapper;
+
+    private TransactionEntityMapper transactionEntityMapper;
+
+    private TransactionHistoryDTOMapper transactionHistoryDTOMapper;
+
+    private Card card;
+
+    private Transaction transaction;
+
+    private Page<Transaction> transactionPage;
+
+    private Slice<Transaction> transactionSlice;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cardEntityMapper = CardEntityMapper.INSTANCE;
+        transactionEntityMapper = TransactionEntityMapper.INSTANCE;
+        transactionHistoryDTOMapper = new TransactionHistoryDTOMapper(TransactionDTOMapper.INSTANCE,
+                new TransactionCursorMapper(), new ObjectMapper());
+
+        card = Card.create("Benchmark User", Money.ofMinor(10_000));
+        transaction = Transaction.create(card.getId(), 1L, TransactionType.SPEND, Money.ofMinor(1234));
+
+        CardId cardId = card.getId();
+        List<Transaction> transactions = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            transactions.add(Transaction.create(cardId, pageSize - i, TransactionType.TOPUP, Money.ofMinor(i * 100L)));
+        }
+        transactionPage = new PageImpl<>(transactions, PageRequest.of(0, pageSize), 10L * pageSize);
+        transactionSlice = new SliceImpl<>(transactions, PageRequest.of(0, pageSize), true);
+    }
+
+    @Benchmark
+    public Card cardEntityRoundTrip() {
+        return cardEntityMapper.mapToDomain(cardEntityMapper.mapToEntity(card));
+    }
+
+    @Benchmark
+    public Transaction transactionEntityRoundTrip() {
+        return transactionEntityMapper.mapToDomain(transactionEntityMapper.mapToEntity(transaction));
+    }
+
+    @Benchmark
+    public TransactionHistoryResponseDTO transactionHistoryPage() {
+        return transactionHistoryDTOMapper.mapTo(transactionPage);
+    }
+
+    @Benchmark
+    public TransactionCursorPageResponseDTO transactionHistoryCursorPage() {
+        return transactionHistoryDTOMapper.mapToCursorPage(transactionSlice);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
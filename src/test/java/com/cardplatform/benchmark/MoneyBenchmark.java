@@ -0,0 +1,76 @@
+package com.cardplatform.benchmark;
+
+import com.cardplatform.domain.model.money.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the balance check and subtraction of a spend on {@link BigDecimal} amounts, as they were carried
+ * before, and on {@link Money} amounts, together with the conversions done at the edges: parsing a request
+ * amount and rendering a balance. Run with {@code -prof gc} to see the bytes allocated per operation.
+ * <p>
+ * This isolates the arithmetic; {@link SpendBenchmark} measures a whole spend, whose database round trips
+ * and transaction bookkeeping dwarf it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MoneyBenchmark {
+
+    private static final BigDecimal DECIMAL_AMOUNT = new BigDecimal("12.34");
+
+    private static final Money MONEY_AMOUNT = Money.ofMinor(1234);
+
+    private BigDecimal decimalBalance;
+
+    private Money moneyBalance;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        decimalBalance = new BigDecimal("1000000000000.00");
+        moneyBalance = Money.ofMinor(100_000_000_000_000L);
+    }
+
+    @Benchmark
+    public BigDecimal spendBigDecimal() {
+        if (decimalBalance.compareTo(DECIMAL_AMOUNT) < 0) {
+            throw new IllegalStateException();
+        }
+        decimalBalance = decimalBalance.subtract(DECIMAL_AMOUNT);
+        return decimalBalance;
+    }
+
+    @Benchmark
+    public Money spendMoney() {
+        if (moneyBalance.isLessThan(MONEY_AMOUNT)) {
+            throw new IllegalStateException();
+        }
+        moneyBalance = moneyBalance.subtract(MONEY_AMOUNT);
+        return moneyBalance;
+    }
+
+    @Benchmark
+    public Money convertFromBigDecimal() {
+        return Money.of(DECIMAL_AMOUNT);
+    }
+
+    @Benchmark
+    public BigDecimal convertToBigDecimal() {
+        return moneyBalance.toBigDecimal();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.cardplatform.benchmark;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.service.CardDomainService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full {@link CardDomainService#spendFromCard} call: transaction, conditional debit,
+ * card reselect and transaction insert.
+ *
+ * <p>Runs against the in-memory H2 database of the {@code qa} profile, with rate limiting disabled
+ * so that the same card can be spent from on every invocation. With the {@code in-memory} store, the
+ * card and its transactions are kept in memory instead, which bounds what the database costs.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SpendBenchmark {
+
+    private static final Money AMOUNT = Money.ofMinor(1);
+
+    @Param({"database", "in-memory"})
+    private String store;
+
+    private ConfigurableApplicationContext context;
+
+    private CardDomainService cardDomainService;
+
+    private CardId cardId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start("--card-platform.rate-limit.mode=none",
+                "--card-platform.card-store.mode=" + store, "--card-platform.card-store.snapshot-file=",
+                "--card-platform.transaction-store.mode=" + store, "--card-platform.transaction-store.snapshot-file=");
+        cardDomainService = context.getBean(CardDomainService.class);
+
+        cardId = cardDomainService.createCard("Benchmark User", Money.ofMinor(100_000_000_000L)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Card spendFromCard() {
+        return cardDomainService.spendFromCard(cardId, AMOUNT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SpendBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
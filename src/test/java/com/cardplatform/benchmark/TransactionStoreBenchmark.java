@@ -0,0 +1,96 @@
+package com.cardplatform.benchmark;
+
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.port.transaction.TransactionRepository;
+import com.cardplatform.domain.service.CardDomainService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the transaction stores: the {@code transactions} table and the memory-mapped transaction log.
+ * Each save appends the next transaction of one card in its own transaction, and each read fetches the
+ * newest page of that card's history, which grows over the trial.
+ *
+ * <p>Runs against the in-memory H2 database of the {@code qa} profile, so the database store is measured
+ * without any disk I/O, while the log forces every append to a temporary directory.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransactionStoreBenchmark {
+
+    private static final Money AMOUNT = Money.ofMinor(1234);
+
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    @Param({"database", "mapped-log"})
+    private String mode;
+
+    private Path logDirectory;
+
+    private ConfigurableApplicationContext context;
+
+    private TransactionRepository transactionRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private CardId cardId;
+
+    private final AtomicLong seq = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        logDirectory = Files.createTempDirectory("transaction-log");
+        context = BenchmarkContext.start("--card-platform.transaction-store.mode=" + mode,
+                "--card-platform.transaction-log.directory=" + logDirectory);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        cardId = context.getBean(CardDomainService.class).createCard("Benchmark User", Money.ZERO).getId();
+        seq.set(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(logDirectory);
+    }
+
+    @Benchmark
+    public Transaction save() {
+        Transaction transaction = Transaction.create(cardId, seq.getAndIncrement(), TransactionType.TOPUP, AMOUNT);
+        return transactionTemplate.execute(status -> transactionRepository.save(transaction));
+    }
+
+    @Benchmark
+    public Page<Transaction> readPage() {
+        return transactionRepository.findByCardId(cardId, PAGE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransactionStoreBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
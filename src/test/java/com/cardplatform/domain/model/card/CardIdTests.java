@@ -0,0 +1,64 @@
+package com.cardplatform.domain.model.card;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardIdTests {
+
+    private static final String HYPHENATED = "0190a3c1-7e2f-7b4d-9c3a-1f2e3d4c5b6a";
+
+    @Test
+    void shouldParseHyphenatedAndCompactForms() {
+        // Given
+        CardId expected = CardId.of(UUID.fromString(HYPHENATED));
+
+        // When / Then
+        assertEquals(expected, CardId.parse(HYPHENATED).orElseThrow());
+        assertEquals(expected, CardId.parse(HYPHENATED.replace("-", "")).orElseThrow());
+        assertEquals(expected, CardId.parse("  " + HYPHENATED + "\n").orElseThrow());
+    }
+
+    @Test
+    void shouldParseUpperCaseDigits() {
+        assertEquals(CardId.of(UUID.fromString(HYPHENATED)), CardId.parse(HYPHENATED.toUpperCase()).orElseThrow());
+    }
+
+    @Test
+    void shouldRoundTripGeneratedIds() {
+        for (int i = 0; i < 1000; i++) {
+            UUID value = UUID.randomUUID();
+            assertEquals(CardId.of(value), CardId.parse(value.toString()).orElseThrow());
+        }
+        assertEquals(CardId.of(new UUID(-1L, -1L)),
+                CardId.parse("ffffffff-ffff-ffff-ffff-ffffffffffff").orElseThrow());
+    }
+
+    @Test
+    void shouldRejectWrongLength() {
+        assertTrue(CardId.parse(null).isEmpty());
+        assertTrue(CardId.parse("").isEmpty());
+        assertTrue(CardId.parse(HYPHENATED.substring(1)).isEmpty());
+        assertTrue(CardId.parse(HYPHENATED + "0").isEmpty());
+        assertTrue(CardId.parse(HYPHENATED.replace("-", "").substring(1)).isEmpty());
+    }
+
+    @Test
+    void shouldRejectCharactersThatAreNotHexadecimalDigits() {
+        assertTrue(CardId.parse(HYPHENATED.replace('a', 'g')).isEmpty());
+        assertTrue(CardId.parse(HYPHENATED.replace('7', '\u0667')).isEmpty());
+        assertTrue(CardId.parse(HYPHENATED.replace("-", "").replace('c', 'x')).isEmpty());
+    }
+
+    @Test
+    void shouldRejectMisplacedDashes() {
+        assertTrue(CardId.parse("0190a3c17-e2f-7b4d-9c3a-1f2e3d4c5b6a").isEmpty());
+        assertTrue(CardId.parse("0190a3c1-7e2f-7b4d9-c3a-1f2e3d4c5b6a").isEmpty());
+        assertTrue(CardId.parse("0190a3c1-7e2f-7b4d-9c3a1-f2e3d4c5b6a").isEmpty());
+        assertTrue(CardId.parse("0190a3c1-7e2f--b4d-9c3a-1f2e3d4c5b6a").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> CardId.of("0190a3c1+7e2f-7b4d-9c3a-1f2e3d4c5b6a"));
+    }
+
+}
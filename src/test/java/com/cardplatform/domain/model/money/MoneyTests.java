@@ -0,0 +1,65 @@
+package com.cardplatform.domain.model.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTests {
+
+    @Test
+    void shouldRoundDecimalAmountsHalfUpToTwoPlaces() {
+        assertEquals(Money.ofMinor(1235), Money.of(new BigDecimal("12.345")));
+        assertEquals(Money.ofMinor(1234), Money.of(new BigDecimal("12.3449")));
+        assertEquals(Money.ofMinor(-1235), Money.of(new BigDecimal("-12.345")));
+        assertEquals(Money.ofMinor(1200), Money.of(new BigDecimal("12")));
+        assertSame(Money.ZERO, Money.of(new BigDecimal("0.004")));
+        assertNull(Money.of(null));
+    }
+
+    @Test
+    void shouldRoundTripThroughBigDecimal() {
+        for (long minorUnits : new long[]{0, 1, -1, 99, 1234, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            Money money = Money.ofMinor(minorUnits);
+            BigDecimal amount = money.toBigDecimal();
+
+            assertEquals(Money.SCALE, amount.scale());
+            assertEquals(money, Money.of(amount));
+        }
+        assertEquals(new BigDecimal("12.30"), Money.of(new BigDecimal("12.3")).toBigDecimal());
+    }
+
+    @Test
+    void shouldRejectAmountsOutOfRange() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("92233720368547758.08")));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).add(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MIN_VALUE).subtract(Money.ofMinor(1)));
+        assertEquals(Money.ofMinor(Long.MAX_VALUE),
+                Money.ofMinor(Long.MAX_VALUE - 1).add(Money.ofMinor(1)));
+    }
+
+    @Test
+    void shouldAddAndSubtractWithoutAllocatingForZero() {
+        Money amount = Money.ofMinor(1000);
+
+        assertEquals(Money.ofMinor(1250), amount.add(Money.ofMinor(250)));
+        assertEquals(Money.ofMinor(750), amount.subtract(Money.ofMinor(250)));
+        assertSame(amount, amount.add(Money.ZERO));
+        assertSame(amount, amount.subtract(Money.ZERO));
+        assertTrue(Money.ofMinor(999).isLessThan(amount));
+        assertFalse(amount.isLessThan(amount));
+    }
+
+    @Test
+    void shouldRejectMixedCurrencies() {
+        Money euros = Money.ofMinor(1000);
+        Money dollars = Money.ofMinor(1000, "USD");
+
+        assertThrows(IllegalArgumentException.class, () -> euros.add(dollars));
+        assertThrows(IllegalArgumentException.class, () -> euros.subtract(dollars));
+        assertThrows(IllegalArgumentException.class, () -> euros.isLessThan(dollars));
+        assertNotEquals(euros, dollars);
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.cardplatform.domain.model.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTests {
+
+    private static final long MAX_COUNTER = (1L << 26) - 1;
+
+    private static final long MILLIS = 1_700_000_000_000L;
+
+    @Test
+    void shouldSetVersionSevenAndRfcVariant() {
+        // When
+        UUID uuid = TimeOrderedUuidGenerator.generate();
+
+        // Then
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void shouldEncodeTimestampInLeadingBits() {
+        // When
+        UUID uuid = TimeOrderedUuidGenerator.generate(new TimeOrderedUuidGenerator.State(), MILLIS);
+
+        // Then
+        assertEquals(MILLIS, timestamp(uuid));
+    }
+
+    @Test
+    void shouldIncreaseStrictlyWithinOneMillisecond() {
+        // Given
+        TimeOrderedUuidGenerator.State state = new TimeOrderedUuidGenerator.State();
+        UUID previous = TimeOrderedUuidGenerator.generate(state, MILLIS);
+
+        for (int i = 0; i < 10_000; i++) {
+            // When
+            UUID next = TimeOrderedUuidGenerator.generate(state, MILLIS);
+
+            // Then
+            assertEquals(MILLIS, timestamp(next));
+            assertGreater(previous, next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void shouldIncreaseWhenTheClockMovesBackwards() {
+        // Given
+        TimeOrderedUuidGenerator.State state = new TimeOrderedUuidGenerator.State();
+        UUID previous = TimeOrderedUuidGenerator.generate(state, MILLIS);
+
+        // When
+        UUID next = TimeOrderedUuidGenerator.generate(state, MILLIS - 5);
+
+        // Then
+        assertGreater(previous, next);
+    }
+
+    @Test
+    void shouldBorrowNextMillisecondWhenCounterRollsOver() {
+        // Given
+        TimeOrderedUuidGenerator.State state = new TimeOrderedUuidGenerator.State();
+        state.millis = MILLIS;
+        state.counter = MAX_COUNTER - 1;
+        UUID last = TimeOrderedUuidGenerator.generate(state, MILLIS);
+
+        // When
+        UUID rolledOver = TimeOrderedUuidGenerator.generate(state, MILLIS);
+
+        // Then
+        assertEquals(MILLIS, timestamp(last));
+        assertEquals(MILLIS + 1, timestamp(rolledOver));
+        assertEquals(0, state.counter);
+        assertGreater(last, rolledOver);
+        assertEquals(7, rolledOver.version());
+        assertEquals(2, rolledOver.variant());
+
+        UUID next = TimeOrderedUuidGenerator.generate(state, MILLIS + 1);
+        assertEquals(MILLIS + 1, timestamp(next));
+        assertGreater(rolledOver, next);
+    }
+
+    private static long timestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    /**
+     * Asserts that {@code next} sorts after {@code previous} byte by byte, as in an index on the binary value.
+     */
+    private static void assertGreater(UUID previous, UUID next) {
+        int comparison = Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits());
+        if (comparison == 0) {
+            comparison = Long.compareUnsigned(next.getLeastSignificantBits(), previous.getLeastSignificantBits());
+        }
+        assertTrue(comparison > 0, () -> next + " does not sort after " + previous);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.cardplatform.infrastructure.concurrency;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.CardStatus;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.port.card.CardRepository;
+import com.cardplatform.infrastructure.persistence.entity.card.CardEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticCardConcurrencyControlTests {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    private OptimisticCardConcurrencyControl concurrencyControl;
+
+    private CardId cardId;
+
+    @BeforeEach
+    void setUp() {
+        concurrencyControl = new OptimisticCardConcurrencyControl(cardRepository, 3, Duration.ofMillis(1));
+        cardId = CardId.generate();
+    }
+
+    @Test
+    void shouldRereadAndRetryAfterConcurrentModification() {
+        // Given
+        when(cardRepository.findById(cardId)).thenReturn(Optional.of(newCard(0L)), Optional.of(newCard(1L)));
+        when(cardRepository.save(any(Card.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(CardEntity.class, cardId.getValue()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Card updatedCard = concurrencyControl.update(cardId, Card::block);
+
+        // Then
+        assertEquals(CardStatus.BLOCKED, updatedCard.getStatus());
+        assertEquals(1L, updatedCard.getVersion());
+        verify(cardRepository, times(2)).findById(cardId);
+        verify(cardRepository, times(2)).save(any(Card.class));
+    }
+
+    @Test
+    void shouldReportConflictAfterMaxAttempts() {
+        // Given
+        when(cardRepository.findById(cardId)).thenReturn(Optional.of(newCard(0L)));
+        when(cardRepository.save(any(Card.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(CardEntity.class, cardId.getValue()));
+
+        // When & Then
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> concurrencyControl.update(cardId, Card::block));
+        verify(cardRepository, times(3)).save(any(Card.class));
+    }
+
+    @Test
+    void shouldFailForNonExistentCard() {
+        // Given
+        when(cardRepository.findById(cardId)).thenReturn(Optional.empty());
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> concurrencyControl.update(cardId, Card::block));
+        assertTrue(exception.getMessage().contains("Card not found"));
+        verify(cardRepository, never()).save(any(Card.class));
+    }
+
+    private Card newCard(long version) {
+        Card card = Card.create("John Doe", Money.of(new BigDecimal("100.00")));
+        card.setId(cardId);
+        card.setVersion(version);
+        return card;
+    }
+
+}
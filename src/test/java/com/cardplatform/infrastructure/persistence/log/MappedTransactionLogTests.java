@@ -0,0 +1,253 @@
+package com.cardplatform.infrastructure.persistence.log;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.CardStatus;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.model.transaction.TransactionCursor;
+import com.cardplatform.domain.port.card.CardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class MappedTransactionLogTests {
+
+    /**
+     * Four records per segment, so that a handful of transactions spans several segments.
+     */
+    private static final DataSize SEGMENT_SIZE = DataSize.ofBytes(4L * MappedTransactionLog.RECORD_SIZE);
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    /**
+     * Versions of the cards known to the card repository.
+     */
+    private final Map<CardId, Long> versions = new HashMap<>();
+
+    private MappedTransactionLog transactionLog;
+
+    private CardId cardId;
+
+    private CardId otherCardId;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cardRepository.findAllById(anyCollection()))
+                .thenAnswer(invocation -> cards(invocation.getArgument(0)));
+        transactionLog = open();
+        cardId = CardId.generate();
+        otherCardId = CardId.generate();
+    }
+
+    @Test
+    void shouldReadCardHistoryBackwardsAcrossSegments() {
+        // Given
+        for (long seq = 0; seq < 6; seq++) {
+            transactionLog.save(Transaction.create(cardId, seq, TransactionType.TOPUP, Money.ofMinor((seq + 1) * 100)));
+            transactionLog.save(Transaction.create(otherCardId, seq, TransactionType.SPEND, Money.ofMinor(100)));
+        }
+
+        // When
+        Page<Transaction> firstPage = transactionLog.findByCardId(cardId, PageRequest.of(0, 4));
+        Page<Transaction> secondPage = transactionLog.findByCardId(cardId, PageRequest.of(1, 4));
+
+        // Then
+        assertEquals(6, firstPage.getTotalElements());
+        assertEquals(List.of(5L, 4L, 3L, 2L), seqs(firstPage.getContent()));
+        assertEquals(List.of(1L, 0L), seqs(secondPage.getContent()));
+        assertEquals(Money.ofMinor(600), firstPage.getContent().get(0).getAmount());
+        assertEquals(cardId, firstPage.getContent().get(0).getCardId());
+    }
+
+    @Test
+    void shouldSeekCursorBySeq() {
+        // Given
+        transactionLog.saveAll(List.of(
+                Transaction.create(cardId, 0, TransactionType.TOPUP, Money.ofMinor(1000)),
+                Transaction.create(cardId, 2, TransactionType.SPEND, Money.ofMinor(100)),
+                Transaction.create(cardId, 3, TransactionType.SPEND, Money.ofMinor(100)),
+                Transaction.create(cardId, 7, TransactionType.SPEND, Money.ofMinor(100))));
+
+        // When
+        Slice<Transaction> firstSlice = transactionLog.findByCardIdAfter(cardId, null, 2);
+        Slice<Transaction> secondSlice = transactionLog.findByCardIdAfter(cardId,
+                TransactionCursor.after(firstSlice.getContent().get(1)), 2);
+
+        // Then
+        assertEquals(List.of(7L, 3L), seqs(firstSlice.getContent()));
+        assertTrue(firstSlice.hasNext());
+        assertEquals(List.of(2L, 0L), seqs(secondSlice.getContent()));
+        assertFalse(secondSlice.hasNext());
+    }
+
+    @Test
+    void shouldCountRecentSpendsOnly() {
+        // Given
+        Instant now = Instant.now();
+        Transaction oldSpend = Transaction.create(cardId, 0, TransactionType.SPEND, Money.ofMinor(100));
+        oldSpend.setCreatedAt(now.minusSeconds(120));
+        Transaction topUp = Transaction.create(cardId, 1, TransactionType.TOPUP, Money.ofMinor(100));
+        topUp.setCreatedAt(now.minusSeconds(10));
+        Transaction spend = Transaction.create(cardId, 2, TransactionType.SPEND, Money.ofMinor(100));
+        spend.setCreatedAt(now.minusSeconds(5));
+        transactionLog.saveAll(List.of(oldSpend, topUp, spend));
+
+        // When
+        long count = transactionLog.countByCardIdAndCreatedAtBetween(cardId, now.minusSeconds(60).toEpochMilli(),
+                now.toEpochMilli());
+
+        // Then
+        assertEquals(1, count);
+        assertEquals(2, transactionLog.findByTypeAndCreatedAtAfter(TransactionType.SPEND,
+                now.minusSeconds(300).toEpochMilli()).size());
+    }
+
+    @Test
+    void shouldRecoverIndexAndDiscardTornTail() throws IOException {
+        // Given
+        for (long seq = 0; seq < 5; seq++) {
+            transactionLog.save(Transaction.create(cardId, seq, TransactionType.TOPUP, Money.ofMinor(100)));
+        }
+        Transaction saved = transactionLog.findByCardId(cardId).get(0);
+        versions.put(cardId, 5L);
+        transactionLog.close();
+        writeTornRecord(5);
+
+        // When
+        MappedTransactionLog recovered = open();
+
+        // Then
+        assertEquals(List.of(4L, 3L, 2L, 1L, 0L), seqs(recovered.findByCardId(cardId)));
+        assertEquals(saved, recovered.findById(saved.getId()).orElseThrow());
+
+        recovered.save(Transaction.create(cardId, 5, TransactionType.SPEND, Money.ofMinor(100)));
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L, 0L), seqs(open().findByCardId(cardId)));
+    }
+
+    @Test
+    void shouldRejectSegmentSmallerThanARecord() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new MappedTransactionLog(directory.toString(),
+                DataSize.ofBytes(MappedTransactionLog.RECORD_SIZE - 1), true, cardRepository, "database"));
+    }
+
+    @Test
+    void shouldDiscardRecordsWhoseCommitFailed() {
+        // Given
+        transactionLog.save(Transaction.create(cardId, 0, TransactionType.TOPUP, Money.ofMinor(1000)));
+        Transaction orphan = Transaction.create(cardId, 1, TransactionType.SPEND, Money.ofMinor(100));
+
+        // When
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            transactionLog.save(orphan);
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        assertEquals(List.of(0L), seqs(transactionLog.findByCardId(cardId)));
+        assertTrue(transactionLog.findById(orphan.getId()).isEmpty());
+
+        versions.put(cardId, 0L);
+        transactionLog.close();
+        MappedTransactionLog recovered = open();
+        assertEquals(List.of(0L), seqs(recovered.findByCardId(cardId)));
+        assertTrue(recovered.findById(orphan.getId()).isEmpty());
+    }
+
+    @Test
+    void shouldDiscardSupersededAndUnknownRecordsOnRecovery() {
+        // Given
+        transactionLog.saveAll(List.of(
+                Transaction.create(cardId, 0, TransactionType.TOPUP, Money.ofMinor(1000)),
+                Transaction.create(cardId, 1, TransactionType.SPEND, Money.ofMinor(100)),
+                Transaction.create(cardId, 1, TransactionType.SPEND, Money.ofMinor(300)),
+                Transaction.create(cardId, 2, TransactionType.SPEND, Money.ofMinor(100)),
+                Transaction.create(otherCardId, 0, TransactionType.TOPUP, Money.ofMinor(1000))));
+        versions.put(cardId, 2L);
+        transactionLog.close();
+
+        // When
+        MappedTransactionLog recovered = open();
+
+        // Then
+        List<Transaction> history = recovered.findByCardId(cardId);
+        assertEquals(List.of(2L, 1L, 0L), seqs(history));
+        assertEquals(Money.ofMinor(300), history.get(1).getAmount());
+        assertTrue(recovered.findByCardId(otherCardId).isEmpty());
+    }
+
+    private MappedTransactionLog open() {
+        MappedTransactionLog log = new MappedTransactionLog(directory.toString(), SEGMENT_SIZE, true, cardRepository,
+                "database");
+        log.recover();
+        return log;
+    }
+
+    private List<Card> cards(Collection<CardId> cardIds) {
+        return cardIds.stream()
+                .filter(versions::containsKey)
+                .map(id -> new Card(id, "Log User", Money.ofMinor(0), Instant.now(), CardStatus.ACTIVE,
+                        versions.get(id)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Writes the first half of a record, as left by a crash in the middle of an append.
+     */
+    private void writeTornRecord(int record) throws IOException {
+        Path segment = directory.resolve(String.format("transactions-%06d.log", record / 4));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer half = ByteBuffer.allocate(MappedTransactionLog.RECORD_SIZE / 2);
+            while (half.hasRemaining()) {
+                half.put((byte) 0x5A);
+            }
+            half.flip();
+            channel.write(half, (long) (record % 4) * MappedTransactionLog.RECORD_SIZE);
+        }
+    }
+
+    private static List<Long> seqs(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getSeq).collect(Collectors.toList());
+    }
+
+}
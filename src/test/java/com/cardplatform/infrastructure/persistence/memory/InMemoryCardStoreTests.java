@@ -0,0 +1,181 @@
+package com.cardplatform.infrastructure.persistence.memory;
+
+import com.cardplatform.domain.model.card.Card;
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.CardStatus;
+import com.cardplatform.domain.model.money.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryCardStoreTests {
+
+    @TempDir
+    Path directory;
+
+    private InMemoryCardStore cardStore;
+
+    @BeforeEach
+    void setUp() {
+        cardStore = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldDebitActiveCardWithSufficientBalanceOnly() {
+        // Given
+        Card card = cardStore.create(Card.create("John Doe", Money.ofMinor(1000)));
+
+        // When
+        Optional<Card> debited = cardStore.debit(card.getId(), Money.ofMinor(750));
+        Optional<Card> overdrawn = cardStore.debit(card.getId(), Money.ofMinor(251));
+        Optional<Card> stale = cardStore.creditIfUnchanged(card, Money.ofMinor(100));
+
+        // Then
+        assertTrue(debited.isPresent());
+        assertEquals(Money.ofMinor(250), debited.get().getBalance());
+        assertEquals(1L, debited.get().getVersion());
+        assertTrue(overdrawn.isEmpty());
+        assertTrue(stale.isEmpty());
+
+        Card blocked = debited.get();
+        blocked.block();
+        cardStore.save(blocked);
+        assertTrue(cardStore.credit(card.getId(), Money.ofMinor(100)).isEmpty());
+        assertEquals(CardStatus.BLOCKED, cardStore.findDetailsById(card.getId()).orElseThrow().getStatus());
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> cardStore.save(blocked));
+    }
+
+    @Test
+    void shouldRestoreCardsWrittenByRolledBackTransaction() {
+        // Given
+        Card card = cardStore.create(Card.create("John Doe", Money.ofMinor(1000)));
+
+        // When
+        TransactionSynchronizationManager.initSynchronization();
+        cardStore.debit(card.getId(), Money.ofMinor(400));
+        cardStore.debit(card.getId(), Money.ofMinor(100));
+        Card created = cardStore.create(Card.create("Jane Doe", Money.ofMinor(100)));
+        assertEquals(Money.ofMinor(500), cardStore.findById(card.getId()).orElseThrow().getBalance());
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then
+        Card restored = cardStore.findById(card.getId()).orElseThrow();
+        assertEquals(Money.ofMinor(1000), restored.getBalance());
+        assertEquals(0L, restored.getVersion());
+        assertFalse(cardStore.existsById(created.getId()));
+        assertTrue(cardStore.findByIdForUpdate(card.getId(), Duration.ZERO).isPresent());
+
+        Card recreated = Card.create("Jane Doe", Money.ofMinor(200));
+        recreated.setId(created.getId());
+        cardStore.create(recreated);
+        assertEquals(Money.ofMinor(200), cardStore.findById(created.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void shouldHideUncommittedWritesFromOtherReaders() {
+        // Given
+        Card card = cardStore.create(Card.create("John Doe", Money.ofMinor(1000)));
+        TransactionSynchronizationManager.initSynchronization();
+        cardStore.debit(card.getId(), Money.ofMinor(400));
+        Card created = cardStore.create(Card.create("Jane Doe", Money.ofMinor(100)));
+
+        // When
+        int written = cardStore.snapshot();
+        InMemoryCardStore restored = open();
+
+        // Then
+        assertEquals(1, written);
+        assertEquals(Money.ofMinor(1000), restored.findById(card.getId()).orElseThrow().getBalance());
+        assertEquals(Money.ofMinor(1000), cardStore.findDetailsById(card.getId()).orElseThrow().getBalance());
+        assertTrue(cardStore.findDetailsById(created.getId()).isEmpty());
+        assertEquals(Money.ofMinor(600), cardStore.findById(card.getId()).orElseThrow().getBalance());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(Money.ofMinor(600), cardStore.findDetailsById(card.getId()).orElseThrow().getBalance());
+        assertTrue(cardStore.findDetailsById(created.getId()).isPresent());
+    }
+
+    @Test
+    void shouldKeepLockUntilTransactionCompletes() throws InterruptedException {
+        // Given
+        Card card = cardStore.create(Card.create("John Doe", Money.ofMinor(1000)));
+        TransactionSynchronizationManager.initSynchronization();
+        cardStore.debit(card.getId(), Money.ofMinor(100));
+
+        // When
+        Throwable[] failure = new Throwable[1];
+        Thread other = new Thread(() -> {
+            try {
+                cardStore.findByIdForUpdate(card.getId(), Duration.ofMillis(10));
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        });
+        other.start();
+        other.join();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then
+        assertNotNull(failure[0]);
+        assertEquals(Money.ofMinor(900), cardStore.findById(card.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void shouldRestoreCardsFromSnapshot() {
+        // Given
+        List<Card> cards = cardStore.createAll(IntStream.range(0, 100)
+                .mapToObj(i -> Card.create("Cardholder " + i, Money.ofMinor(i * 100L)))
+                .collect(Collectors.toList()));
+        cardStore.debit(cards.get(42).getId(), Money.ofMinor(42));
+
+        // When
+        int written = cardStore.snapshot();
+        InMemoryCardStore restored = open();
+
+        // Then
+        assertEquals(100, written);
+        for (Card card : cards) {
+            assertEquals(cardStore.findById(card.getId()), restored.findById(card.getId()));
+        }
+        assertEquals(Money.ofMinor(4158), restored.findById(cards.get(42).getId()).orElseThrow().getBalance());
+        assertFalse(restored.existsById(CardId.generate()));
+    }
+
+    private InMemoryCardStore open() {
+        InMemoryCardStore store = new InMemoryCardStore(16, Duration.ofSeconds(1),
+                directory.resolve("cards.snapshot").toString());
+        store.restore();
+        return store;
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+
+}
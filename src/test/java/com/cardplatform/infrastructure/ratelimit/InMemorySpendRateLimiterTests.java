@@ -0,0 +1,125 @@
+package com.cardplatform.infrastructure.ratelimit;
+
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.domain.model.money.Money;
+import com.cardplatform.domain.model.transaction.Transaction;
+import com.cardplatform.domain.port.transaction.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.cardplatform.domain.port.ratelimit.SpendRateLimiter.MAX_SPENDS_PER_MINUTE;
+import static com.cardplatform.domain.port.ratelimit.SpendRateLimiter.RATE_LIMIT_WINDOW_MINUTES;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemorySpendRateLimiterTests {
+
+    private static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(RATE_LIMIT_WINDOW_MINUTES);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private InMemorySpendRateLimiter spendRateLimiter;
+
+    private CardId cardId;
+
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        spendRateLimiter = new InMemorySpendRateLimiter(transactionRepository);
+        cardId = CardId.generate();
+        now = Instant.now().toEpochMilli();
+    }
+
+    @Test
+    void shouldRejectSpendOnceTheLimitIsReachedWithinTheWindow() {
+        // Given
+        for (int i = 0; i < MAX_SPENDS_PER_MINUTE; i++) {
+            assertTrue(spendRateLimiter.tryAcquire(cardId, now + i));
+        }
+
+        // When
+        boolean allowed = spendRateLimiter.tryAcquire(cardId, now + MAX_SPENDS_PER_MINUTE);
+
+        // Then
+        assertFalse(allowed);
+        assertTrue(spendRateLimiter.tryAcquire(CardId.generate(), now + MAX_SPENDS_PER_MINUTE));
+    }
+
+    @Test
+    void shouldAllowSpendOnceTheOldestLeavesTheWindow() {
+        // Given
+        for (int i = 0; i < MAX_SPENDS_PER_MINUTE; i++) {
+            spendRateLimiter.tryAcquire(cardId, now + i);
+        }
+
+        // When / Then
+        assertFalse(spendRateLimiter.tryAcquire(cardId, now + WINDOW_MILLIS - 1));
+        assertTrue(spendRateLimiter.tryAcquire(cardId, now + WINDOW_MILLIS + 1));
+        assertFalse(spendRateLimiter.tryAcquire(cardId, now + WINDOW_MILLIS + 1));
+    }
+
+    @Test
+    void shouldFreeTheSlotOfARolledBackSpend() {
+        // Given
+        for (int i = 0; i < MAX_SPENDS_PER_MINUTE; i++) {
+            spendRateLimiter.tryAcquire(cardId, now + i);
+        }
+
+        // When
+        spendRateLimiter.release(cardId, now + 2);
+
+        // Then
+        assertTrue(spendRateLimiter.tryAcquire(cardId, now + MAX_SPENDS_PER_MINUTE));
+        assertFalse(spendRateLimiter.tryAcquire(cardId, now + MAX_SPENDS_PER_MINUTE + 1));
+    }
+
+    @Test
+    void shouldIgnoreReleaseOfAnUnknownSpend() {
+        // Given
+        for (int i = 0; i < MAX_SPENDS_PER_MINUTE; i++) {
+            spendRateLimiter.tryAcquire(cardId, now + i);
+        }
+
+        // When
+        spendRateLimiter.release(cardId, now - 1);
+        spendRateLimiter.release(CardId.generate(), now);
+
+        // Then
+        assertFalse(spendRateLimiter.tryAcquire(cardId, now + MAX_SPENDS_PER_MINUTE));
+    }
+
+    @Test
+    void shouldRebuildWindowsFromRecentSpends() {
+        // Given
+        List<Transaction> spends = new ArrayList<>();
+        for (int i = 0; i < MAX_SPENDS_PER_MINUTE; i++) {
+            Transaction spend = Transaction.create(cardId, i, TransactionType.SPEND, Money.ofMinor(100));
+            spend.setCreatedAt(Instant.ofEpochMilli(now - 1000 + i));
+            spends.add(spend);
+        }
+        when(transactionRepository.findByTypeAndCreatedAtAfter(eq(TransactionType.SPEND), anyLong()))
+                .thenReturn(spends);
+
+        // When
+        spendRateLimiter.rebuild();
+
+        // Then
+        assertFalse(spendRateLimiter.tryAcquire(cardId, now));
+        assertTrue(spendRateLimiter.tryAcquire(CardId.generate(), now));
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.cardplatform.infrastructure.ratelimit;
+
+import com.cardplatform.domain.model.card.CardId;
+import com.cardplatform.domain.port.ratelimit.SpendRateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spend rate limiter that allows every spend, for benchmarks and load tests, which spend from the same
+ * cards far more often than the rate limit allows. Only on the test classpath, so that production cannot
+ * turn rate limiting off.
+ */
+@Component
+@ConditionalOnProperty(name = "card-platform.rate-limit.mode", havingValue = "none")
+public class UnlimitedSpendRateLimiter implements SpendRateLimiter {
+
+    /**
+     * Always allows the spend.
+     *
+     * @param cardId the card identifier
+     * @param timestamp the spend timestamp, in milliseconds since epoch
+     * @return always true
+     */
+    @Override
+    public boolean tryAcquire(CardId cardId, long timestamp) {
+        return true;
+    }
+
+    /**
+     * Nothing to release: no slot is reserved.
+     *
+     * @param cardId the card identifier
+     * @param timestamp the timestamp passed to the matching acquire call
+     */
+    @Override
+    public void release(CardId cardId, long timestamp) {
+        // no-op
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.cardplatform.integration.load;
+
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.infrastructure.web.dto.card.CardDTO;
+import com.cardplatform.infrastructure.web.dto.card.CreateCardRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionDTO;
+import com.cardplatform.integration.BaseCardIntegrationTest;
+import com.cardplatform.integration.manager.CardRequestManager;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test driving concurrent spends and top-ups through the REST API, for a single hot card,
+ * uniformly spread cards and Zipfian-skewed cards.
+ *
+ * <p>Each run logs its throughput, p50/p99/p999 latency and 409/400 rates, then checks that every card's
+ * final balance equals its initial balance plus the operations answered with 200 OK, and equals the sum
+ * of the transactions stored for it.</p>
+ *
+ * <p>Tagged {@code load} and excluded from the default build; run with {@code mvn -Pload-test test}.
+ * The load is sized through the {@code load.threads}, {@code load.operations-per-thread} and
+ * {@code load.cards} system properties. Rate limiting is disabled, so that every spend reaches the
+ * card row, and logging is turned down through the {@code benchmark.properties} the benchmarks use.</p>
+ */
+@Tag("load")
+@Slf4j
+@TestPropertySource(locations = "classpath:benchmark.properties", properties = {
+        "card-platform.rate-limit.mode=none",
+        "logging.level.com.cardplatform.integration.load=INFO"
+})
+public class CardConcurrentLoadIntegrationTests extends BaseCardIntegrationTest {
+
+    private static final int THREADS = Integer.getInteger("load.threads", 16);
+    private static final int OPERATIONS_PER_THREAD = Integer.getInteger("load.operations-per-thread", 250);
+    private static final int CARDS = Integer.getInteger("load.cards", 100);
+
+    private static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(500.0);
+    private static final double SPEND_RATIO = 0.7;
+    private static final BigDecimal MAX_AMOUNT = BigDecimal.valueOf(50);
+
+    private CardRequestManager requestManager;
+    private ParameterizedTypeReference<CardDTO> cardTypeReference;
+    private ParameterizedTypeReference<String> exportTypeReference;
+
+    @BeforeAll
+    public final void setup() {
+        this.setBaseUrl("http://localhost:" + this.getServerPort() + "/api/v1/cards");
+        requestManager = new CardRequestManager(getBaseUrl(), getTestRestTemplate());
+        cardTypeReference = new ParameterizedTypeReference<>() {};
+        exportTypeReference = new ParameterizedTypeReference<>() {};
+    }
+
+    /**
+     * Runs the load for one card distribution and checks the balances it leaves behind.
+     *
+     * Verifies that:
+     * - No request fails with anything other than 200, 400 or 409
+     * - Each card's balance reflects exactly the operations reported as committed
+     * - Each card's stored transactions match the committed operations and sum up to its balance
+     */
+    @ParameterizedTest
+    @EnumSource(CardDistribution.class)
+    public void shouldKeepBalancesConsistentUnderConcurrentLoad(CardDistribution distribution) throws Exception {
+        List<UUID> cardIds = createCards(distribution.cardCount(CARDS));
+
+        LoadHarness harness = new LoadHarness(requestManager, THREADS, OPERATIONS_PER_THREAD, SPEND_RATIO,
+                MAX_AMOUNT);
+        LoadReport report = harness.run(cardIds, distribution.selector(cardIds.size()));
+        log.info(report.summary(distribution.name()));
+
+        assertEquals((long) THREADS * OPERATIONS_PER_THREAD, report.getRequests());
+        assertEquals(0, report.getErrors(), "Unexpected responses: " + report.summary(distribution.name()));
+
+        for (UUID cardId : cardIds) {
+            BigDecimal expectedBalance = INITIAL_BALANCE.add(
+                    report.getCommittedAmounts().getOrDefault(cardId, BigDecimal.ZERO));
+
+            ResponseEntity<CardDTO> cardResponse = requestManager.makeGetRequest(cardId, cardTypeReference);
+            assertEquals(HttpStatus.OK, cardResponse.getStatusCode());
+            assertNotNull(cardResponse.getBody());
+            assertEquals(0, expectedBalance.compareTo(cardResponse.getBody().getBalance()),
+                    "Balance of card " + cardId + " should be " + expectedBalance);
+
+            List<TransactionDTO> transactions = exportTransactions(cardId);
+            // The initial top-up plus every committed operation
+            assertEquals(1 + report.getCommittedOperations().getOrDefault(cardId, 0), transactions.size());
+            assertEquals(0, expectedBalance.compareTo(sumOf(transactions)),
+                    "Transactions of card " + cardId + " should sum up to " + expectedBalance);
+        }
+    }
+
+    /**
+     * Creates the cards under test, each with the initial balance.
+     *
+     * @param count The number of cards to create
+     * @return The identifiers of the created cards
+     */
+    private List<UUID> createCards(int count) {
+        List<UUID> cardIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CreateCardRequestDTO createRequest = new CreateCardRequestDTO();
+            createRequest.setCardholderName("Load User " + i);
+            createRequest.setInitialBalance(INITIAL_BALANCE);
+
+            ResponseEntity<CardDTO> response = getTestRestTemplate().postForEntity(getBaseUrl(), createRequest,
+                    CardDTO.class);
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+            assertNotNull(response.getBody());
+            cardIds.add(response.getBody().getId());
+        }
+        return cardIds;
+    }
+
+    /**
+     * Reads the full transaction history of a card through the NDJSON export.
+     *
+     * @param cardId The card identifier
+     * @return The transactions of the card, newest first
+     */
+    private List<TransactionDTO> exportTransactions(UUID cardId) throws JsonProcessingException {
+        ResponseEntity<String> response =
+                requestManager.makeGetRequest(cardId + "/transactions/export", exportTypeReference);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+
+        List<TransactionDTO> transactions = new ArrayList<>();
+        for (String line : response.getBody().split("\n")) {
+            if (!line.isBlank()) {
+                transactions.add(getObjectMapper().readValue(line, TransactionDTO.class));
+            }
+        }
+        return transactions;
+    }
+
+    /**
+     * Sums the transactions of a card, top-ups as credits and spends as debits.
+     *
+     * @param transactions The transactions to sum
+     * @return The balance the transactions add up to
+     */
+    private static BigDecimal sumOf(List<TransactionDTO> transactions) {
+        return transactions.stream()
+                .map(t -> t.getType() == TransactionType.SPEND ? t.getAmount().negate() : t.getAmount())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.cardplatform.integration.load;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Distribution of the operations of a load run across the cards under test.
+ */
+public enum CardDistribution {
+
+    /**
+     * Every operation targets the same card, so all requests contend on one row.
+     */
+    HOT_CARD {
+        @Override
+        public int cardCount(int requestedCards) {
+            return 1;
+        }
+
+        @Override
+        public Selector selector(int cards) {
+            return random -> 0;
+        }
+    },
+
+    /**
+     * Every card is equally likely to be targeted.
+     */
+    UNIFORM {
+        @Override
+        public Selector selector(int cards) {
+            return random -> random.nextInt(cards);
+        }
+    },
+
+    /**
+     * Cards are targeted with Zipfian popularity: the card of rank {@code k} is chosen with a
+     * probability proportional to {@code 1 / k^ZIPFIAN_EXPONENT}, so a few cards take most of the load.
+     */
+    ZIPFIAN {
+        @Override
+        public Selector selector(int cards) {
+            double[] cumulative = new double[cards];
+            double total = 0;
+            for (int rank = 1; rank <= cards; rank++) {
+                total += 1 / Math.pow(rank, ZIPFIAN_EXPONENT);
+                cumulative[rank - 1] = total;
+            }
+            double sum = total;
+
+            return random -> {
+                int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+                return Math.min(index < 0 ? -index - 1 : index, cards - 1);
+            };
+        }
+    };
+
+    /**
+     * Skew of the Zipfian distribution, as used by YCSB.
+     */
+    private static final double ZIPFIAN_EXPONENT = 0.99;
+
+    /**
+     * Number of cards to create for a run of this distribution.
+     *
+     * @param requestedCards the number of cards configured for the run
+     * @return the number of cards the distribution spreads operations over
+     */
+    public int cardCount(int requestedCards) {
+        return requestedCards;
+    }
+
+    /**
+     * Creates a selector picking card indexes according to this distribution.
+     *
+     * @param cards the number of cards to choose from
+     * @return the selector, safe to share between threads that each pass their own {@link Random}
+     */
+    public abstract Selector selector(int cards);
+
+    /**
+     * Picks the index of the card targeted by the next operation.
+     */
+    @FunctionalInterface
+    public interface Selector {
+
+        /**
+         * @param random the random source of the calling thread
+         * @return the index of the next card, between 0 inclusive and the number of cards exclusive
+         */
+        int next(Random random);
+
+    }
+
+}
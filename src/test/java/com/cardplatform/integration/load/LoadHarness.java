@@ -0,0 +1,95 @@
+package com.cardplatform.integration.load;
+
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionRequestDTO;
+import com.cardplatform.integration.manager.CardRequestManager;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drives spend and top-up requests against the REST API from many threads at once.
+ *
+ * <p>All threads are started together through a latch. Each thread sends {@code operationsPerThread}
+ * requests back to back, choosing the card through the distribution's selector, a spend with
+ * probability {@code spendRatio} and otherwise a top-up, for a random amount between 0.01 and
+ * {@code maxAmount}.</p>
+ */
+@AllArgsConstructor
+public class LoadHarness {
+
+    private final CardRequestManager requestManager;
+    private final int threads;
+    private final int operationsPerThread;
+    private final double spendRatio;
+    private final BigDecimal maxAmount;
+
+    /**
+     * Runs the load against the given cards and waits for all threads to finish.
+     *
+     * @param cardIds the cards under test
+     * @param selector the selector choosing the card of each operation, by index into {@code cardIds}
+     * @return the merged report of all threads
+     * @throws InterruptedException if interrupted while waiting for the threads
+     * @throws ExecutionException if a thread failed with an exception
+     */
+    public LoadReport run(List<UUID> cardIds, CardDistribution.Selector selector)
+            throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch readyLatch = new CountDownLatch(threads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        int maxCents = maxAmount.movePointRight(2).intValueExact();
+
+        Callable<LoadReport> worker = () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            LoadReport report = new LoadReport();
+            readyLatch.countDown();
+            startLatch.await();
+
+            for (int i = 0; i < operationsPerThread; i++) {
+                UUID cardId = cardIds.get(selector.next(random));
+                TransactionType type = random.nextDouble() < spendRatio ? TransactionType.SPEND : TransactionType.TOPUP;
+                TransactionRequestDTO request = new TransactionRequestDTO();
+                request.setAmount(BigDecimal.valueOf(random.nextInt(1, maxCents + 1), 2));
+
+                long start = System.nanoTime();
+                ResponseEntity<String> response = requestManager.makeTransactionRequestRaw(cardId, request,
+                        type == TransactionType.SPEND ? "spend" : "topup");
+                report.record(cardId, type, request.getAmount(), response.getStatusCode(), System.nanoTime() - start);
+            }
+            return report;
+        };
+
+        try {
+            List<Future<LoadReport>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(worker));
+            }
+
+            readyLatch.await();
+            long start = System.nanoTime();
+            startLatch.countDown();
+
+            LoadReport report = new LoadReport();
+            for (Future<LoadReport> future : futures) {
+                report.merge(future.get());
+            }
+            report.setElapsedNanos(System.nanoTime() - start);
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
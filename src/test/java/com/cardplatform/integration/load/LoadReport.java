@@ -0,0 +1,136 @@
+package com.cardplatform.integration.load;
+
+import com.cardplatform.domain.model.enums.TransactionType;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a load run: response counts by status, the latency distribution of all requests,
+ * and the net amount and number of operations the server reported as committed for each card.
+ *
+ * <p>Each load thread fills its own report, which are merged once the run completes; a report is not thread-safe.</p>
+ */
+@Getter
+public class LoadReport {
+
+    /**
+     * Latency of every request, in nanoseconds, with three significant digits.
+     */
+    private final Histogram latency = new Histogram(3);
+
+    /**
+     * Net committed amount per card: top-ups minus spends answered with 200 OK.
+     */
+    private final Map<UUID, BigDecimal> committedAmounts = new HashMap<>();
+
+    /**
+     * Number of operations answered with 200 OK per card.
+     */
+    private final Map<UUID, Integer> committedOperations = new HashMap<>();
+
+    private long requests;
+
+    private long committed;
+
+    private long conflicts;
+
+    private long badRequests;
+
+    private long errors;
+
+    private long elapsedNanos;
+
+    /**
+     * Records the response to a single spend or top-up request.
+     *
+     * @param cardId the card the operation targeted
+     * @param type the type of the operation
+     * @param amount the amount of the operation
+     * @param status the response status
+     * @param latencyNanos the time from sending the request to reading the response
+     */
+    void record(UUID cardId, TransactionType type, BigDecimal amount, HttpStatus status, long latencyNanos) {
+        requests++;
+        latency.recordValue(latencyNanos);
+
+        if (status == HttpStatus.OK) {
+            committed++;
+            committedAmounts.merge(cardId, type == TransactionType.SPEND ? amount.negate() : amount, BigDecimal::add);
+            committedOperations.merge(cardId, 1, Integer::sum);
+        } else if (status == HttpStatus.CONFLICT) {
+            conflicts++;
+        } else if (status == HttpStatus.BAD_REQUEST) {
+            badRequests++;
+        } else {
+            errors++;
+        }
+    }
+
+    /**
+     * Adds the outcome recorded by another report, typically the one of another load thread.
+     *
+     * @param other the report to add
+     */
+    void merge(LoadReport other) {
+        requests += other.requests;
+        committed += other.committed;
+        conflicts += other.conflicts;
+        badRequests += other.badRequests;
+        errors += other.errors;
+        latency.add(other.latency);
+        other.committedAmounts.forEach((cardId, amount) -> committedAmounts.merge(cardId, amount, BigDecimal::add));
+        other.committedOperations.forEach((cardId, count) -> committedOperations.merge(cardId, count, Integer::sum));
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the number of requests completed per second over the whole run
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : requests * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * @return the share of requests answered with 409 Conflict
+     */
+    public double getConflictRate() {
+        return requests == 0 ? 0 : (double) conflicts / requests;
+    }
+
+    /**
+     * @return the share of requests answered with 400 Bad Request
+     */
+    public double getBadRequestRate() {
+        return requests == 0 ? 0 : (double) badRequests / requests;
+    }
+
+    /**
+     * Formats the report on a single line.
+     *
+     * @param scenario the name of the scenario the report belongs to
+     * @return the formatted report
+     */
+    public String summary(String scenario) {
+        return String.format("%s: %d requests in %d ms, %.0f req/s, latency p50=%.2f ms p99=%.2f ms "
+                        + "p999=%.2f ms max=%.2f ms, 200=%d, 409=%d (%.2f%%), 400=%d (%.2f%%), other=%d",
+                scenario, requests, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getThroughput(),
+                toMillis(latency.getValueAtPercentile(50)), toMillis(latency.getValueAtPercentile(99)),
+                toMillis(latency.getValueAtPercentile(99.9)), toMillis(latency.getMaxValue()),
+                committed, conflicts, getConflictRate() * 100, badRequests, getBadRequestRate() * 100, errors);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
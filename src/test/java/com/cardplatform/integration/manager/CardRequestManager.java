@@ -107,6 +107,32 @@ public class CardRequestManager {
         );
     }
 
+    /**
+     * Makes a POST request for card transactions (spend/topup) carrying an Idempotency-Key header.
+     *
+     * @param cardId The card identifier
+     * @param dto The transaction DTO
+     * @param operation The operation (spend/topup)
+     * @param idempotencyKey The idempotency key sent with the request
+     * @param typeReference Type reference for response deserialization
+     * @param <T> The type of the DTO
+     * @param <R> The type of the response
+     * @return ResponseEntity containing the updated card
+     */
+    public <T, R> ResponseEntity<R> makeTransactionRequest(final UUID cardId, final T dto, final String operation,
+                                                           final String idempotencyKey,
+                                                           final ParameterizedTypeReference<R> typeReference) {
+        HttpHeaders headers = createJsonHeaders();
+        headers.set("Idempotency-Key", idempotencyKey);
+        HttpEntity<T> request = new HttpEntity<>(dto, headers);
+        return testRestTemplate.exchange(
+                baseUrl + "/" + cardId + "/" + operation,
+                HttpMethod.POST,
+                request,
+                typeReference
+        );
+    }
+
     /**
      * Makes a POST request for card transactions (spend/topup) and returns the raw response as a String.
      * This is useful for concurrent test scenarios where the response could be either a success (CardDTO)
@@ -0,0 +1,128 @@
+package com.cardplatform.integration.persistence;
+
+import com.cardplatform.domain.model.enums.CardStatus;
+import com.cardplatform.infrastructure.web.dto.card.CardDTO;
+import com.cardplatform.infrastructure.web.dto.card.CreateCardRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionRequestDTO;
+import com.cardplatform.integration.BaseCardIntegrationTest;
+import com.cardplatform.integration.manager.CardRequestManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts that card reads carry an entity tag and answer 304 Not Modified while the card is unchanged, and
+ * that block and activate honour {@code If-Match}.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestPropertySource(properties = "card-platform.rate-limit.mode=none")
+public class CardConditionalRequestIntegrationTests extends BaseCardIntegrationTest {
+
+    private CardRequestManager requestManager;
+    private ParameterizedTypeReference<CardDTO> cardTypeReference;
+
+    private UUID cardId;
+
+    @BeforeAll
+    public final void setup() {
+        this.setBaseUrl("http://localhost:" + this.getServerPort() + "/api/v1/cards");
+        requestManager = new CardRequestManager(getBaseUrl(), getTestRestTemplate());
+        cardTypeReference = new ParameterizedTypeReference<>() {};
+
+        CreateCardRequestDTO createRequest = new CreateCardRequestDTO();
+        createRequest.setCardholderName("Conditional User");
+        createRequest.setInitialBalance(BigDecimal.valueOf(100.0));
+        cardId = getTestRestTemplate().postForEntity(getBaseUrl(), createRequest, CardDTO.class).getBody().getId();
+    }
+
+    /**
+     * The card, its balance and its status share one entity tag, and a request sending it gets 304 without
+     * a body until the card changes.
+     */
+    @Test
+    @Order(1)
+    public void shouldAnswerNotModifiedUntilCardChanges() {
+        ResponseEntity<String> cardResponse = get("", null);
+        assertEquals(HttpStatus.OK, cardResponse.getStatusCode());
+        String eTag = cardResponse.getHeaders().getETag();
+        assertNotNull(eTag);
+
+        for (String path : new String[] {"", "/balance", "/status"}) {
+            ResponseEntity<String> notModified = get(path, eTag);
+            assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+            assertEquals(eTag, notModified.getHeaders().getETag());
+            assertNull(notModified.getBody());
+        }
+        assertEquals(HttpStatus.NOT_MODIFIED, get("/balance", "\"0-0\", W/" + eTag).getStatusCode());
+
+        TransactionRequestDTO spendRequest = new TransactionRequestDTO();
+        spendRequest.setAmount(BigDecimal.valueOf(10.0));
+        assertEquals(HttpStatus.OK, requestManager.makeTransactionRequestRaw(cardId, spendRequest, "spend")
+                .getStatusCode());
+
+        ResponseEntity<String> modified = get("/balance", eTag);
+        assertEquals(HttpStatus.OK, modified.getStatusCode());
+        assertNotEquals(eTag, modified.getHeaders().getETag());
+        assertNotNull(modified.getBody());
+    }
+
+    /**
+     * Block and activate are refused with 412 unless the card still has one of the entity tags sent in
+     * {@code If-Match}, and answer with the entity tag of the updated card.
+     */
+    @Test
+    @Order(2)
+    public void shouldUpdateStatusOnlyIfMatch() {
+        String eTag = get("", null).getHeaders().getETag();
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, updateStatus("block", "\"0-0\"").getStatusCode());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, updateStatus("block", "W/" + eTag).getStatusCode());
+        ResponseEntity<CardDTO> unchanged = requestManager.makeGetRequest(cardId, cardTypeReference);
+        assertNotNull(unchanged.getBody());
+        assertEquals(CardStatus.ACTIVE, unchanged.getBody().getStatus());
+
+        ResponseEntity<String> blocked = updateStatus("block", eTag);
+        assertEquals(HttpStatus.OK, blocked.getStatusCode());
+        ResponseEntity<CardDTO> blockedCard = requestManager.makeGetRequest(cardId, cardTypeReference);
+        assertNotNull(blockedCard.getBody());
+        assertEquals(CardStatus.BLOCKED, blockedCard.getBody().getStatus());
+        assertEquals(blocked.getHeaders().getETag(), blockedCard.getHeaders().getETag());
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, updateStatus("activate", eTag).getStatusCode());
+        assertEquals(HttpStatus.OK, updateStatus("activate", "*").getStatusCode());
+        assertEquals(HttpStatus.OK, updateStatus("block", null).getStatusCode());
+    }
+
+    private ResponseEntity<String> get(String path, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return getTestRestTemplate().exchange(getBaseUrl() + "/" + cardId + path, HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+    }
+
+    private ResponseEntity<String> updateStatus(String operation, String ifMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifMatch != null) {
+            headers.set(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return getTestRestTemplate().exchange(getBaseUrl() + "/" + cardId + "/" + operation, HttpMethod.PUT,
+                new HttpEntity<>(headers), String.class);
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.cardplatform.integration.persistence;
+
+import com.cardplatform.infrastructure.web.dto.card.CardDTO;
+import com.cardplatform.infrastructure.web.dto.card.CreateCardRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionRequestDTO;
+import com.cardplatform.integration.BaseCardIntegrationTest;
+import com.cardplatform.integration.manager.CardRequestManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts that spends and top-ups routed through the per-card execution lanes are applied in order and reuse
+ * the card state left by the previous command of the same card.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestPropertySource(properties = {
+        "card-platform.execution-lanes.enabled=true",
+        "card-platform.execution-lanes.lanes=4",
+        "card-platform.rate-limit.mode=none"
+})
+public class CardExecutionLaneIntegrationTests extends BaseCardIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CardRequestManager requestManager;
+    private ParameterizedTypeReference<CardDTO> cardTypeReference;
+    private Statistics statistics;
+
+    private UUID cardId;
+
+    @BeforeAll
+    public final void setup() {
+        this.setBaseUrl("http://localhost:" + this.getServerPort() + "/api/v1/cards");
+        requestManager = new CardRequestManager(getBaseUrl(), getTestRestTemplate());
+        cardTypeReference = new ParameterizedTypeReference<>() {};
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        CreateCardRequestDTO createRequest = new CreateCardRequestDTO();
+        createRequest.setCardholderName("Lane User");
+        createRequest.setInitialBalance(BigDecimal.valueOf(100.0));
+        cardId = getTestRestTemplate().postForEntity(getBaseUrl(), createRequest, CardDTO.class).getBody().getId();
+    }
+
+    @BeforeEach
+    public void resetStatistics() {
+        statistics.clear();
+    }
+
+    /**
+     * The first spend of a card on its lane debits and re-reads the card; the next one starts from the
+     * state left by the first and skips the re-read.
+     */
+    @Test
+    @Order(1)
+    public void shouldSkipCardReselectForConsecutiveSpends() {
+        TransactionRequestDTO spendRequest = new TransactionRequestDTO();
+        spendRequest.setAmount(BigDecimal.valueOf(10.0));
+
+        ResponseEntity<CardDTO> firstResponse = requestManager.makeTransactionRequest(
+                cardId, spendRequest, "spend", cardTypeReference);
+
+        assertEquals(HttpStatus.OK, firstResponse.getStatusCode());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        statistics.clear();
+
+        ResponseEntity<CardDTO> secondResponse = requestManager.makeTransactionRequest(
+                cardId, spendRequest, "spend", cardTypeReference);
+
+        assertEquals(HttpStatus.OK, secondResponse.getStatusCode());
+        assertNotNull(secondResponse.getBody());
+        assertEquals(0, BigDecimal.valueOf(80.0).compareTo(secondResponse.getBody().getBalance()));
+        assertEquals(firstResponse.getBody().getVersion() + 1, secondResponse.getBody().getVersion());
+        // Versioned debit and transaction insert only
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * A block routed through the lane replaces the card state it remembers, so a following top-up is
+     * rejected because the card is blocked.
+     */
+    @Test
+    @Order(2)
+    public void shouldRejectTopUpAfterBlockOnSameLane() {
+        requestManager.makeStatusUpdateRequest(cardId, "block", cardTypeReference);
+
+        TransactionRequestDTO topUpRequest = new TransactionRequestDTO();
+        topUpRequest.setAmount(BigDecimal.valueOf(5.0));
+        ResponseEntity<String> response = requestManager.makeTransactionRequestRaw(cardId, topUpRequest, "topup");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        requestManager.makeStatusUpdateRequest(cardId, "activate", cardTypeReference);
+    }
+
+    /**
+     * Concurrent spends on the same card are serialised by its lane: all succeed, the final balance reflects
+     * every debit exactly once, and the lane wait time is recorded.
+     */
+    @Test
+    @Order(3)
+    public void shouldSerialiseConcurrentSpendsOnSameCard() throws Exception {
+        TransactionRequestDTO spendRequest = new TransactionRequestDTO();
+        spendRequest.setAmount(BigDecimal.valueOf(1.0));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<ResponseEntity<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                return requestManager.makeTransactionRequestRaw(cardId, spendRequest, "spend");
+            }));
+        }
+        startLatch.countDown();
+
+        for (Future<ResponseEntity<String>> future : futures) {
+            ResponseEntity<String> response = future.get(10, TimeUnit.SECONDS);
+            assertEquals(HttpStatus.OK, response.getStatusCode(), "Spend should succeed: " + response.getBody());
+        }
+        executor.shutdownNow();
+
+        ResponseEntity<CardDTO> cardResponse = requestManager.makeGetRequest(cardId, cardTypeReference);
+        assertNotNull(cardResponse.getBody());
+        assertEquals(0, BigDecimal.valueOf(40.0).compareTo(cardResponse.getBody().getBalance()));
+        assertTrue(meterRegistry.get("card.lane.wait").timers().stream().mapToLong(timer -> timer.count()).sum() > 0);
+    }
+
+}
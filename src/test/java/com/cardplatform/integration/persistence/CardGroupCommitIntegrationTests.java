@@ -0,0 +1,141 @@
+package com.cardplatform.integration.persistence;
+
+import com.cardplatform.infrastructure.web.dto.card.CardDTO;
+import com.cardplatform.infrastructure.web.dto.card.CreateCardRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionRequestDTO;
+import com.cardplatform.integration.BaseCardIntegrationTest;
+import com.cardplatform.integration.manager.CardRequestManager;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts that concurrent spends and top-ups are group committed in shared transactions while each request
+ * is still answered with its own outcome.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestPropertySource(properties = {
+        "card-platform.group-commit.enabled=true",
+        "card-platform.group-commit.flushers=1",
+        "card-platform.group-commit.max-wait=20ms",
+        "card-platform.rate-limit.mode=none"
+})
+public class CardGroupCommitIntegrationTests extends BaseCardIntegrationTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CardRequestManager requestManager;
+    private ParameterizedTypeReference<CardDTO> cardTypeReference;
+
+    @BeforeAll
+    public final void setup() {
+        this.setBaseUrl("http://localhost:" + this.getServerPort() + "/api/v1/cards");
+        requestManager = new CardRequestManager(getBaseUrl(), getTestRestTemplate());
+        cardTypeReference = new ParameterizedTypeReference<>() {};
+    }
+
+    /**
+     * A single spend is committed on its own and answered with the updated card.
+     */
+    @Test
+    @Order(1)
+    public void shouldApplySingleSpend() {
+        UUID cardId = createCard("Group Commit User", BigDecimal.valueOf(100.0));
+
+        TransactionRequestDTO spendRequest = new TransactionRequestDTO();
+        spendRequest.setAmount(BigDecimal.valueOf(30.0));
+        ResponseEntity<CardDTO> response = requestManager.makeTransactionRequest(
+                cardId, spendRequest, "spend", cardTypeReference);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(0, BigDecimal.valueOf(70.0).compareTo(response.getBody().getBalance()));
+    }
+
+    /**
+     * Concurrent spends across several cards share transactions: all of them succeed except the spend that
+     * exceeds its card's balance, which is answered with 400 Bad Request without affecting the others.
+     */
+    @Test
+    @Order(2)
+    public void shouldGroupCommitConcurrentSpendsAndDeclineIndividually() throws Exception {
+        List<UUID> cardIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            cardIds.add(createCard("Group Commit User " + i, BigDecimal.valueOf(50.0)));
+        }
+        UUID poorCardId = createCard("Group Commit Poor User", BigDecimal.valueOf(5.0));
+
+        TransactionRequestDTO spendRequest = new TransactionRequestDTO();
+        spendRequest.setAmount(BigDecimal.valueOf(1.0));
+        TransactionRequestDTO largeSpendRequest = new TransactionRequestDTO();
+        largeSpendRequest.setAmount(BigDecimal.valueOf(10.0));
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<ResponseEntity<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            UUID cardId = cardIds.get(i % cardIds.size());
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                return requestManager.makeTransactionRequestRaw(cardId, spendRequest, "spend");
+            }));
+        }
+        Future<ResponseEntity<String>> declined = executor.submit(() -> {
+            startLatch.await();
+            return requestManager.makeTransactionRequestRaw(poorCardId, largeSpendRequest, "spend");
+        });
+        startLatch.countDown();
+
+        for (Future<ResponseEntity<String>> future : futures) {
+            ResponseEntity<String> response = future.get(10, TimeUnit.SECONDS);
+            assertEquals(HttpStatus.OK, response.getStatusCode(), "Spend should succeed: " + response.getBody());
+        }
+        assertEquals(HttpStatus.BAD_REQUEST, declined.get(10, TimeUnit.SECONDS).getStatusCode());
+        executor.shutdownNow();
+
+        for (UUID cardId : cardIds) {
+            ResponseEntity<CardDTO> cardResponse = requestManager.makeGetRequest(cardId, cardTypeReference);
+            assertNotNull(cardResponse.getBody());
+            assertEquals(0, BigDecimal.valueOf(40.0).compareTo(cardResponse.getBody().getBalance()));
+        }
+        ResponseEntity<CardDTO> poorCardResponse = requestManager.makeGetRequest(poorCardId, cardTypeReference);
+        assertNotNull(poorCardResponse.getBody());
+        assertEquals(0, BigDecimal.valueOf(5.0).compareTo(poorCardResponse.getBody().getBalance()));
+
+        DistributionSummary batchSizes = meterRegistry.get("card.group-commit.batch.size").summary();
+        assertTrue(batchSizes.max() > 1, "Concurrent spends should share a transaction");
+    }
+
+    /**
+     * Creates a card with the given initial balance.
+     *
+     * @param cardholderName The name of the cardholder
+     * @param initialBalance The initial balance
+     * @return The identifier of the created card
+     */
+    private UUID createCard(String cardholderName, BigDecimal initialBalance) {
+        CreateCardRequestDTO createRequest = new CreateCardRequestDTO();
+        createRequest.setCardholderName(cardholderName);
+        createRequest.setInitialBalance(initialBalance);
+        return getTestRestTemplate().postForEntity(getBaseUrl(), createRequest, CardDTO.class).getBody().getId();
+    }
+
+}
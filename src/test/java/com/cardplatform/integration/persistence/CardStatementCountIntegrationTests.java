@@ -0,0 +1,261 @@
+package com.cardplatform.integration.persistence;
+
+import com.cardplatform.domain.model.enums.CardOperationStatus;
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.infrastructure.web.dto.card.BulkCardIssuanceResponseDTO;
+import com.cardplatform.infrastructure.web.dto.card.BulkCardIssuanceResultDTO;
+import com.cardplatform.infrastructure.web.dto.card.CardDTO;
+import com.cardplatform.infrastructure.web.dto.card.CreateCardRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.BatchCardOperationResponseDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.CardOperationRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.CardOperationResultDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionRequestDTO;
+import com.cardplatform.integration.BaseCardIntegrationTest;
+import com.cardplatform.integration.manager.CardRequestManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts the exact number of JDBC statements issued by the card write paths, using Hibernate statistics.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CardStatementCountIntegrationTests extends BaseCardIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private CardRequestManager requestManager;
+    private ParameterizedTypeReference<CardDTO> cardTypeReference;
+    private Statistics statistics;
+
+    private UUID cardId;
+
+    @BeforeAll
+    public final void setup() {
+        this.setBaseUrl("http://localhost:" + this.getServerPort() + "/api/v1/cards");
+        requestManager = new CardRequestManager(getBaseUrl(), getTestRestTemplate());
+        cardTypeReference = new ParameterizedTypeReference<>() {};
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @BeforeEach
+    public void resetStatistics() {
+        statistics.clear();
+    }
+
+    /**
+     * Card creation inserts the card and its initial top-up transaction, nothing else.
+     */
+    @Test
+    @Order(1)
+    public void shouldCreateCardWithTwoInserts() {
+        CreateCardRequestDTO createRequest = new CreateCardRequestDTO();
+        createRequest.setCardholderName("Statement Count User");
+        createRequest.setInitialBalance(BigDecimal.valueOf(100.0));
+
+        ResponseEntity<CardDTO> responseEntity = getTestRestTemplate().postForEntity(
+                getBaseUrl(), createRequest, CardDTO.class);
+
+        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
+        assertNotNull(responseEntity.getBody());
+        cardId = responseEntity.getBody().getId();
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * A spend issues the conditional debit, the reselect of the card and the transaction insert.
+     */
+    @Test
+    @Order(2)
+    public void shouldSpendWithThreeStatements() {
+        TransactionRequestDTO spendRequest = new TransactionRequestDTO();
+        spendRequest.setAmount(BigDecimal.valueOf(25.0));
+
+        ResponseEntity<CardDTO> responseEntity = requestManager.makeTransactionRequest(
+                cardId, spendRequest, "spend", cardTypeReference);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * A top-up issues the conditional credit, the reselect of the card and the transaction insert.
+     */
+    @Test
+    @Order(3)
+    public void shouldTopUpWithThreeStatements() {
+        TransactionRequestDTO topUpRequest = new TransactionRequestDTO();
+        topUpRequest.setAmount(BigDecimal.valueOf(50.0));
+
+        ResponseEntity<CardDTO> responseEntity = requestManager.makeTransactionRequest(
+                cardId, topUpRequest, "topup", cardTypeReference);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * Bulk issuance inserts the valid cards and their initial top-up transactions in JDBC batches,
+     * preparing one statement per table instead of one per row, and reports invalid items individually.
+     */
+    @Test
+    @Order(4)
+    public void shouldIssueCardsInBulkWithBatchedInserts() {
+        List<CreateCardRequestDTO> createRequests = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            CreateCardRequestDTO createRequest = new CreateCardRequestDTO();
+            createRequest.setCardholderName(i == 5 ? "" : "Bulk User " + i);
+            createRequest.setInitialBalance(BigDecimal.valueOf(10.0));
+            createRequests.add(createRequest);
+        }
+
+        ResponseEntity<BulkCardIssuanceResponseDTO> responseEntity = getTestRestTemplate().postForEntity(
+                getBaseUrl() + "/bulk", createRequests, BulkCardIssuanceResponseDTO.class);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertNotNull(responseEntity.getBody());
+
+        BulkCardIssuanceResponseDTO response = responseEntity.getBody();
+        assertEquals(120, response.getRequested());
+        assertEquals(119, response.getIssued());
+        assertEquals(1, response.getRejected());
+        assertEquals(0, response.getFailed());
+        assertEquals(BulkCardIssuanceResultDTO.Status.REJECTED, response.getResults().get(5).getStatus());
+        assertEquals("Cardholder name cannot be blank", response.getResults().get(5).getMessage());
+        assertEquals(BulkCardIssuanceResultDTO.Status.ISSUED, response.getResults().get(6).getStatus());
+        assertNotNull(response.getResults().get(6).getCardId());
+
+        // 119 cards and 119 transactions, each sent as batches over a single prepared statement
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(238, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * A batch of card operations reads all its cards with one query and inserts all its transactions
+     * over one prepared statement, applying each card's operations in request order and reporting
+     * declined operations individually.
+     */
+    @Test
+    @Order(5)
+    public void shouldApplyBatchOfOperationsWithBatchedStatements() {
+        CreateCardRequestDTO createRequest = new CreateCardRequestDTO();
+        createRequest.setCardholderName("Batch User");
+        createRequest.setInitialBalance(BigDecimal.valueOf(10.0));
+        UUID otherCardId = getTestRestTemplate().postForEntity(getBaseUrl(), createRequest, CardDTO.class)
+                .getBody().getId();
+        statistics.clear();
+
+        List<CardOperationRequestDTO> operations = List.of(
+                new CardOperationRequestDTO(cardId, TransactionType.SPEND, BigDecimal.valueOf(5.0)),
+                new CardOperationRequestDTO(otherCardId, TransactionType.SPEND, BigDecimal.valueOf(20.0)),
+                new CardOperationRequestDTO(otherCardId, TransactionType.TOPUP, BigDecimal.valueOf(15.0)),
+                new CardOperationRequestDTO(UUID.randomUUID(), TransactionType.TOPUP, BigDecimal.ONE),
+                new CardOperationRequestDTO(cardId, TransactionType.SPEND, BigDecimal.ZERO),
+                new CardOperationRequestDTO(otherCardId, TransactionType.SPEND, BigDecimal.valueOf(20.0)),
+                new CardOperationRequestDTO(cardId, TransactionType.SPEND, BigDecimal.ONE),
+                new CardOperationRequestDTO(cardId, TransactionType.SPEND, BigDecimal.ONE),
+                new CardOperationRequestDTO(cardId, TransactionType.SPEND, BigDecimal.ONE),
+                new CardOperationRequestDTO(cardId, TransactionType.SPEND, BigDecimal.ONE));
+
+        ResponseEntity<BatchCardOperationResponseDTO> responseEntity = getTestRestTemplate().postForEntity(
+                getBaseUrl() + "/batch", operations, BatchCardOperationResponseDTO.class);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertNotNull(responseEntity.getBody());
+
+        BatchCardOperationResponseDTO response = responseEntity.getBody();
+        List<CardOperationResultDTO> results = response.getResults();
+        assertEquals(10, response.getRequested());
+        assertEquals(6, response.getApplied());
+        assertEquals(CardOperationStatus.APPLIED, results.get(0).getStatus());
+        assertEquals(0, BigDecimal.valueOf(120.0).compareTo(results.get(0).getBalance()));
+        assertEquals(CardOperationStatus.INSUFFICIENT_BALANCE, results.get(1).getStatus());
+        assertEquals(CardOperationStatus.APPLIED, results.get(2).getStatus());
+        assertEquals(CardOperationStatus.CARD_NOT_FOUND, results.get(3).getStatus());
+        assertEquals(CardOperationStatus.REJECTED, results.get(4).getStatus());
+        assertEquals(CardOperationStatus.APPLIED, results.get(5).getStatus());
+        assertEquals(0, BigDecimal.valueOf(5.0).compareTo(results.get(5).getBalance()));
+        // One spend from the earlier test plus four in this batch exhaust the limit of five per minute
+        assertEquals(CardOperationStatus.APPLIED, results.get(8).getStatus());
+        assertEquals(0, BigDecimal.valueOf(117.0).compareTo(results.get(8).getBalance()));
+        assertEquals(CardOperationStatus.RATE_LIMITED, results.get(9).getStatus());
+
+        // One SELECT for all cards and one batched INSERT for all transactions; balances go through JDBC
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(6, statistics.getEntityInsertCount());
+        assertEquals(2, statistics.getEntityLoadCount());
+
+        ResponseEntity<CardDTO> cardResponse = requestManager.makeGetRequest(cardId, cardTypeReference);
+        assertEquals(0, BigDecimal.valueOf(117.0).compareTo(cardResponse.getBody().getBalance()));
+        ResponseEntity<CardDTO> otherCardResponse = requestManager.makeGetRequest(otherCardId, cardTypeReference);
+        assertEquals(0, BigDecimal.valueOf(5.0).compareTo(otherCardResponse.getBody().getBalance()));
+    }
+
+    /**
+     * A retry with the same idempotency key is answered from the committed record without any statement
+     * and without applying the top-up again; reusing the key for a different amount is rejected.
+     */
+    @Test
+    @Order(6)
+    public void shouldReplayTopUpWithSameIdempotencyKeyWithoutStatements() {
+        TransactionRequestDTO topUpRequest = new TransactionRequestDTO();
+        topUpRequest.setAmount(BigDecimal.valueOf(10.0));
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        ResponseEntity<CardDTO> firstResponse = requestManager.makeTransactionRequest(
+                cardId, topUpRequest, "topup", idempotencyKey, cardTypeReference);
+
+        assertEquals(HttpStatus.OK, firstResponse.getStatusCode());
+        assertNotNull(firstResponse.getBody());
+        assertEquals(0, BigDecimal.valueOf(127.0).compareTo(firstResponse.getBody().getBalance()));
+        // Key lookup, conditional credit, reselect of the card, transaction insert and key insert
+        assertEquals(5, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getEntityInsertCount());
+        statistics.clear();
+
+        ResponseEntity<CardDTO> replayResponse = requestManager.makeTransactionRequest(
+                cardId, topUpRequest, "topup", idempotencyKey, cardTypeReference);
+
+        assertEquals(HttpStatus.OK, replayResponse.getStatusCode());
+        assertEquals(firstResponse.getBody(), replayResponse.getBody());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        TransactionRequestDTO otherRequest = new TransactionRequestDTO();
+        otherRequest.setAmount(BigDecimal.valueOf(20.0));
+        ResponseEntity<String> mismatchResponse = requestManager.makeTransactionRequest(
+                cardId, otherRequest, "topup", idempotencyKey, new ParameterizedTypeReference<String>() {});
+        assertEquals(HttpStatus.BAD_REQUEST, mismatchResponse.getStatusCode());
+
+        ResponseEntity<CardDTO> cardResponse = requestManager.makeGetRequest(cardId, cardTypeReference);
+        assertEquals(0, BigDecimal.valueOf(127.0).compareTo(cardResponse.getBody().getBalance()));
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.cardplatform.integration.persistence;
+
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.infrastructure.persistence.support.UuidBinaryConverter;
+import com.cardplatform.infrastructure.web.dto.card.CardDTO;
+import com.cardplatform.infrastructure.web.dto.card.CreateCardRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.BatchCardOperationResponseDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.CardOperationRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionRequestDTO;
+import com.cardplatform.integration.BaseCardIntegrationTest;
+import com.cardplatform.integration.manager.CardRequestManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts that with the event-sourced ledger, spends and top-ups are appended to the card's transactions
+ * without updating its row, that balances are folded from the latest snapshot and the transactions after it,
+ * and that concurrent appends to the same card are all applied, in one gapless sequence.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestPropertySource(properties = {
+        "card-platform.rate-limit.mode=none",
+        "card-platform.ledger.event-sourced=true",
+        "card-platform.ledger.snapshot-interval=3",
+        "card-platform.ledger.max-attempts=50"
+})
+public class EventSourcedLedgerIntegrationTests extends BaseCardIntegrationTest {
+
+    private static final String CARD_ROW_SQL = "SELECT balance, version FROM cards WHERE id = ?";
+
+    private static final String SNAPSHOTS_SQL =
+            "SELECT seq, balance FROM card_balance_snapshots WHERE card_id = ?";
+
+    private static final String SEQS_SQL = "SELECT seq FROM transactions WHERE card_id = ? ORDER BY seq";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CardRequestManager requestManager;
+    private ParameterizedTypeReference<CardDTO> cardTypeReference;
+
+    private UUID cardId;
+
+    @BeforeAll
+    public final void setup() {
+        this.setBaseUrl("http://localhost:" + this.getServerPort() + "/api/v1/cards");
+        requestManager = new CardRequestManager(getBaseUrl(), getTestRestTemplate());
+        cardTypeReference = new ParameterizedTypeReference<>() {};
+
+        CreateCardRequestDTO createRequest = new CreateCardRequestDTO();
+        createRequest.setCardholderName("Ledger User");
+        createRequest.setInitialBalance(BigDecimal.valueOf(100.0));
+        cardId = getTestRestTemplate().postForEntity(getBaseUrl(), createRequest, CardDTO.class).getBody().getId();
+    }
+
+    /**
+     * Spends are appended without touching the card row, the first one snapshots the card and the next
+     * snapshot replaces it once three more transactions were appended.
+     */
+    @Test
+    @Order(1)
+    public void shouldAppendSpendsAndSnapshotBalances() {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(HttpStatus.OK, spend(10.0).getStatusCode());
+        }
+
+        ResponseEntity<CardDTO> cardResponse = requestManager.makeGetRequest(cardId, cardTypeReference);
+        assertNotNull(cardResponse.getBody());
+        assertEquals(0, BigDecimal.valueOf(60.0).compareTo(cardResponse.getBody().getBalance()));
+
+        Map<String, Object> cardRow = jdbcTemplate.queryForMap(CARD_ROW_SQL, (Object) card());
+        assertEquals(0, BigDecimal.valueOf(100.0).compareTo((BigDecimal) cardRow.get("balance")));
+        assertEquals(0L, ((Number) cardRow.get("version")).longValue());
+
+        List<Map<String, Object>> snapshots = jdbcTemplate.queryForList(SNAPSHOTS_SQL, (Object) card());
+        assertEquals(1, snapshots.size());
+        assertEquals(4L, ((Number) snapshots.get(0).get("seq")).longValue());
+        assertEquals(0, BigDecimal.valueOf(60.0).compareTo((BigDecimal) snapshots.get(0).get("balance")));
+    }
+
+    /**
+     * Spends are still checked against the folded balance and the card status, and status changes answer
+     * with the folded balance.
+     */
+    @Test
+    @Order(2)
+    public void shouldCheckSpendsAgainstFoldedCard() {
+        assertEquals(HttpStatus.BAD_REQUEST, spend(1000.0).getStatusCode());
+
+        ResponseEntity<CardDTO> blockResponse = requestManager.makeStatusUpdateRequest(cardId, "block",
+                cardTypeReference);
+        assertNotNull(blockResponse.getBody());
+        assertEquals(0, BigDecimal.valueOf(60.0).compareTo(blockResponse.getBody().getBalance()));
+        assertEquals(HttpStatus.BAD_REQUEST, spend(1.0).getStatusCode());
+        requestManager.makeStatusUpdateRequest(cardId, "activate", cardTypeReference);
+
+        List<CardOperationRequestDTO> operations = List.of(
+                new CardOperationRequestDTO(cardId, TransactionType.SPEND, BigDecimal.valueOf(5.0)),
+                new CardOperationRequestDTO(cardId, TransactionType.TOPUP, BigDecimal.valueOf(25.0)));
+        ResponseEntity<BatchCardOperationResponseDTO> batchResponse = getTestRestTemplate().postForEntity(
+                getBaseUrl() + "/batch", operations, BatchCardOperationResponseDTO.class);
+        assertEquals(HttpStatus.OK, batchResponse.getStatusCode());
+        assertNotNull(batchResponse.getBody());
+        assertEquals(2, batchResponse.getBody().getApplied());
+
+        ResponseEntity<CardDTO> cardResponse = requestManager.makeGetRequest(cardId, cardTypeReference);
+        assertNotNull(cardResponse.getBody());
+        assertEquals(0, BigDecimal.valueOf(80.0).compareTo(cardResponse.getBody().getBalance()));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L),
+                jdbcTemplate.queryForList(SEQS_SQL, Long.class, (Object) card()));
+    }
+
+    /**
+     * Concurrent spends on the same card all succeed, each numbered right after the previous one.
+     */
+    @Test
+    @Order(3)
+    public void shouldApplyConcurrentAppendsToSameCard() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<ResponseEntity<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                return spend(1.0);
+            }));
+        }
+        startLatch.countDown();
+
+        for (Future<ResponseEntity<String>> future : futures) {
+            ResponseEntity<String> response = future.get(30, TimeUnit.SECONDS);
+            assertEquals(HttpStatus.OK, response.getStatusCode(), "Spend should succeed: " + response.getBody());
+        }
+        executor.shutdownNow();
+
+        ResponseEntity<CardDTO> cardResponse = requestManager.makeGetRequest(cardId, cardTypeReference);
+        assertNotNull(cardResponse.getBody());
+        assertEquals(0, BigDecimal.valueOf(64.0).compareTo(cardResponse.getBody().getBalance()));
+        assertEquals(LongStream.rangeClosed(0, 22).boxed().collect(Collectors.toList()),
+                jdbcTemplate.queryForList(SEQS_SQL, Long.class, (Object) card()));
+    }
+
+    private ResponseEntity<String> spend(double amount) {
+        TransactionRequestDTO spendRequest = new TransactionRequestDTO();
+        spendRequest.setAmount(BigDecimal.valueOf(amount));
+        return requestManager.makeTransactionRequestRaw(cardId, spendRequest, "spend");
+    }
+
+    private byte[] card() {
+        return UuidBinaryConverter.toBytes(cardId);
+    }
+
+}
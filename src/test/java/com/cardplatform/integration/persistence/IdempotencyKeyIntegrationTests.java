@@ -0,0 +1,96 @@
+package com.cardplatform.integration.persistence;
+
+import com.cardplatform.infrastructure.persistence.adapter.idempotency.IdempotencyKeyPurger;
+import com.cardplatform.infrastructure.web.dto.card.CardDTO;
+import com.cardplatform.infrastructure.web.dto.card.CreateCardRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionRequestDTO;
+import com.cardplatform.integration.BaseCardIntegrationTest;
+import com.cardplatform.integration.manager.CardRequestManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts that idempotency keys are scoped to their card and purged once older than
+ * {@code card-platform.idempotency.ttl}, here zero so that every stored key has expired.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestPropertySource(properties = "card-platform.idempotency.ttl=0s")
+public class IdempotencyKeyIntegrationTests extends BaseCardIntegrationTest {
+
+    @Autowired
+    private IdempotencyKeyPurger idempotencyKeyPurger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CardRequestManager requestManager;
+    private ParameterizedTypeReference<CardDTO> cardTypeReference;
+
+    private final String idempotencyKey = UUID.randomUUID().toString();
+
+    @BeforeAll
+    public final void setup() {
+        this.setBaseUrl("http://localhost:" + this.getServerPort() + "/api/v1/cards");
+        requestManager = new CardRequestManager(getBaseUrl(), getTestRestTemplate());
+        cardTypeReference = new ParameterizedTypeReference<>() {};
+    }
+
+    /**
+     * The same key sent for two cards tops up both, and each card's retry is replayed from its own record.
+     */
+    @Test
+    @Order(1)
+    public void shouldScopeIdempotencyKeysToTheirCard() {
+        UUID cardId = createCard();
+        UUID otherCardId = createCard();
+        TransactionRequestDTO topUpRequest = new TransactionRequestDTO();
+        topUpRequest.setAmount(BigDecimal.valueOf(10.0));
+
+        for (UUID id : new UUID[] {cardId, otherCardId, cardId, otherCardId}) {
+            ResponseEntity<CardDTO> response = requestManager.makeTransactionRequest(
+                    id, topUpRequest, "topup", idempotencyKey, cardTypeReference);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(id, response.getBody().getId());
+            assertEquals(0, BigDecimal.valueOf(110.0).compareTo(response.getBody().getBalance()));
+        }
+        assertEquals(2, countKeys());
+    }
+
+    /**
+     * The purge deletes the keys older than the TTL.
+     */
+    @Test
+    @Order(2)
+    public void shouldPurgeExpiredKeys() {
+        assertTrue(idempotencyKeyPurger.purgeExpired() >= 2);
+        assertEquals(0, countKeys());
+    }
+
+    private UUID createCard() {
+        CreateCardRequestDTO createRequest = new CreateCardRequestDTO();
+        createRequest.setCardholderName("Idempotency User");
+        createRequest.setInitialBalance(BigDecimal.valueOf(100.0));
+        return getTestRestTemplate().postForEntity(getBaseUrl(), createRequest, CardDTO.class).getBody().getId();
+    }
+
+    private int countKeys() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys WHERE idempotency_key = ?",
+                Integer.class, idempotencyKey);
+        return count == null ? 0 : count;
+    }
+
+}
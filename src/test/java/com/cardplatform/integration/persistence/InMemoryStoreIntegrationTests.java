@@ -0,0 +1,165 @@
+package com.cardplatform.integration.persistence;
+
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.infrastructure.persistence.support.UuidBinaryConverter;
+import com.cardplatform.infrastructure.web.dto.card.CardDTO;
+import com.cardplatform.infrastructure.web.dto.card.CreateCardRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.BatchCardOperationResponseDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.CardOperationRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionCursorPageResponseDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionRequestDTO;
+import com.cardplatform.integration.BaseCardIntegrationTest;
+import com.cardplatform.integration.manager.CardRequestManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts that with the in-memory card and transaction stores, cards are spent from, topped up, blocked and
+ * batched under the usual rules without any card or transaction row being written, that concurrent spends
+ * never overdraw a card, and that the history is paged from memory.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestPropertySource(properties = {
+        "card-platform.rate-limit.mode=none",
+        "card-platform.card-store.mode=in-memory",
+        "card-platform.card-store.snapshot-file=",
+        "card-platform.transaction-store.mode=in-memory",
+        "card-platform.transaction-store.snapshot-file="
+})
+public class InMemoryStoreIntegrationTests extends BaseCardIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CardRequestManager requestManager;
+    private ParameterizedTypeReference<CardDTO> cardTypeReference;
+
+    private UUID cardId;
+
+    @BeforeAll
+    public final void setup() {
+        this.setBaseUrl("http://localhost:" + this.getServerPort() + "/api/v1/cards");
+        requestManager = new CardRequestManager(getBaseUrl(), getTestRestTemplate());
+        cardTypeReference = new ParameterizedTypeReference<>() {};
+
+        CreateCardRequestDTO createRequest = new CreateCardRequestDTO();
+        createRequest.setCardholderName("Memory User");
+        createRequest.setInitialBalance(BigDecimal.valueOf(100.0));
+        cardId = getTestRestTemplate().postForEntity(getBaseUrl(), createRequest, CardDTO.class).getBody().getId();
+    }
+
+    /**
+     * Spends, top-ups, status changes and batches follow the usual rules and numbering, and nothing reaches
+     * the database.
+     */
+    @Test
+    @Order(1)
+    public void shouldApplyOperationsInMemory() {
+        assertEquals(HttpStatus.OK, spend(10.0).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, spend(1000.0).getStatusCode());
+
+        requestManager.makeStatusUpdateRequest(cardId, "block", cardTypeReference);
+        assertEquals(HttpStatus.BAD_REQUEST, spend(1.0).getStatusCode());
+        requestManager.makeStatusUpdateRequest(cardId, "activate", cardTypeReference);
+
+        List<CardOperationRequestDTO> operations = List.of(
+                new CardOperationRequestDTO(cardId, TransactionType.SPEND, BigDecimal.valueOf(5.0)),
+                new CardOperationRequestDTO(cardId, TransactionType.TOPUP, BigDecimal.valueOf(20.0)));
+        ResponseEntity<BatchCardOperationResponseDTO> batchResponse = getTestRestTemplate().postForEntity(
+                getBaseUrl() + "/batch", operations, BatchCardOperationResponseDTO.class);
+        assertEquals(HttpStatus.OK, batchResponse.getStatusCode());
+        assertNotNull(batchResponse.getBody());
+        assertEquals(2, batchResponse.getBody().getApplied());
+
+        ResponseEntity<CardDTO> cardResponse = requestManager.makeGetRequest(cardId, cardTypeReference);
+        assertNotNull(cardResponse.getBody());
+        assertEquals(0, BigDecimal.valueOf(105.0).compareTo(cardResponse.getBody().getBalance()));
+        assertEquals(5L, cardResponse.getBody().getVersion());
+
+        byte[] card = UuidBinaryConverter.toBytes(cardId);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cards WHERE id = ?", Integer.class, (Object) card));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE card_id = ?", Integer.class, (Object) card));
+    }
+
+    /**
+     * Concurrent spends on the same card all succeed while the balance lasts and never overdraw it.
+     */
+    @Test
+    @Order(2)
+    public void shouldNeverOverdrawUnderConcurrentSpends() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<ResponseEntity<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                return spend(5.0);
+            }));
+        }
+        startLatch.countDown();
+
+        int succeeded = 0;
+        for (Future<ResponseEntity<String>> future : futures) {
+            if (future.get(30, TimeUnit.SECONDS).getStatusCode() == HttpStatus.OK) {
+                succeeded++;
+            }
+        }
+        executor.shutdownNow();
+
+        assertEquals(21, succeeded);
+        ResponseEntity<CardDTO> cardResponse = requestManager.makeGetRequest(cardId, cardTypeReference);
+        assertNotNull(cardResponse.getBody());
+        assertEquals(0, BigDecimal.ZERO.compareTo(cardResponse.getBody().getBalance()));
+    }
+
+    /**
+     * Cursor pages walk the history newest first, without gaps or overlap.
+     */
+    @Test
+    @Order(3)
+    public void shouldPageHistoryFromMemory() {
+        ParameterizedTypeReference<TransactionCursorPageResponseDTO> pageTypeReference =
+                new ParameterizedTypeReference<>() {};
+
+        List<TransactionDTO> history = new ArrayList<>();
+        String cursor = "";
+        TransactionCursorPageResponseDTO page;
+        do {
+            page = requestManager.makeGetRequestWithParams(cardId + "/transactions",
+                    "cursor=" + cursor + "&size=7", pageTypeReference).getBody();
+            assertNotNull(page);
+            history.addAll(page.getTransactions());
+            cursor = page.getNextCursor();
+        } while (!page.isLast());
+
+        assertEquals(25, history.size());
+        assertEquals(0, BigDecimal.valueOf(100.0).compareTo(history.get(history.size() - 1).getAmount()));
+    }
+
+    private ResponseEntity<String> spend(double amount) {
+        TransactionRequestDTO spendRequest = new TransactionRequestDTO();
+        spendRequest.setAmount(BigDecimal.valueOf(amount));
+        return requestManager.makeTransactionRequestRaw(cardId, spendRequest, "spend");
+    }
+
+}
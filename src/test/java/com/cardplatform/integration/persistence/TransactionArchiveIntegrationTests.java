@@ -0,0 +1,228 @@
+package com.cardplatform.integration.persistence;
+
+import com.cardplatform.infrastructure.persistence.archive.TransactionArchiveMover;
+import com.cardplatform.infrastructure.persistence.archive.TransactionArchiveRepository;
+import com.cardplatform.infrastructure.persistence.support.UuidBinaryConverter;
+import com.cardplatform.infrastructure.web.dto.card.CardDTO;
+import com.cardplatform.infrastructure.web.dto.card.CreateCardRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionCursorPageResponseDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionHistoryResponseDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionRequestDTO;
+import com.cardplatform.integration.BaseCardIntegrationTest;
+import com.cardplatform.integration.manager.CardRequestManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts that transactions older than the hot window are moved to the archive table and that the card's
+ * history is still read in full and in order, across the hot and the archived transactions.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestPropertySource(properties = {
+        "card-platform.rate-limit.mode=none",
+        "card-platform.transaction-archive.chunk-size=3"
+})
+public class TransactionArchiveIntegrationTests extends BaseCardIntegrationTest {
+
+    private static final String COUNT_HOT_SQL = "SELECT COUNT(*) FROM transactions WHERE card_id = ?";
+
+    private static final String COUNT_ARCHIVED_SQL =
+            "SELECT COUNT(*) FROM transactions_archive WHERE card_id = ?";
+
+    @Autowired
+    private TransactionArchiveMover transactionArchiveMover;
+
+    @Autowired
+    private TransactionArchiveRepository transactionArchiveRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CardRequestManager requestManager;
+    private ParameterizedTypeReference<CardDTO> cardTypeReference;
+
+    private UUID cardId;
+
+    @BeforeAll
+    public final void setup() {
+        this.setBaseUrl("http://localhost:" + this.getServerPort() + "/api/v1/cards");
+        requestManager = new CardRequestManager(getBaseUrl(), getTestRestTemplate());
+        cardTypeReference = new ParameterizedTypeReference<>() {};
+
+        CreateCardRequestDTO createRequest = new CreateCardRequestDTO();
+        createRequest.setCardholderName("Archive User");
+        createRequest.setInitialBalance(BigDecimal.valueOf(100.0));
+        cardId = getTestRestTemplate().postForEntity(getBaseUrl(), createRequest, CardDTO.class).getBody().getId();
+
+        spend(10.0);
+        spend(10.0);
+        spend(10.0);
+        backdateTransactions(Duration.ofDays(200));
+        spend(5.0);
+        spend(5.0);
+    }
+
+    /**
+     * The initial top-up and the three backdated spends are moved to the archive in chunks, while the two
+     * recent spends stay in the hot table.
+     */
+    @Test
+    @Order(1)
+    public void shouldMoveExpiredTransactionsToArchive() {
+        assertEquals(4, transactionArchiveMover.moveExpired());
+
+        byte[] card = UuidBinaryConverter.toBytes(cardId);
+        assertEquals(2L, jdbcTemplate.queryForObject(COUNT_HOT_SQL, Long.class, (Object) card));
+        assertEquals(4L, jdbcTemplate.queryForObject(COUNT_ARCHIVED_SQL, Long.class, (Object) card));
+        assertEquals(0, transactionArchiveMover.moveExpired());
+    }
+
+    /**
+     * Cursor pages read the hot transactions first and continue into the archive without gaps or overlap.
+     */
+    @Test
+    @Order(2)
+    public void shouldReadHistoryWithCursorAcrossArchive() {
+        ParameterizedTypeReference<TransactionCursorPageResponseDTO> pageTypeReference =
+                new ParameterizedTypeReference<>() {};
+
+        TransactionCursorPageResponseDTO firstPage = requestManager.makeGetRequestWithParams(
+                cardId + "/transactions", "cursor=&size=4", pageTypeReference).getBody();
+        assertNotNull(firstPage);
+        assertEquals(4, firstPage.getTransactions().size());
+        assertFalse(firstPage.isLast());
+
+        TransactionCursorPageResponseDTO secondPage = requestManager.makeGetRequestWithParams(
+                cardId + "/transactions", "cursor=" + firstPage.getNextCursor() + "&size=4",
+                pageTypeReference).getBody();
+        assertNotNull(secondPage);
+        assertEquals(2, secondPage.getTransactions().size());
+        assertTrue(secondPage.isLast());
+
+        List<TransactionDTO> history = new ArrayList<>(firstPage.getTransactions());
+        history.addAll(secondPage.getTransactions());
+        assertHistoryOrder(history);
+        assertEquals(0, BigDecimal.valueOf(100.0).compareTo(history.get(5).getAmount()));
+    }
+
+    /**
+     * Offset pages count the archived transactions and complete the last hot page from the archive.
+     */
+    @Test
+    @Order(3)
+    public void shouldReadHistoryPagesAcrossArchive() {
+        ParameterizedTypeReference<TransactionHistoryResponseDTO> pageTypeReference =
+                new ParameterizedTypeReference<>() {};
+
+        TransactionHistoryResponseDTO firstPage = requestManager.makeGetRequestWithParams(
+                cardId + "/transactions", "page=0&size=4", pageTypeReference).getBody();
+        assertNotNull(firstPage);
+        assertEquals(6, firstPage.getTotalElements());
+        assertEquals(4, firstPage.getTransactions().size());
+
+        TransactionHistoryResponseDTO secondPage = requestManager.makeGetRequestWithParams(
+                cardId + "/transactions", "page=1&size=4", pageTypeReference).getBody();
+        assertNotNull(secondPage);
+        assertEquals(2, secondPage.getTransactions().size());
+        assertTrue(secondPage.isLast());
+
+        List<TransactionDTO> history = new ArrayList<>(firstPage.getTransactions());
+        history.addAll(secondPage.getTransactions());
+        assertHistoryOrder(history);
+    }
+
+    /**
+     * The export streams the hot and then the archived transactions, which still add up to the balance.
+     */
+    @Test
+    @Order(4)
+    public void shouldExportHistoryIncludingArchive() throws Exception {
+        ResponseEntity<String> response = requestManager.makeGetRequest(cardId + "/transactions/export",
+                new ParameterizedTypeReference<String>() {});
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+
+        List<TransactionDTO> history = new ArrayList<>();
+        for (String line : response.getBody().split("\n")) {
+            if (!line.isBlank()) {
+                history.add(getObjectMapper().readValue(line, TransactionDTO.class));
+            }
+        }
+        assertEquals(6, history.size());
+        assertHistoryOrder(history);
+
+        CardDTO card = requestManager.makeGetRequest(cardId, cardTypeReference).getBody();
+        assertNotNull(card);
+        assertEquals(0, BigDecimal.valueOf(60.0).compareTo(card.getBalance()));
+    }
+
+    /**
+     * A transaction archived by another instance is taken into account as soon as it is committed, without
+     * this instance having moved anything itself.
+     */
+    @Test
+    @Order(5)
+    public void shouldSeeTransactionsArchivedElsewhere() {
+        Instant archivedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS).minus(Duration.ofDays(100));
+        assertFalse(transactionArchiveRepository.reaches(archivedAt));
+
+        jdbcTemplate.update("INSERT INTO transactions_archive (id, card_id, seq, type, amount, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)", UuidBinaryConverter.toBytes(UUID.randomUUID()),
+                UuidBinaryConverter.toBytes(cardId), -100L, "TOPUP", BigDecimal.ONE, Timestamp.from(archivedAt));
+
+        assertTrue(transactionArchiveRepository.reaches(archivedAt));
+        assertEquals(archivedAt, transactionArchiveRepository.findNewestCreatedAt());
+    }
+
+    private void spend(double amount) {
+        TransactionRequestDTO spendRequest = new TransactionRequestDTO();
+        spendRequest.setAmount(BigDecimal.valueOf(amount));
+        assertEquals(HttpStatus.OK, requestManager.makeTransactionRequestRaw(cardId, spendRequest, "spend")
+                .getStatusCode());
+    }
+
+    /**
+     * Moves the creation date of every transaction of the card back by the given age.
+     */
+    private void backdateTransactions(Duration age) {
+        byte[] card = UuidBinaryConverter.toBytes(cardId);
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT id, created_at FROM transactions WHERE card_id = ?",
+                (resultSet, rowNum) -> new Object[]{resultSet.getBytes("id"),
+                        Timestamp.from(resultSet.getTimestamp("created_at").toInstant().minus(age))},
+                (Object) card);
+        for (Object[] row : rows) {
+            jdbcTemplate.update("UPDATE transactions SET created_at = ? WHERE id = ?", row[1], row[0]);
+        }
+    }
+
+    private static void assertHistoryOrder(List<TransactionDTO> history) {
+        assertEquals(6, history.stream().map(TransactionDTO::getId).distinct().count());
+        for (int i = 1; i < history.size(); i++) {
+            assertFalse(history.get(i).getCreatedAt().isAfter(history.get(i - 1).getCreatedAt()),
+                    "History should be ordered newest first");
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.cardplatform.integration.persistence;
+
+import com.cardplatform.domain.model.enums.TransactionType;
+import com.cardplatform.infrastructure.persistence.support.UuidBinaryConverter;
+import com.cardplatform.infrastructure.web.dto.card.CardDTO;
+import com.cardplatform.infrastructure.web.dto.card.CreateCardRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.BatchCardOperationResponseDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.CardOperationRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionCursorPageResponseDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionRequestDTO;
+import com.cardplatform.integration.BaseCardIntegrationTest;
+import com.cardplatform.integration.manager.CardRequestManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts that every transaction is numbered with the card version it brought the card to, across single
+ * operations, status changes and batches, and that history pages follow that numbering.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestPropertySource(properties = "card-platform.rate-limit.mode=none")
+public class TransactionSeqIntegrationTests extends BaseCardIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CardRequestManager requestManager;
+    private ParameterizedTypeReference<CardDTO> cardTypeReference;
+
+    private UUID cardId;
+
+    @BeforeAll
+    public final void setup() {
+        this.setBaseUrl("http://localhost:" + this.getServerPort() + "/api/v1/cards");
+        requestManager = new CardRequestManager(getBaseUrl(), getTestRestTemplate());
+        cardTypeReference = new ParameterizedTypeReference<>() {};
+
+        CreateCardRequestDTO createRequest = new CreateCardRequestDTO();
+        createRequest.setCardholderName("Seq User");
+        createRequest.setInitialBalance(BigDecimal.valueOf(100.0));
+        cardId = getTestRestTemplate().postForEntity(getBaseUrl(), createRequest, CardDTO.class).getBody().getId();
+    }
+
+    /**
+     * The initial top-up is numbered 0 and every later transaction with the card's new version; status
+     * changes advance the version without a transaction, and a batch numbers its operations one by one.
+     */
+    @Test
+    @Order(1)
+    public void shouldNumberTransactionsWithCardVersions() {
+        TransactionRequestDTO spendRequest = new TransactionRequestDTO();
+        spendRequest.setAmount(BigDecimal.valueOf(10.0));
+        assertEquals(HttpStatus.OK, requestManager.makeTransactionRequestRaw(cardId, spendRequest, "spend")
+                .getStatusCode());
+
+        requestManager.makeStatusUpdateRequest(cardId, "block", cardTypeReference);
+        requestManager.makeStatusUpdateRequest(cardId, "activate", cardTypeReference);
+
+        List<CardOperationRequestDTO> operations = List.of(
+                new CardOperationRequestDTO(cardId, TransactionType.SPEND, BigDecimal.valueOf(5.0)),
+                new CardOperationRequestDTO(cardId, TransactionType.TOPUP, BigDecimal.valueOf(20.0)));
+        ResponseEntity<BatchCardOperationResponseDTO> batchResponse = getTestRestTemplate().postForEntity(
+                getBaseUrl() + "/batch", operations, BatchCardOperationResponseDTO.class);
+        assertEquals(HttpStatus.OK, batchResponse.getStatusCode());
+        assertNotNull(batchResponse.getBody());
+        assertEquals(2, batchResponse.getBody().getApplied());
+
+        TransactionRequestDTO topUpRequest = new TransactionRequestDTO();
+        topUpRequest.setAmount(BigDecimal.valueOf(1.0));
+        ResponseEntity<CardDTO> topUpResponse = requestManager.makeTransactionRequest(
+                cardId, topUpRequest, "topup", cardTypeReference);
+        assertEquals(HttpStatus.OK, topUpResponse.getStatusCode());
+        assertNotNull(topUpResponse.getBody());
+        assertEquals(6L, topUpResponse.getBody().getVersion());
+
+        List<Long> seqs = jdbcTemplate.queryForList(
+                "SELECT seq FROM transactions WHERE card_id = ? ORDER BY seq", Long.class,
+                (Object) UuidBinaryConverter.toBytes(cardId));
+        assertEquals(List.of(0L, 1L, 4L, 5L, 6L), seqs);
+    }
+
+    /**
+     * Cursor pages walk the history newest first by sequence number, without gaps or overlap.
+     */
+    @Test
+    @Order(2)
+    public void shouldPageHistoryBySeq() {
+        ParameterizedTypeReference<TransactionCursorPageResponseDTO> pageTypeReference =
+                new ParameterizedTypeReference<>() {};
+
+        List<TransactionDTO> history = new ArrayList<>();
+        String cursor = "";
+        TransactionCursorPageResponseDTO page;
+        do {
+            page = requestManager.makeGetRequestWithParams(cardId + "/transactions",
+                    "cursor=" + cursor + "&size=2", pageTypeReference).getBody();
+            assertNotNull(page);
+            history.addAll(page.getTransactions());
+            cursor = page.getNextCursor();
+        } while (!page.isLast());
+
+        List<BigDecimal> expectedAmounts = List.of(BigDecimal.valueOf(1.0), BigDecimal.valueOf(20.0),
+                BigDecimal.valueOf(5.0), BigDecimal.valueOf(10.0), BigDecimal.valueOf(100.0));
+        assertEquals(expectedAmounts.size(), history.size());
+        for (int i = 0; i < history.size(); i++) {
+            assertEquals(0, expectedAmounts.get(i).compareTo(history.get(i).getAmount()));
+        }
+    }
+
+}
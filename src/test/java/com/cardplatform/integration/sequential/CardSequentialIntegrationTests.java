@@ -6,22 +6,28 @@ import com.cardplatform.infrastructure.web.dto.card.CardBalanceDTO;
 import com.cardplatform.infrastructure.web.dto.card.CardDTO;
 import com.cardplatform.infrastructure.web.dto.card.CardStatusDTO;
 import com.cardplatform.infrastructure.web.dto.card.CreateCardRequestDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionCursorPageResponseDTO;
+import com.cardplatform.infrastructure.web.dto.transaction.TransactionDTO;
 import com.cardplatform.infrastructure.web.dto.transaction.TransactionHistoryResponseDTO;
 import com.cardplatform.infrastructure.web.dto.transaction.TransactionRequestDTO;
 import com.cardplatform.infrastructure.web.exception.ErrorResponse;
 import com.cardplatform.integration.BaseCardIntegrationTest;
 import com.cardplatform.integration.manager.CardRequestManager;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.*;
 
@@ -30,12 +36,17 @@ import static org.junit.jupiter.api.Assertions.*;
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class CardSequentialIntegrationTests extends BaseCardIntegrationTest {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private CardRequestManager requestManager;
     private ParameterizedTypeReference<CardDTO> cardTypeReference;
     private ParameterizedTypeReference<ErrorResponse> errorTypeReference;
     private ParameterizedTypeReference<TransactionHistoryResponseDTO> transactionHistoryTypeReference;
+    private ParameterizedTypeReference<TransactionCursorPageResponseDTO> transactionCursorPageTypeReference;
     private ParameterizedTypeReference<CardBalanceDTO> balanceTypeReference;
     private ParameterizedTypeReference<CardStatusDTO> statusTypeReference;
+    private ParameterizedTypeReference<String> exportTypeReference;
 
     private UUID cardId;
 
@@ -46,8 +57,10 @@ public class CardSequentialIntegrationTests extends BaseCardIntegrationTest {
         cardTypeReference = new ParameterizedTypeReference<>() {};
         errorTypeReference = new ParameterizedTypeReference<>() {};
         transactionHistoryTypeReference = new ParameterizedTypeReference<>() {};
+        transactionCursorPageTypeReference = new ParameterizedTypeReference<>() {};
         balanceTypeReference = new ParameterizedTypeReference<>() {};
         statusTypeReference = new ParameterizedTypeReference<>() {};
+        exportTypeReference = new ParameterizedTypeReference<>() {};
     }
 
     /**
@@ -501,15 +514,15 @@ public class CardSequentialIntegrationTests extends BaseCardIntegrationTest {
     }
 
     /**
-     * Tests that concurrent spend transactions on the same card trigger optimistic locking.
+     * Tests that concurrent spend transactions on the same card are both applied atomically.
      * <p>
      * Verifies that:
-     * - Only one of two concurrent spends can succeed (balance is only decremented once)
-     * - At least one request fails due to optimistic locking (HTTP 409 or exception)
+     * - Both concurrent spends succeed without a conflict (no HTTP 409)
+     * - The final balance reflects both debits exactly once
      */
     @Test
     @Order(20)
-    public void shouldFailWithOptimisticLockOnConcurrentSpend() throws Exception {
+    public void shouldApplyConcurrentSpendsWithoutConflict() throws Exception {
         // Create a new card with sufficient balance
         CreateCardRequestDTO createRequest = new CreateCardRequestDTO();
         createRequest.setCardholderName("Concurrent User");
@@ -527,56 +540,204 @@ public class CardSequentialIntegrationTests extends BaseCardIntegrationTest {
         CountDownLatch startLatch = new CountDownLatch(1);
 
         //Simulate two concurrent spends using Callable tasks
-        Callable<ResponseEntity<?>> spendTask = () -> {
+        Callable<ResponseEntity<String>> spendTask = () -> {
             readyLatch.countDown();
             startLatch.await();
 
-            ResponseEntity<String> rawResponse = requestManager.makeTransactionRequestRaw(
-                    concurrentCardId, spendRequest, "spend");
-
-            HttpStatus status = rawResponse.getStatusCode();
-            String body = rawResponse.getBody();
-            ObjectMapper objectMapper = getObjectMapper();
-
-            // Deserialize response based on HTTP status
-            if (status.is2xxSuccessful()) {
-                CardDTO card = objectMapper.readValue(body, CardDTO.class);
-                return new ResponseEntity<>(card, status);
-            } else {
-                ErrorResponse error = objectMapper.readValue(body, ErrorResponse.class);
-                return new ResponseEntity<>(error, status);
-            }
+            return requestManager.makeTransactionRequestRaw(concurrentCardId, spendRequest, "spend");
         };
 
         // Submit both spend tasks
-        Future<ResponseEntity<?>> future1 = executor.submit(spendTask);
-        Future<ResponseEntity<?>> future2 = executor.submit(spendTask);
+        Future<ResponseEntity<String>> future1 = executor.submit(spendTask);
+        Future<ResponseEntity<String>> future2 = executor.submit(spendTask);
 
         // Wait until both threads are ready to start
         readyLatch.await();
         // Start both threads at once
         startLatch.countDown();
 
-        // Collect results, catching both HTTP errors and thrown exceptions
-        boolean oneSuccess = false;
-        boolean oneFailedByOptimisticLockException = false;
-
-        // Iterate over the results of both concurrent spend attempts,
-        // checking if at least one succeeded and at least one failed
-        for (Future<ResponseEntity<?>> future : new Future[]{future1, future2}) {
-            ResponseEntity<?> response = future.get(5, TimeUnit.SECONDS);
-            if (response.getStatusCode().is2xxSuccessful()) {
-                oneSuccess = true;
-            } else if (response.getStatusCode() == HttpStatus.CONFLICT) {
-                oneFailedByOptimisticLockException = true;
-            }
+        // Both spends must succeed, neither may surface a concurrency conflict
+        for (Future<ResponseEntity<String>> future : List.of(future1, future2)) {
+            ResponseEntity<String> response = future.get(5, TimeUnit.SECONDS);
+            assertEquals(HttpStatus.OK, response.getStatusCode(),
+                    "Concurrent spend should succeed: " + response.getBody());
         }
 
         executor.shutdownNow();
 
-        assertTrue(oneSuccess, "At least one spend should succeed");
-        assertTrue(oneFailedByOptimisticLockException,
-                "At least one spend should fail due to optimistic locking (HTTP 409 or exception)");
+        ResponseEntity<CardDTO> cardResponse = requestManager.makeGetRequest(concurrentCardId, cardTypeReference);
+        assertNotNull(cardResponse.getBody());
+        assertEquals(0, BigDecimal.valueOf(20.0).compareTo(cardResponse.getBody().getBalance()));
+    }
+
+    /**
+     * Tests cursor-based transaction history retrieval.
+     *
+     * Verifies that:
+     * - The first page returns the newest transactions and a next cursor
+     * - Following the cursor returns the remaining transactions without overlap
+     * - The last page has no next cursor
+     */
+    @Test
+    @Order(21)
+    public void shouldGetTransactionHistoryWithCursor() {
+        ResponseEntity<TransactionCursorPageResponseDTO> firstResponse =
+                requestManager.makeGetRequestWithParams(cardId + "/transactions",
+                        "cursor=&size=2", transactionCursorPageTypeReference);
+
+        assertEquals(HttpStatus.OK, firstResponse.getStatusCode());
+        assertNotNull(firstResponse.getBody());
+
+        TransactionCursorPageResponseDTO firstPage = firstResponse.getBody();
+        assertEquals(2, firstPage.getTransactions().size());
+        assertFalse(firstPage.isLast());
+        assertNotNull(firstPage.getNextCursor());
+
+        ResponseEntity<TransactionCursorPageResponseDTO> secondResponse =
+                requestManager.makeGetRequestWithParams(cardId + "/transactions",
+                        "cursor=" + firstPage.getNextCursor() + "&size=2", transactionCursorPageTypeReference);
+
+        assertEquals(HttpStatus.OK, secondResponse.getStatusCode());
+        assertNotNull(secondResponse.getBody());
+
+        TransactionCursorPageResponseDTO secondPage = secondResponse.getBody();
+        assertEquals(1, secondPage.getTransactions().size()); // initial topup + spend + topup
+        assertTrue(secondPage.isLast());
+        assertNull(secondPage.getNextCursor());
+        assertTrue(firstPage.getTransactions().stream()
+                .noneMatch(t -> t.getId().equals(secondPage.getTransactions().get(0).getId())));
+        assertEquals(0, BigDecimal.valueOf(100.0).compareTo(secondPage.getTransactions().get(0).getAmount()));
+    }
+
+    /**
+     * Tests the NDJSON export of the full transaction history.
+     *
+     * Verifies that:
+     * - The response is newline-delimited JSON, one transaction per line
+     * - All transactions are exported, newest first
+     */
+    @Test
+    @Order(22)
+    public void shouldExportTransactionHistory() throws JsonProcessingException {
+        ResponseEntity<String> responseEntity =
+                requestManager.makeGetRequest(cardId + "/transactions/export", exportTypeReference);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertNotNull(responseEntity.getHeaders().getContentType());
+        assertEquals("application/x-ndjson", responseEntity.getHeaders().getContentType().toString()
+                .split(";")[0]);
+        assertNotNull(responseEntity.getBody());
+
+        String[] lines = responseEntity.getBody().split("\n");
+        assertEquals(3, lines.length); // initial topup + spend + topup
+
+        TransactionDTO newest = getObjectMapper().readValue(lines[0], TransactionDTO.class);
+        TransactionDTO oldest = getObjectMapper().readValue(lines[2], TransactionDTO.class);
+        assertEquals(cardId, newest.getCardId());
+        assertEquals(TransactionType.TOPUP, newest.getType());
+        assertEquals(0, BigDecimal.valueOf(100.0).compareTo(oldest.getAmount()));
+        assertFalse(newest.getCreatedAt().isBefore(oldest.getCreatedAt()));
+    }
+
+    /**
+     * Tests the transaction history export for non-existent card.
+     */
+    @Test
+    @Order(23)
+    public void shouldFailToExportTransactionHistoryForNonExistentCard() {
+        UUID nonExistentCardId = UUID.randomUUID();
+
+        ResponseEntity<ErrorResponse> responseEntity =
+                requestManager.makeGetRequest(nonExistentCardId + "/transactions/export", errorTypeReference);
+
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        assertNotNull(responseEntity.getBody());
+
+        ErrorResponse error = responseEntity.getBody();
+        assertEquals("Business Rule Violation", error.getError());
+        assertTrue(error.getMessage().contains("Card not found"));
+    }
+
+    /**
+     * Tests that repeated balance reads are served from the card cache and that
+     * updates to the card are visible on the next read.
+     */
+    @Test
+    @Order(24)
+    public void shouldServeCardReadsFromCacheAndEvictOnUpdate() {
+        ResponseEntity<CardBalanceDTO> initialBalance =
+                requestManager.makeGetRequest(cardId + "/balance", balanceTypeReference);
+        assertEquals(HttpStatus.OK, initialBalance.getStatusCode());
+        assertNotNull(initialBalance.getBody());
+
+        double hitsBefore = getCardCacheHits();
+        ResponseEntity<CardBalanceDTO> cachedBalance =
+                requestManager.makeGetRequest(cardId + "/balance", balanceTypeReference);
+        assertEquals(HttpStatus.OK, cachedBalance.getStatusCode());
+        assertEquals(initialBalance.getBody(), cachedBalance.getBody());
+        assertEquals(hitsBefore + 1, getCardCacheHits());
+
+        TransactionRequestDTO topUpRequest = new TransactionRequestDTO();
+        topUpRequest.setAmount(BigDecimal.valueOf(10.0));
+        requestManager.makeTransactionRequest(cardId, topUpRequest, "topup", cardTypeReference);
+
+        ResponseEntity<CardBalanceDTO> updatedBalance =
+                requestManager.makeGetRequest(cardId + "/balance", balanceTypeReference);
+        assertNotNull(updatedBalance.getBody());
+        assertEquals(0, initialBalance.getBody().getBalance().add(BigDecimal.valueOf(10.0))
+                .compareTo(updatedBalance.getBody().getBalance()));
+
+        requestManager.makeStatusUpdateRequest(cardId, "block", cardTypeReference);
+        ResponseEntity<CardStatusDTO> blockedStatus =
+                requestManager.makeGetRequest(cardId + "/status", statusTypeReference);
+        assertNotNull(blockedStatus.getBody());
+        assertEquals(CardStatus.BLOCKED, blockedStatus.getBody().getStatus());
+
+        requestManager.makeStatusUpdateRequest(cardId, "activate", cardTypeReference);
+        ResponseEntity<CardStatusDTO> activeStatus =
+                requestManager.makeGetRequest(cardId + "/status", statusTypeReference);
+        assertNotNull(activeStatus.getBody());
+        assertEquals(CardStatus.ACTIVE, activeStatus.getBody().getStatus());
+    }
+
+    /**
+     * Tests that card operations are timed and that rejected operations are counted by reason.
+     */
+    @Test
+    @Order(25)
+    public void shouldRecordOperationTimersAndFailureCounters() {
+        double failuresBefore = getFailureCount("insufficient_balance");
+
+        TransactionRequestDTO spendRequest = new TransactionRequestDTO();
+        spendRequest.setAmount(BigDecimal.valueOf(1_000_000.0));
+        ResponseEntity<ErrorResponse> responseEntity =
+                requestManager.makeTransactionRequest(cardId, spendRequest, "spend", errorTypeReference);
+
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        assertEquals(failuresBefore + 1, getFailureCount("insufficient_balance"));
+
+        assertTrue(meterRegistry.get("card.domain.operation").tag("method", "spendFromCard").timer().count() > 0);
+        assertTrue(meterRegistry.get("card.repository.call").tag("method", "debit").timer().count() > 0);
+    }
+
+    /**
+     * Reads the number of card cache hits from the cache metrics.
+     *
+     * @return The number of hits recorded by the card cache
+     */
+    private double getCardCacheHits() {
+        return meterRegistry.get("cache.gets").tags("cache", "cards", "result", "hit").functionCounter().count();
+    }
+
+    /**
+     * Reads the number of rejected card operations with the given reason from the failure metrics.
+     *
+     * @param reason The rejection reason tag
+     * @return The number of rejections recorded for the reason
+     */
+    private double getFailureCount(String reason) {
+        Counter counter = meterRegistry.find("card.operation.failures").tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
     }
 
     /**